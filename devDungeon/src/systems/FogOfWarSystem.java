@@ -7,6 +7,7 @@ import core.System;
 import core.components.DrawComponent;
 import core.components.PositionComponent;
 import core.level.Tile;
+import core.level.utils.Coordinate;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelUtils;
 import core.utils.Point;
@@ -43,6 +44,7 @@ public class FogOfWarSystem extends System {
 
   private final Map<Tile, Integer> darkenedTiles = new HashMap<>();
   private final List<Entity> hiddenEntities = new ArrayList<>();
+  private final List<Tile> tilesInView = new ArrayList<>();
   private boolean active = true;
 
   /**
@@ -162,11 +164,10 @@ public class FogOfWarSystem extends System {
           break;
         } else {
           // Our light beam is touching this square; light it
+          Tile tile = Game.tileAT(new Coordinate(X, Y));
           if (dx * dx + dy * dy < radius * radius) {
-            Tile tile = Game.tileAT(new Point(X, Y));
             visibleTiles.add(tile);
           }
-          Tile tile = Game.tileAT(new Point(X, Y));
           if (tile == null) {
             continue;
           }
@@ -233,7 +234,8 @@ public class FogOfWarSystem extends System {
     return 0xFFFFFF00 | alpha;
   }
 
-  private void revertTilesBackToLight(List<Tile> visibleTiles) {
+  private void revertTilesBackToLight(Collection<Tile> tiles) {
+    Set<Tile> visibleTiles = tiles instanceof Set<Tile> set ? set : new HashSet<>(tiles);
     Iterator<Tile> iterator = darkenedTiles.keySet().iterator();
     while (iterator.hasNext()) {
       Tile darkenTile = iterator.next();
@@ -297,10 +299,11 @@ public class FogOfWarSystem extends System {
     Point heroPos = EntityUtils.getHeroPosition();
     if (heroPos == null) return; // no hero, no fog of war
 
-    List<Tile> allTilesInView = LevelUtils.tilesInRange(heroPos, MAX_VIEW_DISTANCE);
+    tilesInView.clear();
+    List<Tile> allTilesInView = LevelUtils.tilesInRange(heroPos, MAX_VIEW_DISTANCE, tilesInView);
     // Revert all darkened tiles back to light that are not in view
     List<Tile> tilesOutsideView = new ArrayList<>(darkenedTiles.keySet());
-    tilesOutsideView.removeAll(allTilesInView);
+    tilesOutsideView.removeIf(tile -> LevelUtils.isTileInRange(heroPos, MAX_VIEW_DISTANCE, tile));
     revertTilesBackToLight(tilesOutsideView);
 
     List<Tile> visibleTiles = new ArrayList<>();
@@ -322,7 +325,7 @@ public class FogOfWarSystem extends System {
     List<Tile> distancedTiles = new ArrayList<>(visibleTiles.stream().toList()); // copy
 
     // Handle tiles that are beyond the view distance
-    distancedTiles.removeAll(LevelUtils.tilesInRange(heroPos, currentViewDistance));
+    distancedTiles.removeIf(tile -> LevelUtils.isTileInRange(heroPos, currentViewDistance, tile));
     distancedTiles.forEach(
         (tile) ->
             darkenTile(
@@ -330,10 +333,12 @@ public class FogOfWarSystem extends System {
                 currentViewDistance + DISTANCE_TRANSITION_SIZE,
                 TINT_COLOR_DISTANCE_SCALE,
                 heroPos));
-    visibleTiles.removeAll(distancedTiles); // remove distanced tiles from visible tiles
-    allTilesInView.removeAll(distancedTiles); // and from tile behind walls
+    Set<Tile> distancedSet = new HashSet<>(distancedTiles);
+    visibleTiles.removeAll(distancedSet); // remove distanced tiles from visible tiles
+    allTilesInView.removeAll(distancedSet); // and from tile behind walls
 
-    allTilesInView.removeAll(visibleTiles); // remove visible tiles from tiles behind walls
+    // remove visible tiles from tiles behind walls
+    allTilesInView.removeAll(new HashSet<>(visibleTiles));
 
     // Darken tiles that are behind walls
     allTilesInView.forEach(
@@ -5,11 +5,14 @@ import contrib.item.Item;
 import core.Component;
 import core.utils.logging.CustomLogLevel;
 import dsl.annotation.DSLType;
-import java.util.Arrays;
-import java.util.Objects;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Allows the entity to collect items in an inventory.
@@ -25,20 +28,29 @@ import java.util.stream.Collectors;
  * removeItem}.
  *
  * <p>The number of items in the inventory can be retrieved using {@link #count()}.
+ *
+ * <p>The occupied slots are stored in a bitmap, so a free slot is found without scanning the items.
+ * For each item class, which was queried once (e.g. with {@link #hasItem(Class)}), the component
+ * keeps an index of the slots with an instance of the class. So the queries by class and the bulk
+ * operations like {@link #transferAll(Class, InventoryComponent)} only visit the matching items.
  */
 @DSLType
 public final class InventoryComponent implements Component {
 
   private static final int DEFAULT_MAX_SIZE = 24;
+  private static final Logger LOGGER = Logger.getLogger(InventoryComponent.class.getSimpleName());
   private final Item[] inventory;
-  private final Logger LOGGER = Logger.getLogger(InventoryComponent.class.getSimpleName());
+  private final BitSet occupied;
+  // slots with an instance of the class, for each queried class
+  private final Map<Class<? extends Item>, BitSet> classIndex = new HashMap<>();
+  private int count = 0;
 
   /**
    * The default {@link InventoryComponent} constructor. Creates an empty inventory with {@link
    * #DEFAULT_MAX_SIZE} slots.
    */
   public InventoryComponent() {
-    inventory = new Item[DEFAULT_MAX_SIZE];
+    this(DEFAULT_MAX_SIZE);
   }
 
   /**
@@ -48,6 +60,7 @@ public final class InventoryComponent implements Component {
    */
   public InventoryComponent(int maxSize) {
     inventory = new Item[maxSize];
+    occupied = new BitSet(maxSize);
   }
 
   /**
@@ -64,21 +77,14 @@ public final class InventoryComponent implements Component {
    * @return True if the item was added, false if not.
    */
   public boolean add(final Item item) {
-    int firstEmpty = -1;
-    for (int i = 0; i < this.inventory.length; i++) {
-      if (this.inventory[i] == null) {
-        firstEmpty = i;
-        break;
-      }
+    int firstEmpty = occupied.nextClearBit(0);
+    if (firstEmpty >= inventory.length) return false;
+    if (item != null && LOGGER.isLoggable(CustomLogLevel.DEBUG)) {
+      LOGGER.log(
+          CustomLogLevel.DEBUG,
+          "Item '" + item.getClass().getSimpleName() + "' was added to the inventory.");
     }
-    if (firstEmpty == -1) return false;
-    LOGGER.log(
-        CustomLogLevel.DEBUG,
-        "Item '"
-            + this.getClass().getSimpleName()
-            + "' was added to the inventory of entity '"
-            + "'.");
-    inventory[firstEmpty] = item;
+    put(firstEmpty, item);
     return true;
   }
 
@@ -89,16 +95,15 @@ public final class InventoryComponent implements Component {
    * @return True if the item was removed, false otherwise.
    */
   public boolean remove(final Item item) {
-    LOGGER.log(
-        CustomLogLevel.DEBUG,
-        "Removing item '" + this.getClass().getSimpleName() + "' from inventory.");
-    for (int i = 0; i < inventory.length; i++) {
-      if (inventory[i] != null && inventory[i].equals(item)) {
-        inventory[i] = null;
-        return true;
-      }
+    int index = indexOf(item);
+    if (index < 0) return false;
+    if (LOGGER.isLoggable(CustomLogLevel.DEBUG)) {
+      LOGGER.log(
+          CustomLogLevel.DEBUG,
+          "Removing item '" + item.getClass().getSimpleName() + "' from inventory.");
     }
-    return false;
+    put(index, null);
+    return true;
   }
 
   /**
@@ -110,10 +115,30 @@ public final class InventoryComponent implements Component {
   @Null
   public Item remove(int index) {
     Item itemData = inventory[index];
-    inventory[index] = null;
+    put(index, null);
     return itemData;
   }
 
+  /**
+   * Remove all items of the given class, which match the given filter.
+   *
+   * @param klass The class of the items to remove.
+   * @param filter Only remove the items, for which the filter returns true.
+   * @param <T> The type of the items.
+   * @return The number of removed items.
+   */
+  public <T extends Item> int removeIf(final Class<T> klass, final Predicate<? super T> filter) {
+    BitSet slots = slots(klass);
+    int removed = 0;
+    for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+      if (filter.test(klass.cast(inventory[i]))) {
+        put(i, null);
+        removed++;
+      }
+    }
+    return removed;
+  }
+
   /**
    * Check if the inventory contains the given item.
    *
@@ -121,21 +146,17 @@ public final class InventoryComponent implements Component {
    * @return True if the inventory contains the item, false otherwise.
    */
   public boolean hasItem(final Item item) {
-    return Arrays.stream(this.inventory)
-        .anyMatch(invItem -> invItem != null && invItem.equals(item));
+    return indexOf(item) >= 0;
   }
 
   /**
    * Checks if the inventory contains an item of the specified class.
    *
-   * <p>This method uses Java Streams to iterate over the inventory array and checks if any item is
-   * an instance of the specified class.
-   *
    * @param klass The class of the item to check for in the inventory.
    * @return True if the inventory contains an item of the specified class, false otherwise.
    */
   public boolean hasItem(final Class<? extends Item> klass) {
-    return Arrays.stream(this.inventory).anyMatch(klass::isInstance);
+    return !slots(klass).isEmpty();
   }
 
   /**
@@ -157,13 +178,47 @@ public final class InventoryComponent implements Component {
     return false;
   }
 
+  /**
+   * Transfer all items of the given class from this inventory to the given inventory.
+   *
+   * <p>The items are transferred in the order of their slots, until the other inventory is full.
+   * The items, which do not fit, stay in this inventory.
+   *
+   * <p>Cannot transfer the items to itself.
+   *
+   * @param klass The class of the items to transfer.
+   * @param other {@link InventoryComponent} to transfer the items to.
+   * @return The number of transferred items.
+   */
+  public int transferAll(final Class<? extends Item> klass, final InventoryComponent other) {
+    if (other == this) return 0;
+    BitSet slots = slots(klass);
+    int transferred = 0;
+    for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+      if (!other.add(inventory[i])) break;
+      put(i, null);
+      transferred++;
+    }
+    return transferred;
+  }
+
   /**
    * Get the number of items stored.
    *
    * @return The number of items that are stored in this component.
    */
   public int count() {
-    return (int) Arrays.stream(this.inventory).filter(Objects::nonNull).count();
+    return count;
+  }
+
+  /**
+   * Get the number of items stored, that are an instance of the given class.
+   *
+   * @param klass Only count items that are an instance of this class.
+   * @return The number of items that are stored in this component and are an instance of the class.
+   */
+  public int count(final Class<? extends Item> klass) {
+    return slots(klass).cardinality();
   }
 
   /**
@@ -182,9 +237,26 @@ public final class InventoryComponent implements Component {
    * @return A Set of items that are in this Inventory and are an instance of the given class.
    */
   public Set<Item> items(final Class<? extends Item> klass) {
-    return Arrays.stream(this.inventory.clone())
-        .filter(klass::isInstance)
-        .collect(Collectors.toSet());
+    Set<Item> items = new HashSet<>();
+    forEach(klass, items::add);
+    return items;
+  }
+
+  /**
+   * Execute the given action for each item stored in this component that is an instance of the
+   * given class, in the order of their slots.
+   *
+   * <p>The action must not change this inventory.
+   *
+   * @param klass Only visit items that are an instance of this class.
+   * @param action The action to execute for each item.
+   * @param <T> The type of the items.
+   */
+  public <T extends Item> void forEach(final Class<T> klass, final Consumer<? super T> action) {
+    BitSet slots = slots(klass);
+    for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+      action.accept(klass.cast(inventory[i]));
+    }
   }
 
   /**
@@ -195,7 +267,7 @@ public final class InventoryComponent implements Component {
    */
   public void set(int index, final Item item) {
     if (index >= this.inventory.length || index < 0) return;
-    this.inventory[index % this.inventory.length] = item;
+    put(index, item);
   }
 
   /**
@@ -209,4 +281,36 @@ public final class InventoryComponent implements Component {
     if (index >= this.inventory.length || index < 0) return null;
     return this.inventory[index];
   }
+
+  private int indexOf(final Item item) {
+    if (item == null) return -1;
+    BitSet slots = slots(item.getClass());
+    for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+      if (inventory[i].equals(item)) return i;
+    }
+    return -1;
+  }
+
+  private BitSet slots(final Class<? extends Item> klass) {
+    BitSet slots = classIndex.get(klass);
+    if (slots == null) {
+      slots = new BitSet(inventory.length);
+      for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+        if (klass.isInstance(inventory[i])) slots.set(i);
+      }
+      classIndex.put(klass, slots);
+    }
+    return slots;
+  }
+
+  // the only place, which changes the slots, so the bitmap and the indices stay in sync
+  private void put(int index, final Item item) {
+    if (inventory[index] != null) count--;
+    if (item != null) count++;
+    inventory[index] = item;
+    occupied.set(index, item != null);
+    for (Map.Entry<Class<? extends Item>, BitSet> entry : classIndex.entrySet()) {
+      entry.getValue().set(index, entry.getKey().isInstance(item));
+    }
+  }
 }
@@ -14,6 +14,7 @@ import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * Handles the crafting system.
@@ -25,9 +26,22 @@ import java.util.logging.Logger;
  * <p>It will load the recipes from the files via {@link #loadRecipes()}. Recipes have to be in the
  * 'assets/recipes' directory. This will autmaticly happen an program start. Call this in your
  * {@link core.game.PreRunConfiguration#userOnSetup onSetup callback}.
+ *
+ * <p>Ordered recipes are indexed by the sequence of the classes of their ingredients. So {@link
+ * #recipeByIngredients(CraftingIngredient[])} only checks the ordered recipes with the same
+ * ingredient classes as the inputs, and not every recipe. Because an ingredient matches all
+ * instances of its class, an input is looked up under each class of its class hierarchy, which is
+ * used as an ingredient class by a recipe. An unordered recipe matches, if each of its ingredients
+ * matches any input (see {@link Recipe#canCraft(CraftingIngredient[])}), so unordered recipes are
+ * only indexed by their number of ingredients.
  */
 public final class Crafting {
   private static final HashSet<Recipe> RECIPES = new HashSet<>();
+  private static final Map<List<Class<?>>, List<Recipe>> ORDERED_INDEX = new HashMap<>();
+  private static final Map<Integer, List<Recipe>> UNORDERED_INDEX = new HashMap<>();
+  private static final Set<Class<?>> INGREDIENT_CLASSES = new HashSet<>();
+  // the ingredient classes of each input class, see ingredientClassesOf
+  private static final Map<Class<?>, List<Class<?>>> INGREDIENT_CLASS_CACHE = new HashMap<>();
   private static final Logger LOGGER = Logger.getLogger(Crafting.class.getSimpleName());
 
   /**
@@ -41,22 +55,68 @@ public final class Crafting {
    *     the returned optional will be empty.
    */
   public static Optional<Recipe> recipeByIngredients(final CraftingIngredient[] inputs) {
-    List<Recipe> possibleRecipes = new ArrayList<>();
-    for (Recipe recipe : RECIPES) {
-      if (recipe.canCraft(inputs)) {
-        possibleRecipes.add(recipe);
+    List<List<Class<?>>> candidates = new ArrayList<>(inputs.length);
+    Set<Class<?>> inputClasses = new HashSet<>();
+    for (CraftingIngredient input : inputs) {
+      List<Class<?>> ingredientClasses = ingredientClassesOf(input);
+      candidates.add(ingredientClasses);
+      inputClasses.addAll(ingredientClasses);
+    }
+
+    Optional<Recipe> ordered = craftableOrdered(candidates, new ArrayList<>(), inputs);
+    if (ordered.isPresent()) {
+      return ordered;
+    }
+    for (Recipe recipe : UNORDERED_INDEX.getOrDefault(inputs.length, List.of())) {
+      // an ingredient can only match an input, if its class is an ingredient class of the input
+      if (Arrays.stream(recipe.ingredients()).allMatch(i -> inputClasses.contains(i.getClass()))
+          && recipe.canCraft(inputs)) {
+        return Optional.of(recipe);
       }
     }
+    return Optional.empty();
+  }
 
-    if (possibleRecipes.isEmpty()) {
+  // checks the ordered recipes of each combination of the candidate classes of the inputs
+  private static Optional<Recipe> craftableOrdered(
+      final List<List<Class<?>>> candidates,
+      final List<Class<?>> classes,
+      final CraftingIngredient[] inputs) {
+    if (classes.size() == candidates.size()) {
+      for (Recipe recipe : ORDERED_INDEX.getOrDefault(classes, List.of())) {
+        if (recipe.canCraft(inputs)) {
+          return Optional.of(recipe);
+        }
+      }
       return Optional.empty();
     }
-    if (possibleRecipes.size() == 1) {
-      return Optional.of(possibleRecipes.get(0));
+    for (Class<?> candidate : candidates.get(classes.size())) {
+      classes.add(candidate);
+      Optional<Recipe> recipe = craftableOrdered(candidates, classes, inputs);
+      classes.removeLast();
+      if (recipe.isPresent()) {
+        return recipe;
+      }
     }
-    possibleRecipes.sort(Comparator.comparing(c -> !c.ordered()));
+    return Optional.empty();
+  }
 
-    return Optional.of(possibleRecipes.get(0));
+  // the classes of the hierarchy of the input, which are used by a recipe, most specific first
+  private static List<Class<?>> ingredientClassesOf(final CraftingIngredient input) {
+    if (input == null) {
+      return List.of();
+    }
+    return INGREDIENT_CLASS_CACHE.computeIfAbsent(
+        input.getClass(),
+        klass -> {
+          List<Class<?>> classes = new ArrayList<>(1);
+          for (Class<?> c = klass; c != null; c = c.getSuperclass()) {
+            if (INGREDIENT_CLASSES.contains(c)) {
+              classes.add(c);
+            }
+          }
+          return List.copyOf(classes);
+        });
   }
 
   /**
@@ -68,18 +128,39 @@ public final class Crafting {
     if (recipe.ingredients().length == 0) {
       throw new InvalidRecipeException("Recipes with no ingredients are not allowed!");
     }
-    RECIPES.add(recipe);
+    if (!RECIPES.add(recipe)) {
+      return;
+    }
+    List<Class<?>> classes = new ArrayList<>(recipe.ingredients().length);
+    for (CraftingIngredient ingredient : recipe.ingredients()) {
+      classes.add(ingredient.getClass());
+    }
+    if (INGREDIENT_CLASSES.addAll(classes)) {
+      // an input class may now belong to another ingredient class
+      INGREDIENT_CLASS_CACHE.clear();
+    }
+    if (recipe.ordered()) {
+      ORDERED_INDEX.computeIfAbsent(classes, key -> new ArrayList<>()).add(recipe);
+    } else {
+      UNORDERED_INDEX.computeIfAbsent(classes.size(), key -> new ArrayList<>()).add(recipe);
+    }
   }
 
   /** Remove all recipes. */
   public static void clearRecipes() {
     RECIPES.clear();
+    ORDERED_INDEX.clear();
+    UNORDERED_INDEX.clear();
+    INGREDIENT_CLASSES.clear();
+    INGREDIENT_CLASS_CACHE.clear();
   }
 
   /**
    * Load recipes from the recipes' folder.
    *
    * <p>If the program is compiled to a jar file, recipes will be loaded from within the jar file.
+   *
+   * <p>The recipe files are parsed in parallel, the recipes are added in the order of the files.
    */
   public static void loadRecipes() {
     if (Objects.requireNonNull(Crafting.class.getResource("/recipes"))
@@ -101,17 +182,24 @@ public final class Crafting {
               .replaceAll("(!|file:\\\\)", "")
               // for unix/macos
               .replaceAll("(!|file:)", "");
-      JarFile jar = new JarFile(path);
-      Enumeration<JarEntry> entries = jar.entries();
-      while (entries.hasMoreElements()) {
-        JarEntry entry = entries.nextElement();
-        if (entry.getName().startsWith("recipes") && entry.getName().endsWith(".recipe")) {
-          LOGGER.info("Load recipe: " + entry.getName());
-          Recipe r =
-              parseRecipe(Game.class.getResourceAsStream("/" + entry.getName()), entry.getName());
-          if (r != null) Crafting.RECIPES.add(r);
+      // read all recipes in one pass over the jar, parse them afterwards
+      Map<String, byte[]> recipeFiles = new LinkedHashMap<>();
+      try (JarFile jar = new JarFile(path)) {
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+          JarEntry entry = entries.nextElement();
+          if (entry.getName().startsWith("recipes") && entry.getName().endsWith(".recipe")) {
+            LOGGER.info("Load recipe: " + entry.getName());
+            try (InputStream stream = jar.getInputStream(entry)) {
+              recipeFiles.put(entry.getName(), stream.readAllBytes());
+            }
+          }
         }
       }
+      addAll(
+          recipeFiles.entrySet().parallelStream()
+              .map(
+                  file -> parseRecipe(new ByteArrayInputStream(file.getValue()), file.getKey())));
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -125,15 +213,22 @@ public final class Crafting {
     if (files == null) {
       return;
     }
-    for (File file : files) {
-      if (file.getName().endsWith(".recipe")) {
-        LOGGER.info("Load recipe: " + file.getName());
-        Recipe r =
-            parseRecipe(
-                Crafting.class.getResourceAsStream("/recipes/" + file.getName()), file.getName());
-        if (r != null) Crafting.RECIPES.add(r);
-      }
-    }
+    addAll(
+        Arrays.stream(files)
+            .parallel()
+            .filter(file -> file.getName().endsWith(".recipe"))
+            .map(
+                file -> {
+                  LOGGER.info("Load recipe: " + file.getName());
+                  return parseRecipe(
+                      Crafting.class.getResourceAsStream("/recipes/" + file.getName()),
+                      file.getName());
+                }));
+  }
+
+  // the stream may be parallel, the recipes are added in its encounter order
+  private static void addAll(final Stream<Recipe> recipes) {
+    recipes.filter(Objects::nonNull).toList().forEach(Crafting::addRecipe);
   }
 
   /**
@@ -144,9 +239,8 @@ public final class Crafting {
    * @return The parsed recipe.
    */
   private static Recipe parseRecipe(final InputStream stream, final String name) {
-    try {
-      BufferedReader reader =
-          new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
       StringBuilder builder = new StringBuilder();
       reader.lines().forEach(builder::append);
 
@@ -218,12 +312,7 @@ public final class Crafting {
           throw new RuntimeException("Unknown result type: " + type);
         }
       }
-      Recipe recipe = new Recipe(orderedRecipe, ingredientsArray, resultsArray);
-      RECIPES.add(recipe);
-
-      reader.close();
-
-      return recipe;
+      return new Recipe(orderedRecipe, ingredientsArray, resultsArray);
     } catch (IOException
         | InvocationTargetException
         | InstantiationException
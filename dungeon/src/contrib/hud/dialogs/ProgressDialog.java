@@ -0,0 +1,76 @@
+package contrib.hud.dialogs;
+
+import static contrib.hud.UIUtils.defaultSkin;
+
+import com.badlogic.gdx.scenes.scene2d.ui.Dialog;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Align;
+import contrib.hud.UIUtils;
+import core.Entity;
+import core.Game;
+import java.util.function.Supplier;
+
+/**
+ * A Dialog without buttons, that shows a text which is updated every frame.
+ *
+ * <p>Use {@link #showProgressDialog(String, Supplier)} to show the progress of a long-running
+ * operation. The dialog pauses the game; remove the returned entity from the game to close it.
+ */
+public final class ProgressDialog {
+
+  /**
+   * Show a Progress-Dialog.
+   *
+   * <p>Entity will already be added to the game.
+   *
+   * @param title title of the dialog window
+   * @param text supplies the text to show, is called on every frame
+   * @return Entity that stores the HUD components.
+   */
+  public static Entity showProgressDialog(final String title, final Supplier<String> text) {
+    return showProgressDialog(defaultSkin(), title, text);
+  }
+
+  /**
+   * Show a Progress-Dialog.
+   *
+   * <p>Entity will already be added to the game.
+   *
+   * @param skin UI skin to use
+   * @param title title of the dialog window
+   * @param text supplies the text to show, is called on every frame
+   * @return Entity that stores the HUD components.
+   */
+  public static Entity showProgressDialog(
+      final Skin skin, final String title, final Supplier<String> text) {
+    Entity entity = new Entity();
+
+    UIUtils.show(
+        () -> {
+          Dialog dialog = createProgressDialog(skin, title, text);
+          UIUtils.center(dialog);
+          return dialog;
+        },
+        entity);
+    Game.add(entity);
+    return entity;
+  }
+
+  private static Dialog createProgressDialog(
+      final Skin skin, final String title, final Supplier<String> text) {
+    Dialog progressDialog = new TextDialog(title, skin, "Letter", (d, id) -> false);
+    Label label =
+        new Label(text.get(), skin) {
+          @Override
+          public void act(float delta) {
+            super.act(delta);
+            setText(text.get());
+          }
+        };
+    label.setAlignment(Align.center);
+    progressDialog.getContentTable().add(label).center().grow();
+    progressDialog.pack(); // resizes to size
+    return progressDialog;
+  }
+}
@@ -18,8 +18,13 @@ import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
 import core.utils.IVoidFunction;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
@@ -72,6 +77,14 @@ public final class RoomBasedLevelGenerator {
   /**
    * Get a room-based level with a given level graph.
    *
+   * <p>Only the room of the root node is generated immediately. The other rooms are generated, when
+   * the player enters a neighbouring room for the first time, so the player can walk through each
+   * door of the current room. At this point, the rooms behind the new doors are already generated
+   * in the background. The entities of a room are added to the game, when the room is loaded for
+   * the first time.
+   *
+   * <p>A room can also be generated directly by calling {@link LevelNode#level()}.
+   *
    * <p>Now you can get a dot representation of the level graph in the log.
    *
    * @param graph Level graph to generate the level for.
@@ -79,25 +92,29 @@ public final class RoomBasedLevelGenerator {
    * @return The generated level.
    */
   public static ILevel level(final LevelGraph graph, final DesignLabel designLabel) {
-    RoomGenerator roomG = new RoomGenerator();
     LOGGER.info(graph.toDot());
-    // generate TileLevel for each Node
-    graph
-        .nodes()
-        .forEach(
-            node ->
-                node.level(
-                    new TileLevel(roomG.layout(sizeFor(node), node.neighbours()), designLabel)));
-
+    Rooms rooms = new Rooms(designLabel);
     for (LevelNode node : graph.nodes()) {
-      ILevel level = node.level();
-      // remove trapdoor exit, in rooms we only use doors
-      List<Tile> exits = new ArrayList<>(level.exitTiles());
-      exits.forEach(exit -> level.changeTileElementType(exit, LevelElement.FLOOR));
-      configureDoors(node);
-      node.level().onFirstLoad(() -> node.entities().forEach(Game::add));
+      node.levelSupplier(() -> rooms.generated(node));
+      node.onLevel(level -> rooms.install(node, level));
     }
-    return graph.root().level();
+    LevelNode root = graph.root();
+    neighbours(root).forEach(rooms::prefetch);
+    return root.level();
+  }
+
+  private static ILevel generate(
+      final LevelSize size, final LevelNode[] neighbours, final DesignLabel designLabel) {
+    // the RoomGenerator is not thread-safe, so each room gets its own
+    ILevel level = new TileLevel(new RoomGenerator().layout(size, neighbours), designLabel);
+    // remove trapdoor exit, in rooms we only use doors
+    List<Tile> exits = new ArrayList<>(level.exitTiles());
+    exits.forEach(exit -> level.changeTileElementType(exit, LevelElement.FLOOR));
+    return level;
+  }
+
+  private static List<LevelNode> neighbours(final LevelNode node) {
+    return Arrays.stream(node.neighbours()).filter(Objects::nonNull).toList();
   }
 
   private static LevelSize sizeFor(final LevelNode node) {
@@ -120,40 +137,127 @@ public final class RoomBasedLevelGenerator {
    * <p>Will also set the doorstep coordinate, so you will not spawn on the door after you have
    * entered it.
    *
+   * <p>The rooms of the neighbours are created, if they do not exist yet (see {@link
+   * LevelNode#level()}).
+   *
    * @param node Node to configure the doors for.
    */
   public static void configureDoors(final LevelNode node) {
     for (DoorTile door : node.level().doorTiles()) {
       Direction doorDirection = GeneratorUtils.doorDirection(node.level(), door);
+      LevelNode neighbour = node.neighbours()[doorDirection.value()];
+      door.otherDoor(neighbourDoor(neighbour, doorDirection));
+      door.doorstep(doorstep(door, doorDirection));
+    }
+  }
 
-      // find neighbour door
+  /**
+   * Set the doorsteps of the doors in the room of the given node, and connect the doors to the
+   * rooms of the neighbours, which already exist.
+   *
+   * <p>The doors of a neighbour, which does not exist yet, are connected when the neighbour is
+   * generated.
+   *
+   * @param node Node with a generated room.
+   */
+  private static void connectDoors(final LevelNode node) {
+    for (DoorTile door : node.level().doorTiles()) {
+      Direction doorDirection = GeneratorUtils.doorDirection(node.level(), door);
+      door.doorstep(doorstep(door, doorDirection));
       LevelNode neighbour = node.neighbours()[doorDirection.value()];
-      DoorTile neighbourDoor = null;
-      for (DoorTile doorTile : neighbour.level().doorTiles())
-        if (Direction.opposite(doorDirection)
-            == GeneratorUtils.doorDirection(neighbour.level(), doorTile)) {
-          neighbourDoor = doorTile;
-          break;
+      if (neighbour != null && neighbour.hasLevel()) {
+        DoorTile neighbourDoor = neighbourDoor(neighbour, doorDirection);
+        door.otherDoor(neighbourDoor);
+        if (neighbourDoor != null) {
+          neighbourDoor.otherDoor(door);
         }
-      door.otherDoor(neighbourDoor);
-
-      // place door steps
-      Tile doorStep = null;
-      switch (doorDirection) {
-        case NORTH ->
-            doorStep =
-                door.level().tileAt(new Coordinate(door.coordinate().x, door.coordinate().y - 1));
-        case EAST ->
-            doorStep =
-                door.level().tileAt(new Coordinate(door.coordinate().x - 1, door.coordinate().y));
-        case SOUTH ->
-            doorStep =
-                door.level().tileAt(new Coordinate(door.coordinate().x, door.coordinate().y + 1));
-        case WEST ->
-            doorStep =
-                door.level().tileAt(new Coordinate(door.coordinate().x + 1, door.coordinate().y));
       }
-      door.doorstep(doorStep);
+    }
+  }
+
+  private static DoorTile neighbourDoor(final LevelNode neighbour, final Direction doorDirection) {
+    for (DoorTile doorTile : neighbour.level().doorTiles())
+      if (Direction.opposite(doorDirection)
+          == GeneratorUtils.doorDirection(neighbour.level(), doorTile)) {
+        return doorTile;
+      }
+    return null;
+  }
+
+  private static Tile doorstep(final DoorTile door, final Direction doorDirection) {
+    return switch (doorDirection) {
+      case NORTH ->
+          door.level().tileAt(new Coordinate(door.coordinate().x, door.coordinate().y - 1));
+      case EAST ->
+          door.level().tileAt(new Coordinate(door.coordinate().x - 1, door.coordinate().y));
+      case SOUTH ->
+          door.level().tileAt(new Coordinate(door.coordinate().x, door.coordinate().y + 1));
+      case WEST ->
+          door.level().tileAt(new Coordinate(door.coordinate().x + 1, door.coordinate().y));
+    };
+  }
+
+  /**
+   * The rooms of a level graph, which are generated on demand.
+   *
+   * <p>The layouts of the rooms, which will be needed next, are generated on the common pool in
+   * advance. A room is only installed (its doors are connected) on the thread, which needs it.
+   */
+  private static final class Rooms {
+
+    private final DesignLabel designLabel;
+    private final Map<LevelNode, CompletableFuture<ILevel>> prefetched = new HashMap<>();
+
+    private Rooms(final DesignLabel designLabel) {
+      this.designLabel = designLabel;
+    }
+
+    /**
+     * Start to generate the room of the given node in the background.
+     *
+     * @param node Node to generate the room for.
+     */
+    private void prefetch(final LevelNode node) {
+      if (node.hasLevel() || prefetched.containsKey(node)) return;
+      // read the node on this thread, the entities may be changed in the meantime
+      LevelSize size = sizeFor(node);
+      LevelNode[] neighbours = node.neighbours();
+      prefetched.put(
+          node, CompletableFuture.supplyAsync(() -> generate(size, neighbours, designLabel)));
+    }
+
+    /**
+     * Get the room of the given node, generated in the background or now.
+     *
+     * @param node Node to get the room for.
+     * @return The (not yet installed) room.
+     */
+    private ILevel generated(final LevelNode node) {
+      CompletableFuture<ILevel> future = prefetched.remove(node);
+      if (future != null) return future.join();
+      return generate(sizeFor(node), node.neighbours(), designLabel);
+    }
+
+    /**
+     * Connect the doors of a new room and prepare its first load.
+     *
+     * <p>If the room is loaded for the first time, its entities are added to the game, and the
+     * rooms of the neighbours are created, so the player can use each door. The rooms behind them
+     * are generated in the background.
+     *
+     * @param node Node of the new room.
+     * @param level The new room.
+     */
+    private void install(final LevelNode node, final ILevel level) {
+      connectDoors(node);
+      level.onFirstLoad(
+          () -> {
+            node.entities().forEach(Game::add);
+            for (LevelNode neighbour : neighbours(node)) {
+              neighbour.level();
+              neighbours(neighbour).forEach(this::prefetch);
+            }
+          });
     }
   }
 }
@@ -3,6 +3,8 @@ package contrib.level.generator.graphBased.levelGraph;
 import core.Entity;
 import core.level.elements.ILevel;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Node in the level graph.
@@ -34,7 +36,9 @@ public class LevelNode {
 
   private final LevelNode[] neighbours = new LevelNode[MAX_NEIGHBOURS];
   private final LevelGraph originGraph;
+  private final List<Consumer<ILevel>> levelListeners = new ArrayList<>();
   private ILevel level;
+  private Supplier<ILevel> levelSupplier;
 
   /**
    * Creates a new node with the given collection as payload.
@@ -138,21 +142,70 @@ public class LevelNode {
   /**
    * Set the level for this node.
    *
+   * <p>The listeners registered with {@link #onLevel(Consumer)} are called with the level.
+   *
    * @param level The level/room that is represented by this node.
    */
   public void level(final ILevel level) {
     this.level = level;
+    List<Consumer<ILevel>> listeners = new ArrayList<>(levelListeners);
+    levelListeners.clear();
+    listeners.forEach(listener -> listener.accept(level));
+  }
+
+  /**
+   * Set a supplier, which creates the level for this node when it is needed for the first time.
+   *
+   * <p>This way, the room of a node is only generated, if it is used (see {@link #level()}).
+   *
+   * @param levelSupplier Creates the level/room that is represented by this node.
+   */
+  public void levelSupplier(final Supplier<ILevel> levelSupplier) {
+    this.levelSupplier = levelSupplier;
   }
 
   /**
    * Get level/room that is represented by this node.
    *
+   * <p>If the level was not set yet, but a {@link #levelSupplier(Supplier)}, the level is created
+   * by the supplier.
+   *
    * @return level/room that is represented by this node.
    */
   public ILevel level() {
+    if (level == null && levelSupplier != null) {
+      Supplier<ILevel> supplier = levelSupplier;
+      levelSupplier = null;
+      level(supplier.get());
+    }
     return level;
   }
 
+  /**
+   * Check if the level of this node exists, without creating it.
+   *
+   * @return true if the level was set or already created by the {@link #levelSupplier(Supplier)}.
+   */
+  public boolean hasLevel() {
+    return level != null;
+  }
+
+  /**
+   * Register a listener, that is called with the level of this node as soon as it exists.
+   *
+   * <p>If the level already exists, the listener is called immediately. This will not create the
+   * level.
+   *
+   * @param listener Gets the level/room that is represented by this node.
+   */
+  public void onLevel(final Consumer<ILevel> listener) {
+    if (level != null) {
+      listener.accept(level);
+    } else {
+      levelListeners.add(listener);
+    }
+  }
+
   /**
    * Get the origin graph of the node.
    *
@@ -0,0 +1,203 @@
+package dsl.interpreter;
+
+import dsl.interpreter.CompiledFunction.Frame;
+import dsl.runtime.callable.ICallable;
+import dsl.runtime.environment.RuntimeEnvironment;
+import dsl.runtime.interop.RuntimeObjectTranslator;
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.symbol.FunctionSymbol;
+import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calls an {@link ICallable} with raw Java objects as arguments, e.g. for a callback of a
+ * component, which is implemented by a DSL function.
+ *
+ * <p>If the callable is a compiled user defined function (see {@link FunctionCompiler}), the
+ * arguments are bound directly to the parameter slots of a reused {@link Frame}; no memory space,
+ * argument list or mock {@link dsl.parser.ast.IdNode} is created. The translation of each
+ * parameter is chosen once for the type of the parameter:
+ *
+ * <ul>
+ *   <li>arguments of a basic type are wrapped into a new {@link Value},
+ *   <li>arguments of an aggregate type are translated by the {@link RuntimeObjectTranslator}, the
+ *       new {@link dsl.runtime.value.AggregateValue} is used as parameter,
+ *   <li>all other arguments (and arguments with a registered {@link
+ *       dsl.runtime.interop.IObjectToValueTranslator}) are translated and assigned to a new default
+ *       value of the parameter type, like for a call through {@link
+ *       DSLInterpreter#callCallableRawParameters(ICallable, List)}.
+ * </ul>
+ *
+ * <p>All other callables are called through {@link
+ * DSLInterpreter#callCallableRawParameters(ICallable, List)}.
+ *
+ * <p>After {@link DSLInterpreter#reloadDefinitions(entrypoint.ParsedFile)}, the next call of a
+ * user defined function is linked to the function of the same name in the new definitions.
+ */
+public final class CallbackInvoker {
+
+  @FunctionalInterface
+  private interface ParameterBinder {
+    Value bind(Object argument);
+  }
+
+  private final DSLInterpreter interpreter;
+  private final ICallable callable;
+  private ICallable current;
+  private RuntimeObjectTranslator translator;
+  private ParameterBinder[] binders;
+  private CompiledFunction target;
+  private int linkedGeneration = -1;
+
+  /**
+   * Create a new invoker.
+   *
+   * @param interpreter The interpreter, which executes the callable.
+   * @param callable The callable to call.
+   */
+  public CallbackInvoker(DSLInterpreter interpreter, ICallable callable) {
+    this.interpreter = interpreter;
+    this.callable = callable;
+    this.current = callable;
+  }
+
+  /**
+   * Call the callable with one argument.
+   *
+   * @param argument The argument.
+   * @return The returned {@link Value} of the call.
+   */
+  public Value invoke(Object argument) {
+    CompiledFunction function = target();
+    if (function == null) {
+      return callRaw(argument);
+    }
+    Frame frame = function.acquireFrame();
+    bind(frame, 0, argument);
+    return function.run(frame);
+  }
+
+  /**
+   * Call the callable with two arguments.
+   *
+   * @param first The first argument.
+   * @param second The second argument.
+   * @return The returned {@link Value} of the call.
+   */
+  public Value invoke(Object first, Object second) {
+    CompiledFunction function = target();
+    if (function == null) {
+      return callRaw(first, second);
+    }
+    Frame frame = function.acquireFrame();
+    bind(frame, 0, first);
+    bind(frame, 1, second);
+    return function.run(frame);
+  }
+
+  /**
+   * Call the callable with three arguments.
+   *
+   * @param first The first argument.
+   * @param second The second argument.
+   * @param third The third argument.
+   * @return The returned {@link Value} of the call.
+   */
+  public Value invoke(Object first, Object second, Object third) {
+    CompiledFunction function = target();
+    if (function == null) {
+      return callRaw(first, second, third);
+    }
+    Frame frame = function.acquireFrame();
+    bind(frame, 0, first);
+    bind(frame, 1, second);
+    bind(frame, 2, third);
+    return function.run(frame);
+  }
+
+  /**
+   * Call the callable with any number of arguments.
+   *
+   * @param arguments The arguments.
+   * @return The returned {@link Value} of the call.
+   */
+  public Value invoke(Object[] arguments) {
+    CompiledFunction function = target();
+    if (function == null) {
+      return callRaw(arguments);
+    }
+    Frame frame = function.acquireFrame();
+    for (int i = 0; i < arguments.length; i++) {
+      bind(frame, i, arguments[i]);
+    }
+    return function.run(frame);
+  }
+
+  private CompiledFunction target() {
+    if (linkedGeneration != interpreter.definitionGeneration()) {
+      link();
+    }
+    return target;
+  }
+
+  private void link() {
+    if (callable instanceof FunctionSymbol functionSymbol
+        && callable.getCallableType().equals(ICallable.Type.UserDefined)) {
+      FunctionSymbol currentFunction = interpreter.currentDefinition(functionSymbol);
+      current = currentFunction;
+      target = interpreter.compiledFunction(currentFunction);
+    }
+    translator = interpreter.getRuntimeEnvironment().getRuntimeObjectTranslator();
+
+    List<IType> parameterTypes = current.getFunctionType().getParameterTypes();
+    binders = new ParameterBinder[parameterTypes.size()];
+    for (int i = 0; i < binders.length; i++) {
+      binders[i] = binder(parameterTypes.get(i));
+    }
+    linkedGeneration = interpreter.definitionGeneration();
+  }
+
+  private Value callRaw(Object... arguments) {
+    return (Value) interpreter.callCallableRawParameters(current, Arrays.asList(arguments));
+  }
+
+  private void bind(Frame frame, int parameter, Object argument) {
+    // surplus arguments are ignored, like in CompiledFunction#invoke
+    if (parameter < binders.length) {
+      frame.slots[parameter] = binders[parameter].bind(argument);
+    }
+  }
+
+  private ParameterBinder binder(IType type) {
+    return switch (type.getTypeKind()) {
+      case Basic ->
+          argument -> isPlain(argument) ? new Value(type, argument) : copy(argument, type);
+      case Aggregate, AggregateAdapted ->
+          argument -> isPlain(argument) ? translate(argument, type) : copy(argument, type);
+      default -> argument -> copy(argument, type);
+    };
+  }
+
+  /**
+   * Check, if the default translation of the argument creates a new {@link Value}, which can be
+   * used as parameter without copying it.
+   */
+  private boolean isPlain(Object argument) {
+    return argument != null
+        && !(argument instanceof Value)
+        && !translator.hasObjectToValueTranslator(argument.getClass());
+  }
+
+  private Value translate(Object argument, IType type) {
+    RuntimeEnvironment environment = interpreter.getRuntimeEnvironment();
+    return (Value)
+        environment.translateRuntimeObject(argument, interpreter.getCurrentMemorySpace(), type);
+  }
+
+  private Value copy(Object argument, IType type) {
+    Value parameter = interpreter.createDefaultValue(type);
+    interpreter.setValue(parameter, translate(argument, type));
+    return parameter;
+  }
+}
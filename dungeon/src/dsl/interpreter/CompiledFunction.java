@@ -0,0 +1,207 @@
+package dsl.interpreter;
+
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.symbol.FunctionSymbol;
+import dsl.semanticanalysis.typesystem.typebuilding.type.BuiltInType;
+import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A user defined DSL function, which was lowered to a tree of closures by the {@link
+ * FunctionCompiler}.
+ *
+ * <p>Parameters and local variables of the function are stored in the slots of a {@link Frame},
+ * which is created for each call. Executing the function does not need any {@link
+ * dsl.runtime.memoryspace.IMemorySpace} lookups or symbol table queries.
+ */
+final class CompiledFunction {
+
+  /** A compiled statement. */
+  @FunctionalInterface
+  interface Statement {
+    /**
+     * Execute the statement.
+     *
+     * @param frame The frame of the current call.
+     * @return true, if a return statement was executed.
+     */
+    boolean execute(Frame frame);
+  }
+
+  /** A compiled expression. */
+  @FunctionalInterface
+  interface Expression {
+    /**
+     * Evaluate the expression.
+     *
+     * @param frame The frame of the current call.
+     * @return The {@link Value} of the expression.
+     */
+    Value evaluate(Frame frame);
+  }
+
+  /** A compiled expression of the static type int, which is evaluated without boxing. */
+  @FunctionalInterface
+  interface IntExpression {
+    /**
+     * Evaluate the expression.
+     *
+     * @param frame The frame of the current call.
+     * @return The value of the expression.
+     */
+    int evaluateInt(Frame frame);
+  }
+
+  /** A compiled expression of the static type float, which is evaluated without boxing. */
+  @FunctionalInterface
+  interface FloatExpression {
+    /**
+     * Evaluate the expression.
+     *
+     * @param frame The frame of the current call.
+     * @return The value of the expression.
+     */
+    float evaluateFloat(Frame frame);
+  }
+
+  /** A compiled condition, which is evaluated to its truth value without creating a Value. */
+  @FunctionalInterface
+  interface BoolExpression {
+    /**
+     * Evaluate the condition.
+     *
+     * @param frame The frame of the current call.
+     * @return The truth value of the condition.
+     */
+    boolean evaluateBool(Frame frame);
+  }
+
+  /**
+   * The local state of one call of a {@link CompiledFunction}.
+   *
+   * <p>Frames are reused by later calls of the same function, see {@link #acquireFrame()}.
+   */
+  static final class Frame {
+    final Value[] slots;
+    Value returnValue = Value.NONE;
+
+    Frame(int size) {
+      this.slots = new Value[size];
+      Arrays.fill(slots, Value.NONE);
+    }
+  }
+
+  private final DSLInterpreter interpreter;
+  private final FunctionSymbol symbol;
+  private final List<IType> parameterTypes;
+  private final int frameSize;
+  private final Statement body;
+  // the frame of the last finished call, null while it is used by a call
+  private Frame pooledFrame;
+
+  CompiledFunction(
+      DSLInterpreter interpreter,
+      FunctionSymbol symbol,
+      List<IType> parameterTypes,
+      int frameSize,
+      Statement body) {
+    this.interpreter = interpreter;
+    this.symbol = symbol;
+    this.parameterTypes = parameterTypes;
+    this.frameSize = frameSize;
+    this.body = body;
+  }
+
+  /**
+   * Get the symbol of the compiled function.
+   *
+   * @return The {@link FunctionSymbol} of the function.
+   */
+  FunctionSymbol symbol() {
+    return symbol;
+  }
+
+  /**
+   * Get the types of the parameters, in the order of their slots.
+   *
+   * @return The parameter types.
+   */
+  List<IType> parameterTypes() {
+    return parameterTypes;
+  }
+
+  /**
+   * Call the function.
+   *
+   * <p>Each argument is assigned to a new default value of the type of its parameter, like the
+   * interpreter does for a call of a not compiled function. If fewer arguments than parameters are
+   * passed, the remaining parameters are {@link Value#NONE}.
+   *
+   * @param arguments The evaluated arguments of the call.
+   * @return The return value of the function, {@link Value#NONE} if the function does not declare a
+   *     return type.
+   */
+  Value invoke(Value[] arguments) {
+    Frame frame = acquireFrame();
+    int count = Math.min(arguments.length, parameterTypes.size());
+    for (int i = 0; i < count; i++) {
+      Value parameter = interpreter.createDefaultValue(parameterTypes.get(i));
+      interpreter.setValue(parameter, arguments[i]);
+      frame.slots[i] = parameter;
+    }
+    return run(frame);
+  }
+
+  /**
+   * Get a frame for a new call.
+   *
+   * <p>The frame of the last finished call is reused, if no other call uses it (a function calling
+   * itself gets a new frame for each nested call). The first slots of the frame are the parameter
+   * slots, which have to be set by the caller before the frame is passed to {@link #run(Frame)}.
+   *
+   * @return The frame, all slots are {@link Value#NONE}.
+   */
+  Frame acquireFrame() {
+    Frame frame = pooledFrame;
+    if (frame == null) {
+      frame = new Frame(frameSize);
+    } else {
+      pooledFrame = null;
+    }
+    IType returnType = symbol.getFunctionType().getReturnType();
+    if (returnType != BuiltInType.noType) {
+      frame.returnValue = interpreter.createDefaultValue(returnType);
+    }
+    return frame;
+  }
+
+  /**
+   * Execute the body of the function in a frame from {@link #acquireFrame()}.
+   *
+   * <p>The frame is cleared and given back to the pool afterwards, so it must not be used by the
+   * caller anymore. Like the tree walking interpreter, the call counts against the execution limits
+   * of the interpreter (see {@link DSLInterpreter#setStepLimit(long)}).
+   *
+   * @param frame The frame with the bound parameters.
+   * @return The return value of the function, {@link Value#NONE} if the function does not declare a
+   *     return type.
+   */
+  Value run(Frame frame) {
+    try {
+      interpreter.enterCall();
+      try {
+        body.execute(frame);
+        return frame.returnValue;
+      } catch (StackOverflowError error) {
+        throw interpreter.stackOverflow(error);
+      } finally {
+        interpreter.exitCall();
+      }
+    } finally {
+      Arrays.fill(frame.slots, Value.NONE);
+      frame.returnValue = Value.NONE;
+      pooledFrame = frame;
+    }
+  }
+}
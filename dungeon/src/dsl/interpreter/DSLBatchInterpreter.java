@@ -0,0 +1,245 @@
+package dsl.interpreter;
+
+import antlr.main.DungeonDSLLexer;
+import antlr.main.DungeonDSLParser;
+import dsl.parser.DungeonASTConverter;
+import dsl.parser.ParseCache;
+import dsl.parser.ast.Node;
+import dsl.semanticanalysis.analyzer.SemanticAnalyzer;
+import dsl.semanticanalysis.environment.GameEnvironment;
+import entrypoint.DSLEntryPoint;
+import entrypoint.DSLFileLoader;
+import entrypoint.DungeonConfig;
+import entrypoint.ParsedFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.Recognizer;
+import task.TaskSession;
+
+/**
+ * Parses, analyses and interprets many DSL files on a pool of worker threads.
+ *
+ * <p>This is meant for batch runs (e.g. grading of many submitted .dng files), in which the files
+ * are independent of each other. Each file is processed in its own {@link TaskSession}, each entry
+ * point of a file in its own {@link GameEnvironment} and {@link DSLInterpreter}, so the results of
+ * one file do not leak into another.
+ *
+ * <p>Errors do not abort the batch. Syntax errors, errors of the semantic analysis and exceptions
+ * thrown during the interpretation are collected as diagnostics of the file or entry point. A file
+ * with syntax errors is not analysed any further.
+ */
+public class DSLBatchInterpreter implements AutoCloseable {
+
+  private final ExecutorService executor;
+
+  /** Create a new batch interpreter with one worker thread per available processor. */
+  public DSLBatchInterpreter() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a new batch interpreter.
+   *
+   * @param threads the number of worker threads
+   */
+  public DSLBatchInterpreter(int threads) {
+    this.executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "dsl-batch-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Parse, analyse and interpret all passed files on the worker threads.
+   *
+   * <p>Blocks until all files are processed.
+   *
+   * @param files the paths of the DSL files (see {@link DSLFileLoader#processArguments(String[])})
+   * @return the results, in the iteration order of the passed files
+   */
+  public List<FileResult> interpret(Collection<Path> files) {
+    List<Future<FileResult>> futures = new ArrayList<>(files.size());
+    for (Path file : files) {
+      futures.add(executor.submit(() -> interpretFile(file)));
+    }
+
+    List<FileResult> results = new ArrayList<>(futures.size());
+    for (Future<FileResult> future : futures) {
+      try {
+        results.add(future.get());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        // interpretFile catches all exceptions of the interpretation
+        throw new RuntimeException(e.getCause());
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Parse, analyse and interpret a single file on the calling thread, in a new {@link TaskSession}.
+   *
+   * @param file the path of the DSL file
+   * @return the result of the file
+   */
+  public static FileResult interpretFile(Path file) {
+    TaskSession session = new TaskSession();
+    return TaskSession.callIn(session, () -> interpretFileInSession(file, session));
+  }
+
+  private static FileResult interpretFileInSession(Path file, TaskSession session) {
+    List<String> diagnostics = new ArrayList<>();
+    long start = System.nanoTime();
+    Node programAST = parse(DSLFileLoader.fileToString(file), diagnostics);
+    Duration parseTime = Duration.ofNanos(System.nanoTime() - start);
+
+    List<EntryPointResult> entryPoints = new ArrayList<>();
+    if (programAST != null) {
+      DSLEntryPointFinder finder = new DSLEntryPointFinder();
+      for (DSLEntryPoint entryPoint : finder.getEntryPoints(new ParsedFile(file, programAST))) {
+        entryPoints.add(interpretEntryPoint(entryPoint));
+      }
+    }
+    return new FileResult(file, session, entryPoints, diagnostics, parseTime);
+  }
+
+  /**
+   * Parse a DSL program and collect its syntax errors.
+   *
+   * <p>Programs without syntax errors are stored in the {@link ParseCache}, so a file, which is
+   * graded repeatedly, is only parsed once.
+   *
+   * @param content the DSL program
+   * @param diagnostics the list to add the syntax errors to
+   * @return the AST of the program, or null if the program contains syntax errors (the {@link
+   *     DungeonASTConverter} expects a well-formed parse tree)
+   */
+  private static Node parse(String content, List<String> diagnostics) {
+    Optional<Node> cached = ParseCache.shared().load(content);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    var lexer = new DungeonDSLLexer(CharStreams.fromString(content));
+    var parser = new DungeonDSLParser(new CommonTokenStream(lexer));
+    var errorListener =
+        new BaseErrorListener() {
+          @Override
+          public void syntaxError(
+              Recognizer<?, ?> recognizer,
+              Object offendingSymbol,
+              int line,
+              int charPositionInLine,
+              String msg,
+              RecognitionException e) {
+            diagnostics.add("line " + line + ":" + charPositionInLine + " " + msg);
+          }
+        };
+    lexer.removeErrorListeners();
+    lexer.addErrorListener(errorListener);
+    parser.removeErrorListeners();
+    parser.addErrorListener(errorListener);
+
+    var programParseTree = parser.program();
+    if (!diagnostics.isEmpty()) {
+      return null;
+    }
+    Node programAST = new DungeonASTConverter().walk(programParseTree);
+    ParseCache.shared().store(content, programAST);
+    return programAST;
+  }
+
+  private static EntryPointResult interpretEntryPoint(DSLEntryPoint entryPoint) {
+    List<String> diagnostics = new ArrayList<>();
+    long start = System.nanoTime();
+
+    var environment = new GameEnvironment();
+    SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer();
+    semanticAnalyzer.setup(environment);
+    var result = semanticAnalyzer.walk(entryPoint.file().rootASTNode());
+    Duration analysisTime = Duration.ofNanos(System.nanoTime() - start);
+    // like DSLInterpreter::interpretEntryPoint, the entry point is interpreted despite errors
+    result.errorString.lines().filter(line -> !line.isBlank()).forEach(diagnostics::add);
+
+    start = System.nanoTime();
+    DungeonConfig config = null;
+    try {
+      DSLInterpreter interpreter = new DSLInterpreter();
+      interpreter.initializeRuntime(environment);
+      config = interpreter.generateQuestConfig(entryPoint.configDefinitionNode());
+    } catch (RuntimeException e) {
+      diagnostics.add("interpretation failed: " + e);
+    }
+    Duration interpretationTime = Duration.ofNanos(System.nanoTime() - start);
+    return new EntryPointResult(
+        entryPoint.displayName(), config, diagnostics, analysisTime, interpretationTime);
+  }
+
+  /** Stop the worker threads. Files, which are already submitted, are still processed. */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * The result of a DSL file.
+   *
+   * @param file the path of the file
+   * @param session the session, which holds all tasks created while interpreting the file
+   * @param entryPoints the results of the entry points of the file, empty if the file could not be
+   *     parsed
+   * @param diagnostics the syntax errors of the file
+   * @param parseTime the time needed to read and parse the file
+   */
+  public record FileResult(
+      Path file,
+      TaskSession session,
+      List<EntryPointResult> entryPoints,
+      List<String> diagnostics,
+      Duration parseTime) {
+
+    /**
+     * Check, if the file or any of its entry points reported an error.
+     *
+     * @return true, if there is at least one diagnostic
+     */
+    public boolean hasErrors() {
+      return !diagnostics.isEmpty()
+          || entryPoints.stream().anyMatch(entryPoint -> !entryPoint.diagnostics().isEmpty());
+    }
+  }
+
+  /**
+   * The result of a single entry point of a DSL file.
+   *
+   * @param displayName the display name of the entry point
+   * @param config the interpreted config, null if the interpretation failed
+   * @param diagnostics the errors of the semantic analysis or interpretation
+   * @param analysisTime the time needed for the semantic analysis
+   * @param interpretationTime the time needed to interpret the entry point
+   */
+  public record EntryPointResult(
+      String displayName,
+      DungeonConfig config,
+      List<String> diagnostics,
+      Duration analysisTime,
+      Duration interpretationTime) {}
+}
@@ -1,6 +1,6 @@
 package dsl.interpreter;
 
-import dsl.parser.DungeonASTConverter;
+import dsl.parser.ParseCache;
 import dsl.parser.ast.*;
 import dsl.semanticanalysis.environment.GameEnvironment;
 import dsl.semanticanalysis.symbol.Symbol;
@@ -43,6 +43,8 @@ public class DSLEntryPointFinder implements AstVisitor<Object> {
    * Creates an AST vor the file of the passed filePath, searches it for quest_config definitions
    * and creates {@link DSLEntryPoint} instances for each one.
    *
+   * <p>The AST is taken from the {@link ParseCache}, if the content of the file was parsed before.
+   *
    * @param filePath the path of the file to search for quest_config definitions in
    * @return an empty optional, if reading the file caused an error or it does not contain any
    *     quest_config definitions, the list of found quest_config objects otherwise
@@ -54,7 +56,7 @@ public class DSLEntryPointFinder implements AstVisitor<Object> {
       programAST = parsedFile.rootASTNode();
     } else {
       String content = DSLFileLoader.fileToString(filePath);
-      programAST = DungeonASTConverter.getProgramAST(content);
+      programAST = ParseCache.shared().getProgramAST(content);
       ParsedFile parsedFile = new ParsedFile(filePath, programAST);
       this.parsedFiles.put(filePath, parsedFile);
       this.parsedFile = parsedFile;
@@ -69,6 +71,19 @@ public class DSLEntryPointFinder implements AstVisitor<Object> {
     return Optional.empty();
   }
 
+  /**
+   * Searches the AST of an already parsed file for quest_config definitions and creates {@link
+   * DSLEntryPoint} instances for each one.
+   *
+   * @param parsedFile the parsed file to search for quest_config definitions in
+   * @return the list of found quest_config objects, which is empty, if the file does not contain
+   *     any quest_config definitions
+   */
+  public List<DSLEntryPoint> getEntryPoints(ParsedFile parsedFile) {
+    this.parsedFile = parsedFile;
+    return findEntryPoints(parsedFile.rootASTNode());
+  }
+
   private List<DSLEntryPoint> findEntryPoints(Node programAST) {
     this.entryPoints = new ArrayList<>();
     programAST.accept(this);
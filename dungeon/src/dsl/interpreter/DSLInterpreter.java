@@ -26,11 +26,13 @@ import dsl.semanticanalysis.typesystem.instantiation.TypeInstantiator;
 import dsl.semanticanalysis.typesystem.typebuilding.type.*;
 import entrypoint.DSLEntryPoint;
 import entrypoint.DungeonConfig;
+import entrypoint.ParsedFile;
 import java.util.*;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import task.Task;
 import task.dslinterop.DSLAssignTask;
+import task.reporting.TaskTelemetry;
 import task.tasktype.Element;
 import task.tasktype.Quiz;
 
@@ -76,6 +78,26 @@ public class DSLInterpreter implements AstVisitor<Object> {
 
   private final ScenarioBuilderStorage scenarioBuilderStorage;
 
+  // compiled bodies of user defined functions, null for functions which can't be compiled
+  private final HashMap<FunctionSymbol, CompiledFunction> compiledFunctions = new HashMap<>();
+
+  // incremented by each reload of the definitions, see reloadDefinitions
+  private int definitionGeneration = 0;
+
+  /** The default of {@link #setStepLimit(long)}. */
+  public static final long DEFAULT_STEP_LIMIT = 10_000_000L;
+
+  // marker nodes carry no state, so one instance is pushed for every block and function call
+  private static final Node SCOPE_EXIT_MARK = new Node(Node.Type.ScopeExitMark);
+  private static final Node RETURN_MARK = new Node(Node.Type.ReturnMark);
+
+  private long stepLimit = DEFAULT_STEP_LIMIT;
+  // no fixed limit until a call overflows the stack, see stackOverflow()
+  private int callDepthLimit = Integer.MAX_VALUE;
+  // steps left for the current outermost function call, see step()
+  private long remainingSteps;
+  private int callDepth = 0;
+
   /** Constructor. WTF? . */
   public DSLInterpreter() {
     memoryStack = new ArrayDeque<>();
@@ -368,11 +390,15 @@ public class DSLInterpreter implements AstVisitor<Object> {
       scenarioBuilder = optionalScenarioBuilder.get();
     }
 
+    long start = System.nanoTime();
     Value retValue = (Value) this.callCallableRawParameters(scenarioBuilder, List.of(task));
     var typeInstantiator = this.environment.getTypeInstantiator();
 
     // create the java representation of the return Value
-    return Optional.of(typeInstantiator.instantiate(retValue));
+    Object result = typeInstantiator.instantiate(retValue);
+    TaskTelemetry.shared()
+        .built(task, System.nanoTime() - start, TaskTelemetry.entityCount(result));
+    return Optional.of(result);
   }
 
   /**
@@ -381,6 +407,11 @@ public class DSLInterpreter implements AstVisitor<Object> {
    * @param environment The environment to bind the functions, objects and data types from.
    */
   public void initializeRuntime(IEnvironment environment) {
+    this.compiledFunctions.clear();
+    initializeGlobals(environment);
+  }
+
+  private void initializeGlobals(IEnvironment environment) {
     // reinitialize global memory space
     this.memoryStack.clear();
     this.globalSpace = new MemorySpace();
@@ -389,11 +420,109 @@ public class DSLInterpreter implements AstVisitor<Object> {
     this.environment = new RuntimeEnvironment(environment, this);
 
     evaluateGlobalSymbols();
+    compileGlobalFunctions();
     initializeScenarioBuilderStorage();
 
     scanScopeForScenarioBuilders(this.environment.getGlobalScope());
   }
 
+  /**
+   * Replace the definitions of the running program by the definitions of a changed file.
+   *
+   * <p>The file is analyzed in a new environment. If it is free of errors, the global values,
+   * prototypes and functions of the interpreter are rebuilt from it, like {@link
+   * #initializeRuntime(IEnvironment)} does, but the objects already created from the old
+   * definitions (e.g. the entities of the current level) are kept. Callbacks of these objects
+   * switch to the function of the same name in the new definitions on their next call (see {@link
+   * CallbackInvoker}). Callbacks of removed functions keep executing the old function, which
+   * only works, if the old function was compiled (see {@link FunctionCompiler}).
+   *
+   * <p>The quest config is not interpreted again, so changes of the task dependency graph only
+   * take effect with a new level.
+   *
+   * @param file the parsed content of the changed file
+   * @return the error message of the semantic analysis, or an empty optional if the definitions
+   *     were replaced
+   */
+  public Optional<String> reloadDefinitions(ParsedFile file) {
+    return reloadDefinitions(file, new GameEnvironment());
+  }
+
+  /**
+   * Replace the definitions of the running program by the definitions of a changed file, see
+   * {@link #reloadDefinitions(ParsedFile)}.
+   *
+   * @param file the parsed content of the changed file
+   * @param environment a new environment, which was not used for a semantic analysis yet
+   * @return the error message of the semantic analysis, or an empty optional if the definitions
+   *     were replaced
+   */
+  public Optional<String> reloadDefinitions(ParsedFile file, IEnvironment environment) {
+    SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer();
+    semanticAnalyzer.setup(environment);
+    var result = semanticAnalyzer.walk(file.rootASTNode());
+    if (result.gotError) {
+      return Optional.of(result.errorString);
+    }
+
+    // the compiled functions of the old definitions are kept for the callbacks of removed
+    // functions, the new function symbols are compiled in addition
+    initializeGlobals(environment);
+    this.definitionGeneration++;
+    return Optional.empty();
+  }
+
+  /**
+   * Get the number of {@link #reloadDefinitions(ParsedFile)} calls, which replaced the definitions.
+   *
+   * @return the generation of the current definitions
+   */
+  int definitionGeneration() {
+    return this.definitionGeneration;
+  }
+
+  /**
+   * Get the current definition of a function, which might be replaced by {@link
+   * #reloadDefinitions(ParsedFile)}.
+   *
+   * @param symbol a function of the current or of former definitions
+   * @return the global function with the same name in the current definitions, or the passed
+   *     symbol, if there is none
+   */
+  FunctionSymbol currentDefinition(FunctionSymbol symbol) {
+    Symbol current = symbolTable().globalScope().resolve(symbol.getName());
+    if (current instanceof FunctionSymbol currentFunction
+        && currentFunction.getCallableType().equals(ICallable.Type.UserDefined)) {
+      return currentFunction;
+    }
+    return symbol;
+  }
+
+  private void compileGlobalFunctions() {
+    for (Symbol symbol : symbolTable().globalScope().getSymbols()) {
+      if (symbol instanceof FunctionSymbol functionSymbol) {
+        compiledFunction(functionSymbol);
+      }
+    }
+  }
+
+  /**
+   * Get the compiled body of a user defined function.
+   *
+   * <p>Functions, which are not compiled yet (e.g. because they were not part of the global scope
+   * during {@link #initializeRuntime(IEnvironment)}), are compiled on the first request.
+   *
+   * @param symbol The symbol of the function.
+   * @return The {@link CompiledFunction}, or null if the function can only be executed by this
+   *     interpreter.
+   */
+  CompiledFunction compiledFunction(FunctionSymbol symbol) {
+    if (!this.compiledFunctions.containsKey(symbol)) {
+      this.compiledFunctions.put(symbol, new FunctionCompiler(this, symbolTable()).compile(symbol));
+    }
+    return this.compiledFunctions.get(symbol);
+  }
+
   private void evaluateGlobalSymbols() {
     // bind all function definition and object definition symbols to values
     // in global memorySpace
@@ -804,7 +933,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
     ArrayList<Node> statements = node.getStmts();
 
     // push scope exit mark
-    statementStack.addFirst(new Node(Node.Type.ScopeExitMark));
+    statementStack.addFirst(SCOPE_EXIT_MARK);
 
     // push new MemorySpace on top of memory stack
     MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
@@ -871,7 +1000,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       if (!node.getIfStmt().type.equals(Node.Type.Block)) {
         MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
         memoryStack.push(ms);
-        statementStack.push(new Node(Node.Type.ScopeExitMark));
+        statementStack.push(SCOPE_EXIT_MARK);
       }
 
       statementStack.addFirst(node.getIfStmt());
@@ -889,7 +1018,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       if (!node.getIfStmt().type.equals(Node.Type.Block)) {
         MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
         memoryStack.push(ms);
-        statementStack.push(new Node(Node.Type.ScopeExitMark));
+        statementStack.push(SCOPE_EXIT_MARK);
       }
       statementStack.addFirst(node.getIfStmt());
     } else {
@@ -898,7 +1027,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       if (!node.getElseStmt().type.equals(Node.Type.Block)) {
         MemorySpace ms = new MemorySpace(this.getCurrentMemorySpace());
         memoryStack.push(ms);
-        statementStack.push(new Node(Node.Type.ScopeExitMark));
+        statementStack.push(SCOPE_EXIT_MARK);
       }
       statementStack.addFirst(node.getElseStmt());
     }
@@ -988,44 +1117,61 @@ public class DSLInterpreter implements AstVisitor<Object> {
 
   @Override
   public Object visit(LogicOrNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    // short circuit: the rhs is only evaluated, if the lhs is false
+    Value lhs = (Value) node.getLhs().accept(this);
+    if (isBooleanTrue(lhs)) {
+      return Operators.bool(true);
+    }
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.bool(isBooleanTrue(rhs));
   }
 
   @Override
   public Object visit(LogicAndNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    // short circuit: the rhs is only evaluated, if the lhs is true
+    Value lhs = (Value) node.getLhs().accept(this);
+    if (!isBooleanTrue(lhs)) {
+      return Operators.bool(false);
+    }
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.bool(isBooleanTrue(rhs));
   }
 
   @Override
   public Object visit(EqualityNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    Value lhs = (Value) node.getLhs().accept(this);
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.bool(Operators.equal(node.getEqualityType(), lhs, rhs));
   }
 
   @Override
   public Object visit(ComparisonNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    Value lhs = (Value) node.getLhs().accept(this);
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.bool(Operators.compare(node.getComparisonType(), lhs, rhs));
   }
 
   @Override
   public Object visit(TermNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    Value lhs = (Value) node.getLhs().accept(this);
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.term(node.getTermType(), lhs, rhs);
   }
 
   @Override
   public Object visit(FactorNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    Value lhs = (Value) node.getLhs().accept(this);
+    Value rhs = (Value) node.getRhs().accept(this);
+    return Operators.factor(node.getFactorType(), lhs, rhs);
   }
 
   @Override
   public Object visit(UnaryNode node) {
-    // TODO: implement
-    throw new UnsupportedOperationException();
+    Value inner = (Value) node.getInnerNode().accept(this);
+    return switch (node.getUnaryType()) {
+      case not -> Operators.bool(!isBooleanTrue(inner));
+      case minus -> Operators.negate(inner);
+    };
   }
 
   @Override
@@ -1052,7 +1198,20 @@ public class DSLInterpreter implements AstVisitor<Object> {
     if (entries.size() != 0) {
       entryType = entries.get(0).getDataType();
     }
-    // create list type
+    ListValue listValue = new ListValue(listType(entryType));
+    for (Value listEntry : entries) {
+      listValue.addValue(listEntry);
+    }
+    return listValue;
+  }
+
+  /**
+   * Get the {@link ListType} for an element type, the type is created if it does not exist yet.
+   *
+   * @param entryType The element type of the list.
+   * @return The {@link ListType}.
+   */
+  ListType listType(IType entryType) {
     String listTypeName = ListType.getListTypeName(entryType);
     // TODO: list_type is not properly put in environment beforehand, requires changing of
     //  environment<->typebuilder interaction
@@ -1061,11 +1220,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
       listType = new ListType(entryType, this.environment.getGlobalScope());
       this.environment.getGlobalScope().bind(listType);
     }
-    ListValue listValue = new ListValue((ListType) listType);
-    for (Value listEntry : entries) {
-      listValue.addValue(listEntry);
-    }
-    return listValue;
+    return (ListType) listType;
   }
 
   @Override
@@ -1084,20 +1239,29 @@ public class DSLInterpreter implements AstVisitor<Object> {
       entryType = entries.get(0).getDataType();
     }
 
-    // create list type
+    SetValue setValue = new SetValue(setType(entryType));
+    for (Value setEntry : entries) {
+      setValue.addValue(setEntry);
+    }
+    return setValue;
+  }
+
+  /**
+   * Get the {@link SetType} for an element type, the type is created if it does not exist yet.
+   *
+   * @param entryType The element type of the set.
+   * @return The {@link SetType}.
+   */
+  SetType setType(IType entryType) {
     String setTypeName = SetType.getSetTypeName(entryType);
-    // TODO: list_type is not properly put in environment beforehand, requires changing of
+    // TODO: set_type is not properly put in environment beforehand, requires changing of
     //  environment<->typebuilder interaction
     Symbol setType = this.environment.resolveInGlobalScope(setTypeName);
     if (setType == Symbol.NULL) {
       setType = new SetType(entryType, this.environment.getGlobalScope());
       this.environment.getGlobalScope().bind(setType);
     }
-    SetValue setValue = new SetValue((SetType) setType);
-    for (Value setEntry : entries) {
-      setValue.addValue(setEntry);
-    }
-    return setValue;
+    return (SetType) setType;
   }
 
   @Override
@@ -1231,7 +1395,7 @@ public class DSLInterpreter implements AstVisitor<Object> {
     return true;
   }
 
-  private boolean setValue(Value assignee, Value valueToAssign) {
+  boolean setValue(Value assignee, Value valueToAssign) {
     if (assignee == Value.NONE) {
       return false;
     }
@@ -1476,6 +1640,59 @@ public class DSLInterpreter implements AstVisitor<Object> {
     return null;
   }
 
+  /**
+   * Call an {@link ICallable} with already evaluated arguments.
+   *
+   * <p>This is used by {@link CompiledFunction}s to call native functions, native methods and
+   * functions, which could not be compiled. The arguments are bound in a new {@link IMemorySpace}
+   * under the names of the passed argument nodes (see {@link #argumentNodes(int)}), so the callable
+   * can evaluate these nodes like the parameter nodes of a normal call.
+   *
+   * @param callable The {@link ICallable} to call.
+   * @param argumentNodes The argument nodes, one for each argument.
+   * @param arguments The evaluated arguments.
+   * @param instance The {@link IMemorySpace} of the instance for a method call, or null.
+   * @return The returned {@link Value} of the call.
+   */
+  Value callCallableWithValues(
+      ICallable callable, List<Node> argumentNodes, Value[] arguments, IMemorySpace instance) {
+    MemorySpace argumentMemorySpace = new MemorySpace(getCurrentMemorySpace());
+    for (int i = 0; i < arguments.length; i++) {
+      argumentMemorySpace.bindValue(((IdNode) argumentNodes.get(i)).getName(), arguments[i]);
+    }
+
+    this.memoryStack.push(argumentMemorySpace);
+    if (instance != null) {
+      this.instanceMemoryStack.push(instance);
+    }
+    try {
+      return callCallable(callable, argumentNodes);
+    } finally {
+      if (instance != null) {
+        this.instanceMemoryStack.pop();
+      }
+      this.memoryStack.pop();
+    }
+  }
+
+  /**
+   * Create the argument nodes for {@link #callCallableWithValues(ICallable, List, Value[],
+   * IMemorySpace)}.
+   *
+   * <p>The nodes are not related to any symbol, so they are resolved by name in the current memory
+   * space.
+   *
+   * @param count The number of arguments.
+   * @return A List of {@link IdNode}s.
+   */
+  static List<Node> argumentNodes(int count) {
+    List<Node> argumentNodes = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      argumentNodes.add(new IdNode("$arg" + i + "$", SourceFileReference.NULL));
+    }
+    return argumentNodes;
+  }
+
   /**
    * This implements a call to a user defined dsl-function.
    *
@@ -1485,12 +1702,25 @@ public class DSLInterpreter implements AstVisitor<Object> {
    */
   protected Object executeUserDefinedFunctionRawParameters(
       FunctionSymbol symbol, List<Object> parameterObjects) {
+    CompiledFunction compiledFunction = compiledFunction(symbol);
+    if (compiledFunction != null) {
+      var currentMemorySpace = getCurrentMemorySpace();
+      var parameterTypes = compiledFunction.parameterTypes();
+      int count = Math.min(parameterObjects.size(), parameterTypes.size());
+      Value[] arguments = new Value[count];
+      for (int i = 0; i < count; i++) {
+        arguments[i] =
+            (Value)
+                this.environment.translateRuntimeObject(
+                    parameterObjects.get(i), currentMemorySpace, parameterTypes.get(i));
+      }
+      return compiledFunction.invoke(arguments);
+    }
+
     IMemorySpace functionMemorySpace = createFunctionMemorySpace(symbol);
     setupFunctionParametersRaw(symbol, functionMemorySpace, parameterObjects);
 
-    this.memoryStack.push(functionMemorySpace);
-    executeUserDefinedFunctionBody(symbol);
-    functionMemorySpace = memoryStack.pop();
+    executeUserDefinedFunctionBody(symbol, functionMemorySpace);
 
     return getReturnValueFromMemorySpace(functionMemorySpace);
   }
@@ -1503,15 +1733,20 @@ public class DSLInterpreter implements AstVisitor<Object> {
    * @return The return value of the function call
    */
   public Object executeUserDefinedFunction(FunctionSymbol symbol, List<Node> parameterNodes) {
+    CompiledFunction compiledFunction = compiledFunction(symbol);
+    if (compiledFunction != null) {
+      // the arguments are evaluated in the memory space of the caller
+      Value[] arguments = evaluateNodes(parameterNodes).toArray(new Value[0]);
+      return compiledFunction.invoke(arguments);
+    }
+
     IMemorySpace functionMemorySpace = createFunctionMemorySpace(symbol);
     // can't push memory space yet! If a passed argument has the same identifier
     // as a parameter, the name will be resolved in the new memory space and not
     // the enclosing memory space, containing the argument
     setupFunctionParameters(symbol, functionMemorySpace, parameterNodes);
 
-    this.memoryStack.push(functionMemorySpace);
-    executeUserDefinedFunctionBody(symbol);
-    functionMemorySpace = memoryStack.pop();
+    executeUserDefinedFunctionBody(symbol, functionMemorySpace);
 
     return getReturnValueFromMemorySpace(functionMemorySpace);
   }
@@ -1606,27 +1841,160 @@ public class DSLInterpreter implements AstVisitor<Object> {
   /**
    * Execute Statements in a functions body.
    *
+   * <p>The function memory space is pushed onto the memory stack for the execution and popped
+   * afterwards. If the execution is aborted by an exception (e.g. an {@link
+   * ExecutionLimitException}), everything the function pushed onto the statement stack and the
+   * memory stack is removed.
+   *
    * @param symbol The symbol representing the function definition
+   * @param functionMemorySpace The memory space with the bound parameters of the call
    */
-  private void executeUserDefinedFunctionBody(FunctionSymbol symbol) {
-    // add return mark
-    statementStack.addFirst(new Node(Node.Type.ReturnMark));
+  private void executeUserDefinedFunctionBody(
+      FunctionSymbol symbol, IMemorySpace functionMemorySpace) {
+    int statementStackSize = statementStack.size();
+    int memoryStackSize = memoryStack.size();
+    enterCall();
+    try {
+      memoryStack.push(functionMemorySpace);
+
+      // add return mark
+      statementStack.addFirst(RETURN_MARK);
+
+      // put statement block on statement stack
+      var funcRootNode = symbol.getAstRootNode();
+      var stmtBlock = (StmtBlockNode) funcRootNode.getStmtBlock();
+      if (stmtBlock != Node.NONE) {
+        statementStack.addFirst(stmtBlock);
+      }
+
+      while (statementStack.peek() != null
+          && statementStack.peek().type != Node.Type.ReturnMark) {
+        step();
+        var stmt = statementStack.pop();
+        stmt.accept(this);
+      }
 
-    // put statement block on statement stack
-    var funcRootNode = symbol.getAstRootNode();
-    var stmtBlock = (StmtBlockNode) funcRootNode.getStmtBlock();
-    if (stmtBlock != Node.NONE) {
-      statementStack.addFirst(stmtBlock);
+      // pop the return mark
+      assert Objects.requireNonNull(statementStack.peek()).type == Node.Type.ReturnMark;
+      statementStack.pop();
+    } catch (StackOverflowError error) {
+      throw stackOverflow(error);
+    } finally {
+      exitCall();
+      while (statementStack.size() > statementStackSize) {
+        statementStack.pop();
+      }
+      while (memoryStack.size() > memoryStackSize) {
+        memoryStack.pop();
+      }
     }
+  }
 
-    while (statementStack.peek() != null && statementStack.peek().type != Node.Type.ReturnMark) {
-      var stmt = statementStack.pop();
-      stmt.accept(this);
+  // endregion
+
+  // region execution limits
+
+  // The limits only bound the execution, they do not change how it happens: expressions and nested
+  // calls are still evaluated recursively on the stack of the calling thread, by this interpreter
+  // and by compiled functions alike. The call depth limit keeps the depth of that recursion (and so
+  // the stack usage) bounded, the step limit its duration. Without a fixed call depth limit, the
+  // depth is bounded by the stack itself, see stackOverflow().
+
+  /**
+   * Set the number of steps a call of a DSL function may execute, including all nested calls.
+   *
+   * <p>A step is an executed statement or a loop iteration; a call, which needs more steps, is
+   * aborted with an {@link ExecutionLimitException}. The limit guards the game loop against
+   * endless loops in DSL code, e.g. in a callback of a component.
+   *
+   * @param stepLimit The maximal number of steps of an outermost call.
+   */
+  public void setStepLimit(long stepLimit) {
+    this.stepLimit = stepLimit;
+  }
+
+  /**
+   * Get the number of steps a call of a DSL function may execute.
+   *
+   * @return The step limit.
+   */
+  public long getStepLimit() {
+    return this.stepLimit;
+  }
+
+  /**
+   * Set the maximal number of nested calls of DSL functions.
+   *
+   * <p>A call, which exceeds the limit, is aborted with an {@link ExecutionLimitException} before
+   * the endless recursion of a DSL function overflows the stack of the game thread.
+   *
+   * <p>By default, there is no fixed limit: the depth is bounded by the stack of the calling thread.
+   * A call, which overflows the stack, is aborted with an {@link ExecutionLimitException}, and the
+   * limit is set to seven eighths of the depth measured at the overflow. Later recursions are then
+   * aborted by the limit, before they overflow the stack again.
+   *
+   * @param callDepthLimit The maximal number of nested calls.
+   */
+  public void setCallDepthLimit(int callDepthLimit) {
+    this.callDepthLimit = callDepthLimit;
+  }
+
+  /**
+   * Get the maximal number of nested calls of DSL functions.
+   *
+   * @return The call depth limit.
+   */
+  public int getCallDepthLimit() {
+    return this.callDepthLimit;
+  }
+
+  /**
+   * Enter the call of a user defined function, the outermost call gets a new step budget.
+   *
+   * <p>Each call must be followed by {@link #exitCall()} in a finally block.
+   */
+  void enterCall() {
+    if (callDepth == 0) {
+      remainingSteps = stepLimit;
+    } else if (callDepth >= callDepthLimit) {
+      throw new ExecutionLimitException(
+          "Call depth limit of " + callDepthLimit + " exceeded, is there an endless recursion?");
     }
+    callDepth++;
+  }
 
-    // pop the return mark
-    assert Objects.requireNonNull(statementStack.peek()).type == Node.Type.ReturnMark;
-    statementStack.pop();
+  /** Leave the call of a user defined function. */
+  void exitCall() {
+    callDepth--;
+  }
+
+  /**
+   * Abort the current call, because it overflowed the stack of the calling thread.
+   *
+   * <p>The current call depth is the measured headroom of the stack; the call depth limit is
+   * lowered below it (see {@link #setCallDepthLimit(int)}). Must be called before {@link
+   * #exitCall()} of the overflowing call.
+   *
+   * @param error The overflow of the stack.
+   * @return The exception, which aborts the call.
+   */
+  ExecutionLimitException stackOverflow(StackOverflowError error) {
+    callDepthLimit = Math.min(callDepthLimit, Math.max(1, callDepth - callDepth / 8));
+    return new ExecutionLimitException(
+        "Stack overflow at call depth "
+            + callDepth
+            + ", call depth limit lowered to "
+            + callDepthLimit
+            + ", is there an endless recursion?",
+        error);
+  }
+
+  /** Count one step of the current call, see {@link #setStepLimit(long)}. */
+  void step() {
+    if (--remainingSteps < 0) {
+      throw new ExecutionLimitException(
+          "Step limit of " + stepLimit + " exceeded, is there an endless loop?");
+    }
   }
 
   // endregion
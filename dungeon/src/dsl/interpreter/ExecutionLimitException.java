@@ -0,0 +1,33 @@
+package dsl.interpreter;
+
+/**
+ * Thrown by the {@link DSLInterpreter}, if the execution of a DSL function exceeds the step limit
+ * or the call depth limit of the interpreter, or overflows the stack of the calling thread.
+ *
+ * <p>The execution is aborted and the stacks of the interpreter are unwound, so the interpreter can
+ * be used for further calls (e.g. the next callback of the same component).
+ *
+ * @see DSLInterpreter#setStepLimit(long)
+ * @see DSLInterpreter#setCallDepthLimit(int)
+ */
+public final class ExecutionLimitException extends RuntimeException {
+
+  /**
+   * Create a new exception.
+   *
+   * @param message Describes the exceeded limit.
+   */
+  public ExecutionLimitException(String message) {
+    super(message);
+  }
+
+  /**
+   * Create a new exception.
+   *
+   * @param message Describes the exceeded limit.
+   * @param cause The error, which aborted the execution (e.g. a {@link StackOverflowError}).
+   */
+  public ExecutionLimitException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
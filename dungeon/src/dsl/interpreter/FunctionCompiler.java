@@ -0,0 +1,782 @@
+package dsl.interpreter;
+
+import dsl.interpreter.CompiledFunction.BoolExpression;
+import dsl.interpreter.CompiledFunction.Expression;
+import dsl.interpreter.CompiledFunction.FloatExpression;
+import dsl.interpreter.CompiledFunction.Frame;
+import dsl.interpreter.CompiledFunction.IntExpression;
+import dsl.interpreter.CompiledFunction.Statement;
+import dsl.parser.ast.*;
+import dsl.runtime.callable.ICallable;
+import dsl.runtime.callable.NativeFunction;
+import dsl.runtime.memoryspace.IMemorySpace;
+import dsl.runtime.value.EnumValue;
+import dsl.runtime.value.FunctionValue;
+import dsl.runtime.value.ListValue;
+import dsl.runtime.value.SetValue;
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.SymbolTable;
+import dsl.semanticanalysis.scope.IScope;
+import dsl.semanticanalysis.scope.Scope;
+import dsl.semanticanalysis.symbol.FunctionSymbol;
+import dsl.semanticanalysis.symbol.ScopedSymbol;
+import dsl.semanticanalysis.symbol.Symbol;
+import dsl.semanticanalysis.typesystem.typebuilding.type.BuiltInType;
+import dsl.semanticanalysis.typesystem.typebuilding.type.EnumType;
+import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Lowers the body of a user defined DSL function to a tree of closures ({@link CompiledFunction}).
+ *
+ * <p>Everything the tree walking {@link DSLInterpreter} looks up on each visit of a node is
+ * resolved once during compilation:
+ *
+ * <ul>
+ *   <li>parameters and local variables get a slot in the {@link Frame} of the function,
+ *   <li>other names are resolved in the global memory space,
+ *   <li>the {@link ICallable} of each function call is bound to the call site.
+ * </ul>
+ *
+ * <p>Calls of other compiled functions are direct. All other callables are called through {@link
+ * DSLInterpreter#callCallableWithValues(ICallable, List, Value[], IMemorySpace)}, so native
+ * functions and methods keep their {@link ICallable} contract.
+ *
+ * <p>Operator expressions, whose operands have the static type int, float or bool (literals, local
+ * variables and other such operator expressions), are compiled to {@link IntExpression}s, {@link
+ * FloatExpression}s and {@link BoolExpression}s. They compute on primitives and only create a
+ * {@link Value} for the result of the whole expression; conditions of if statements and while
+ * loops do not create a {@link Value} at all. All other operator expressions evaluate their
+ * operands to {@link Value}s and apply the {@link Operators} like the interpreter.
+ *
+ * <p>Each executed statement and loop iteration counts one step against the step limit of the
+ * interpreter (see {@link DSLInterpreter#setStepLimit(long)}), like in the tree walking
+ * interpreter.
+ *
+ * <p>If a function uses a construct the compiler does not support (e.g. an assignment
+ * declaration), {@link #compile(FunctionSymbol)} returns null and the function is executed by the
+ * tree walking interpreter.
+ */
+final class FunctionCompiler {
+
+  private static final Statement NOOP = frame -> false;
+
+  private final DSLInterpreter interpreter;
+  private final SymbolTable symbolTable;
+  private final HashMap<Symbol, Integer> slots = new HashMap<>();
+  private FunctionSymbol function;
+
+  /**
+   * Create a new compiler.
+   *
+   * @param interpreter The interpreter, which executes the compiled functions.
+   * @param symbolTable The symbol table, the function bodies were analyzed with.
+   */
+  FunctionCompiler(DSLInterpreter interpreter, SymbolTable symbolTable) {
+    this.interpreter = interpreter;
+    this.symbolTable = symbolTable;
+  }
+
+  /**
+   * Compile a user defined function.
+   *
+   * @param functionSymbol The function to compile.
+   * @return The compiled function, or null if the function can only be executed by the tree
+   *     walking interpreter.
+   */
+  CompiledFunction compile(FunctionSymbol functionSymbol) {
+    FuncDefNode definition = functionSymbol.getAstRootNode();
+    if (definition == null) {
+      return null;
+    }
+    function = functionSymbol;
+    slots.clear();
+
+    // the parameters get the first slots, in the order the interpreter binds the arguments
+    List<Symbol> parameters = functionSymbol.getSymbols();
+    List<IType> parameterTypes = new ArrayList<>(parameters.size());
+    for (Symbol parameter : parameters) {
+      declare(parameter);
+      parameterTypes.add(parameter.getDataType());
+    }
+
+    try {
+      Statement body = statement(definition.getStmtBlock());
+      return new CompiledFunction(interpreter, functionSymbol, parameterTypes, slots.size(), body);
+    } catch (NotCompilable e) {
+      return null;
+    }
+  }
+
+  // region statements
+
+  private Statement statement(Node node) {
+    return switch (node.type) {
+      case NONE -> NOOP;
+      case Block -> block((StmtBlockNode) node);
+      case VarDeclNode -> varDecl((VarDeclNode) node);
+      case ReturnStmt -> returnStmt((ReturnStmtNode) node);
+      case ConditionalStmtIf -> ifStmt((ConditionalStmtNodeIf) node);
+      case ConditionalStmtIfElse -> ifElseStmt((ConditionalStmtNodeIfElse) node);
+      case LoopStmtNode -> loop((LoopStmtNode) node);
+      default -> {
+        Expression expression = expression(node);
+        yield frame -> {
+          expression.evaluate(frame);
+          return false;
+        };
+      }
+    };
+  }
+
+  private Statement block(StmtBlockNode node) {
+    ArrayList<Node> stmts = node.getStmts();
+    Statement[] statements = new Statement[stmts.size()];
+    for (int i = 0; i < statements.length; i++) {
+      statements[i] = statement(stmts.get(i));
+    }
+    return frame -> {
+      for (Statement statement : statements) {
+        interpreter.step();
+        if (statement.execute(frame)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private Statement varDecl(VarDeclNode node) {
+    if (!node.getDeclType().equals(VarDeclNode.DeclType.typeDecl)) {
+      throw new NotCompilable();
+    }
+    Symbol variable = symbolOf(node);
+    if (variable == Symbol.NULL || variable instanceof IType) {
+      throw new NotCompilable();
+    }
+    int slot = declare(variable);
+    IType type = variable.getDataType();
+    return frame -> {
+      frame.slots[slot] = interpreter.createDefaultValue(type);
+      return false;
+    };
+  }
+
+  private Statement returnStmt(ReturnStmtNode node) {
+    Expression inner = expression(node.getInnerStmtNode());
+    return frame -> {
+      Value value = inner.evaluate(frame);
+      if (value != Value.NONE) {
+        interpreter.setValue(frame.returnValue, value);
+      }
+      return true;
+    };
+  }
+
+  private Statement ifStmt(ConditionalStmtNodeIf node) {
+    BoolExpression condition = condition(node.getCondition());
+    Statement then = statement(node.getIfStmt());
+    return frame -> condition.evaluateBool(frame) && then.execute(frame);
+  }
+
+  private Statement ifElseStmt(ConditionalStmtNodeIfElse node) {
+    BoolExpression condition = condition(node.getCondition());
+    Statement then = statement(node.getIfStmt());
+    Statement otherwise = statement(node.getElseStmt());
+    return frame ->
+        condition.evaluateBool(frame) ? then.execute(frame) : otherwise.execute(frame);
+  }
+
+  private Statement loop(LoopStmtNode node) {
+    return switch (node.loopType()) {
+      case whileLoop -> whileLoop((WhileLoopStmtNode) node);
+      case forLoop, countingForLoop -> forLoop((ForLoopStmtNode) node);
+    };
+  }
+
+  private Statement whileLoop(WhileLoopStmtNode node) {
+    BoolExpression condition = condition(node.getExpressionNode());
+    Statement body = statement(node.getStmtNode());
+    return frame -> {
+      while (condition.evaluateBool(frame)) {
+        interpreter.step();
+        if (body.execute(frame)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private Statement forLoop(ForLoopStmtNode node) {
+    Expression iterable = expression(node.getIterableIdNode());
+
+    Symbol variable = symbolOf(node.getVarIdNode());
+    if (variable == Symbol.NULL) {
+      throw new NotCompilable();
+    }
+    int variableSlot = declare(variable);
+    IType variableType = variable.getDataType();
+
+    int counterSlot = -1;
+    IType counterType = null;
+    if (node.loopType().equals(LoopStmtNode.LoopType.countingForLoop)) {
+      Symbol counter = symbolOf(((CountingLoopStmtNode) node).getCounterIdNode());
+      if (counter == Symbol.NULL) {
+        throw new NotCompilable();
+      }
+      counterSlot = declare(counter);
+      counterType = counter.getDataType();
+    }
+    int finalCounterSlot = counterSlot;
+    IType finalCounterType = counterType;
+
+    Statement body = statement(node.getStmtNode());
+    return frame -> {
+      Iterator<Value> iterator = iterator(iterable.evaluate(frame));
+      Value counter = Value.NONE;
+      if (finalCounterSlot >= 0) {
+        counter = interpreter.createDefaultValue(finalCounterType);
+        counter.setInternalValue(-1);
+      }
+      while (iterator.hasNext()) {
+        interpreter.step();
+        // every iteration gets a new loop variable, like in the interpreter
+        Value loopVariable = interpreter.createDefaultValue(variableType);
+        interpreter.setValue(loopVariable, iterator.next());
+        frame.slots[variableSlot] = loopVariable;
+        if (finalCounterSlot >= 0) {
+          counter.setInternalValue((Integer) counter.getInternalValue() + 1);
+          frame.slots[finalCounterSlot] = counter;
+        }
+        if (body.execute(frame)) {
+          return true;
+        }
+      }
+      return false;
+    };
+  }
+
+  private static Iterator<Value> iterator(Value iterableValue) {
+    IType iterableType = iterableValue.getDataType();
+    if (iterableType.getTypeKind().equals(IType.Kind.ListType)) {
+      return ((ListValue) iterableValue).internalList().iterator();
+    } else if (iterableType.getTypeKind().equals(IType.Kind.SetType)) {
+      return ((SetValue) iterableValue).internalSet().iterator();
+    }
+    throw new RuntimeException("Non iterable type '" + iterableType + "' used in for loop!");
+  }
+
+  // endregion
+
+  // region expressions
+
+  private Expression expression(Node node) {
+    return switch (node.type) {
+      case NONE -> frame -> Value.NONE;
+      case Number -> {
+        int value = ((NumNode) node).getValue();
+        yield frame -> new Value(BuiltInType.intType, value);
+      }
+      case DecimalNumber -> {
+        float value = ((DecNumNode) node).getValue();
+        yield frame -> new Value(BuiltInType.floatType, value);
+      }
+      case StringLiteral -> {
+        String value = ((StringNode) node).getValue();
+        yield frame -> new Value(BuiltInType.stringType, value);
+      }
+      case Bool -> {
+        boolean value = ((BoolNode) node).getValue();
+        yield frame -> new Value(BuiltInType.boolType, value);
+      }
+      case Identifier -> identifier((IdNode) node);
+      case FuncCall -> call((FuncCallNode) node, null);
+      case MemberAccess -> memberAccess((MemberAccessNode) node);
+      case Assignment -> assignment((AssignmentNode) node);
+      case ListDefinitionNode -> listDefinition(((ListDefinitionNode) node).getEntries());
+      case SetDefinitionNode -> setDefinition(((SetDefinitionNode) node).getEntries());
+      case LogicOr, LogicAnd, Equality, Comparison, Term, Factor, Unary -> operator(node);
+      default -> throw new NotCompilable();
+    };
+  }
+
+  private Expression operator(Node node) {
+    IType type = staticType(node);
+    if (Operators.isInt(type)) {
+      IntExpression expression = intExpression(node);
+      return frame -> new Value(BuiltInType.intType, expression.evaluateInt(frame));
+    }
+    if (Operators.isFloat(type)) {
+      FloatExpression expression = floatExpression(node);
+      return frame -> new Value(BuiltInType.floatType, expression.evaluateFloat(frame));
+    }
+    if (type == BuiltInType.boolType) {
+      BoolExpression expression = condition(node);
+      return frame -> Operators.bool(expression.evaluateBool(frame));
+    }
+
+    // the types of the operands are only known at runtime
+    switch (node) {
+      case TermNode term -> {
+        TermNode.TermType termType = term.getTermType();
+        Expression lhs = expression(term.getLhs());
+        Expression rhs = expression(term.getRhs());
+        return frame -> Operators.term(termType, lhs.evaluate(frame), rhs.evaluate(frame));
+      }
+      case FactorNode factor -> {
+        FactorNode.FactorType factorType = factor.getFactorType();
+        Expression lhs = expression(factor.getLhs());
+        Expression rhs = expression(factor.getRhs());
+        return frame -> Operators.factor(factorType, lhs.evaluate(frame), rhs.evaluate(frame));
+      }
+      case UnaryNode unary -> {
+        Expression inner = expression(unary.getInnerNode());
+        return frame -> Operators.negate(inner.evaluate(frame));
+      }
+      default -> throw new NotCompilable();
+    }
+  }
+
+  /**
+   * Compile an expression of the static type int.
+   *
+   * @param node An expression, for which {@link #staticType(Node)} returns int.
+   */
+  private IntExpression intExpression(Node node) {
+    switch (node) {
+      case NumNode num -> {
+        int value = num.getValue();
+        return frame -> value;
+      }
+      case IdNode id -> {
+        int slot = slots.get(symbolOf(id));
+        return frame -> Operators.asInt(frame.slots[slot]);
+      }
+      case TermNode term -> {
+        TermNode.TermType termType = term.getTermType();
+        IntExpression lhs = intExpression(term.getLhs());
+        IntExpression rhs = intExpression(term.getRhs());
+        return frame ->
+            Operators.applyInt(termType, lhs.evaluateInt(frame), rhs.evaluateInt(frame));
+      }
+      case FactorNode factor -> {
+        FactorNode.FactorType factorType = factor.getFactorType();
+        IntExpression lhs = intExpression(factor.getLhs());
+        IntExpression rhs = intExpression(factor.getRhs());
+        return frame ->
+            Operators.applyInt(factorType, lhs.evaluateInt(frame), rhs.evaluateInt(frame));
+      }
+      case UnaryNode unary -> {
+        IntExpression inner = intExpression(unary.getInnerNode());
+        return frame -> -inner.evaluateInt(frame);
+      }
+      default -> throw new NotCompilable();
+    }
+  }
+
+  /**
+   * Compile an expression of the static type int or float to a float.
+   *
+   * @param node An expression, for which {@link #staticType(Node)} returns int or float.
+   */
+  private FloatExpression floatExpression(Node node) {
+    if (Operators.isInt(staticType(node))) {
+      IntExpression expression = intExpression(node);
+      return frame -> expression.evaluateInt(frame);
+    }
+    switch (node) {
+      case DecNumNode num -> {
+        float value = num.getValue();
+        return frame -> value;
+      }
+      case IdNode id -> {
+        int slot = slots.get(symbolOf(id));
+        return frame -> Operators.asFloat(frame.slots[slot]);
+      }
+      case TermNode term -> {
+        TermNode.TermType termType = term.getTermType();
+        FloatExpression lhs = floatExpression(term.getLhs());
+        FloatExpression rhs = floatExpression(term.getRhs());
+        return frame ->
+            Operators.applyFloat(termType, lhs.evaluateFloat(frame), rhs.evaluateFloat(frame));
+      }
+      case FactorNode factor -> {
+        FactorNode.FactorType factorType = factor.getFactorType();
+        FloatExpression lhs = floatExpression(factor.getLhs());
+        FloatExpression rhs = floatExpression(factor.getRhs());
+        return frame ->
+            Operators.applyFloat(factorType, lhs.evaluateFloat(frame), rhs.evaluateFloat(frame));
+      }
+      case UnaryNode unary -> {
+        FloatExpression inner = floatExpression(unary.getInnerNode());
+        return frame -> -inner.evaluateFloat(frame);
+      }
+      default -> throw new NotCompilable();
+    }
+  }
+
+  /**
+   * Compile an expression to its truth value, as defined by {@link
+   * DSLInterpreter#isBooleanTrue(Value)}.
+   */
+  private BoolExpression condition(Node node) {
+    switch (node) {
+      case BoolNode bool -> {
+        boolean value = bool.getValue();
+        return frame -> value;
+      }
+      case LogicOrNode or -> {
+        BoolExpression lhs = condition(or.getLhs());
+        BoolExpression rhs = condition(or.getRhs());
+        return frame -> lhs.evaluateBool(frame) || rhs.evaluateBool(frame);
+      }
+      case LogicAndNode and -> {
+        BoolExpression lhs = condition(and.getLhs());
+        BoolExpression rhs = condition(and.getRhs());
+        return frame -> lhs.evaluateBool(frame) && rhs.evaluateBool(frame);
+      }
+      case UnaryNode unary when unary.getUnaryType().equals(UnaryNode.UnaryType.not) -> {
+        BoolExpression inner = condition(unary.getInnerNode());
+        return frame -> !inner.evaluateBool(frame);
+      }
+      case ComparisonNode comparison -> {
+        return comparison(comparison);
+      }
+      case EqualityNode equality -> {
+        return equality(equality);
+      }
+      default -> {
+        Expression expression = expression(node);
+        return frame -> DSLInterpreter.isBooleanTrue(expression.evaluate(frame));
+      }
+    }
+  }
+
+  private BoolExpression comparison(ComparisonNode node) {
+    ComparisonNode.ComparisonType comparisonType = node.getComparisonType();
+    IType lhsType = staticType(node.getLhs());
+    IType rhsType = staticType(node.getRhs());
+    if (Operators.isInt(lhsType) && Operators.isInt(rhsType)) {
+      IntExpression lhs = intExpression(node.getLhs());
+      IntExpression rhs = intExpression(node.getRhs());
+      return frame ->
+          Operators.compareInt(comparisonType, lhs.evaluateInt(frame), rhs.evaluateInt(frame));
+    }
+    if (Operators.isNumeric(lhsType) && Operators.isNumeric(rhsType)) {
+      FloatExpression lhs = floatExpression(node.getLhs());
+      FloatExpression rhs = floatExpression(node.getRhs());
+      return frame ->
+          Operators.compareFloat(
+              comparisonType, lhs.evaluateFloat(frame), rhs.evaluateFloat(frame));
+    }
+    Expression lhs = expression(node.getLhs());
+    Expression rhs = expression(node.getRhs());
+    return frame -> Operators.compare(comparisonType, lhs.evaluate(frame), rhs.evaluate(frame));
+  }
+
+  private BoolExpression equality(EqualityNode node) {
+    EqualityNode.EqualityType equalityType = node.getEqualityType();
+    boolean equals = Operators.isEquality(equalityType);
+    IType lhsType = staticType(node.getLhs());
+    IType rhsType = staticType(node.getRhs());
+    if (Operators.isInt(lhsType) && Operators.isInt(rhsType)) {
+      IntExpression lhs = intExpression(node.getLhs());
+      IntExpression rhs = intExpression(node.getRhs());
+      return frame -> (lhs.evaluateInt(frame) == rhs.evaluateInt(frame)) == equals;
+    }
+    if (Operators.isNumeric(lhsType) && Operators.isNumeric(rhsType)) {
+      FloatExpression lhs = floatExpression(node.getLhs());
+      FloatExpression rhs = floatExpression(node.getRhs());
+      return frame -> (lhs.evaluateFloat(frame) == rhs.evaluateFloat(frame)) == equals;
+    }
+    if (lhsType == BuiltInType.boolType && rhsType == BuiltInType.boolType) {
+      BoolExpression lhs = condition(node.getLhs());
+      BoolExpression rhs = condition(node.getRhs());
+      return frame -> (lhs.evaluateBool(frame) == rhs.evaluateBool(frame)) == equals;
+    }
+    Expression lhs = expression(node.getLhs());
+    Expression rhs = expression(node.getRhs());
+    return frame -> Operators.equal(equalityType, lhs.evaluate(frame), rhs.evaluate(frame));
+  }
+
+  /**
+   * Get the type of an expression, if it is known at compile time and one of int, float and bool.
+   *
+   * @param node The expression.
+   * @return The static type of the expression, or null.
+   */
+  private IType staticType(Node node) {
+    return switch (node) {
+      case NumNode num -> BuiltInType.intType;
+      case DecNumNode num -> BuiltInType.floatType;
+      case BoolNode bool -> BuiltInType.boolType;
+      case IdNode id when node.type.equals(Node.Type.Identifier) -> {
+        Symbol symbol = symbolOf(id);
+        IType type = symbol == Symbol.NULL ? null : symbol.getDataType();
+        boolean primitive = Operators.isNumeric(type) || type == BuiltInType.boolType;
+        yield primitive && isLocal(symbol) && slots.containsKey(symbol) ? type : null;
+      }
+      case LogicOrNode or -> BuiltInType.boolType;
+      case LogicAndNode and -> BuiltInType.boolType;
+      case EqualityNode equality -> BuiltInType.boolType;
+      case ComparisonNode comparison -> BuiltInType.boolType;
+      case UnaryNode unary -> {
+        if (unary.getUnaryType().equals(UnaryNode.UnaryType.not)) {
+          yield BuiltInType.boolType;
+        }
+        IType innerType = staticType(unary.getInnerNode());
+        yield Operators.isNumeric(innerType) ? innerType : null;
+      }
+      case TermNode term -> numericType(staticType(term.getLhs()), staticType(term.getRhs()));
+      case FactorNode factor ->
+          numericType(staticType(factor.getLhs()), staticType(factor.getRhs()));
+      default -> null;
+    };
+  }
+
+  /** The type of a numeric operation, null if an operand is not numeric. */
+  private static IType numericType(IType lhs, IType rhs) {
+    if (!Operators.isNumeric(lhs) || !Operators.isNumeric(rhs)) {
+      return null;
+    }
+    if (Operators.isInt(lhs) && Operators.isInt(rhs)) {
+      return BuiltInType.intType;
+    }
+    return BuiltInType.floatType;
+  }
+
+  private Expression identifier(IdNode node) {
+    Symbol symbol = symbolOf(node);
+    if (symbol instanceof NativeFunction nativeFunction) {
+      return frame -> new FunctionValue(nativeFunction.getFunctionType(), nativeFunction);
+    }
+    if (symbol instanceof FunctionSymbol functionSymbol) {
+      return frame -> new FunctionValue(functionSymbol.getFunctionType(), functionSymbol);
+    }
+    if (symbol == Symbol.NULL) {
+      throw new NotCompilable();
+    }
+    if (isLocal(symbol)) {
+      Integer slot = slots.get(symbol);
+      if (slot == null) {
+        throw new NotCompilable();
+      }
+      int index = slot;
+      return frame -> frame.slots[index];
+    }
+    if (symbol.getScope() == symbolTable.globalScope()) {
+      String name = node.getName();
+      return frame -> interpreter.getGlobalMemorySpace().resolve(name);
+    }
+    throw new NotCompilable();
+  }
+
+  /**
+   * Compile a function call.
+   *
+   * @param node The call.
+   * @param instance The instance for a method call, null for a call outside of a member access.
+   */
+  private Expression call(FuncCallNode node, Expression instance) {
+    if (!(symbolOf(node) instanceof ICallable callable)) {
+      throw new NotCompilable();
+    }
+    List<Node> parameterNodes = node.getParameters();
+    Expression[] arguments = new Expression[parameterNodes.size()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = expression(parameterNodes.get(i));
+    }
+
+    if (instance == null
+        && callable instanceof FunctionSymbol callee
+        && callable.getCallableType().equals(ICallable.Type.UserDefined)) {
+      return new DirectCall(callee, arguments);
+    }
+
+    List<Node> argumentNodes = DSLInterpreter.argumentNodes(arguments.length);
+    return frame -> {
+      IMemorySpace instanceMemorySpace =
+          instance == null ? null : instance.evaluate(frame).getMemorySpace();
+      Value[] values = evaluate(arguments, frame);
+      return interpreter.callCallableWithValues(
+          callable, argumentNodes, values, instanceMemorySpace);
+    };
+  }
+
+  /** Mirrors {@link DSLInterpreter#visit(MemberAccessNode)}. */
+  private Expression memberAccess(MemberAccessNode node) {
+    Expression lhsValue = null;
+    Node currentNode = node;
+    Node rhs = Node.NONE;
+    while (currentNode.type.equals(Node.Type.MemberAccess)) {
+      Node lhs = ((MemberAccessNode) currentNode).getLhs();
+      rhs = ((MemberAccessNode) currentNode).getRhs();
+
+      if (symbolOf(lhs) instanceof EnumType enumType) {
+        Symbol variant = symbolOf(rhs);
+        if (variant == Symbol.NULL || !rhs.type.equals(Node.Type.Identifier)) {
+          throw new NotCompilable();
+        }
+        return frame -> new EnumValue(enumType, variant);
+      }
+
+      Expression previous = lhsValue;
+      if (lhs.type.equals(Node.Type.Identifier)) {
+        if (previous == null) {
+          lhsValue = identifier((IdNode) lhs);
+        } else {
+          String name = ((IdNode) lhs).getName();
+          lhsValue = frame -> previous.evaluate(frame).getMemorySpace().resolve(name);
+        }
+      } else if (lhs.type.equals(Node.Type.FuncCall)) {
+        lhsValue = call((FuncCallNode) lhs, previous);
+      } else {
+        throw new NotCompilable();
+      }
+      currentNode = rhs;
+    }
+
+    Expression instance = lhsValue;
+    if (rhs.type.equals(Node.Type.Identifier)) {
+      Symbol symbol = symbolOf(rhs);
+      if (symbol instanceof NativeFunction || symbol instanceof FunctionSymbol) {
+        return identifier((IdNode) rhs);
+      }
+      String name = ((IdNode) rhs).getName();
+      return frame -> instance.evaluate(frame).getMemorySpace().resolve(name, true);
+    } else if (rhs.type.equals(Node.Type.FuncCall)) {
+      return call((FuncCallNode) rhs, instance);
+    }
+    throw new NotCompilable();
+  }
+
+  private Expression assignment(AssignmentNode node) {
+    Expression lhs = expression(node.getLhs());
+    Expression rhs = expression(node.getRhs());
+    return frame -> {
+      Value lhsValue = lhs.evaluate(frame);
+      Value rhsValue = rhs.evaluate(frame);
+      interpreter.setValue(lhsValue, rhsValue);
+      return lhsValue;
+    };
+  }
+
+  private Expression listDefinition(List<Node> entryNodes) {
+    Expression[] entries = expressions(entryNodes);
+    return frame -> {
+      Value[] values = evaluate(entries, frame);
+      ListValue listValue = new ListValue(interpreter.listType(entryType(values)));
+      for (Value value : values) {
+        listValue.addValue(value);
+      }
+      return listValue;
+    };
+  }
+
+  private Expression setDefinition(List<Node> entryNodes) {
+    Expression[] entries = expressions(entryNodes);
+    return frame -> {
+      Value[] values = evaluate(entries, frame);
+      SetValue setValue = new SetValue(interpreter.setType(entryType(values)));
+      for (Value value : values) {
+        setValue.addValue(value);
+      }
+      return setValue;
+    };
+  }
+
+  private static IType entryType(Value[] values) {
+    return values.length == 0 ? BuiltInType.noType : values[0].getDataType();
+  }
+
+  private Expression[] expressions(List<Node> nodes) {
+    Expression[] expressions = new Expression[nodes.size()];
+    for (int i = 0; i < expressions.length; i++) {
+      expressions[i] = expression(nodes.get(i));
+    }
+    return expressions;
+  }
+
+  private static Value[] evaluate(Expression[] expressions, Frame frame) {
+    Value[] values = new Value[expressions.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = expressions[i].evaluate(frame);
+    }
+    return values;
+  }
+
+  // endregion
+
+  // region symbols
+
+  private Symbol symbolOf(Node node) {
+    List<Symbol> symbols = symbolTable.getSymbolsForAstNode(node);
+    return symbols.isEmpty() ? Symbol.NULL : symbols.get(0);
+  }
+
+  private int declare(Symbol symbol) {
+    return slots.computeIfAbsent(symbol, s -> slots.size());
+  }
+
+  /** Check, if the symbol is defined in the scope of the compiled function or one of its blocks. */
+  private boolean isLocal(Symbol symbol) {
+    IScope scope = symbol.getScope();
+    while (scope != null && scope != Scope.NULL && scope != ScopedSymbol.NULL) {
+      if (scope == function) {
+        return true;
+      }
+      if (scope == symbolTable.globalScope()) {
+        return false;
+      }
+      scope = scope.getParent();
+    }
+    return false;
+  }
+
+  // endregion
+
+  /**
+   * Call of another user defined function.
+   *
+   * <p>The callee is compiled on the first call, so (mutually) recursive functions can be compiled
+   * independent of each other. If the callee can not be compiled, it is executed by the tree
+   * walking interpreter.
+   */
+  private final class DirectCall implements Expression {
+    private final FunctionSymbol callee;
+    private final Expression[] arguments;
+    private final List<Node> argumentNodes;
+    private CompiledFunction target;
+    private boolean linked = false;
+
+    private DirectCall(FunctionSymbol callee, Expression[] arguments) {
+      this.callee = callee;
+      this.arguments = arguments;
+      this.argumentNodes = DSLInterpreter.argumentNodes(arguments.length);
+    }
+
+    @Override
+    public Value evaluate(Frame frame) {
+      if (!linked) {
+        target = interpreter.compiledFunction(callee);
+        linked = true;
+      }
+      Value[] values = FunctionCompiler.evaluate(arguments, frame);
+      if (target != null) {
+        return target.invoke(values);
+      }
+      return interpreter.callCallableWithValues(callee, argumentNodes, values, null);
+    }
+  }
+
+  /** Thrown, if a function uses a construct the compiler does not support. */
+  private static final class NotCompilable extends RuntimeException {
+    private NotCompilable() {
+      super(null, null, false, false);
+    }
+  }
+}
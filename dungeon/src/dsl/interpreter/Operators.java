@@ -0,0 +1,203 @@
+package dsl.interpreter;
+
+import dsl.parser.ast.ComparisonNode;
+import dsl.parser.ast.EqualityNode;
+import dsl.parser.ast.FactorNode;
+import dsl.parser.ast.TermNode;
+import dsl.runtime.value.Value;
+import dsl.semanticanalysis.typesystem.typebuilding.type.BuiltInType;
+import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.Objects;
+
+/**
+ * The semantics of the arithmetic, comparison and logical operators of the DSL.
+ *
+ * <p>Numeric operators accept int and float operands. If both operands are ints, the operation is
+ * executed on ints (the division truncates), otherwise on floats. The operator "+" concatenates
+ * the operands, if one of them is a string.
+ *
+ * <p>"==" and "!=" compare numbers by their numeric value and all other values by their internal
+ * value. "!", "and" and "or" use the truth value defined by {@link
+ * DSLInterpreter#isBooleanTrue(Value)}.
+ *
+ * <p>The primitive functions (e.g. {@link #applyInt(TermNode.TermType, int, int)}) are used by the
+ * {@link FunctionCompiler} for expressions, whose operand types are known at compile time. The
+ * functions on {@link Value}s are used by the tree walking {@link DSLInterpreter} and for all other
+ * expressions; they check the types of the operands at runtime.
+ */
+final class Operators {
+
+  private Operators() {}
+
+  // region primitive operations
+
+  static int applyInt(TermNode.TermType type, int lhs, int rhs) {
+    return switch (type) {
+      case plus -> lhs + rhs;
+      case minus -> lhs - rhs;
+    };
+  }
+
+  static float applyFloat(TermNode.TermType type, float lhs, float rhs) {
+    return switch (type) {
+      case plus -> lhs + rhs;
+      case minus -> lhs - rhs;
+    };
+  }
+
+  static int applyInt(FactorNode.FactorType type, int lhs, int rhs) {
+    return switch (type) {
+      case multiply -> lhs * rhs;
+      case divide -> {
+        if (rhs == 0) {
+          throw new RuntimeException("Division by zero!");
+        }
+        yield lhs / rhs;
+      }
+    };
+  }
+
+  static float applyFloat(FactorNode.FactorType type, float lhs, float rhs) {
+    return switch (type) {
+      case multiply -> lhs * rhs;
+      case divide -> lhs / rhs;
+    };
+  }
+
+  static boolean compareInt(ComparisonNode.ComparisonType type, int lhs, int rhs) {
+    return switch (type) {
+      case greaterThan -> lhs > rhs;
+      case greaterEquals -> lhs >= rhs;
+      case lessThan -> lhs < rhs;
+      case lessEquals -> lhs <= rhs;
+    };
+  }
+
+  static boolean compareFloat(ComparisonNode.ComparisonType type, float lhs, float rhs) {
+    return switch (type) {
+      case greaterThan -> lhs > rhs;
+      case greaterEquals -> lhs >= rhs;
+      case lessThan -> lhs < rhs;
+      case lessEquals -> lhs <= rhs;
+    };
+  }
+
+  static boolean isEquality(EqualityNode.EqualityType type) {
+    return type.equals(EqualityNode.EqualityType.equals);
+  }
+
+  // endregion
+
+  // region operations on values
+
+  static Value term(TermNode.TermType type, Value lhs, Value rhs) {
+    if (type.equals(TermNode.TermType.plus) && (isString(lhs) || isString(rhs))) {
+      return new Value(BuiltInType.stringType, lhs.toString() + rhs);
+    }
+    checkNumeric(type.equals(TermNode.TermType.plus) ? "+" : "-", lhs, rhs);
+    if (isInt(lhs) && isInt(rhs)) {
+      return new Value(BuiltInType.intType, applyInt(type, asInt(lhs), asInt(rhs)));
+    }
+    return new Value(BuiltInType.floatType, applyFloat(type, asFloat(lhs), asFloat(rhs)));
+  }
+
+  static Value factor(FactorNode.FactorType type, Value lhs, Value rhs) {
+    checkNumeric(type.equals(FactorNode.FactorType.multiply) ? "*" : "/", lhs, rhs);
+    if (isInt(lhs) && isInt(rhs)) {
+      return new Value(BuiltInType.intType, applyInt(type, asInt(lhs), asInt(rhs)));
+    }
+    return new Value(BuiltInType.floatType, applyFloat(type, asFloat(lhs), asFloat(rhs)));
+  }
+
+  static boolean compare(ComparisonNode.ComparisonType type, Value lhs, Value rhs) {
+    checkNumeric(type.name(), lhs, rhs);
+    if (isInt(lhs) && isInt(rhs)) {
+      return compareInt(type, asInt(lhs), asInt(rhs));
+    }
+    return compareFloat(type, asFloat(lhs), asFloat(rhs));
+  }
+
+  static boolean equal(EqualityNode.EqualityType type, Value lhs, Value rhs) {
+    boolean equal;
+    if (isNumeric(lhs) && isNumeric(rhs)) {
+      equal = isInt(lhs) && isInt(rhs) ? asInt(lhs) == asInt(rhs) : asFloat(lhs) == asFloat(rhs);
+    } else if (lhs == Value.NONE || rhs == Value.NONE) {
+      equal = lhs == rhs;
+    } else {
+      equal = Objects.equals(lhs.getInternalValue(), rhs.getInternalValue());
+    }
+    return isEquality(type) == equal;
+  }
+
+  static Value negate(Value value) {
+    if (isInt(value)) {
+      return new Value(BuiltInType.intType, -asInt(value));
+    } else if (isFloat(value)) {
+      return new Value(BuiltInType.floatType, -asFloat(value));
+    }
+    throw new RuntimeException("Operator '-' is not defined for type '" + typeName(value) + "'");
+  }
+
+  static Value bool(boolean value) {
+    return new Value(BuiltInType.boolType, value);
+  }
+
+  // endregion
+
+  // region operand types
+
+  static boolean isInt(IType type) {
+    return type == BuiltInType.intType;
+  }
+
+  static boolean isFloat(IType type) {
+    return type == BuiltInType.floatType;
+  }
+
+  static boolean isNumeric(IType type) {
+    return isInt(type) || isFloat(type);
+  }
+
+  static int asInt(Value value) {
+    return ((Number) value.getInternalValue()).intValue();
+  }
+
+  static float asFloat(Value value) {
+    return ((Number) value.getInternalValue()).floatValue();
+  }
+
+  private static boolean isInt(Value value) {
+    return isInt(value.getDataType()) && value.getInternalValue() instanceof Number;
+  }
+
+  private static boolean isFloat(Value value) {
+    return isFloat(value.getDataType()) && value.getInternalValue() instanceof Number;
+  }
+
+  private static boolean isNumeric(Value value) {
+    return isInt(value) || isFloat(value);
+  }
+
+  private static boolean isString(Value value) {
+    return value.getDataType() == BuiltInType.stringType;
+  }
+
+  private static void checkNumeric(String operator, Value lhs, Value rhs) {
+    if (!isNumeric(lhs) || !isNumeric(rhs)) {
+      throw new RuntimeException(
+          "Operator '"
+              + operator
+              + "' is not defined for types '"
+              + typeName(lhs)
+              + "' and '"
+              + typeName(rhs)
+              + "'");
+    }
+  }
+
+  private static String typeName(Value value) {
+    return value.getDataType() == null ? "null" : value.getDataType().getName();
+  }
+
+  // endregion
+}
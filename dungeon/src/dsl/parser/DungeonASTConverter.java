@@ -838,7 +838,8 @@ public class DungeonASTConverter implements antlr.main.DungeonDSLListener {
 
   @Override
   public void exitGrouped_expression(DungeonDSLParser.Grouped_expressionContext ctx) {
-    throw new UnsupportedOperationException();
+    // the grouping is already encoded in the structure of the AST, just let the inner expression
+    // bubble up
   }
 
   @Override
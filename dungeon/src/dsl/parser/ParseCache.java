@@ -0,0 +1,267 @@
+package dsl.parser;
+
+import antlr.main.DungeonDSLLexer;
+import antlr.main.DungeonDSLParser;
+import dsl.parser.ast.ASTCodec;
+import dsl.parser.ast.Node;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+
+/**
+ * Persistent cache for the ASTs of DSL programs.
+ *
+ * <p>The AST of a program is stored in a file, which is named after the SHA-256 hash of the
+ * program. The hash also covers the grammar of the parser and {@link #VERSION}, so changes to the
+ * grammar invalidate all cached ASTs. Changes to the {@link DungeonASTConverter}, which alter the
+ * created AST, require an increase of {@link #VERSION}.
+ *
+ * <p>Cached ASTs are encoded by the {@link ASTCodec} and read completely into a buffer, so no file
+ * stays open or mapped after loading. An entry, which can not be decoded, is deleted and the
+ * program is parsed again.
+ *
+ * <p>Only ASTs of programs without syntax errors are cached. Errors on writing the cache are
+ * logged and otherwise ignored; the cache is an optimization only.
+ */
+public final class ParseCache {
+
+  /** The version of the cached AST format. Increase, if the created AST changes. */
+  public static final int VERSION = 1;
+
+  private static final Logger LOGGER = Logger.getLogger(ParseCache.class.getSimpleName());
+  private static final int MAGIC = 0x444E4741; // "DNGA"
+  private static final int HASH_LENGTH = 32;
+  private static final int HEADER_LENGTH = 2 * Integer.BYTES + HASH_LENGTH;
+  private static final String FILE_ENDING = ".ast";
+
+  // digest of the version and grammar, cloned for the hash of each program
+  private static final MessageDigest PREFIX_DIGEST = createPrefixDigest();
+
+  private static final ParseCache SHARED = new ParseCache(userCacheDirectory());
+
+  private final Path directory;
+
+  /**
+   * Create a new cache.
+   *
+   * @param directory the directory to store the cached ASTs in, is created on the first store
+   */
+  public ParseCache(Path directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Get the cache, which stores the ASTs in the cache directory of the user.
+   *
+   * <p>The directory is given by the system property {@code ASTCACHEDIR}. By default, it is
+   * "dungeon/astcache" in the cache directory of the user: {@code %LOCALAPPDATA%} on Windows, else
+   * {@code $XDG_CACHE_HOME} or {@code ~/.cache}.
+   *
+   * @return the shared cache
+   */
+  public static ParseCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Get the AST of a program, from the cache if possible.
+   *
+   * <p>Behaves like {@link DungeonASTConverter#getProgramAST(String)}. If the program is not
+   * cached, it is parsed and the AST is stored in the cache, if the program does not contain
+   * syntax errors.
+   *
+   * @param program the DSL program
+   * @return the AST of the program
+   */
+  public Node getProgramAST(String program) {
+    byte[] hash = hash(program);
+    Optional<Node> cached = load(hash);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    var parser = parser(program);
+    Node programAST = new DungeonASTConverter().walk(parser.program());
+    if (parser.getNumberOfSyntaxErrors() == 0) {
+      store(hash, programAST);
+    }
+    return programAST;
+  }
+
+  /**
+   * Get the AST of a program, if the program does not contain syntax errors.
+   *
+   * <p>Like {@link #getProgramAST(String)}, but a program with syntax errors is rejected instead of
+   * converting its incomplete parse tree.
+   *
+   * @param program the DSL program
+   * @return the AST of the program, or an empty optional if the program contains syntax errors
+   */
+  public Optional<Node> getValidProgramAST(String program) {
+    byte[] hash = hash(program);
+    Optional<Node> cached = load(hash);
+    if (cached.isPresent()) {
+      return cached;
+    }
+
+    var parser = parser(program);
+    var programParseTree = parser.program();
+    if (parser.getNumberOfSyntaxErrors() != 0) {
+      return Optional.empty();
+    }
+    Node programAST = new DungeonASTConverter().walk(programParseTree);
+    store(hash, programAST);
+    return Optional.of(programAST);
+  }
+
+  private static DungeonDSLParser parser(String program) {
+    var lexer = new DungeonDSLLexer(CharStreams.fromString(program));
+    return new DungeonDSLParser(new CommonTokenStream(lexer));
+  }
+
+  /**
+   * Load the cached AST of a program.
+   *
+   * @param program the DSL program
+   * @return the cached AST, or an empty optional if the program is not cached
+   */
+  public Optional<Node> load(String program) {
+    return load(hash(program));
+  }
+
+  /**
+   * Store the AST of a program in the cache.
+   *
+   * <p>The entry is written to a temporary file first and then moved into place, so concurrent
+   * readers never see a partially written entry.
+   *
+   * @param program the DSL program
+   * @param programAST the AST of the program
+   */
+  public void store(String program, Node programAST) {
+    store(hash(program), programAST);
+  }
+
+  private Optional<Node> load(byte[] hash) {
+    Path file = fileOf(hash);
+    if (!Files.isRegularFile(file)) {
+      return Optional.empty();
+    }
+
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+      if (buffer.remaining() < HEADER_LENGTH
+          || buffer.getInt() != MAGIC
+          || buffer.getInt() != VERSION
+          || !Arrays.equals(hash, readHash(buffer))) {
+        throw new IllegalArgumentException("Invalid header");
+      }
+      return Optional.of(ASTCodec.decode(buffer));
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.log(Level.WARNING, "Discarding cached AST " + file, e);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException deleteException) {
+        LOGGER.log(Level.WARNING, "Could not delete cached AST " + file, deleteException);
+      }
+      return Optional.empty();
+    }
+  }
+
+  private void store(byte[] hash, Node programAST) {
+    Path file = fileOf(hash);
+    Path tempFile = null;
+    try {
+      byte[] encoded = ASTCodec.encode(programAST);
+      ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+      header.putInt(MAGIC).putInt(VERSION).put(hash).flip();
+
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, "ast", ".tmp");
+      try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        ByteBuffer content = ByteBuffer.wrap(encoded);
+        while (header.hasRemaining() || content.hasRemaining()) {
+          channel.write(new ByteBuffer[] {header, content});
+        }
+      }
+      try {
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.log(Level.WARNING, "Could not cache AST " + file, e);
+      if (tempFile != null) {
+        try {
+          Files.deleteIfExists(tempFile);
+        } catch (IOException deleteException) {
+          LOGGER.log(Level.WARNING, "Could not delete " + tempFile, deleteException);
+        }
+      }
+    }
+  }
+
+  private static Path userCacheDirectory() {
+    String configured = System.getProperty("ASTCACHEDIR");
+    if (configured != null) {
+      return Path.of(configured);
+    }
+    String localAppData = System.getenv("LOCALAPPDATA");
+    String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+    Path base;
+    if (localAppData != null && !localAppData.isBlank()) {
+      base = Path.of(localAppData);
+    } else if (xdgCacheHome != null && !xdgCacheHome.isBlank()) {
+      base = Path.of(xdgCacheHome);
+    } else {
+      base = Path.of(System.getProperty("user.home"), ".cache");
+    }
+    return base.resolve("dungeon").resolve("astcache");
+  }
+
+  private Path fileOf(byte[] hash) {
+    return directory.resolve(HexFormat.of().formatHex(hash) + FILE_ENDING);
+  }
+
+  private static byte[] readHash(ByteBuffer buffer) {
+    byte[] hash = new byte[HASH_LENGTH];
+    buffer.get(hash);
+    return hash;
+  }
+
+  private static byte[] hash(String program) {
+    try {
+      MessageDigest digest = (MessageDigest) PREFIX_DIGEST.clone();
+      return digest.digest(program.getBytes(StandardCharsets.UTF_8));
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static MessageDigest createPrefixDigest() {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).flip());
+      digest.update(DungeonDSLParser._serializedATN.getBytes(StandardCharsets.UTF_8));
+      return digest;
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+}
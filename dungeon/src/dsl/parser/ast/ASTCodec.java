@@ -0,0 +1,429 @@
+package dsl.parser.ast;
+
+import graph.taskdependencygraph.TaskEdge;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts an AST into a compact binary representation and back.
+ *
+ * <p>The encoding starts with a table of all strings (identifiers and string literals) of the tree,
+ * followed by the nodes in pre-order. Each node is stored as the {@link Kind} of its class, the
+ * values, which are passed to its constructor (e.g. the value of a {@link NumNode}), and its
+ * children. On decoding, each node is created by the constructor of its class, so the decoded tree
+ * is equal to a tree created by the {@link dsl.parser.DungeonASTConverter}, including new unique
+ * node indices.
+ *
+ * <p>All integers are stored in big-endian order, which matches the default order of a {@link
+ * ByteBuffer}, so a memory-mapped file can be decoded directly.
+ */
+public final class ASTCodec {
+
+  /** The classes of AST-nodes, which can be encoded. The ordinal is stored in the encoding. */
+  private enum Kind {
+    NONE,
+    NODE,
+    AGGREGATE_VALUE_DEFINITION,
+    ASSIGNMENT,
+    BOOL,
+    COMPARISON,
+    CONDITIONAL_IF,
+    CONDITIONAL_IF_ELSE,
+    COUNTING_LOOP,
+    DEC_NUM,
+    DOT_ATTR_LIST,
+    DOT_ATTR,
+    DOT_DEF,
+    DOT_DEPENDENCY_TYPE_ATTR,
+    DOT_DEPENDENCY_TYPE,
+    DOT_EDGE_STMT,
+    DOT_ID_LIST,
+    DOT_NODE_STMT,
+    EDGE_OP,
+    EDGE_RHS,
+    EQUALITY,
+    FACTOR,
+    FOR_LOOP,
+    FUNC_CALL,
+    FUNC_DEF,
+    ID,
+    ITEM_PROTOTYPE_DEFINITION,
+    LIST_DEFINITION,
+    LIST_TYPE_IDENTIFIER,
+    LOGIC_AND,
+    LOGIC_OR,
+    MAP_TYPE_IDENTIFIER,
+    MEMBER_ACCESS,
+    NUM,
+    OBJECT_DEF,
+    PARAM_DEF,
+    PROPERTY_DEF,
+    PROTOTYPE_DEFINITION,
+    RETURN_STMT,
+    SET_DEFINITION,
+    SET_TYPE_IDENTIFIER,
+    STMT_BLOCK,
+    STRING,
+    TERM,
+    UNARY,
+    VAR_DECL,
+    WHILE_LOOP
+  }
+
+  private static final Kind[] KINDS = Kind.values();
+  private static final Node.Type[] NODE_TYPES = Node.Type.values();
+  private static final ComparisonNode.ComparisonType[] COMPARISON_TYPES =
+      ComparisonNode.ComparisonType.values();
+  private static final EqualityNode.EqualityType[] EQUALITY_TYPES =
+      EqualityNode.EqualityType.values();
+  private static final FactorNode.FactorType[] FACTOR_TYPES = FactorNode.FactorType.values();
+  private static final TermNode.TermType[] TERM_TYPES = TermNode.TermType.values();
+  private static final UnaryNode.UnaryType[] UNARY_TYPES = UnaryNode.UnaryType.values();
+  private static final VarDeclNode.DeclType[] DECL_TYPES = VarDeclNode.DeclType.values();
+  private static final EdgeOpNode.Type[] EDGE_OP_TYPES = EdgeOpNode.Type.values();
+  private static final TaskEdge.Type[] EDGE_TYPES = TaskEdge.Type.values();
+
+  private static final Map<Class<? extends Node>, Kind> KIND_OF_CLASS = new HashMap<>();
+
+  static {
+    KIND_OF_CLASS.put(Node.class, Kind.NODE);
+    KIND_OF_CLASS.put(AggregateValueDefinitionNode.class, Kind.AGGREGATE_VALUE_DEFINITION);
+    KIND_OF_CLASS.put(AssignmentNode.class, Kind.ASSIGNMENT);
+    KIND_OF_CLASS.put(BoolNode.class, Kind.BOOL);
+    KIND_OF_CLASS.put(ComparisonNode.class, Kind.COMPARISON);
+    KIND_OF_CLASS.put(ConditionalStmtNodeIf.class, Kind.CONDITIONAL_IF);
+    KIND_OF_CLASS.put(ConditionalStmtNodeIfElse.class, Kind.CONDITIONAL_IF_ELSE);
+    KIND_OF_CLASS.put(CountingLoopStmtNode.class, Kind.COUNTING_LOOP);
+    KIND_OF_CLASS.put(DecNumNode.class, Kind.DEC_NUM);
+    KIND_OF_CLASS.put(DotAttrListNode.class, Kind.DOT_ATTR_LIST);
+    KIND_OF_CLASS.put(DotAttrNode.class, Kind.DOT_ATTR);
+    KIND_OF_CLASS.put(DotDefNode.class, Kind.DOT_DEF);
+    KIND_OF_CLASS.put(DotDependencyTypeAttrNode.class, Kind.DOT_DEPENDENCY_TYPE_ATTR);
+    KIND_OF_CLASS.put(DotDependencyTypeNode.class, Kind.DOT_DEPENDENCY_TYPE);
+    KIND_OF_CLASS.put(DotEdgeStmtNode.class, Kind.DOT_EDGE_STMT);
+    KIND_OF_CLASS.put(DotIdList.class, Kind.DOT_ID_LIST);
+    KIND_OF_CLASS.put(DotNodeStmtNode.class, Kind.DOT_NODE_STMT);
+    KIND_OF_CLASS.put(EdgeOpNode.class, Kind.EDGE_OP);
+    KIND_OF_CLASS.put(EdgeRhsNode.class, Kind.EDGE_RHS);
+    KIND_OF_CLASS.put(EqualityNode.class, Kind.EQUALITY);
+    KIND_OF_CLASS.put(FactorNode.class, Kind.FACTOR);
+    KIND_OF_CLASS.put(ForLoopStmtNode.class, Kind.FOR_LOOP);
+    KIND_OF_CLASS.put(FuncCallNode.class, Kind.FUNC_CALL);
+    KIND_OF_CLASS.put(FuncDefNode.class, Kind.FUNC_DEF);
+    KIND_OF_CLASS.put(IdNode.class, Kind.ID);
+    KIND_OF_CLASS.put(ItemPrototypeDefinitionNode.class, Kind.ITEM_PROTOTYPE_DEFINITION);
+    KIND_OF_CLASS.put(ListDefinitionNode.class, Kind.LIST_DEFINITION);
+    KIND_OF_CLASS.put(ListTypeIdentifierNode.class, Kind.LIST_TYPE_IDENTIFIER);
+    KIND_OF_CLASS.put(LogicAndNode.class, Kind.LOGIC_AND);
+    KIND_OF_CLASS.put(LogicOrNode.class, Kind.LOGIC_OR);
+    KIND_OF_CLASS.put(MapTypeIdentifierNode.class, Kind.MAP_TYPE_IDENTIFIER);
+    KIND_OF_CLASS.put(MemberAccessNode.class, Kind.MEMBER_ACCESS);
+    KIND_OF_CLASS.put(NumNode.class, Kind.NUM);
+    KIND_OF_CLASS.put(ObjectDefNode.class, Kind.OBJECT_DEF);
+    KIND_OF_CLASS.put(ParamDefNode.class, Kind.PARAM_DEF);
+    KIND_OF_CLASS.put(PropertyDefNode.class, Kind.PROPERTY_DEF);
+    KIND_OF_CLASS.put(PrototypeDefinitionNode.class, Kind.PROTOTYPE_DEFINITION);
+    KIND_OF_CLASS.put(ReturnStmtNode.class, Kind.RETURN_STMT);
+    KIND_OF_CLASS.put(SetDefinitionNode.class, Kind.SET_DEFINITION);
+    KIND_OF_CLASS.put(SetTypeIdentifierNode.class, Kind.SET_TYPE_IDENTIFIER);
+    KIND_OF_CLASS.put(StmtBlockNode.class, Kind.STMT_BLOCK);
+    KIND_OF_CLASS.put(StringNode.class, Kind.STRING);
+    KIND_OF_CLASS.put(TermNode.class, Kind.TERM);
+    KIND_OF_CLASS.put(UnaryNode.class, Kind.UNARY);
+    KIND_OF_CLASS.put(VarDeclNode.class, Kind.VAR_DECL);
+    KIND_OF_CLASS.put(WhileLoopStmtNode.class, Kind.WHILE_LOOP);
+  }
+
+  private ASTCodec() {}
+
+  /**
+   * Encode an AST.
+   *
+   * @param root the root node of the AST
+   * @return the binary representation of the AST
+   * @throws IllegalArgumentException if the AST contains a node, which can not be encoded (e.g. a
+   *     {@link LoopBottomMark}, which is only created by the interpreter)
+   */
+  public static byte[] encode(Node root) {
+    try {
+      Encoder encoder = new Encoder();
+      ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+      encoder.writeNode(root, new DataOutputStream(nodes));
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(nodes.size() + 256);
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(encoder.strings.size());
+      for (String string : encoder.strings) {
+        byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+      }
+      nodes.writeTo(out);
+      out.flush();
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      // a ByteArrayOutputStream does not throw IOExceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Decode an AST, which was encoded by {@link #encode(Node)}.
+   *
+   * <p>The buffer is read from its current position; after decoding, the position is behind the
+   * encoded AST.
+   *
+   * @param buffer the buffer to read the AST from
+   * @return the root node of the decoded AST
+   * @throws IllegalArgumentException if the buffer does not contain a valid encoding
+   */
+  public static Node decode(ByteBuffer buffer) {
+    try {
+      int stringCount = buffer.getInt();
+      String[] strings = new String[stringCount];
+      for (int i = 0; i < stringCount; i++) {
+        byte[] utf8 = new byte[buffer.getInt()];
+        buffer.get(utf8);
+        strings[i] = new String(utf8, StandardCharsets.UTF_8);
+      }
+      return new Decoder(buffer, strings).readNode();
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid AST encoding", e);
+    }
+  }
+
+  private static final class Encoder {
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIndices = new HashMap<>();
+
+    private void writeString(String string, DataOutputStream out) throws IOException {
+      Integer index = stringIndices.get(string);
+      if (index == null) {
+        index = strings.size();
+        strings.add(string);
+        stringIndices.put(string, index);
+      }
+      out.writeInt(index);
+    }
+
+    private static void writeReference(SourceFileReference reference, DataOutputStream out)
+        throws IOException {
+      out.writeInt(reference.getLine());
+      out.writeInt(reference.getColumn());
+    }
+
+    private Kind kindOf(Node node) {
+      if (node == Node.NONE) {
+        return Kind.NONE;
+      }
+      Kind kind = KIND_OF_CLASS.get(node.getClass());
+      if (kind == null) {
+        throw new IllegalArgumentException(
+            "Can not encode AST-node of class " + node.getClass().getName());
+      }
+      return kind;
+    }
+
+    private void writeNode(Node node, DataOutputStream out) throws IOException {
+      Kind kind = kindOf(node);
+      out.writeByte(kind.ordinal());
+      switch (kind) {
+        case NONE -> {
+          return;
+        }
+        case NODE -> {
+          out.writeByte(node.type.ordinal());
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case BOOL -> {
+          out.writeBoolean(((BoolNode) node).getValue());
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case DEC_NUM -> {
+          out.writeFloat(((DecNumNode) node).getValue());
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case NUM -> {
+          out.writeInt(((NumNode) node).getValue());
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case STRING -> {
+          writeString(((StringNode) node).getValue(), out);
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case ID -> {
+          writeString(((IdNode) node).getName(), out);
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case EDGE_OP -> {
+          out.writeByte(((EdgeOpNode) node).getEdgeOpType().ordinal());
+          writeReference(node.storedSourceFileReference(), out);
+        }
+        case DOT_DEPENDENCY_TYPE -> {
+          var dependencyType = (DotDependencyTypeNode) node;
+          out.writeByte(dependencyType.getTaskEdgeType().ordinal());
+          writeString(dependencyType.getName(), out);
+        }
+        case COMPARISON -> out.writeByte(((ComparisonNode) node).getComparisonType().ordinal());
+        case EQUALITY -> out.writeByte(((EqualityNode) node).getEqualityType().ordinal());
+        case FACTOR -> out.writeByte(((FactorNode) node).getFactorType().ordinal());
+        case TERM -> out.writeByte(((TermNode) node).getTermType().ordinal());
+        case UNARY -> out.writeByte(((UnaryNode) node).getUnaryType().ordinal());
+        case VAR_DECL -> out.writeByte(((VarDeclNode) node).getDeclType().ordinal());
+        default -> {
+          // all other nodes are defined by their children
+        }
+      }
+
+      var children = node.getChildren();
+      out.writeInt(children.size());
+      for (Node child : children) {
+        writeNode(child, out);
+      }
+    }
+  }
+
+  private static final class Decoder {
+    private final ByteBuffer buffer;
+    private final String[] strings;
+
+    private Decoder(ByteBuffer buffer, String[] strings) {
+      this.buffer = buffer;
+      this.strings = strings;
+    }
+
+    private String readString() {
+      return strings[buffer.getInt()];
+    }
+
+    private SourceFileReference readReference() {
+      int line = buffer.getInt();
+      int column = buffer.getInt();
+      if (line == SourceFileReference.NULL.getLine()
+          && column == SourceFileReference.NULL.getColumn()) {
+        return SourceFileReference.NULL;
+      }
+      return new SourceFileReference(line, column);
+    }
+
+    private List<Node> readChildren() {
+      int count = buffer.getInt();
+      List<Node> children = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        children.add(readNode());
+      }
+      return children;
+    }
+
+    private Node withChildren(Node node) {
+      readChildren().forEach(node::addChild);
+      return node;
+    }
+
+    private Node readNode() {
+      Kind kind = KINDS[buffer.get()];
+      // the values passed to the constructor of a node are stored in front of its children
+      return switch (kind) {
+        case NONE -> Node.NONE;
+        case NODE -> {
+          var type = NODE_TYPES[buffer.get()];
+          yield withChildren(new Node(type, readReference()));
+        }
+        case BOOL -> withChildren(new BoolNode(buffer.get() != 0, readReference()));
+        case DEC_NUM -> withChildren(new DecNumNode(buffer.getFloat(), readReference()));
+        case NUM -> withChildren(new NumNode(buffer.getInt(), readReference()));
+        case STRING -> withChildren(new StringNode(readString(), readReference()));
+        case ID -> withChildren(new IdNode(readString(), readReference()));
+        case EDGE_OP -> {
+          var type = EDGE_OP_TYPES[buffer.get()];
+          yield withChildren(new EdgeOpNode(readReference(), type));
+        }
+        case DOT_DEPENDENCY_TYPE -> {
+          var type = EDGE_TYPES[buffer.get()];
+          yield withChildren(new DotDependencyTypeNode(type, readString()));
+        }
+        case COMPARISON -> {
+          var type = COMPARISON_TYPES[buffer.get()];
+          var c = readChildren();
+          yield new ComparisonNode(type, c.get(0), c.get(1));
+        }
+        case EQUALITY -> {
+          var type = EQUALITY_TYPES[buffer.get()];
+          var c = readChildren();
+          yield new EqualityNode(type, c.get(0), c.get(1));
+        }
+        case FACTOR -> {
+          var type = FACTOR_TYPES[buffer.get()];
+          var c = readChildren();
+          yield new FactorNode(type, c.get(0), c.get(1));
+        }
+        case TERM -> {
+          var type = TERM_TYPES[buffer.get()];
+          var c = readChildren();
+          yield new TermNode(type, c.get(0), c.get(1));
+        }
+        case UNARY -> {
+          var type = UNARY_TYPES[buffer.get()];
+          yield new UnaryNode(type, readChildren().get(0));
+        }
+        case VAR_DECL -> {
+          var type = DECL_TYPES[buffer.get()];
+          var c = readChildren();
+          yield new VarDeclNode(type, (IdNode) c.get(0), c.get(1));
+        }
+        default -> readInnerNode(kind, readChildren());
+      };
+    }
+
+    /** Create a node, which is defined by its children only. */
+    private static Node readInnerNode(Kind kind, List<Node> c) {
+      return switch (kind) {
+        case AGGREGATE_VALUE_DEFINITION -> new AggregateValueDefinitionNode(c.get(0), c.get(1));
+        case ASSIGNMENT -> new AssignmentNode(c.get(0), c.get(1));
+        case CONDITIONAL_IF -> new ConditionalStmtNodeIf(c.get(0), c.get(1));
+        case CONDITIONAL_IF_ELSE -> new ConditionalStmtNodeIfElse(c.get(0), c.get(1), c.get(2));
+        case DOT_ATTR_LIST -> new DotAttrListNode(c);
+        case DOT_ATTR -> new DotAttrNode(c.get(0), c.get(1));
+        case DOT_DEF -> new DotDefNode(c.get(0), new ArrayList<>(c.subList(1, c.size())));
+        case DOT_DEPENDENCY_TYPE_ATTR ->
+            new DotDependencyTypeAttrNode((DotDependencyTypeNode) c.get(1));
+        case DOT_EDGE_STMT ->
+            new DotEdgeStmtNode(c.subList(0, c.size() - 1), c.get(c.size() - 1));
+        case DOT_ID_LIST -> new DotIdList(c);
+        case DOT_NODE_STMT -> new DotNodeStmtNode(c.get(0), c.get(1));
+        case EDGE_RHS -> new EdgeRhsNode(c.get(0), c.get(1));
+        case FUNC_CALL -> new FuncCallNode(c.get(0), c.get(1));
+        case FUNC_DEF -> new FuncDefNode(c.get(0), c.get(1), c.get(2), c.get(3));
+        case ITEM_PROTOTYPE_DEFINITION -> new ItemPrototypeDefinitionNode(c.get(0), c.get(1));
+        case LIST_DEFINITION -> new ListDefinitionNode(c.get(0));
+        case LIST_TYPE_IDENTIFIER -> new ListTypeIdentifierNode((IdNode) c.get(0));
+        case LOGIC_AND -> new LogicAndNode(c.get(0), c.get(1));
+        case LOGIC_OR -> new LogicOrNode(c.get(0), c.get(1));
+        case MAP_TYPE_IDENTIFIER ->
+            new MapTypeIdentifierNode((IdNode) c.get(0), (IdNode) c.get(1));
+        case MEMBER_ACCESS -> new MemberAccessNode(c.get(0), c.get(1));
+        case OBJECT_DEF -> new ObjectDefNode(c.get(0), c.get(1), c.get(2));
+        case PARAM_DEF -> new ParamDefNode(c.get(0), c.get(1));
+        case PROPERTY_DEF -> new PropertyDefNode(c.get(0), c.get(1));
+        case PROTOTYPE_DEFINITION -> new PrototypeDefinitionNode(c.get(0), c.get(1));
+        case RETURN_STMT -> new ReturnStmtNode(c.get(0));
+        case SET_DEFINITION -> new SetDefinitionNode(c.get(0));
+        case SET_TYPE_IDENTIFIER -> new SetTypeIdentifierNode((IdNode) c.get(0));
+        case STMT_BLOCK -> new StmtBlockNode(c.get(0));
+        // loops store their statement as first child
+        case WHILE_LOOP -> new WhileLoopStmtNode(c.get(1), c.get(0));
+        case FOR_LOOP -> new ForLoopStmtNode(c.get(1), c.get(2), c.get(3), c.get(0));
+        case COUNTING_LOOP ->
+            new CountingLoopStmtNode(c.get(1), c.get(2), c.get(3), c.get(4), c.get(0));
+        default -> throw new IllegalArgumentException("Unexpected node kind " + kind);
+      };
+    }
+  }
+}
@@ -1,11 +1,12 @@
 package dsl.parser.ast;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** WTF? . */
 public class Node {
   // used for running index to give every Node a unique identifier
-  private static int _idx;
+  private static final AtomicInteger _idx = new AtomicInteger();
 
   /**
    * WTF? .
@@ -159,8 +160,7 @@ public class Node {
    * @param nodeChildren List of children of the node
    */
   public Node(Type nodeType, ArrayList<Node> nodeChildren) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = nodeChildren;
@@ -177,8 +177,7 @@ public class Node {
    * @param nodeType The {@link Type} of the node
    */
   public Node(Type nodeType) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = new ArrayList<>();
@@ -192,8 +191,7 @@ public class Node {
    * @param sourceReference The {@link SourceFileReference} for the new node
    */
   public Node(Type nodeType, SourceFileReference sourceReference) {
-    _idx++;
-    idx = _idx;
+    idx = _idx.incrementAndGet();
 
     type = nodeType;
     children = new ArrayList<>();
@@ -269,6 +267,16 @@ public class Node {
     return SourceFileReference.NULL;
   }
 
+  /**
+   * Get the {@link SourceFileReference} stored in this node, without searching the children.
+   *
+   * @return The stored {@link SourceFileReference}, {@link SourceFileReference#NULL} if none is
+   *     stored.
+   */
+  SourceFileReference storedSourceFileReference() {
+    return sourceFileReference;
+  }
+
   /**
    * WTF? .
    *
@@ -34,6 +34,16 @@ public class RuntimeObjectTranslator {
     this.translators.put(clazz, translator);
   }
 
+  /**
+   * Check, if an IObjectToValueTranslator is registered for a specific class.
+   *
+   * @param clazz The Class to check
+   * @return true, if Objects of the class are not translated by the default translation
+   */
+  public boolean hasObjectToValueTranslator(Class<?> clazz) {
+    return this.translators.containsKey(clazz);
+  }
+
   /**
    * Default translation for given Object to a DSL Value. This will look up the equivalent DSL-type
    * for the Objects-Class and depending on the kind of type it will perform different operations:
@@ -23,6 +23,7 @@ package dsl.semanticanalysis.symbol;
 
 import dsl.semanticanalysis.scope.IScope;
 import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /** Represents a symbol in a program. */
 public class Symbol {
@@ -35,7 +36,7 @@ public class Symbol {
   }
 
   // running index, used as unique identifier
-  protected static int s_idx;
+  protected static final AtomicInteger s_idx = new AtomicInteger();
 
   protected String name;
 
@@ -118,7 +119,7 @@ public class Symbol {
    * @param dataType the datatype of the symbol
    */
   public Symbol(String symbolName, IScope parentScope, IType dataType) {
-    this.idx = s_idx++;
+    this.idx = s_idx.getAndIncrement();
     this.scope = parentScope;
     this.name = symbolName;
     this.dataType = dataType;
@@ -1,12 +1,12 @@
 package dsl.semanticanalysis.typesystem.callbackadapter;
 
 import core.utils.TriConsumer;
+import dsl.interpreter.CallbackInvoker;
 import dsl.interpreter.DSLInterpreter;
 import dsl.runtime.callable.ICallable;
 import dsl.runtime.environment.RuntimeEnvironment;
 import dsl.runtime.value.Value;
 import dsl.semanticanalysis.typesystem.typebuilding.type.FunctionType;
-import java.util.Arrays;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -16,6 +16,14 @@ import java.util.function.Consumer;
  * <p>Encapsulates the {@link RuntimeEnvironment} and {@link DSLInterpreter} needed to execute a
  * callback-function defined in the DSL. Implements the functional interfaces needed for assigning
  * an instance of this class to the callback-fields in the components of the Dungeons ECS.
+ *
+ * <p>The interface methods call the function through a {@link CallbackInvoker} with a fixed number
+ * of arguments, so firing a callback does not create an argument array or list.
+ *
+ * <p>If the function exceeds an execution limit of the interpreter (see {@link
+ * DSLInterpreter#setStepLimit(long)}), the call is aborted and the {@link
+ * dsl.interpreter.ExecutionLimitException} is thrown to the caller of the callback; the call does
+ * not return a made-up value.
  */
 public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
 
@@ -23,6 +31,7 @@ public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
   private final FunctionType functionType;
   private final ICallable callable;
   private final DSLInterpreter interpreter;
+  private final CallbackInvoker invoker;
 
   /**
    * WTF? .
@@ -36,6 +45,7 @@ public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
     this.functionType = callable.getFunctionType();
     this.callable = callable;
     this.interpreter = interpreter;
+    this.invoker = new CallbackInvoker(interpreter, callable);
   }
 
   /**
@@ -45,11 +55,40 @@ public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
    * @return foo
    */
   public Object call(Object... params) {
-    Value returnValue =
-        (Value)
-            interpreter.callCallableRawParameters(this.callable, Arrays.stream(params).toList());
+    return convertValueToObject(this.invoker.invoke(params));
+  }
+
+  /**
+   * Call the function with one parameter.
+   *
+   * @param param the parameter
+   * @return the converted return value of the function
+   */
+  public Object call(Object param) {
+    return convertValueToObject(this.invoker.invoke(param));
+  }
 
-    return convertValueToObject(returnValue);
+  /**
+   * Call the function with two parameters.
+   *
+   * @param param the first parameter
+   * @param param2 the second parameter
+   * @return the converted return value of the function
+   */
+  public Object call(Object param, Object param2) {
+    return convertValueToObject(this.invoker.invoke(param, param2));
+  }
+
+  /**
+   * Call the function with three parameters.
+   *
+   * @param param the first parameter
+   * @param param2 the second parameter
+   * @param param3 the third parameter
+   * @return the converted return value of the function
+   */
+  public Object call(Object param, Object param2, Object param3) {
+    return convertValueToObject(this.invoker.invoke(param, param2, param3));
   }
 
   /**
@@ -62,23 +101,27 @@ public class CallbackAdapter implements Consumer, TriConsumer, BiConsumer {
   }
 
   protected Object convertValueToObject(Value value) {
+    if (value == Value.NONE) {
+      // the function does not return anything (e.g. a consumer)
+      return null;
+    }
     return this.rtEnv.getTypeInstantiator().instantiate(value);
   }
 
   // region interface implementation
   @Override
   public void accept(Object o) {
-    this.call(o);
+    this.invoker.invoke(o);
   }
 
   @Override
   public void accept(Object o, Object o2, Object o3) {
-    this.call(o, o2, o3);
+    this.invoker.invoke(o, o2, o3);
   }
 
   @Override
   public void accept(Object o, Object o2) {
-    this.call(o, o2);
+    this.invoker.invoke(o, o2);
   }
   // endregion
 }
@@ -0,0 +1,352 @@
+package dsl.semanticanalysis.typesystem.instantiation;
+
+import dsl.annotation.DSLCallback;
+import dsl.annotation.DSLContextMember;
+import dsl.annotation.DSLTypeMember;
+import dsl.annotation.DSLTypeNameMember;
+import dsl.semanticanalysis.symbol.PropertySymbol;
+import dsl.semanticanalysis.symbol.Symbol;
+import dsl.semanticanalysis.typesystem.typebuilding.TypeBuilder;
+import dsl.semanticanalysis.typesystem.typebuilding.TypeReflection;
+import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateType;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed steps to instantiate the java object of an {@link AggregateType}.
+ *
+ * <p>The {@link TypeInstantiator} used to look up the constructor, the annotations of the
+ * constructor parameters and the declared fields of the origin class for every instantiated value.
+ * The plan resolves all of this once and stores the constructors, builder methods and field setters
+ * as {@link MethodHandle}s, which take their arguments as an {@code Object[]}.
+ *
+ * <p>The plan of a type holds its settable {@link PropertySymbol}s. The plans of the origin classes
+ * and builder methods do not depend on a {@link
+ * dsl.semanticanalysis.environment.GameEnvironment}, so they are shared JVM wide.
+ */
+public final class InstantiationPlan {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodHandle FIELD_SET;
+
+  static {
+    try {
+      FIELD_SET =
+          LOOKUP.findVirtual(
+              Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static final ClassValue<ClassPlan> CLASS_PLANS =
+      new ClassValue<>() {
+        @Override
+        protected ClassPlan computeValue(Class<?> clazz) {
+          return clazz.isRecord() ? ClassPlan.ofRecord(clazz) : ClassPlan.ofClass(clazz);
+        }
+      };
+
+  private static final Map<Method, BuilderPlan> BUILDER_PLANS = new ConcurrentHashMap<>();
+
+  private final PropertySymbol[] properties;
+
+  private InstantiationPlan(PropertySymbol[] properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Get the plan of an {@link AggregateType}. The plan is created on first use and stored in the
+   * type.
+   *
+   * @param type the type to instantiate
+   * @return the plan of the type
+   */
+  public static InstantiationPlan of(AggregateType type) {
+    InstantiationPlan plan = type.getInstantiationPlan();
+    if (plan == null) {
+      List<PropertySymbol> properties = new ArrayList<>();
+      for (Symbol symbol : type.getSymbols()) {
+        if (symbol instanceof PropertySymbol property && property.isSettable()) {
+          properties.add(property);
+        }
+      }
+      plan = new InstantiationPlan(properties.toArray(new PropertySymbol[0]));
+      type.setInstantiationPlan(plan);
+    }
+    return plan;
+  }
+
+  /**
+   * Get the settable properties of the type, in the order they are bound in the type.
+   *
+   * @return the settable properties
+   */
+  PropertySymbol[] properties() {
+    return properties;
+  }
+
+  /**
+   * Get the plan to instantiate a record or class.
+   *
+   * @param clazz the origin type of an {@link AggregateType}
+   * @return the shared plan of the class
+   */
+  static ClassPlan classPlan(Class<?> clazz) {
+    return CLASS_PLANS.get(clazz);
+  }
+
+  /**
+   * Get the plan to call a builder method of a type adapter.
+   *
+   * @param method the builder method
+   * @return the shared plan of the method
+   */
+  static BuilderPlan builderPlan(Method method) {
+    return BUILDER_PLANS.computeIfAbsent(method, BuilderPlan::of);
+  }
+
+  /**
+   * How to fill a field of an instantiated class or a parameter of a record constructor.
+   *
+   * @param dslName the name of the member in the memory space of the value
+   * @param fieldName the java name of the field
+   * @param typeMember true, if the field is annotated with {@link DSLTypeMember}
+   * @param callback true, if the field is annotated with {@link DSLCallback}
+   * @param setter sets the field of an instance, {@code (Object, Object)void}; null for records
+   */
+  record Member(
+      String dslName, String fieldName, boolean typeMember, boolean callback, MethodHandle setter) {
+
+    /**
+     * Set the field of an instance.
+     *
+     * @param instance the instance
+     * @param value the value to set
+     */
+    void set(Object instance, Object value) {
+      try {
+        setter.invokeExact(instance, value);
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
+  }
+
+  /**
+   * The plan to instantiate a record or a class.
+   *
+   * <p>If the class cannot be instantiated, the plan stores the error message. The error is raised
+   * by {@link #newInstance(Object[])}, so that it is thrown for each instantiation as before.
+   *
+   * @param constructor the constructor, {@code (Object[])Object}
+   * @param contextNames for a class: the {@link DSLContextMember} names of the constructor
+   *     parameters
+   * @param members for a record: the components in order of the constructor parameters, for a
+   *     class: the fields marked as member or callback in declaration order
+   * @param error the reason, why the class cannot be instantiated, or null
+   */
+  record ClassPlan(
+      MethodHandle constructor, String[] contextNames, Member[] members, String error) {
+
+    /**
+     * Create a new instance.
+     *
+     * @param arguments the constructor arguments
+     * @return the new instance
+     */
+    Object newInstance(Object[] arguments) {
+      if (error != null) {
+        throw new RuntimeException(error);
+      }
+      try {
+        return (Object) constructor.invokeExact(arguments);
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
+
+    private static ClassPlan failed(String error) {
+      return new ClassPlan(null, new String[0], new Member[0], error);
+    }
+
+    private static ClassPlan ofRecord(Class<?> clazz) {
+      Constructor<?> ctor = constructorOf(clazz);
+      if (ctor == null) {
+        return failed(
+            "Could not find a suitable constructor to instantiate record " + clazz.getName());
+      }
+
+      var parameters = ctor.getParameters();
+      Member[] members = new Member[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        Field field;
+        try {
+          field = clazz.getDeclaredField(parameters[i].getName());
+        } catch (NoSuchFieldException e) {
+          return failed(e.toString());
+        }
+        boolean typeMember = field.isAnnotationPresent(DSLTypeMember.class);
+        boolean callback = field.isAnnotationPresent(DSLCallback.class);
+        if (!typeMember && !callback) {
+          return failed(
+              "Instantiating a record using the TypeInstantiator requires that all record "
+                  + "members must be marked with @DSLTypeMember. Otherwise, no constructor "
+                  + "invocation is possible");
+        }
+        // a member is passed as converted value, otherwise the field is a callback
+        members[i] =
+            new Member(
+                TypeBuilder.getDSLFieldName(field), field.getName(), typeMember, !typeMember, null);
+      }
+      return new ClassPlan(spread(ctor), new String[0], members, null);
+    }
+
+    private static ClassPlan ofClass(Class<?> clazz) {
+      if (clazz.isMemberClass()) {
+        return failed("Cannot instantiate an inner class");
+      }
+      Constructor<?> ctor = constructorOf(clazz);
+      if (ctor == null) {
+        return failed(
+            "Could not find a suitable constructor to instantiate class " + clazz.getName());
+      }
+
+      var parameters = ctor.getParameters();
+      String[] contextNames = new String[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        DSLContextMember contextMember = parameters[i].getAnnotation(DSLContextMember.class);
+        if (contextMember == null) {
+          return failed(
+              "Constructor parameter with name "
+                  + parameters[i].getName()
+                  + " is not marked as context parameter, cannot instantiate class "
+                  + clazz.getName());
+        }
+        contextNames[i] = contextMember.name();
+      }
+
+      List<Member> members = new ArrayList<>();
+      for (var member : TypeReflection.typeClass(clazz).members()) {
+        Field field = member.field();
+        boolean typeMember = field.isAnnotationPresent(DSLTypeMember.class);
+        if (!typeMember && !member.callback()) {
+          continue;
+        }
+        members.add(
+            new Member(
+                member.dslName(), field.getName(), typeMember, member.callback(), setter(field)));
+      }
+      return new ClassPlan(spread(ctor), contextNames, members.toArray(new Member[0]), null);
+    }
+
+    /**
+     * Find the constructor to use: the first constructor, which only takes context members, or the
+     * last declared constructor.
+     */
+    private static Constructor<?> constructorOf(Class<?> clazz) {
+      Constructor<?> ctor = null;
+      for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+        ctor = constructor;
+        boolean unmarkedCtorParameter = false;
+        for (var parameter : ctor.getParameters()) {
+          if (!parameter.isAnnotationPresent(DSLContextMember.class)) {
+            unmarkedCtorParameter = true;
+            break;
+          }
+        }
+
+        if (!unmarkedCtorParameter) {
+          break;
+        }
+      }
+      return ctor;
+    }
+
+    private static MethodHandle spread(Constructor<?> ctor) {
+      try {
+        ctor.setAccessible(true);
+        return LOOKUP
+            .unreflectConstructor(ctor)
+            .asFixedArity()
+            .asSpreader(Object[].class, ctor.getParameterCount())
+            .asType(MethodType.methodType(Object.class, Object[].class));
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    private static MethodHandle setter(Field field) {
+      MethodHandle setter;
+      field.setAccessible(true);
+      try {
+        setter = LOOKUP.unreflectSetter(field);
+      } catch (IllegalAccessException e) {
+        // e.g. a final field, which can only be set by Field::set
+        setter = FIELD_SET.bindTo(field);
+      }
+      return setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+  }
+
+  /**
+   * The plan to call the builder method of a type adapter.
+   *
+   * @param builder the static builder method, {@code (Object[])Object}
+   * @param memberNames the names of the members in the memory space of the value, which are passed
+   *     as parameters
+   * @param contextNames the {@link DSLContextMember} names of the parameters, null for parameters,
+   *     which are not context members
+   */
+  record BuilderPlan(MethodHandle builder, String[] memberNames, String[] contextNames) {
+
+    /**
+     * Call the builder method.
+     *
+     * @param arguments the arguments of the builder method
+     * @return the built object
+     */
+    Object invoke(Object[] arguments) {
+      try {
+        return (Object) builder.invokeExact(arguments);
+      } catch (Throwable t) {
+        throw new RuntimeException(t);
+      }
+    }
+
+    private static BuilderPlan of(Method method) {
+      var parameters = method.getParameters();
+      String[] memberNames = new String[parameters.length];
+      String[] contextNames = new String[parameters.length];
+      for (int i = 0; i < parameters.length; i++) {
+        var parameter = parameters[i];
+        memberNames[i] =
+            parameter.isAnnotationPresent(DSLTypeNameMember.class)
+                ? AggregateType.NAME_SYMBOL_NAME
+                : TypeBuilder.getDSLParameterName(parameter);
+        DSLContextMember contextMember = parameter.getAnnotation(DSLContextMember.class);
+        contextNames[i] = contextMember == null ? null : contextMember.name();
+      }
+
+      try {
+        method.setAccessible(true);
+        MethodHandle builder =
+            LOOKUP
+                .unreflect(method)
+                .asFixedArity()
+                .asSpreader(Object[].class, parameters.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new BuilderPlan(builder, memberNames, contextNames);
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
@@ -1,9 +1,6 @@
 package dsl.semanticanalysis.typesystem.instantiation;
 
-import dsl.annotation.DSLCallback;
 import dsl.annotation.DSLContextMember;
-import dsl.annotation.DSLTypeMember;
-import dsl.annotation.DSLTypeNameMember;
 import dsl.interpreter.DSLInterpreter;
 import dsl.runtime.callable.ICallable;
 import dsl.runtime.memoryspace.EncapsulatedObject;
@@ -11,17 +8,12 @@ import dsl.runtime.memoryspace.IMemorySpace;
 import dsl.runtime.value.*;
 import dsl.semanticanalysis.symbol.FunctionSymbol;
 import dsl.semanticanalysis.symbol.PropertySymbol;
-import dsl.semanticanalysis.typesystem.callbackadapter.CallbackAdapter;
 import dsl.semanticanalysis.typesystem.callbackadapter.CallbackAdapterBuilder;
 import dsl.semanticanalysis.typesystem.extension.IDSLExtensionProperty;
-import dsl.semanticanalysis.typesystem.typebuilding.*;
 import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateType;
 import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateTypeAdapter;
 import dsl.semanticanalysis.typesystem.typebuilding.type.EnumType;
 import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
 /** WTF? . */
@@ -92,26 +84,18 @@ public class TypeInstantiator {
   }
 
   void setProperties(Object instance, AggregateType type, IMemorySpace ms) {
-    var properties =
-        type.getSymbols().stream()
-            .filter(symbol -> symbol instanceof PropertySymbol)
-            .map(symbol -> (PropertySymbol) symbol)
-            .toList();
-
-    for (PropertySymbol propertySymbol : properties) {
+    for (PropertySymbol propertySymbol : InstantiationPlan.of(type).properties()) {
       IDSLExtensionProperty property = propertySymbol.getProperty();
-      if (propertySymbol.isSettable()) {
-        // get corresponding value from memorySpace
-        Value value = ms.resolve(propertySymbol.getName());
-
-        boolean isNoneOrEmptyAggregateValue =
-            value == Value.NONE
-                || (value instanceof AggregateValue aggregateValue && aggregateValue.isEmpty());
-        if (!isNoneOrEmptyAggregateValue) {
-          Object valueAsObject = convertValueToObject(value);
-          if (valueAsObject != null) {
-            property.set(instance, valueAsObject);
-          }
+      // get corresponding value from memorySpace
+      Value value = ms.resolve(propertySymbol.getName());
+
+      boolean isNoneOrEmptyAggregateValue =
+          value == Value.NONE
+              || (value instanceof AggregateValue aggregateValue && aggregateValue.isEmpty());
+      if (!isNoneOrEmptyAggregateValue) {
+        Object valueAsObject = convertValueToObject(value);
+        if (valueAsObject != null) {
+          property.set(instance, valueAsObject);
         }
       }
     }
@@ -240,27 +224,20 @@ public class TypeInstantiator {
           // call builder -> store values from memory space in order of parameters
           // of builder-method
           var adaptedType = (AggregateTypeAdapter) valuesType;
-          var method = adaptedType.builderMethod();
-          var parameters = new ArrayList<>(method.getParameterCount());
-          for (var parameter : method.getParameters()) {
-            String memberName;
-            if (parameter.isAnnotationPresent(DSLTypeNameMember.class)) {
-              memberName = AggregateType.NAME_SYMBOL_NAME;
+          var plan = InstantiationPlan.builderPlan(adaptedType.builderMethod());
+          String[] memberNames = plan.memberNames();
+          String[] contextNames = plan.contextNames();
+          Object[] parameters = new Object[memberNames.length];
+          for (int i = 0; i < memberNames.length; i++) {
+            if (contextNames[i] != null) {
+              parameters[i] = context.get(contextNames[i]);
             } else {
-              memberName = TypeBuilder.getDSLParameterName(parameter);
+              Value memberValue = aggregateFieldValue.getMemorySpace().resolve(memberNames[i]);
+              parameters[i] = convertValueToObject(memberValue);
             }
-            Value memberValue = aggregateFieldValue.getMemorySpace().resolve(memberName);
-            Object internalObject;
-            if (parameter.isAnnotationPresent(DSLContextMember.class)) {
-              String name = parameter.getAnnotation(DSLContextMember.class).name();
-              internalObject = context.get(name);
-            } else {
-              internalObject = convertValueToObject(memberValue);
-            }
-            parameters.add(internalObject);
           }
 
-          convertedObject = method.invoke(null, parameters.toArray());
+          convertedObject = plan.invoke(parameters);
         }
       } else if (valuesType.getTypeKind().equals(IType.Kind.ListType)) {
         convertedObject = instantiateList((ListValue) value);
@@ -294,7 +271,7 @@ public class TypeInstantiator {
           }
         }
       }
-    } catch (InvocationTargetException | IllegalArgumentException | IllegalAccessException e) {
+    } catch (IllegalArgumentException e) {
       throw new RuntimeException(e);
     }
     return convertedObject;
@@ -302,59 +279,37 @@ public class TypeInstantiator {
 
   private Object instantiateRecord(Class<?> originalJavaClass, Value value) {
     IMemorySpace ms = value.getMemorySpace();
-
-    Constructor<?> ctor = getConstructor(originalJavaClass);
-    if (null == ctor) {
-      throw new RuntimeException(
-          "Could not find a suitable constructor to instantiate record "
-              + originalJavaClass.getName());
+    var plan = InstantiationPlan.classPlan(originalJavaClass);
+    if (plan.error() != null) {
+      throw new RuntimeException(plan.error());
     }
 
-    try {
-      // find the corresponding record-field to the constructor-parameter, get the according
-      // value from the memory space and pass it as a parameter to the constructor
-      ArrayList<Object> parameters = new ArrayList<>(ctor.getParameters().length);
-      for (var param : ctor.getParameters()) {
-        var field = originalJavaClass.getDeclaredField(param.getName());
-        if (field.isAnnotationPresent(DSLTypeMember.class)) {
-          String fieldName = TypeBuilder.getDSLFieldName(field);
-          var fieldValue = ms.resolve(fieldName);
-
-          // if a certain value is not found in the memory space,
-          // the record cannot be instantiated -> early return
-          if (fieldValue == null || fieldValue == Value.NONE) {
-            throw new RuntimeException(
-                "The name of field "
-                    + field.getName()
-                    + " cannot be resolved in the supplied memory space");
-          } else {
-            Object internalValue = convertValueToObject(fieldValue);
-            parameters.add(internalValue);
-          }
-        } else if (field.isAnnotationPresent(DSLCallback.class)) {
-          String fieldName = TypeBuilder.getDSLFieldName(field);
-          var fieldValue = ms.resolve(fieldName);
-
-          assert fieldValue.getDataType().getTypeKind() == IType.Kind.FunctionType;
-          assert fieldValue.getInternalValue() instanceof FunctionSymbol;
-
-          CallbackAdapter adapter =
-              callbackAdapterBuilder.buildAdapter((FunctionSymbol) fieldValue.getInternalValue());
-          parameters.add(adapter);
-        } else {
+    // get the value of the corresponding record-field for each constructor-parameter
+    // from the memory space and pass it as a parameter to the constructor
+    var members = plan.members();
+    Object[] parameters = new Object[members.length];
+    for (int i = 0; i < members.length; i++) {
+      var member = members[i];
+      var fieldValue = ms.resolve(member.dslName());
+      if (member.typeMember()) {
+        // if a certain value is not found in the memory space,
+        // the record cannot be instantiated -> early return
+        if (fieldValue == null || fieldValue == Value.NONE) {
           throw new RuntimeException(
-              "Instantiating a record using the TypeInstantiator requires that all "
-                  + "record members must be marked with @DSLTypeMember. Otherwise, no constructor invocation is possible");
+              "The name of field "
+                  + member.fieldName()
+                  + " cannot be resolved in the supplied memory space");
         }
+        parameters[i] = convertValueToObject(fieldValue);
+      } else {
+        assert fieldValue.getDataType().getTypeKind() == IType.Kind.FunctionType;
+        assert fieldValue.getInternalValue() instanceof FunctionSymbol;
+
+        parameters[i] =
+            callbackAdapterBuilder.buildAdapter((FunctionSymbol) fieldValue.getInternalValue());
       }
-      ctor.setAccessible(true);
-      return ctor.newInstance(parameters.toArray());
-    } catch (NoSuchFieldException
-        | InvocationTargetException
-        | InstantiationException
-        | IllegalAccessException e) {
-      throw new RuntimeException(e);
     }
+    return plan.newInstance(parameters);
   }
 
   private Object instantiateAggregateValueAsClass(AggregateType type, AggregateValue value) {
@@ -362,95 +317,42 @@ public class TypeInstantiator {
     if (null == originalJavaClass) {
       return null;
     }
-    if (originalJavaClass.isMemberClass()) {
-      throw new RuntimeException("Cannot instantiate an inner class");
-    }
 
-    Constructor<?> ctor = getConstructor(originalJavaClass);
-    if (null == ctor) {
-      throw new RuntimeException(
-          "Could not find a suitable constructor to instantiate class "
-              + originalJavaClass.getName());
+    var plan = InstantiationPlan.classPlan(originalJavaClass);
+    String[] contextNames = plan.contextNames();
+    Object[] parameterValues = new Object[contextNames.length];
+    for (int i = 0; i < contextNames.length; i++) {
+      parameterValues[i] = context.get(contextNames[i]);
     }
+    Object instance = plan.newInstance(parameterValues);
 
-    Object instance;
-    try {
-      // get constructor
-      ctor.setAccessible(true);
-      ArrayList<Object> parameterValues = new ArrayList<>(ctor.getParameterCount());
-      for (var param : ctor.getParameters()) {
-        if (param.isAnnotationPresent(DSLContextMember.class)) {
-          String contextMemberName = param.getAnnotation(DSLContextMember.class).name();
-          Object contextMember = context.get(contextMemberName);
-          parameterValues.add(contextMember);
-        } else {
-          throw new RuntimeException(
-              "Constructor parameter with name "
-                  + param.getName()
-                  + " is not marked as context parameter, cannot "
-                  + "instantiate class "
-                  + originalJavaClass.getName());
+    // set values of the fields marked as DSLTypeMembers to corresponding values from
+    // the memory space
+    IMemorySpace ms = value.getMemorySpace();
+    for (var member : plan.members()) {
+      var fieldValue = ms.resolve(member.dslName());
+      if (member.typeMember()) {
+        // we only should set the field value explicitly,
+        // if it was set in the program (indicated by the dirty-flag)
+        if (fieldValue != Value.NONE && fieldValue.isDirty()) {
+          member.set(instance, convertValueToObject(fieldValue));
         }
       }
-
-      instance = ctor.newInstance(parameterValues.toArray());
-
-      // set values of the fields marked as DSLTypeMembers to corresponding values from
-      // the memory space
-      IMemorySpace ms = value.getMemorySpace();
-      for (Field field : originalJavaClass.getDeclaredFields()) {
-        String fieldName = TypeBuilder.getDSLFieldName(field);
-        var fieldValue = ms.resolve(fieldName);
-        if (field.isAnnotationPresent(DSLTypeMember.class)) {
-          // we only should set the field value explicitly,
-          // if it was set in the program (indicated by the dirty-flag)
-          if (fieldValue != Value.NONE && fieldValue.isDirty()) {
-            Object internalValue = convertValueToObject(fieldValue);
-
-            field.setAccessible(true);
-            field.set(instance, internalValue);
-          }
-        }
-        if (field.isAnnotationPresent(DSLCallback.class)) {
-          if (fieldValue != Value.NONE
-              && fieldValue != FunctionValue.NONE
-              && fieldValue instanceof FunctionValue funcValue
-              && !funcValue.isEmpty()) {
-            assert fieldValue.getDataType().getTypeKind() == IType.Kind.FunctionType;
-            if (!(funcValue.getCallable() instanceof FunctionSymbol functionSymbol)) {
-              throw new RuntimeException(
-                  "Usage of non-FunctionSymbol callables as DSLCallback currently not supported");
-            } else {
-              CallbackAdapter adapter = callbackAdapterBuilder.buildAdapter(functionSymbol);
-              field.setAccessible(true);
-              field.set(instance, adapter);
-            }
+      if (member.callback()) {
+        if (fieldValue != Value.NONE
+            && fieldValue != FunctionValue.NONE
+            && fieldValue instanceof FunctionValue funcValue
+            && !funcValue.isEmpty()) {
+          assert fieldValue.getDataType().getTypeKind() == IType.Kind.FunctionType;
+          if (!(funcValue.getCallable() instanceof FunctionSymbol functionSymbol)) {
+            throw new RuntimeException(
+                "Usage of non-FunctionSymbol callables as DSLCallback currently not supported");
+          } else {
+            member.set(instance, callbackAdapterBuilder.buildAdapter(functionSymbol));
           }
         }
       }
-    } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException(e);
     }
     return instance;
   }
-
-  private Constructor<?> getConstructor(Class<?> originalJavaClass) {
-    Constructor<?> ctor = null;
-    for (Constructor<?> constructor : originalJavaClass.getDeclaredConstructors()) {
-      ctor = constructor;
-      boolean unmarkedCtorParameter = false;
-      for (var parameter : ctor.getParameters()) {
-        if (!parameter.isAnnotationPresent(DSLContextMember.class)) {
-          unmarkedCtorParameter = true;
-          break;
-        }
-      }
-
-      if (!unmarkedCtorParameter) {
-        break;
-      }
-    }
-
-    return ctor;
-  }
 }
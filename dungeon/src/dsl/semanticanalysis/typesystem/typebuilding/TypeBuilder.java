@@ -21,6 +21,8 @@ import java.util.regex.Pattern;
 
 /** TypeBuilder. */
 public class TypeBuilder {
+  private static final Pattern DSL_NAME_PATTERN = Pattern.compile("([a-z0-9_])([A-Z])");
+
   private final HashMap<Class<?>, List<Method>> typeAdapters;
   private final HashMap<Type, IType> javaTypeToDSLType;
   private final HashSet<Type> currentLookedUpTypes;
@@ -72,8 +74,7 @@ public class TypeBuilder {
    * @return converted name
    */
   public static String convertToDSLName(String name) {
-    Pattern pattern = Pattern.compile("([a-z0-9_])([A-Z])");
-    Matcher matcher = pattern.matcher(name);
+    Matcher matcher = DSL_NAME_PATTERN.matcher(name);
     var underscored = matcher.replaceAll(mr -> mr.group(1) + '_' + mr.group(2).toLowerCase());
     return underscored.toLowerCase();
   }
@@ -126,27 +127,13 @@ public class TypeBuilder {
    * @return the map, containing mapping between member names and java field names
    */
   public static HashMap<String, Field> mapTypeMembersToField(AggregateType type) {
-    var originClass = type.getOriginType();
-    HashMap<String, String> nameMap = new HashMap<>();
-    for (Field field : originClass.getDeclaredFields()) {
-      // bind new Symbol
-      if (field.isAnnotationPresent(DSLTypeMember.class)
-          || field.isAnnotationPresent(DSLCallback.class)) {
-        String fieldName = getDSLFieldName(field);
-        nameMap.put(fieldName, field.getName());
-      }
-    }
+    var fieldsByDSLName = TypeReflection.typeClass(type.getOriginType()).fieldsByDSLName();
 
     HashMap<String, Field> typeMemberToField = new HashMap<>();
     for (var member : type.getSymbols()) {
-      var fieldName = nameMap.get(member.getName());
-      if (fieldName != null) {
-        try {
-          Field field = originClass.getDeclaredField(fieldName);
-          typeMemberToField.put(member.getName(), field);
-        } catch (NoSuchFieldException e) {
-          // TODO: handle
-        }
+      Field field = fieldsByDSLName.get(member.getName());
+      if (field != null) {
+        typeMemberToField.put(member.getName(), field);
       }
     }
     return typeMemberToField;
@@ -163,16 +150,7 @@ public class TypeBuilder {
    *     parameter of {@link DSLType}
    */
   public static String getDSLTypeName(Class<?> clazz) {
-    // check for basic type
-    String dslName = getDSLNameOfBasicType(clazz);
-    if (dslName.isEmpty()) {
-      var classAnnotation = clazz.getAnnotation(DSLType.class);
-      return classAnnotation == null || classAnnotation.name().equals("")
-          ? convertToDSLName(clazz.getSimpleName())
-          : classAnnotation.name();
-    } else {
-      return dslName;
-    }
+    return TypeReflection.dslTypeName(clazz);
   }
 
   /**
@@ -228,38 +206,30 @@ public class TypeBuilder {
    * @param parentScope the scope in which the adapter should be registered
    */
   public void registerTypeAdapter(Class<?> adapterClass, IScope parentScope) {
-    for (var method : adapterClass.getDeclaredMethods()) {
-      if (method.isAnnotationPresent(DSLTypeAdapter.class)
-          && Modifier.isStatic(method.getModifiers())) {
-        DSLTypeAdapter annotation = method.getAnnotation(DSLTypeAdapter.class);
-
-        var forType = method.getReturnType();
-        if (!this.typeAdapters.containsKey(forType)) {
-          this.typeAdapters.put(forType, new ArrayList<>());
-        }
-
-        List<Method> typeAdaptersForType = this.typeAdapters.get(forType);
-        for (Method adapter : typeAdaptersForType) {
-          if (doParameterTypesMatch(adapter, method)) {
-            throw new UnsupportedOperationException(
-                "An adapter for class "
-                    + forType.getName()
-                    + " with the same signature was already registered");
-          }
-        }
-
-        this.typeAdapters.get(forType).add(method);
-
-        String dslTypeName =
-            annotation.name().equals("")
-                ? convertToDSLName(forType.getSimpleName())
-                : annotation.name();
+    var adapter = TypeReflection.adapter(adapterClass);
+    if (adapter.isEmpty()) {
+      return;
+    }
+    Method method = adapter.get().method();
 
-        createAdapterType(forType, dslTypeName, method, parentScope);
+    var forType = method.getReturnType();
+    if (!this.typeAdapters.containsKey(forType)) {
+      this.typeAdapters.put(forType, new ArrayList<>());
+    }
 
-        return;
+    List<Method> typeAdaptersForType = this.typeAdapters.get(forType);
+    for (Method registeredAdapter : typeAdaptersForType) {
+      if (doParameterTypesMatch(registeredAdapter, method)) {
+        throw new UnsupportedOperationException(
+            "An adapter for class "
+                + forType.getName()
+                + " with the same signature was already registered");
       }
     }
+
+    this.typeAdapters.get(forType).add(method);
+
+    createAdapterType(forType, adapter.get().dslTypeName(), method, parentScope);
   }
 
   /**
@@ -283,59 +253,36 @@ public class TypeBuilder {
     parentScope.bind(typeAdapter);
 
     // bind symbol for each parameter in the adapterMethod
-    for (var parameter : adapterMethod.getParameters()) {
+    for (var parameter : adapterParameters(adapterMethod)) {
       // translate parameters type into DSL type system
-      Type parametersType = parameter.getType();
-      var parametersAnnotatedType = parameter.getAnnotatedType();
-
-      // if the underlying Type of the AnnotatedType is not equal to the plain Type returned
-      // by parameter.getType(), then the parameter is declared with an annotated type (List,
-      // Set, Map or
-      // an implementation of a functional interface) and we need to either create a
-      // FunctionType from
-      // it (see below) or pass the Type with annotation information to
-      // createDSLTypeForJavaTypeInScope
-      var underlyingType = parametersAnnotatedType.getType();
-      boolean typeIsAnnotated = !underlyingType.equals(parametersType);
-
       IType paramDSLType;
-      if (typeIsAnnotated) {
-        Class<?> parametersClass = (Class<?>) parametersType;
-        if (parametersClass.isAnnotationPresent(FunctionalInterface.class)) {
-          // If the parameters class is annotated with @FunctionalInterface, we need to
-          // create a FunctionType for the parameter. For this we
-          // need the *Parameterized* Type of the parameter (which stores the information
-          // about the
-          // types used in the declaration of the generic type, i.e. `Integer` in
-          // `List<Integer>`).
-          // This CANNOT be integrated in `createDSLTypeForJavaTypeInScope` (see below),
-          // because
-          // the *Parameterized* Type is ONLY accessible via the Parameter of the method,
-          // which is
-          // not available in the `createDSLTypeForJavaTypeInScope`-method!
-          var parameterizedParameterType = (ParameterizedType) parameter.getParameterizedType();
-          paramDSLType = createFunctionType(parameterizedParameterType, parentScope);
-        } else {
-          paramDSLType =
-              createDSLTypeForJavaTypeInScope(parentScope, parametersAnnotatedType.getType());
-        }
-      } else {
-        paramDSLType = createDSLTypeForJavaTypeInScope(parentScope, parametersType);
-      }
-
-      String parameterName;
-      if (parameter.isAnnotationPresent(DSLTypeNameMember.class)) {
-        parameterName = AggregateType.NAME_SYMBOL_NAME;
+      if (parameter.functionType() != null) {
+        // If the parameters class is annotated with @FunctionalInterface, we need to
+        // create a FunctionType for the parameter. For this we need the *Parameterized* Type
+        // of the parameter (which stores the information about the types used in the
+        // declaration of the generic type, i.e. `Integer` in `List<Integer>`).
+        // This CANNOT be integrated in `createDSLTypeForJavaTypeInScope` (see below), because
+        // the *Parameterized* Type is ONLY accessible via the Parameter of the method, which
+        // is not available in the `createDSLTypeForJavaTypeInScope`-method!
+        paramDSLType = createFunctionType(parameter.functionType(), parentScope);
       } else {
-        parameterName = getDSLParameterName(parameter);
+        paramDSLType = createDSLTypeForJavaTypeInScope(parentScope, parameter.type());
       }
 
-      Symbol parameterSymbol = new Symbol(parameterName, typeAdapter, paramDSLType);
+      Symbol parameterSymbol = new Symbol(parameter.dslName(), typeAdapter, paramDSLType);
       typeAdapter.bind(parameterSymbol);
     }
     return typeAdapter;
   }
 
+  private static List<TypeReflection.AdapterParameter> adapterParameters(Method adapterMethod) {
+    var adapter = TypeReflection.adapter(adapterMethod.getDeclaringClass());
+    if (adapter.isPresent() && adapter.get().method().equals(adapterMethod)) {
+      return adapter.get().parameters();
+    }
+    return TypeReflection.Adapter.parametersOf(adapterMethod);
+  }
+
   /**
    * WTF? .
    *
@@ -601,7 +548,8 @@ public class TypeBuilder {
     }
 
     // try to resolve the typename in global scope
-    String typeName = getDSLTypeName(clazz);
+    TypeReflection.TypeClass typeClass = TypeReflection.typeClass(clazz);
+    String typeName = typeClass.dslName();
     Symbol resolved = globalScope.resolve(typeName);
     if (resolved != Symbol.NULL) {
       if (resolved instanceof IType) {
@@ -617,10 +565,10 @@ public class TypeBuilder {
       }
     }
 
-    if (!clazz.isAnnotationPresent(DSLType.class)) {
+    DSLType dslTypeAnnotation = typeClass.annotation();
+    if (dslTypeAnnotation == null) {
       return null;
     }
-    DSLType dslTypeAnnotation = clazz.getAnnotation(DSLType.class);
 
     if (clazz.isEnum()) {
       // because we check, that the clazz is an Enum (by `.isEnum()`)
@@ -629,14 +577,7 @@ public class TypeBuilder {
       Class<? extends Enum<?>> enumClass = (Class<? extends Enum<?>>) clazz;
 
       var enumType = new EnumType(typeName, globalScope, enumClass);
-      var variants = clazz.getDeclaredFields();
-      for (var variant : variants) {
-        var variantsType = variant.getType();
-        if (variantsType.isArray()) {
-          continue;
-        }
-
-        String name = variant.getName();
+      for (String name : typeClass.enumVariants()) {
         Symbol variantSymbol = new Symbol(name, enumType, enumType);
         enumType.bind(variantSymbol);
       }
@@ -646,10 +587,10 @@ public class TypeBuilder {
       var aggregateType = new AggregateType(typeName, globalScope, clazz);
 
       this.currentLookedUpTypes.add(clazz);
-      for (Field field : clazz.getDeclaredFields()) {
+      for (var member : typeClass.members()) {
+        Field field = member.field();
         // bind new Symbol
-        if (field.isAnnotationPresent(DSLTypeMember.class)
-            || field.isAnnotationPresent(DSLTypeNameMember.class)) {
+        if (member.dataMember()) {
           var genericType = field.getGenericType();
           Symbol fieldSymbol;
           if (genericType instanceof TypeVariable<?>
@@ -666,7 +607,7 @@ public class TypeBuilder {
           }
           aggregateType.bind(fieldSymbol);
         }
-        if (field.isAnnotationPresent(DSLCallback.class)) {
+        if (member.callback()) {
           var callbackSymbol = createCallbackMemberSymbol(field, aggregateType, globalScope);
           aggregateType.bind(callbackSymbol);
         }
@@ -693,23 +634,18 @@ public class TypeBuilder {
    */
   public void bindProperty(IScope globalScope, IDSLExtensionProperty<?, ?> property) {
     // get extended type
-    Class<?> propertyClass = property.getClass();
-    if (propertyClass.isAnnotationPresent(DSLTypeProperty.class)) {
-      var annotation = propertyClass.getAnnotation(DSLTypeProperty.class);
-      var extendedClass = annotation.extendedType();
+    var reflectedProperty = TypeReflection.property(property.getClass());
+    if (reflectedProperty.isPresent()) {
+      var extendedClass = reflectedProperty.get().extendedType();
       IType extendedType = createDSLTypeForJavaTypeInScope(globalScope, extendedClass);
       if (extendedType instanceof AggregateType aggregateExtendedType) {
-        var genericInterfaces = propertyClass.getGenericInterfaces();
-        var type = genericInterfaces[0];
-        ParameterizedType parameterizedType = (ParameterizedType) type;
-
         // get properties datatype
-        var valueType = parameterizedType.getActualTypeArguments()[1];
+        var valueType = reflectedProperty.get().typeArguments().get(1);
         IType valueDSLType = null;
         if (valueType instanceof ParameterizedType parameterizedParameterType) {
           try {
             Class<?> rawType = (Class<?>) parameterizedParameterType.getRawType();
-            if (rawType.isAnnotationPresent(FunctionalInterface.class)) {
+            if (TypeReflection.isFunctionalInterface(rawType)) {
               valueDSLType = this.createFunctionType(parameterizedParameterType, globalScope);
             }
           } catch (ClassCastException ex) {
@@ -722,7 +658,8 @@ public class TypeBuilder {
 
         // create and bind property symbol
         PropertySymbol propertySymbol =
-            new PropertySymbol(annotation.name(), aggregateExtendedType, valueDSLType, property);
+            new PropertySymbol(
+                reflectedProperty.get().name(), aggregateExtendedType, valueDSLType, property);
         aggregateExtendedType.bind(propertySymbol);
       }
     }
@@ -737,18 +674,13 @@ public class TypeBuilder {
    */
   public void bindMethod(IScope globalScope, IDSLExtensionMethod<?, ?> method) {
     // get extended type
-    Class<?> methodClass = method.getClass();
-    if (methodClass.isAnnotationPresent(DSLExtensionMethod.class)) {
-      var annotation = methodClass.getAnnotation(DSLExtensionMethod.class);
-      var extendedClass = annotation.extendedType();
+    var reflectedMethod = TypeReflection.method(method.getClass());
+    if (reflectedMethod.isPresent()) {
+      var extendedClass = reflectedMethod.get().extendedType();
       IType extendedType = createDSLTypeForJavaTypeInScope(globalScope, extendedClass);
       if (extendedType instanceof AggregateType aggregateExtendedType) {
-        var genericInterfaces = methodClass.getGenericInterfaces();
-        var type = genericInterfaces[0];
-        ParameterizedType parameterizedType = (ParameterizedType) type;
-
         // create FunctionType
-        Type returnType = parameterizedType.getActualTypeArguments()[1];
+        Type returnType = reflectedMethod.get().typeArguments().get(1);
         IType returnDSLType = createDSLTypeForJavaTypeInScope(globalScope, returnType);
 
         List<Type> parameterTypes = method.getParameterTypes();
@@ -758,7 +690,7 @@ public class TypeBuilder {
           if (parameterType instanceof ParameterizedType parameterizedParameterType) {
             try {
               Class<?> rawType = (Class<?>) parameterizedParameterType.getRawType();
-              if (rawType.isAnnotationPresent(FunctionalInterface.class)) {
+              if (TypeReflection.isFunctionalInterface(rawType)) {
                 dslType = this.createFunctionType(parameterizedParameterType, globalScope);
               }
             } catch (ClassCastException ex) {
@@ -776,7 +708,7 @@ public class TypeBuilder {
         // create and bind method symbol
         ExtensionMethod nativeMethodSymbol =
             new ExtensionMethod(
-                annotation.name(),
+                reflectedMethod.get().name(),
                 aggregateExtendedType,
                 functionType,
                 (IDSLExtensionMethod<Object, Object>) method);
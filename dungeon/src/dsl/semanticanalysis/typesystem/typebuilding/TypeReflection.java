@@ -0,0 +1,312 @@
+package dsl.semanticanalysis.typesystem.typebuilding;
+
+import dsl.annotation.*;
+import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateType;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * JVM wide registry of the reflection data, which the {@link TypeBuilder} reads from java classes.
+ *
+ * <p>Every {@link dsl.semanticanalysis.environment.GameEnvironment} converts the same built-in
+ * classes, type adapters and extension properties / methods into DSL types. Reading the declared
+ * fields, methods, annotations and generic signatures of these classes is the expensive part of
+ * this. The registry reads them once per class and shares the (immutable) result between all
+ * {@link TypeBuilder}s.
+ *
+ * <p>Only the reflection data is shared. The DSL symbols are still created by each {@link
+ * TypeBuilder} in the scope of its environment, because the symbols of a type resolve unknown
+ * names in the scope they were created in.
+ */
+public final class TypeReflection {
+
+  private static final ClassValue<String> DSL_TYPE_NAMES =
+      new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> clazz) {
+          String dslName = TypeBuilder.getDSLNameOfBasicType(clazz);
+          if (!dslName.isEmpty()) {
+            return dslName;
+          }
+          var classAnnotation = clazz.getAnnotation(DSLType.class);
+          return classAnnotation == null || classAnnotation.name().equals("")
+              ? TypeBuilder.convertToDSLName(clazz.getSimpleName())
+              : classAnnotation.name();
+        }
+      };
+
+  private static final ClassValue<TypeClass> TYPE_CLASSES =
+      new ClassValue<>() {
+        @Override
+        protected TypeClass computeValue(Class<?> clazz) {
+          return TypeClass.of(clazz);
+        }
+      };
+
+  private static final ClassValue<Optional<Adapter>> ADAPTERS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Adapter> computeValue(Class<?> adapterClass) {
+          return Optional.ofNullable(Adapter.of(adapterClass));
+        }
+      };
+
+  private static final ClassValue<Optional<Extension>> PROPERTIES =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Extension> computeValue(Class<?> propertyClass) {
+          var annotation = propertyClass.getAnnotation(DSLTypeProperty.class);
+          if (annotation == null) {
+            return Optional.empty();
+          }
+          return Optional.of(
+              Extension.of(propertyClass, annotation.name(), annotation.extendedType()));
+        }
+      };
+
+  private static final ClassValue<Optional<Extension>> METHODS =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Extension> computeValue(Class<?> methodClass) {
+          var annotation = methodClass.getAnnotation(DSLExtensionMethod.class);
+          if (annotation == null) {
+            return Optional.empty();
+          }
+          return Optional.of(
+              Extension.of(methodClass, annotation.name(), annotation.extendedType()));
+        }
+      };
+
+  private static final ClassValue<Boolean> FUNCTIONAL_INTERFACES =
+      new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> clazz) {
+          return clazz.isAnnotationPresent(FunctionalInterface.class);
+        }
+      };
+
+  private TypeReflection() {}
+
+  /**
+   * Get the DSL name of a class.
+   *
+   * @param clazz the class
+   * @return see {@link TypeBuilder#getDSLTypeName(Class)}
+   */
+  public static String dslTypeName(Class<?> clazz) {
+    return DSL_TYPE_NAMES.get(clazz);
+  }
+
+  /**
+   * Get the reflection data of a class, which may be converted into a DSL type.
+   *
+   * @param clazz the class
+   * @return the {@link TypeClass} of the class
+   */
+  public static TypeClass typeClass(Class<?> clazz) {
+    return TYPE_CLASSES.get(clazz);
+  }
+
+  /**
+   * Get the type adapter method of an adapter class.
+   *
+   * @param adapterClass the class, which declares the adapter method
+   * @return the first static method annotated with {@link DSLTypeAdapter}, or an empty Optional
+   */
+  public static Optional<Adapter> adapter(Class<?> adapterClass) {
+    return ADAPTERS.get(adapterClass);
+  }
+
+  /**
+   * Get the reflection data of an extension property class.
+   *
+   * @param propertyClass the class of the {@link
+   *     dsl.semanticanalysis.typesystem.extension.IDSLExtensionProperty}
+   * @return the data, or an empty Optional if the class is not annotated with {@link
+   *     DSLTypeProperty}
+   */
+  public static Optional<Extension> property(Class<?> propertyClass) {
+    return PROPERTIES.get(propertyClass);
+  }
+
+  /**
+   * Get the reflection data of an extension method class.
+   *
+   * @param methodClass the class of the {@link
+   *     dsl.semanticanalysis.typesystem.extension.IDSLExtensionMethod}
+   * @return the data, or an empty Optional if the class is not annotated with {@link
+   *     DSLExtensionMethod}
+   */
+  public static Optional<Extension> method(Class<?> methodClass) {
+    return METHODS.get(methodClass);
+  }
+
+  /**
+   * Check, if a class is annotated with {@link FunctionalInterface}.
+   *
+   * @param clazz the class
+   * @return true, if the class is a functional interface
+   */
+  public static boolean isFunctionalInterface(Class<?> clazz) {
+    return FUNCTIONAL_INTERFACES.get(clazz);
+  }
+
+  /**
+   * A field of a class, which is converted into a member of the DSL type.
+   *
+   * @param field the field
+   * @param dslName the DSL name of the field (see {@link TypeBuilder#getDSLFieldName(Field)})
+   * @param dataMember true, if the field is annotated with {@link DSLTypeMember} or {@link
+   *     DSLTypeNameMember}
+   * @param nameMember true, if the field is annotated with {@link DSLTypeNameMember}
+   * @param callback true, if the field is annotated with {@link DSLCallback}
+   */
+  public record MemberField(
+      Field field, String dslName, boolean dataMember, boolean nameMember, boolean callback) {}
+
+  /**
+   * Reflection data of a class, which may be converted into a DSL type.
+   *
+   * @param dslName the DSL name of the class
+   * @param annotation the {@link DSLType} annotation of the class, or null
+   * @param enumVariants the names of the variants, if the class is an enum
+   * @param members the fields, which are converted into members, in declaration order
+   * @param fieldsByDSLName maps DSL member names to the fields annotated with {@link DSLTypeMember}
+   *     or {@link DSLCallback}
+   */
+  public record TypeClass(
+      String dslName,
+      DSLType annotation,
+      List<String> enumVariants,
+      List<MemberField> members,
+      Map<String, Field> fieldsByDSLName) {
+
+    private static TypeClass of(Class<?> clazz) {
+      DSLType annotation = clazz.getAnnotation(DSLType.class);
+      Field[] fields = clazz.getDeclaredFields();
+
+      List<String> enumVariants = new ArrayList<>();
+      if (clazz.isEnum()) {
+        for (Field variant : fields) {
+          if (!variant.getType().isArray()) {
+            enumVariants.add(variant.getName());
+          }
+        }
+      }
+
+      List<MemberField> members = new ArrayList<>();
+      Map<String, Field> fieldsByDSLName = new HashMap<>();
+      for (Field field : fields) {
+        boolean nameMember = field.isAnnotationPresent(DSLTypeNameMember.class);
+        boolean typeMember = field.isAnnotationPresent(DSLTypeMember.class);
+        boolean callback = field.isAnnotationPresent(DSLCallback.class);
+        if (!typeMember && !nameMember && !callback) {
+          continue;
+        }
+        String dslName = TypeBuilder.getDSLFieldName(field);
+        boolean dataMember = typeMember || nameMember;
+        members.add(new MemberField(field, dslName, dataMember, nameMember, callback));
+        if (typeMember || callback) {
+          fieldsByDSLName.put(dslName, field);
+        }
+      }
+      return new TypeClass(
+          dslTypeName(clazz),
+          annotation,
+          List.copyOf(enumVariants),
+          List.copyOf(members),
+          Map.copyOf(fieldsByDSLName));
+    }
+  }
+
+  /**
+   * A parameter of a type adapter method, which is converted into a member of the adapted type.
+   *
+   * @param dslName the DSL name of the parameter, {@link AggregateType#NAME_SYMBOL_NAME} for a
+   *     parameter annotated with {@link DSLTypeNameMember}
+   * @param type the java type to convert into the DSL type of the member
+   * @param functionType the parameterized type of the parameter, if the parameter is a functional
+   *     interface (and converted into a function type), otherwise null
+   */
+  public record AdapterParameter(String dslName, Type type, ParameterizedType functionType) {}
+
+  /**
+   * Reflection data of a type adapter method.
+   *
+   * @param method the adapter method
+   * @param dslTypeName the DSL name of the adapted type
+   * @param parameters the parameters of the method
+   */
+  public record Adapter(Method method, String dslTypeName, List<AdapterParameter> parameters) {
+
+    private static Adapter of(Class<?> adapterClass) {
+      for (var method : adapterClass.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(DSLTypeAdapter.class)
+            && Modifier.isStatic(method.getModifiers())) {
+          DSLTypeAdapter annotation = method.getAnnotation(DSLTypeAdapter.class);
+          String dslTypeName =
+              annotation.name().equals("")
+                  ? TypeBuilder.convertToDSLName(method.getReturnType().getSimpleName())
+                  : annotation.name();
+          return new Adapter(method, dslTypeName, parametersOf(method));
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Read the parameters of an adapter method.
+     *
+     * @param method the adapter method
+     * @return the parameters of the method
+     */
+    static List<AdapterParameter> parametersOf(Method method) {
+      List<AdapterParameter> parameters = new ArrayList<>(method.getParameterCount());
+      for (var parameter : method.getParameters()) {
+        String dslName =
+            parameter.isAnnotationPresent(DSLTypeNameMember.class)
+                ? AggregateType.NAME_SYMBOL_NAME
+                : TypeBuilder.getDSLParameterName(parameter);
+
+        // if the underlying Type of the AnnotatedType is not equal to the plain Type returned
+        // by parameter.getType(), then the parameter is declared with an annotated type (List,
+        // Set, Map or an implementation of a functional interface), see
+        // TypeBuilder.createAdapterType
+        Type parametersType = parameter.getType();
+        Type underlyingType = parameter.getAnnotatedType().getType();
+        if (underlyingType.equals(parametersType)) {
+          parameters.add(new AdapterParameter(dslName, parametersType, null));
+        } else if (isFunctionalInterface((Class<?>) parametersType)) {
+          parameters.add(
+              new AdapterParameter(
+                  dslName, parametersType, (ParameterizedType) parameter.getParameterizedType()));
+        } else {
+          parameters.add(new AdapterParameter(dslName, underlyingType, null));
+        }
+      }
+      return List.copyOf(parameters);
+    }
+  }
+
+  /**
+   * Reflection data of an extension property or method.
+   *
+   * @param name the DSL name of the property or method
+   * @param extendedType the extended class
+   * @param typeArguments the type arguments of the first generic interface of the extension class
+   *     (i.e. of {@link dsl.semanticanalysis.typesystem.extension.IDSLExtensionProperty} or {@link
+   *     dsl.semanticanalysis.typesystem.extension.IDSLExtensionMethod})
+   */
+  public record Extension(String name, Class<?> extendedType, List<Type> typeArguments) {
+
+    private static Extension of(Class<?> extensionClass, String name, Class<?> extendedType) {
+      Type[] genericInterfaces = extensionClass.getGenericInterfaces();
+      if (genericInterfaces.length == 0
+          || !(genericInterfaces[0] instanceof ParameterizedType parameterizedType)) {
+        return new Extension(name, extendedType, List.of());
+      }
+      return new Extension(
+          name, extendedType, List.of(parameterizedType.getActualTypeArguments()));
+    }
+  }
+}
@@ -2,6 +2,8 @@ package dsl.semanticanalysis.typesystem.typebuilding.type;
 
 import dsl.semanticanalysis.scope.IScope;
 import dsl.semanticanalysis.symbol.ScopedSymbol;
+import dsl.semanticanalysis.symbol.Symbol;
+import dsl.semanticanalysis.typesystem.instantiation.InstantiationPlan;
 import dsl.semanticanalysis.typesystem.typebuilding.TypeBuilder;
 import java.lang.reflect.Field;
 import java.util.HashMap;
@@ -13,6 +15,7 @@ public class AggregateType extends ScopedSymbol implements IType {
 
   protected Class<?> originType;
   private HashMap<String, Field> typeMemberToField;
+  private InstantiationPlan instantiationPlan;
 
   /**
    * Constructor.
@@ -58,6 +61,32 @@ public class AggregateType extends ScopedSymbol implements IType {
     return this.typeMemberToField;
   }
 
+  /**
+   * Gets the cached plan to instantiate this type.
+   *
+   * @return the {@link InstantiationPlan}, or null if it was not created yet (or a symbol was bound
+   *     afterwards)
+   */
+  public InstantiationPlan getInstantiationPlan() {
+    return this.instantiationPlan;
+  }
+
+  /**
+   * Sets the cached plan to instantiate this type.
+   *
+   * @param instantiationPlan the plan, created by {@link InstantiationPlan#of(AggregateType)}
+   */
+  public void setInstantiationPlan(InstantiationPlan instantiationPlan) {
+    this.instantiationPlan = instantiationPlan;
+  }
+
+  @Override
+  public boolean bind(Symbol symbol) {
+    // properties may be bound after the plan was created
+    this.instantiationPlan = null;
+    return super.bind(symbol);
+  }
+
   @Override
   public Kind getTypeKind() {
     return Kind.Aggregate;
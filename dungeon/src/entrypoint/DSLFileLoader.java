@@ -2,9 +2,14 @@ package entrypoint;
 
 import java.io.*;
 import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -23,6 +28,9 @@ public class DSLFileLoader {
   private static final String JAR_FILE_ENDING = ".jar";
   private static final String SCRIPT_FOLDER = "scripts/";
 
+  // content of all DSL files in the script folder of a jar, by the path of the jar
+  private static final Map<Path, JarIndex> JAR_INDICES = new ConcurrentHashMap<>();
+
   /**
    * Load DSL files from the given paths.
    *
@@ -68,7 +76,37 @@ public class DSLFileLoader {
   private static Set<Path> findDSLFilesInJar(String jarPath) {
     Set<Path> dngPaths = new HashSet<>();
 
-    try (JarFile jarFile = new JarFile(jarPath)) {
+    try {
+      for (String entryName : jarIndex(Paths.get(jarPath)).scripts().keySet()) {
+        Path entryPath = Paths.get(jarPath + File.separator + entryName);
+        dngPaths.add(entryPath);
+      }
+    } catch (IOException e) {
+      e.printStackTrace(); // WTF?
+    }
+
+    return dngPaths;
+  }
+
+  /**
+   * Get the content of all DSL files in the "/script" directory of the given jar file.
+   *
+   * <p>The jar is read in a single pass on the first call and again only if it was modified since.
+   *
+   * @param jarPath Path to the jar file.
+   * @return Index of the DSL files in the jar.
+   * @throws IOException if the jar can not be read
+   */
+  private static JarIndex jarIndex(Path jarPath) throws IOException {
+    Path key = jarPath.toAbsolutePath().normalize();
+    FileTime lastModified = Files.getLastModifiedTime(key);
+    JarIndex index = JAR_INDICES.get(key);
+    if (index != null && index.lastModified().equals(lastModified)) {
+      return index;
+    }
+
+    Map<String, String> scripts = new HashMap<>();
+    try (JarFile jarFile = new JarFile(key.toFile())) {
       Enumeration<JarEntry> entries = jarFile.entries();
 
       while (entries.hasMoreElements()) {
@@ -76,15 +114,23 @@ public class DSLFileLoader {
         String entryName = entry.getName();
 
         if (entryName.startsWith(SCRIPT_FOLDER) && entryName.endsWith(DSL_FILE_ENDING)) {
-          Path entryPath = Paths.get(jarPath + File.separator + entryName);
-          dngPaths.add(entryPath);
+          try (InputStream inputStream = jarFile.getInputStream(entry);
+              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
+            StringBuilder stringBuilder = new StringBuilder();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+              stringBuilder.append(line);
+            }
+            scripts.put(entryName, stringBuilder.toString());
+          }
         }
       }
-    } catch (IOException e) {
-      e.printStackTrace(); // WTF?
     }
 
-    return dngPaths;
+    index = new JarIndex(lastModified, Collections.unmodifiableMap(scripts));
+    JAR_INDICES.put(key, index);
+    return index;
   }
 
   /**
@@ -125,8 +171,11 @@ public class DSLFileLoader {
   /**
    * Read the dng files in the given JAR file as a string.
    *
+   * <p>The content is taken from an index of the jar, which is built once for all DSL files of the
+   * jar.
+   *
    * @param path Path to JAR file.
-   * @return Read-in string.
+   * @return Read-in string, null if the jar does not contain the file.
    */
   public static String fileToStringFromJar(Path path) {
 
@@ -135,31 +184,14 @@ public class DSLFileLoader {
     String jarFileContent =
         path.toString().split(JAR_FILE_ENDING)[1].replace("\\", "/").substring(1);
 
-    try (JarFile jarFile = new JarFile(jarFilePath)) {
-      Enumeration<JarEntry> entries = jarFile.entries();
-
-      while (entries.hasMoreElements()) {
-        JarEntry entry = entries.nextElement();
-        String entryName = entry.getName();
-
-        if (entryName.equals(jarFileContent)) {
-
-          try (InputStream inputStream = jarFile.getInputStream(entry);
-              BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            StringBuilder stringBuilder = new StringBuilder();
-            String line;
-
-            while ((line = reader.readLine()) != null) {
-              stringBuilder.append(line);
-            }
-            return stringBuilder.toString();
-          }
-        }
-      }
+    try {
+      return jarIndex(Paths.get(jarFilePath)).scripts().get(jarFileContent);
     } catch (IOException e) {
       e.printStackTrace();
     }
 
     return null;
   }
+
+  private record JarIndex(FileTime lastModified, Map<String, String> scripts) {}
 }
@@ -0,0 +1,109 @@
+package entrypoint;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Watches a DSL file for changes.
+ *
+ * <p>The directory of the file is watched by a daemon thread, which only records that the file
+ * changed. The game loop polls {@link #pollChanged()} and reloads the file on its own thread, e.g.
+ * with {@link dsl.interpreter.DSLInterpreter#reloadDefinitions(ParsedFile)}.
+ *
+ * <p>Only files in the default file system can be watched, DSL files inside a jar never change.
+ */
+public final class DSLFileWatcher implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(DSLFileWatcher.class.getSimpleName());
+
+  private final Path file;
+  private final WatchService watchService;
+  private final AtomicBoolean changed = new AtomicBoolean(false);
+
+  private DSLFileWatcher(final Path file) throws IOException {
+    this.file = file;
+    this.watchService = file.getFileSystem().newWatchService();
+    // editors often save by replacing the file, which is reported as a new entry
+    file.getParent().register(watchService, ENTRY_MODIFY, ENTRY_CREATE);
+
+    Thread thread = new Thread(this::watch, "dsl-file-watcher");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Start to watch the given DSL file.
+   *
+   * @param file path of the DSL file
+   * @return the watcher, or an empty optional if the file can not be watched
+   */
+  public static Optional<DSLFileWatcher> watch(final Path file) {
+    Path absoluteFile = file.toAbsolutePath();
+    if (absoluteFile.getFileSystem() != FileSystems.getDefault()
+        || !Files.isRegularFile(absoluteFile)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new DSLFileWatcher(absoluteFile));
+    } catch (IOException e) {
+      LOGGER.warning("Can't watch " + absoluteFile + ": " + e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the watched file.
+   *
+   * @return absolute path of the watched file
+   */
+  public Path file() {
+    return file;
+  }
+
+  /**
+   * Check whether the file changed since the last call.
+   *
+   * @return true if the file changed
+   */
+  public boolean pollChanged() {
+    return changed.getAndSet(false);
+  }
+
+  /** Stop watching the file. */
+  @Override
+  public void close() {
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      LOGGER.warning("Can't close the watch service of " + file + ": " + e.getMessage());
+    }
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (file.getFileName().equals(event.context())) {
+            changed.set(true);
+          }
+        }
+        key.reset();
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      // the watcher was closed
+    }
+  }
+}
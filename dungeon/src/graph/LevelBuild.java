@@ -0,0 +1,211 @@
+package graph;
+
+import core.Game;
+import core.level.elements.ILevel;
+import dsl.interpreter.DSLInterpreter;
+import entrypoint.DSLEntryPoint;
+import graph.taskdependencygraph.TaskDependencyGraph;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import task.Task;
+
+/**
+ * Builds the level of a {@link DSLEntryPoint} on a worker thread, without blocking the game loop.
+ *
+ * <p>The build interprets the entry point and executes the {@link TaskGraphConverter} for its task
+ * dependency graph. This can take several seconds for large quests, so it runs on a worker: the
+ * interpretation, the TaskBuilders (one after another, the interpreter is not thread-safe), the
+ * generation of the rooms and the Petri nets.
+ *
+ * <p>The interpretation and the TaskBuilders create and change entities. The worker does not touch
+ * the entity storage of the game for this, the changes are recorded (see {@link
+ * Game#deferChanges(Queue, java.util.function.Supplier)}). The game loop calls {@link #update()}
+ * once per frame, which applies the recorded changes on the game thread, and polls {@link
+ * #progress()} to show the progress and {@link #isDone()} to check whether the level is ready. When
+ * the worker is finished, {@link #update()} connects the doors with the task managers and places
+ * the initial tokens on the game thread.
+ *
+ * <p>The interpreter must not be used otherwise while the build runs. The entities, which are
+ * created by the build, are not added to the game; this happens when the rooms of the level are
+ * loaded for the first time.
+ */
+public final class LevelBuild {
+
+  /** The stages of a build. */
+  public enum Stage {
+    /** The entry point is interpreted. */
+    INTERPRET,
+    /** The TaskBuilder is executed for each task. */
+    BUILD_TASKS,
+    /** The rooms of the level are generated. */
+    GENERATE_LEVEL,
+    /** The Petri nets of the tasks are created. */
+    CREATE_PETRI_NETS;
+
+    private static Stage of(final TaskGraphConverter.Step step) {
+      return switch (step) {
+        case BUILD_TASKS -> BUILD_TASKS;
+        case GENERATE_LEVEL -> GENERATE_LEVEL;
+        case CREATE_PETRI_NETS -> CREATE_PETRI_NETS;
+      };
+    }
+  }
+
+  /**
+   * The progress of a build.
+   *
+   * @param stage the current stage
+   * @param done the number of finished units of the current stage
+   * @param total the number of units of the current stage
+   */
+  public record Progress(Stage stage, int done, int total) {}
+
+  // the result of the worker
+  private record Built(TaskDependencyGraph graph, TaskGraphConverter.Layout layout) {}
+
+  private final AtomicReference<Progress> progress =
+      new AtomicReference<>(new Progress(Stage.INTERPRET, 0, 1));
+  private final DSLEntryPoint entryPoint;
+  private final DSLInterpreter interpreter;
+  private final Executor executor;
+  private final Queue<Runnable> changes = new ConcurrentLinkedQueue<>();
+  private CompletableFuture<Built> work;
+  private Quest quest;
+  private RuntimeException failure;
+
+  private LevelBuild(
+      final DSLEntryPoint entryPoint, final DSLInterpreter interpreter, final Executor executor) {
+    this.entryPoint = entryPoint;
+    this.interpreter = interpreter;
+    this.executor = executor;
+  }
+
+  /**
+   * Start to build the level of the given entry point, the worker runs on a new daemon thread.
+   *
+   * @param entryPoint the selected entry point
+   * @param interpreter the interpreter to use for the entry point and the TaskBuilders
+   * @return the started build, call {@link #update()} once per frame
+   */
+  public static LevelBuild start(final DSLEntryPoint entryPoint, final DSLInterpreter interpreter) {
+    return start(
+        entryPoint,
+        interpreter,
+        runnable -> {
+          Thread thread = new Thread(runnable, "level-build");
+          thread.setDaemon(true);
+          thread.start();
+        });
+  }
+
+  /**
+   * Start to build the level of the given entry point, the worker runs on the given executor.
+   *
+   * @param entryPoint the selected entry point
+   * @param interpreter the interpreter to use for the entry point and the TaskBuilders
+   * @param executor the executor to run the worker on
+   * @return the started build, call {@link #update()} once per frame
+   */
+  public static LevelBuild start(
+      final DSLEntryPoint entryPoint, final DSLInterpreter interpreter, final Executor executor) {
+    return new LevelBuild(entryPoint, interpreter, executor);
+  }
+
+  /**
+   * Apply the entity changes of the build and finish it, if the worker is done.
+   *
+   * <p>Must be called on the game thread. The first call starts the worker. Does nothing, if the
+   * build is done. An exception of the build aborts it and is thrown by {@link #quest()}.
+   */
+  public void update() {
+    if (isDone()) {
+      return;
+    }
+    try {
+      if (work == null) {
+        work =
+            CompletableFuture.supplyAsync(
+                () -> Game.deferChanges(changes, this::build), executor);
+      }
+      // all changes of a finished worker are in the queue
+      boolean finished = work.isDone();
+      Game.applyChanges(changes);
+      if (finished) {
+        Built built = work.join();
+        quest = TaskGraphConverter.connect(built.graph(), built.layout());
+      }
+    } catch (CompletionException e) {
+      failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+  }
+
+  // runs on the worker
+  private Built build() {
+    TaskDependencyGraph graph = interpreter.interpretEntryPoint(entryPoint).dependencyGraph();
+    List<Task> tasks = new ArrayList<>();
+    graph.nodeIterator().forEachRemaining(node -> tasks.add(node.task()));
+    progress.set(new Progress(Stage.BUILD_TASKS, 0, tasks.size()));
+    for (int i = 0; i < tasks.size(); i++) {
+      TaskGraphConverter.callTaskBuilderFor(tasks.get(i), interpreter);
+      progress.set(new Progress(Stage.BUILD_TASKS, i + 1, tasks.size()));
+    }
+    TaskGraphConverter.Layout layout =
+        TaskGraphConverter.layout(
+            graph, (step, done, total) -> progress.set(new Progress(Stage.of(step), done, total)));
+    return new Built(graph, layout);
+  }
+
+  /**
+   * Get the latest progress of the build.
+   *
+   * @return the latest progress
+   */
+  public Progress progress() {
+    return progress.get();
+  }
+
+  /**
+   * Check whether the build is finished, successfully or not.
+   *
+   * @return true if {@link #quest()} returns the quest or throws the exception of the build
+   */
+  public boolean isDone() {
+    return quest != null || failure != null;
+  }
+
+  /**
+   * Get the built level.
+   *
+   * @return the start room of the built level
+   * @throws RuntimeException the exception, which aborted the build
+   * @throws IllegalStateException if the build is not done
+   */
+  public ILevel level() {
+    return quest().startRoom();
+  }
+
+  /**
+   * Get the built quest.
+   *
+   * @return the built quest
+   * @throws RuntimeException the exception, which aborted the build
+   * @throws IllegalStateException if the build is not done
+   */
+  public Quest quest() {
+    if (failure != null) {
+      throw failure;
+    }
+    if (quest == null) {
+      throw new IllegalStateException("The level build is not done yet.");
+    }
+    return quest;
+  }
+}
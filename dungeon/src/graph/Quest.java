@@ -0,0 +1,146 @@
+package graph;
+
+import core.Game;
+import core.level.elements.ILevel;
+import graph.petrinet.CompiledPetriNet;
+import graph.snapshot.HeroSnapshot;
+import graph.snapshot.QuestSnapshot;
+import graph.taskdependencygraph.TaskDependencyGraph;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import task.Task;
+import task.TaskSession;
+
+/**
+ * A quest converted by the {@link TaskGraphConverter}: the start room, the tasks of the task
+ * dependency graph and their compiled Petri net.
+ *
+ * <p>The state of the quest (the state and points of each task, the solving order and the marking
+ * of the Petri net) can be copied with {@link #capture()} and set with {@link
+ * #restore(QuestSnapshot)}. The tasks are identified by their position in the task dependency
+ * graph, so a snapshot fits each quest converted from the same DSL file.
+ */
+public final class Quest {
+
+  private final ILevel startRoom;
+  private final List<Task> tasks;
+  private final Map<Task, Integer> taskIndex = new HashMap<>();
+  private final CompiledPetriNet petriNet;
+
+  /**
+   * Create a new quest.
+   *
+   * @param startRoom the room the game starts in
+   * @param graph the task dependency graph of the quest
+   * @param petriNet the compiled Petri net of the tasks in the graph
+   */
+  public Quest(
+      final ILevel startRoom, final TaskDependencyGraph graph, final CompiledPetriNet petriNet) {
+    this.startRoom = startRoom;
+    this.tasks = new ArrayList<>();
+    graph.nodeIterator().forEachRemaining(node -> tasks.add(node.task()));
+    for (int i = 0; i < tasks.size(); i++) {
+      taskIndex.put(tasks.get(i), i);
+    }
+    this.petriNet = petriNet;
+  }
+
+  /**
+   * Get the start room.
+   *
+   * @return the room the game starts in
+   */
+  public ILevel startRoom() {
+    return startRoom;
+  }
+
+  /**
+   * Get the tasks of the quest.
+   *
+   * @return the tasks, in the order of the task dependency graph
+   */
+  public List<Task> tasks() {
+    return List.copyOf(tasks);
+  }
+
+  /**
+   * Get the compiled Petri net of the tasks.
+   *
+   * @return the Petri net
+   */
+  public CompiledPetriNet petriNet() {
+    return petriNet;
+  }
+
+  /**
+   * Copy the current state of the quest.
+   *
+   * <p>The state of the hero is copied too, if there is one. Its position is only stored while it
+   * is in the start room, the other rooms are placed again when the quest is built again.
+   *
+   * @return the snapshot of the quest
+   */
+  public QuestSnapshot capture() {
+    byte[] states = new byte[tasks.size()];
+    float[] points = new float[tasks.size()];
+    for (int i = 0; i < tasks.size(); i++) {
+      states[i] = (byte) tasks.get(i).state().ordinal();
+      points[i] = tasks.get(i).achievedPoints();
+    }
+    int[] solvedOrder = new int[0];
+    if (!tasks.isEmpty()) {
+      TaskSession session = tasks.getFirst().session();
+      solvedOrder =
+          session
+              .solvedTasksInOrder()
+              .filter(taskIndex::containsKey)
+              .mapToInt(taskIndex::get)
+              .toArray();
+    }
+    HeroSnapshot hero =
+        Game.hero()
+            .map(h -> HeroSnapshot.capture(h, Game.currentLevel() == startRoom))
+            .orElse(null);
+    return new QuestSnapshot(states, points, solvedOrder, petriNet.marking(), hero);
+  }
+
+  /**
+   * Set the state of the quest to the given snapshot.
+   *
+   * <p>No transition of the Petri net fires, the tasks and the marking are set as they are. The
+   * callbacks of the tasks are not called again. If the snapshot stores the state of the hero, it
+   * is set to the current hero.
+   *
+   * @param snapshot the snapshot to restore, e.g. from {@link #capture()}
+   * @throws IllegalArgumentException if the snapshot does not fit the quest
+   */
+  public void restore(final QuestSnapshot snapshot) {
+    if (snapshot.taskCount() != tasks.size()
+        || snapshot.placeCount() != petriNet.placeCount()) {
+      throw new IllegalArgumentException(
+          "Snapshot with "
+              + snapshot.taskCount()
+              + " tasks does not fit the quest with "
+              + tasks.size()
+              + " tasks.");
+    }
+    Task.TaskState[] values = Task.TaskState.values();
+    // the solved tasks first, so they are solved in the same order again
+    boolean[] restored = new boolean[tasks.size()];
+    for (int index : snapshot.solvedOrder()) {
+      restore(index, snapshot, values);
+      restored[index] = true;
+    }
+    for (int i = 0; i < tasks.size(); i++) {
+      if (!restored[i]) restore(i, snapshot, values);
+    }
+    petriNet.restore(snapshot.marking());
+    snapshot.hero().ifPresent(hero -> Game.hero().ifPresent(hero::restore));
+  }
+
+  private void restore(int index, final QuestSnapshot snapshot, final Task.TaskState[] values) {
+    tasks.get(index).restore(values[snapshot.state(index)], snapshot.points(index));
+  }
+}
@@ -11,6 +11,7 @@ import core.level.elements.ILevel;
 import core.level.elements.tile.DoorTile;
 import core.level.utils.DesignLabel;
 import dsl.interpreter.DSLInterpreter;
+import graph.petrinet.CompiledPetriNet;
 import graph.petrinet.PetriNet;
 import graph.petrinet.PetriNetFactory;
 import graph.taskdependencygraph.TaskDependencyGraph;
@@ -35,6 +36,33 @@ import task.game.components.TaskComponent;
  */
 public class TaskGraphConverter {
 
+  /** The steps of {@link #convert(TaskDependencyGraph, DSLInterpreter, ProgressListener)}. */
+  public enum Step {
+    /** The TaskBuilder is executed for each task. */
+    BUILD_TASKS,
+    /** The rooms of the level are generated. */
+    GENERATE_LEVEL,
+    /** The Petri nets of the tasks are created. */
+    CREATE_PETRI_NETS
+  }
+
+  /**
+   * Receives the progress of a conversion.
+   *
+   * <p>The listener is called on the thread, which executes the conversion.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+    /**
+     * Called whenever the conversion made progress.
+     *
+     * @param step the current step
+     * @param done the number of finished units of the current step
+     * @param total the number of units of the current step
+     */
+    void progress(Step step, int done, int total);
+  }
+
   /**
    * Execute the complete chain of {@link #callTaskBuilderFor(TaskDependencyGraph, DSLInterpreter)},
    * {@link #levelGraphFor(TaskDependencyGraph)}, and {@link #petriNetFor(TaskDependencyGraph)}.
@@ -45,10 +73,87 @@ public class TaskGraphConverter {
    */
   public static ILevel convert(
       final TaskDependencyGraph graph, final DSLInterpreter dslInterpreter) {
-    callTaskBuilderFor(graph, dslInterpreter);
-    ILevel level = levelGraphFor(graph);
-    petriNetFor(graph);
-    return level;
+    return convert(graph, dslInterpreter, (step, done, total) -> {});
+  }
+
+  /**
+   * Execute the complete chain of {@link #callTaskBuilderFor(TaskDependencyGraph, DSLInterpreter)},
+   * {@link #levelGraphFor(TaskDependencyGraph)}, and {@link #petriNetFor(TaskDependencyGraph)} and
+   * report the progress.
+   *
+   * <p>The TaskBuilders and the task managers add components to entities, so the conversion must
+   * be executed on the game thread. {@link LevelBuild} executes the steps, which do not touch the
+   * entities, on a worker thread.
+   *
+   * @param graph Graph to execute the full chain of conversion on.
+   * @param dslInterpreter the interpreter, which interpreted the graph
+   * @param listener receives the progress of the conversion
+   * @return the start room
+   */
+  public static ILevel convert(
+      final TaskDependencyGraph graph,
+      final DSLInterpreter dslInterpreter,
+      final ProgressListener listener) {
+    return convertQuest(graph, dslInterpreter, listener).startRoom();
+  }
+
+  /**
+   * Execute the complete chain of conversion like {@link #convert(TaskDependencyGraph,
+   * DSLInterpreter, ProgressListener)}, but return the complete {@link Quest}.
+   *
+   * <p>The quest can be used to save and restore the state of the tasks (see {@link
+   * graph.snapshot.QuestAutosave}).
+   *
+   * @param graph Graph to execute the full chain of conversion on.
+   * @param dslInterpreter the interpreter, which interpreted the graph
+   * @param listener receives the progress of the conversion
+   * @return the converted quest
+   */
+  public static Quest convertQuest(
+      final TaskDependencyGraph graph,
+      final DSLInterpreter dslInterpreter,
+      final ProgressListener listener) {
+    callTaskBuilderFor(graph, dslInterpreter, listener);
+    return connect(graph, layout(graph, listener));
+  }
+
+  /**
+   * Generate the level and the Petri nets for the given graph, without touching any entity.
+   *
+   * <p>Can be executed on a worker thread. Call {@link #connect(TaskDependencyGraph, Layout)} on
+   * the game thread afterward.
+   *
+   * @param graph graph, for whose tasks the TaskBuilder was executed before
+   * @param listener receives the progress
+   * @return the generated level and Petri nets
+   */
+  static Layout layout(final TaskDependencyGraph graph, final ProgressListener listener) {
+    listener.progress(Step.GENERATE_LEVEL, 0, 1);
+    Map<LevelGraph, Task> graphToTask = new LinkedHashMap<>();
+    ILevel level = generateLevel(graph, graphToTask);
+    listener.progress(Step.GENERATE_LEVEL, 1, 1);
+    listener.progress(Step.CREATE_PETRI_NETS, 0, 1);
+    Map<TaskNode, PetriNet> petriNets = connectedPetriNetsFor(graph);
+    CompiledPetriNet petriNet = CompiledPetriNet.compile(petriNets.values());
+    listener.progress(Step.CREATE_PETRI_NETS, 1, 1);
+    return new Layout(level, graphToTask, petriNets, petriNet);
+  }
+
+  /**
+   * Connect the doors of the level with the task managers and place the initial tokens of the
+   * Petri nets, which activates the first tasks.
+   *
+   * <p>Must be executed on the game thread, because the task managers are changed and the
+   * activation of a task calls its callbacks.
+   *
+   * @param graph graph, the layout was created for
+   * @param layout the result of {@link #layout(TaskDependencyGraph, ProgressListener)}
+   * @return the converted quest
+   */
+  static Quest connect(final TaskDependencyGraph graph, final Layout layout) {
+    connectDoorsWithTaskManager(layout.graphToTask());
+    placeInitialTokens(layout.petriNets());
+    return new Quest(layout.startRoom(), graph, layout.petriNet());
   }
 
   /**
@@ -59,14 +164,43 @@ public class TaskGraphConverter {
    */
   public static void callTaskBuilderFor(
       final TaskDependencyGraph graph, final DSLInterpreter interpreter) {
-    graph
-        .nodeIterator()
-        .forEachRemaining(
-            taskNode ->
-                interpreter
-                    .buildTask(taskNode.task())
-                    .ifPresent(
-                        buildTask -> taskNode.task().entitieSets((Set<Set<Entity>>) buildTask)));
+    callTaskBuilderFor(graph, interpreter, (step, done, total) -> {});
+  }
+
+  /**
+   * Execute the TaskBuilder for each {@link Task} in the given graph and report the progress after
+   * each task.
+   *
+   * <p>The TaskBuilders are executed one after another: they share the runtime environment of the
+   * interpreter, which is not thread-safe.
+   *
+   * @param graph graph that contains the tasks.
+   * @param interpreter the interpreter, which interpreted the graph
+   * @param listener receives the progress
+   */
+  public static void callTaskBuilderFor(
+      final TaskDependencyGraph graph,
+      final DSLInterpreter interpreter,
+      final ProgressListener listener) {
+    List<TaskNode> taskNodes = new ArrayList<>();
+    graph.nodeIterator().forEachRemaining(taskNodes::add);
+    listener.progress(Step.BUILD_TASKS, 0, taskNodes.size());
+    for (int i = 0; i < taskNodes.size(); i++) {
+      callTaskBuilderFor(taskNodes.get(i).task(), interpreter);
+      listener.progress(Step.BUILD_TASKS, i + 1, taskNodes.size());
+    }
+  }
+
+  /**
+   * Execute the TaskBuilder for the given {@link Task}.
+   *
+   * @param task the task to build
+   * @param interpreter the interpreter, which interpreted the task
+   */
+  static void callTaskBuilderFor(final Task task, final DSLInterpreter interpreter) {
+    interpreter
+        .buildTask(task)
+        .ifPresent(buildTask -> task.entitieSets((Set<Set<Entity>>) buildTask));
   }
 
   /**
@@ -92,10 +226,17 @@ public class TaskGraphConverter {
    * @see RoomBasedLevelGenerator
    */
   public static ILevel levelGraphFor(final TaskDependencyGraph taskGraph) {
+    // used to connect the doors to the task manager
+    Map<LevelGraph, Task> graphToTask = new LinkedHashMap<>();
+    ILevel level = generateLevel(taskGraph, graphToTask);
+    connectDoorsWithTaskManager(graphToTask);
+    return level;
+  }
+
+  private static ILevel generateLevel(
+      final TaskDependencyGraph taskGraph, final Map<LevelGraph, Task> graphToTask) {
     // Map the node of the task-graph to a levelGraph
     Map<TaskNode, LevelGraph> nodeToLevelGraph = new LinkedHashMap<>();
-    // used to connect the doors to the task manager later
-    Map<LevelGraph, Task> graphToTask = new LinkedHashMap<>();
     // Create a Level-graph for each Node in the TaskGraph
     taskGraph
         .nodeIterator()
@@ -127,10 +268,7 @@ public class TaskGraphConverter {
     connectUnconnectedGraphs(rootGraph, nodeToLevelGraph.values());
 
     // Generate the level
-    ILevel level = RoomBasedLevelGenerator.level(rootGraph, DesignLabel.randomDesign());
-    connectDoorsWithTaskManager(graphToTask);
-
-    return level;
+    return RoomBasedLevelGenerator.level(rootGraph, DesignLabel.randomDesign());
   }
 
   /**
@@ -174,11 +312,14 @@ public class TaskGraphConverter {
    *
    * <p>The doors will be accessible for the player if both sides of the doors are open.
    *
+   * <p>The rooms are generated on demand (see {@link RoomBasedLevelGenerator}), so the doors of a
+   * room are added to the door component, when the room is generated.
+   *
    * @param levelGraphToTask Mapping of the Level-graphs to the Tasks, so this function knows which
    *     Task is associated with which level graph.
    */
   private static void connectDoorsWithTaskManager(Map<LevelGraph, Task> levelGraphToTask) {
-    Map<Task, Set<DoorTile>> taskToDoor = new HashMap<>();
+    Map<Task, DoorComponent> taskToDoors = new HashMap<>();
     // since all graphs are structurally the same, I just need on graph to start iterate over
     LevelGraph lg =
         levelGraphToTask.keySet().stream()
@@ -191,36 +332,35 @@ public class TaskGraphConverter {
       // find all edges that connect this node to a node of another graph (this is an edge
       // between tasks)
       Set<Direction> dirs = levelNode.whereNeighboursFromOtherGraphs();
+      if (dirs.isEmpty()) continue;
 
-      // for each edge to another graph, find the door and at it to the Map.
-      for (Direction dir : dirs) {
-        DoorTile door =
-            GeneratorUtils.doorAt(levelNode.level(), dir)
-                .orElseThrow(() -> new RuntimeException("There should be a door but is not!"));
-        Task t = levelGraphToTask.get(levelNode.originGraph());
-        if (taskToDoor.containsKey(t)) taskToDoor.get(t).add(door);
-        else {
-          Set<DoorTile> set = new HashSet<>();
-          set.add(door);
-          taskToDoor.put(t, set);
-        }
-      }
+      Task t = levelGraphToTask.get(levelNode.originGraph());
+      DoorComponent doorComponent =
+          taskToDoors.computeIfAbsent(t, task -> new DoorComponent(new HashSet<>()));
+      // the room may not be generated yet, so the door is added as soon as it exists
+      levelNode.onLevel(
+          level -> {
+            for (Direction dir : dirs) {
+              DoorTile door =
+                  GeneratorUtils.doorAt(level, dir)
+                      .orElseThrow(
+                          () -> new RuntimeException("There should be a door but is not!"));
+              doorComponent.add(door);
+            }
+          });
     }
 
-    // Close Doors and connect it with the task manager
-    taskToDoor.forEach(
-        (task, doorTiles) -> {
-          DoorComponent doorComponent = new DoorComponent(doorTiles);
-          doorTiles.forEach(DoorTile::close);
-          task.managerEntity()
-              .ifPresentOrElse(
-                  entity -> entity.add(doorComponent),
-                  () -> {
-                    Entity manager = new Entity();
-                    manager.add(new TaskComponent(task, manager));
-                    manager.add(doorComponent);
-                  });
-        });
+    // Connect the doors with the task manager, the manager opens them
+    taskToDoors.forEach(
+        (task, doorComponent) ->
+            task.managerEntity()
+                .ifPresentOrElse(
+                    entity -> entity.add(doorComponent),
+                    () -> {
+                      Entity manager = new Entity();
+                      manager.add(new TaskComponent(task, manager));
+                      manager.add(doorComponent);
+                    }));
   }
 
   /**
@@ -234,6 +374,29 @@ public class TaskGraphConverter {
    * @see PetriNetFactory
    */
   public static Map<TaskNode, PetriNet> petriNetFor(final TaskDependencyGraph taskGraph) {
+    Map<TaskNode, PetriNet> noteToNet = connectedPetriNetsFor(taskGraph);
+    CompiledPetriNet.compile(noteToNet.values());
+    placeInitialTokens(noteToNet);
+    return noteToNet;
+  }
+
+  /**
+   * Creates the Petri-Net for the given {@link TaskDependencyGraph} like {@link
+   * #petriNetFor(TaskDependencyGraph)} and returns it in the compiled form, which gives access to
+   * the marking of the whole net.
+   *
+   * @param taskGraph graph that defines the task dependencies
+   * @return the compiled Petri net of all tasks
+   */
+  public static CompiledPetriNet compiledPetriNetFor(final TaskDependencyGraph taskGraph) {
+    Map<TaskNode, PetriNet> noteToNet = connectedPetriNetsFor(taskGraph);
+    CompiledPetriNet compiled = CompiledPetriNet.compile(noteToNet.values());
+    placeInitialTokens(noteToNet);
+    return compiled;
+  }
+
+  private static Map<TaskNode, PetriNet> connectedPetriNetsFor(
+      final TaskDependencyGraph taskGraph) {
     Map<TaskNode, PetriNet> noteToNet = new LinkedHashMap<>();
 
     // create a basic petri net for each task
@@ -251,9 +414,24 @@ public class TaskGraphConverter {
                     noteToNet.get(taskEdge.endNode()),
                     noteToNet.get(taskEdge.startNode()),
                     taskEdge.edgeType()));
+    return noteToNet;
+  }
 
-    // init token
+  private static void placeInitialTokens(final Map<TaskNode, PetriNet> noteToNet) {
     noteToNet.values().forEach(petriNet -> petriNet.taskNotActivated().placeToken());
-    return noteToNet;
   }
+
+  /**
+   * The result of {@link #layout(TaskDependencyGraph, ProgressListener)}.
+   *
+   * @param startRoom the start room of the generated level
+   * @param graphToTask the task of each level graph, to connect the doors with the task managers
+   * @param petriNets the Petri net of each task, without the initial tokens
+   * @param petriNet the compiled Petri net of all tasks
+   */
+  record Layout(
+      ILevel startRoom,
+      Map<LevelGraph, Task> graphToTask,
+      Map<TaskNode, PetriNet> petriNets,
+      CompiledPetriNet petriNet) {}
 }
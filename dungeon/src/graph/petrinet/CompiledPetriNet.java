@@ -0,0 +1,190 @@
+package graph.petrinet;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The connected {@link PetriNet}s of a task dependency graph in an indexed form.
+ *
+ * <p>Each {@link Place} and {@link Transition}, that is reachable from the given nets, gets an
+ * index. The token counts of all places are stored in one int array (the marking), the counters of
+ * missing tokens of all transitions in another one. For each transition, the indices of its input
+ * and output places are stored (the rows of the incidence matrix).
+ *
+ * <p>The places and transitions keep working as before, they only read and write their slot of the
+ * arrays. The marking of the whole net can be copied with {@link #marking()} and set with {@link
+ * #restore(int[])}.
+ *
+ * <p>Use {@link graph.TaskGraphConverter#compiledPetriNetFor} to create the compiled net for a
+ * task dependency graph.
+ */
+public final class CompiledPetriNet {
+
+  private final Place[] places;
+  private final Transition[] transitions;
+  private final int[][] inputs;
+  private final int[][] outputs;
+  private final int[] tokens;
+  private final int[] missing;
+
+  private CompiledPetriNet(final List<Place> places, final List<Transition> transitions) {
+    this.places = places.toArray(new Place[0]);
+    this.transitions = transitions.toArray(new Transition[0]);
+
+    Map<Place, Integer> index = new IdentityHashMap<>();
+    tokens = new int[this.places.length];
+    for (int i = 0; i < this.places.length; i++) {
+      index.put(this.places[i], i);
+      this.places[i].bind(tokens, i);
+    }
+
+    missing = new int[this.transitions.length];
+    inputs = new int[this.transitions.length][];
+    outputs = new int[this.transitions.length][];
+    for (int i = 0; i < this.transitions.length; i++) {
+      Transition transition = this.transitions[i];
+      transition.bind(missing, i);
+      inputs[i] = transition.dependencyPlaces().stream().mapToInt(index::get).toArray();
+      outputs[i] = transition.addTokenOnFire().stream().mapToInt(index::get).toArray();
+    }
+  }
+
+  /**
+   * Compile the given Petri nets, including all places and transitions connected to them.
+   *
+   * <p>The nets must not be connected to further nets afterwards.
+   *
+   * @param nets the (connected) nets of the tasks
+   * @return the compiled net
+   */
+  public static CompiledPetriNet compile(final Collection<PetriNet> nets) {
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Place> places = new ArrayList<>();
+    List<Transition> transitions = new ArrayList<>();
+    ArrayDeque<Object> open = new ArrayDeque<>();
+
+    for (PetriNet net : nets) {
+      open.addAll(
+          List.of(
+              net.taskNotActivated(),
+              net.activateTask(),
+              net.taskActivated(),
+              net.afterActivated(),
+              net.activateProcessing(),
+              net.processingActivated(),
+              net.finishedFalse(),
+              net.finishedCorrect(),
+              net.correct(),
+              net.wrong(),
+              net.end_correct(),
+              net.end_wrong(),
+              net.end(),
+              net.finished(),
+              net.or()));
+    }
+
+    // walk along the arcs in both directions
+    Object node;
+    while ((node = open.poll()) != null) {
+      if (!visited.add(node)) {
+        continue;
+      }
+      if (node instanceof Place place) {
+        places.add(place);
+        open.addAll(place.transitions());
+      } else if (node instanceof Transition transition) {
+        transitions.add(transition);
+        open.addAll(transition.dependencyPlaces());
+        open.addAll(transition.addTokenOnFire());
+      }
+    }
+    return new CompiledPetriNet(places, transitions);
+  }
+
+  /**
+   * Get the number of places.
+   *
+   * @return the number of places in the net
+   */
+  public int placeCount() {
+    return places.length;
+  }
+
+  /**
+   * Get the number of transitions.
+   *
+   * @return the number of transitions in the net
+   */
+  public int transitionCount() {
+    return transitions.length;
+  }
+
+  /**
+   * Get the place with the given index.
+   *
+   * @param index index of the place, the slot of its token count in {@link #marking()}
+   * @return the place
+   */
+  public Place place(final int index) {
+    return places[index];
+  }
+
+  /**
+   * Get the indices of the input places of a transition.
+   *
+   * @param transition index of the transition
+   * @return the indices of the places, that have an arc to the transition
+   */
+  public int[] inputs(final int transition) {
+    return inputs[transition].clone();
+  }
+
+  /**
+   * Get the indices of the output places of a transition.
+   *
+   * @param transition index of the transition
+   * @return the indices of the places, that have an arc from the transition
+   */
+  public int[] outputs(final int transition) {
+    return outputs[transition].clone();
+  }
+
+  /**
+   * Copy the current marking.
+   *
+   * @return the token count of each place, in the order of the place indices
+   */
+  public int[] marking() {
+    return tokens.clone();
+  }
+
+  /**
+   * Set the token counts of all places to the given marking.
+   *
+   * <p>The marking is set as it is: no transition fires and no task changes its state.
+   *
+   * @param marking the token count of each place, e.g. from {@link #marking()}
+   */
+  public void restore(final int[] marking) {
+    if (marking.length != tokens.length) {
+      throw new IllegalArgumentException(
+          "Marking with " + marking.length + " places does not fit " + tokens.length + " places.");
+    }
+    System.arraycopy(marking, 0, tokens, 0, tokens.length);
+    for (int i = 0; i < transitions.length; i++) {
+      int count = 0;
+      for (int place : inputs[i]) {
+        if (tokens[place] == 0) {
+          count++;
+        }
+      }
+      missing[i] = count;
+    }
+  }
+}
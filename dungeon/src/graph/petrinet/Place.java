@@ -1,9 +1,9 @@
 package graph.petrinet;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import task.Task;
 
 /**
@@ -12,9 +12,12 @@ import task.Task;
  * <p>Stores an integer value as tokens. Add a token to the Place by calling {@link #placeToken()},
  * use {@link #removeToken()} to decrease the token count.
  *
- * <p>Places can be observed by {@link Transition}. If a new token is added to a Place, it will
- * notify all observer transitions. Use {@link #register(Transition)} to register a Transition as an
- * observer.
+ * <p>Places can be observed by {@link Transition}. If the Place gets its first token or loses its
+ * last token, it will notify all observer transitions. Use {@link #register(Transition)} to
+ * register a Transition as an observer.
+ *
+ * <p>The token count is stored in a slot of an int array. After the Place was compiled into a
+ * {@link CompiledPetriNet}, the array is shared by all places of the net.
  *
  * <p>A Place can change the {@link task.Task.TaskState} of a {@link Task} if a token is added. Add
  * a {@link Task} whose state should be changed via {@link #changeStateOnTokenAdd(Task,
@@ -28,10 +31,11 @@ import task.Task;
  * possible. Transitions are not impacted by this limitation.
  */
 public class Place {
-  private int tokenCount = 0;
+  private int[] tokens = new int[1];
+  private int slot = 0;
   private final Map<Task, Task.TaskState> observe = new HashMap<>();
   private final Map<Task, Task.TaskState> changeStateOnTokenAdd = new HashMap<>();
-  private final Set<Transition> transition = new HashSet<>();
+  private final List<Transition> transition = new ArrayList<>();
 
   /**
    * Add a Task to observe. If the Task changes its state to the given state, this place will
@@ -73,13 +77,19 @@ public class Place {
   /**
    * Increase the token count of this place by one.
    *
-   * <p>Will inform each observing {@link Transition} and will set the states of Tasks if added via
-   * {@link #changeStateOnTokenAdd(Task, Task.TaskState)}.
+   * <p>Will set the states of Tasks if added via {@link #changeStateOnTokenAdd(Task,
+   * Task.TaskState)}. If this is the first token, each observing {@link Transition} is informed;
+   * transitions, which get enabled by the token, fire before this method returns.
    */
   public void placeToken() {
-    tokenCount++;
+    boolean first = tokens[slot]++ == 0;
     changeStateOnTokenAdd.forEach(Task::state);
-    transition.forEach(transition -> transition.notify(this));
+    if (first) {
+      for (Transition observer : transition) {
+        observer.notify(this);
+      }
+    }
+    Transition.fireEnabled();
   }
 
   /**
@@ -87,11 +97,15 @@ public class Place {
    *
    * <p>Token-count cant be negative.
    *
-   * <p>This will invoke {@link Transition#notify(Place)} for all observers.
+   * <p>If the last token is removed, this will invoke {@link Transition#notify(Place)} for all
+   * observers.
    */
   public void removeToken() {
-    tokenCount = Math.max(0, tokenCount - 1);
-    transition.forEach(transition -> transition.notify(this));
+    if (tokens[slot] > 0 && --tokens[slot] == 0) {
+      for (Transition observer : transition) {
+        observer.notify(this);
+      }
+    }
   }
 
   /**
@@ -103,7 +117,31 @@ public class Place {
    * @param observer The Transition serving as the observer.
    */
   public void register(Transition observer) {
-    this.transition.add(observer);
+    if (!this.transition.contains(observer)) {
+      this.transition.add(observer);
+    }
+  }
+
+  /**
+   * Get the registered observers.
+   *
+   * @return The transitions, which observe this place.
+   */
+  List<Transition> transitions() {
+    return transition;
+  }
+
+  /**
+   * Move the token count of this place into the given slot of the array of a {@link
+   * CompiledPetriNet}.
+   *
+   * @param tokens The token array of the compiled net.
+   * @param slot The slot of this place in the array.
+   */
+  void bind(int[] tokens, int slot) {
+    tokens[slot] = this.tokens[this.slot];
+    this.tokens = tokens;
+    this.slot = slot;
   }
 
   /**
@@ -112,6 +150,6 @@ public class Place {
    * @return The number of tokens in this place.
    */
   public int tokenCount() {
-    return tokenCount;
+    return tokens[slot];
   }
 }
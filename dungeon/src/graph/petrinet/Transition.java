@@ -1,8 +1,8 @@
 package graph.petrinet;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -12,11 +12,23 @@ import java.util.Set;
  * Transition will fire.
  *
  * <p>If a Transition fires, it will place a Token in each {@link Place} defined in the constructor.
+ *
+ * <p>Each Transition counts its dependency places without a token, so checking whether it is
+ * enabled does not look at the places. Enabled transitions are collected in a queue and fired one
+ * after another by {@link #fireEnabled()}; the tokens placed by a firing transition enqueue the
+ * transitions they enable, so long chains of transitions do not recurse.
  */
 public class Transition {
 
-  private final Map<Place, Boolean> dependencyPlaces;
-  private final Set<Place> addTokenOnFire;
+  // a queue per thread, because levels (and their Petri nets) are built on a worker thread
+  private static final ThreadLocal<FiringQueue> QUEUE = ThreadLocal.withInitial(FiringQueue::new);
+
+  private final List<Place> dependencyPlaces = new ArrayList<>();
+  private final List<Place> addTokenOnFire = new ArrayList<>();
+  // number of dependency places without a token, stored like the token counts of the places
+  private int[] missing = new int[1];
+  private int slot = 0;
+  private boolean queued = false;
 
   /**
    * Creates a new Transition.
@@ -29,30 +41,83 @@ public class Transition {
    *     this transition.
    */
   public Transition(final Set<Place> dependencyPlaces, final Set<Place> addTokenOnFire) {
-    this.addTokenOnFire = new HashSet<>(addTokenOnFire);
-    this.dependencyPlaces = new HashMap<>();
-    for (Place place : dependencyPlaces) {
-      this.dependencyPlaces.put(place, place.tokenCount() > 0);
-      place.register(this);
-    }
+    addTokenOnFire.forEach(this::addTokenOnFire);
+    dependencyPlaces.forEach(this::addDependency);
   }
 
   /**
-   * Notify a Transition that the given Place has increased or decreased its token count.
+   * Notify a Transition that the given Place got its first token or lost its last token.
    *
-   * @param place Place that has increased its token count.
+   * <p>If the last missing token was placed, the Transition fires with the next call of {@link
+   * #fireEnabled()}.
+   *
+   * @param place Place that has changed its token count.
    */
   public void notify(final Place place) {
+    if (!dependencyPlaces.contains(place)) {
+      return;
+    }
     if (place.tokenCount() > 0) {
-      dependencyPlaces.replace(place, true);
-      // if all places have a token fire
-      if (dependencyPlaces.values().stream().allMatch(v -> v)) fire();
-    } else dependencyPlaces.replace(place, false);
+      if (--missing[slot] == 0) {
+        enqueue();
+      }
+    } else {
+      missing[slot]++;
+    }
+  }
+
+  /**
+   * Fire all enabled transitions of this thread, including the transitions they enable.
+   *
+   * <p>Does nothing, if the transitions are already fired by an outer call (e.g. if a firing
+   * transition changes the state of a task, which places a token).
+   */
+  static void fireEnabled() {
+    FiringQueue queue = QUEUE.get();
+    if (queue.firing) {
+      return;
+    }
+    queue.firing = true;
+    try {
+      Transition transition;
+      while ((transition = queue.enabled.poll()) != null) {
+        transition.queued = false;
+        // another transition may have taken a shared token in the meantime
+        if (transition.isEnabled()) {
+          transition.fire();
+        }
+      }
+    } finally {
+      // only not empty, if a transition threw an exception
+      queue.enabled.forEach(transition -> transition.queued = false);
+      queue.enabled.clear();
+      queue.firing = false;
+    }
   }
 
   private void fire() {
-    dependencyPlaces.keySet().forEach(Place::removeToken);
+    dependencyPlaces.forEach(Place::removeToken);
     addTokenOnFire.forEach(Place::placeToken);
+    // fire again, as long as each dependency place has tokens left
+    if (isEnabled()) {
+      enqueue();
+    }
+  }
+
+  private void enqueue() {
+    if (!queued) {
+      queued = true;
+      QUEUE.get().enabled.add(this);
+    }
+  }
+
+  /**
+   * Check if each dependency place has at least one token.
+   *
+   * @return true if the Transition is enabled.
+   */
+  boolean isEnabled() {
+    return missing[slot] == 0 && !dependencyPlaces.isEmpty();
   }
 
   /**
@@ -61,7 +126,13 @@ public class Transition {
    * @param place place to add
    */
   public void addDependency(final Place place) {
-    this.dependencyPlaces.put(place, place.tokenCount() > 0);
+    if (dependencyPlaces.contains(place)) {
+      return;
+    }
+    dependencyPlaces.add(place);
+    if (place.tokenCount() == 0) {
+      missing[slot]++;
+    }
     place.register(this);
   }
 
@@ -71,6 +142,44 @@ public class Transition {
    * @param place add token on fire
    */
   public void addTokenOnFire(final Place place) {
-    this.addTokenOnFire.add(place);
+    if (!addTokenOnFire.contains(place)) {
+      addTokenOnFire.add(place);
+    }
+  }
+
+  /**
+   * Get the dependency places.
+   *
+   * @return The places, that have an outgoing arc to this transition.
+   */
+  List<Place> dependencyPlaces() {
+    return dependencyPlaces;
+  }
+
+  /**
+   * Get the places to add a token to on fire.
+   *
+   * @return The places, that have an incoming arc from this transition.
+   */
+  List<Place> addTokenOnFire() {
+    return addTokenOnFire;
+  }
+
+  /**
+   * Move the counter of missing tokens into the given slot of the array of a {@link
+   * CompiledPetriNet}.
+   *
+   * @param missing The counter array of the compiled net.
+   * @param slot The slot of this transition in the array.
+   */
+  void bind(int[] missing, int slot) {
+    missing[slot] = this.missing[this.slot];
+    this.missing = missing;
+    this.slot = slot;
+  }
+
+  private static final class FiringQueue {
+    private final ArrayDeque<Transition> enabled = new ArrayDeque<>();
+    private boolean firing = false;
   }
 }
@@ -0,0 +1,206 @@
+package graph.snapshot;
+
+import contrib.components.HealthComponent;
+import contrib.components.InventoryComponent;
+import contrib.item.Item;
+import core.Entity;
+import core.Game;
+import core.components.PositionComponent;
+import core.level.Tile;
+import core.utils.Point;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * The state of the hero, which is part of a {@link QuestSnapshot}.
+ *
+ * <p>Stores the position of the hero, the data of its {@link HealthComponent} and the items in its
+ * {@link InventoryComponent}. Items are stored by their registered id (see {@link
+ * Item#getItem(String)}) and their stack size, so only items of registered classes with a
+ * constructor without parameters can be restored.
+ *
+ * @param x the x coordinate of the hero, {@link Float#NaN} if the position is not stored
+ * @param y the y coordinate of the hero, {@link Float#NaN} if the position is not stored
+ * @param currentHealth the current health points, -1 if the hero has no {@link HealthComponent}
+ * @param maximalHealth the maximal health points, -1 if the hero has no {@link HealthComponent}
+ * @param inventory the occupied slots of the inventory
+ */
+public record HeroSnapshot(
+    float x, float y, int currentHealth, int maximalHealth, List<Slot> inventory) {
+
+  private static final Logger LOGGER = Logger.getLogger(HeroSnapshot.class.getSimpleName());
+
+  /**
+   * An occupied slot of the inventory.
+   *
+   * @param index the index of the slot
+   * @param item the id of the item
+   * @param stackSize the stack size of the item
+   */
+  public record Slot(int index, String item, int stackSize) {}
+
+  /** Create a new hero snapshot, the inventory is copied. */
+  public HeroSnapshot {
+    inventory = List.copyOf(inventory);
+  }
+
+  /**
+   * Copy the state of the given hero.
+   *
+   * @param hero the hero
+   * @param withPosition true, if the position of the hero should be stored
+   * @return the snapshot of the hero
+   */
+  public static HeroSnapshot capture(final Entity hero, boolean withPosition) {
+    float x = Float.NaN;
+    float y = Float.NaN;
+    if (withPosition) {
+      Point position =
+          hero.fetch(PositionComponent.class)
+              .map(PositionComponent::position)
+              .orElse(PositionComponent.ILLEGAL_POSITION);
+      if (!position.equals(PositionComponent.ILLEGAL_POSITION)) {
+        x = position.x;
+        y = position.y;
+      }
+    }
+    Optional<HealthComponent> health = hero.fetch(HealthComponent.class);
+    int currentHealth = health.map(HealthComponent::currentHealthpoints).orElse(-1);
+    int maximalHealth = health.map(HealthComponent::maximalHealthpoints).orElse(-1);
+
+    List<Slot> inventory = new ArrayList<>();
+    hero.fetch(InventoryComponent.class)
+        .ifPresent(
+            component -> {
+              Item[] items = component.items();
+              for (int i = 0; i < items.length; i++) {
+                if (isCaptured(items[i])) {
+                  inventory.add(
+                      new Slot(i, items[i].getClass().getSimpleName(), items[i].stackSize()));
+                }
+              }
+            });
+    return new HeroSnapshot(x, y, currentHealth, maximalHealth, inventory);
+  }
+
+  /**
+   * Set the state of the given hero to this snapshot.
+   *
+   * <p>The level is generated again on each start of the game, so the position is only set if it
+   * is an accessible tile of the current level. The items of registered classes in the inventory
+   * are replaced by the stored items, other items (e.g. quest items) stay. A stored item, whose
+   * slot does not exist or is taken, is added to the next free slot.
+   *
+   * @param hero the hero
+   */
+  public void restore(final Entity hero) {
+    if (!Float.isNaN(x) && !Float.isNaN(y)) {
+      Point position = new Point(x, y);
+      Tile tile = Game.tileAT(position);
+      if (tile != null && tile.isAccessible()) {
+        hero.fetch(PositionComponent.class).ifPresent(pc -> pc.position(position));
+      }
+    }
+    if (maximalHealth >= 0) {
+      hero.fetch(HealthComponent.class)
+          .ifPresent(
+              health -> {
+                health.maximalHealthpoints(maximalHealth);
+                health.currentHealthpoints(currentHealth);
+              });
+    }
+    hero.fetch(InventoryComponent.class)
+        .ifPresent(
+            component -> {
+              Item[] items = component.items();
+              for (int i = 0; i < items.length; i++) {
+                if (isCaptured(items[i])) component.set(i, null);
+              }
+              List<Item> misplaced = new ArrayList<>();
+              for (Slot slot : inventory) {
+                createItem(slot)
+                    .ifPresent(
+                        item -> {
+                          if (slot.index() >= 0
+                              && slot.index() < items.length
+                              && component.get(slot.index()) == null) {
+                            component.set(slot.index(), item);
+                          } else {
+                            misplaced.add(item);
+                          }
+                        });
+              }
+              for (Item item : misplaced) {
+                if (!component.add(item)) {
+                  LOGGER.warning("No free slot for the item " + item + " in the hero snapshot.");
+                }
+              }
+            });
+  }
+
+  // items of other classes (e.g. quest items) can not be created again, so they are not stored
+  private static boolean isCaptured(final Item item) {
+    return item != null && Item.getItem(item.getClass().getSimpleName()) == item.getClass();
+  }
+
+  private static Optional<Item> createItem(final Slot slot) {
+    Class<? extends Item> klass = Item.getItem(slot.item());
+    if (klass == null) {
+      LOGGER.warning("Unknown item " + slot.item() + " in the hero snapshot.");
+      return Optional.empty();
+    }
+    try {
+      Item item = klass.getDeclaredConstructor().newInstance();
+      item.stackSize(slot.stackSize());
+      return Optional.of(item);
+    } catch (ReflectiveOperationException e) {
+      LOGGER.warning("Could not create the item " + slot.item() + ": " + e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Write this snapshot.
+   *
+   * @param out the stream to write to
+   * @throws IOException if writing fails
+   */
+  public void write(final DataOutputStream out) throws IOException {
+    out.writeFloat(x);
+    out.writeFloat(y);
+    out.writeInt(currentHealth);
+    out.writeInt(maximalHealth);
+    out.writeInt(inventory.size());
+    for (Slot slot : inventory) {
+      out.writeInt(slot.index());
+      out.writeUTF(slot.item());
+      out.writeInt(slot.stackSize());
+    }
+  }
+
+  /**
+   * Read a snapshot written by {@link #write(DataOutputStream)}.
+   *
+   * @param in the stream to read from
+   * @return the read snapshot
+   * @throws IOException if reading fails or the data is invalid
+   */
+  public static HeroSnapshot read(final DataInputStream in) throws IOException {
+    float x = in.readFloat();
+    float y = in.readFloat();
+    int currentHealth = in.readInt();
+    int maximalHealth = in.readInt();
+    // index, item id (at least its length) and stack size
+    int slots = QuestSnapshot.readLength(in, 2 * Integer.BYTES + Short.BYTES);
+    List<Slot> inventory = new ArrayList<>(slots);
+    for (int i = 0; i < slots; i++) {
+      inventory.add(new Slot(in.readInt(), in.readUTF(), in.readInt()));
+    }
+    return new HeroSnapshot(x, y, currentHealth, maximalHealth, inventory);
+  }
+}
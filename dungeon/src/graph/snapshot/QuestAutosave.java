@@ -0,0 +1,238 @@
+package graph.snapshot;
+
+import graph.Quest;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Saves the state of a {@link Quest} periodically into a binary file.
+ *
+ * <p>Call {@link #update()} once per frame. If the interval has elapsed, a {@link QuestSnapshot} is
+ * captured on the calling thread, which only copies a few small arrays. Only the changes to the
+ * previous snapshot (a {@link QuestSnapshot.Delta}) are handed over to a background thread, which
+ * encodes and writes them. So an autosave does not cause a frame hitch.
+ *
+ * <p>The file starts with the header {@link #MAGIC} and {@link #VERSION}, followed by one record
+ * per save. A record is the length of its payload (int), the kind of the record (byte) and the
+ * payload: a complete snapshot or a delta to the previous record. The first record and every
+ * {@link #FULL_SNAPSHOT_INTERVAL}th record after it are complete snapshots, so the number of deltas
+ * to apply when loading stays small.
+ *
+ * <p>Use {@link #load(Path)} to read the latest state and {@link Quest#restore(QuestSnapshot)} to
+ * restore it.
+ *
+ * <p>The quest is only captured on the game thread, in {@link #update()}, {@link #save()} and
+ * {@link #close()}. A shutdown hook should call {@link #finish()}, which only writes the queued
+ * saves.
+ */
+public final class QuestAutosave implements AutoCloseable {
+
+  /** The first four bytes of a quest save file ("DQSV"). */
+  public static final int MAGIC = 0x44515356;
+
+  /** The version of the file format. */
+  public static final int VERSION = 2;
+
+  /** The default time between two autosaves. */
+  public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(5);
+
+  /** The number of records between two complete snapshots. */
+  public static final int FULL_SNAPSHOT_INTERVAL = 64;
+
+  private static final byte FULL = 1;
+  private static final byte DELTA = 2;
+  private static final Logger LOGGER = Logger.getLogger(QuestAutosave.class.getSimpleName());
+
+  // marks the end of the queue, see close()
+  private static final Object END = new Object();
+
+  private final Quest quest;
+  private final long intervalNanos;
+  private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+  private final DataOutputStream out;
+  private final Thread writer;
+  private QuestSnapshot previous;
+  private long lastSave;
+  private int records = 0;
+  private final AtomicBoolean finished = new AtomicBoolean();
+
+  /**
+   * Create a new autosave, that writes into the given file.
+   *
+   * <p>An existing file is overwritten. The current state of the quest is saved immediately.
+   *
+   * @param quest the quest to save
+   * @param file the path of the file
+   * @param interval the time between two autosaves
+   * @throws IOException if the file can not be created
+   */
+  public QuestAutosave(final Quest quest, final Path file, final Duration interval)
+      throws IOException {
+    this.quest = quest;
+    this.intervalNanos = interval.toNanos();
+    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    writer = new Thread(this::write, "quest-autosave");
+    writer.setDaemon(true);
+    writer.start();
+    save();
+  }
+
+  /**
+   * Save the quest, if the interval has elapsed since the last save.
+   *
+   * <p>Must be called on the thread, which changes the quest (the game thread).
+   */
+  public void update() {
+    if (System.nanoTime() - lastSave >= intervalNanos) {
+      save();
+    }
+  }
+
+  /**
+   * Save the quest now.
+   *
+   * <p>Must be called on the thread, which changes the quest (the game thread). Does nothing, if
+   * nothing changed since the last save.
+   */
+  public void save() {
+    if (finished.get()) return;
+    lastSave = System.nanoTime();
+    QuestSnapshot snapshot = quest.capture();
+    if (previous == null || records % FULL_SNAPSHOT_INTERVAL == 0) {
+      queue.add(snapshot);
+    } else {
+      QuestSnapshot.Delta delta = snapshot.delta(previous);
+      if (delta.isEmpty()) return;
+      queue.add(delta);
+    }
+    records++;
+    previous = snapshot;
+  }
+
+  /**
+   * Save the quest a last time, write all saves and close the file.
+   *
+   * <p>Must be called on the thread, which changes the quest (the game thread), e.g. when the game
+   * exits. Blocks until the background thread has written the saves.
+   */
+  @Override
+  public void close() {
+    if (finished.get()) return;
+    save();
+    finish();
+  }
+
+  /**
+   * Write the queued saves and close the file, without saving the quest again.
+   *
+   * <p>Can be called on any thread, e.g. in a shutdown hook. Later saves are dropped. Blocks until
+   * the background thread has written the saves.
+   */
+  public void finish() {
+    if (finished.compareAndSet(false, true)) {
+      queue.add(END);
+    }
+    try {
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream payload = new DataOutputStream(buffer);
+    try (out) {
+      Object record;
+      while ((record = queue.take()) != END) {
+        buffer.reset();
+        if (record instanceof QuestSnapshot snapshot) {
+          payload.writeByte(FULL);
+          snapshot.write(payload);
+        } else {
+          payload.writeByte(DELTA);
+          ((QuestSnapshot.Delta) record).write(payload);
+        }
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+        if (queue.isEmpty()) {
+          out.flush();
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.warning("Could not write the quest autosave: " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Read the latest saved state from a quest save file.
+   *
+   * <p>A record, that was cut off (e.g. because the game crashed while writing) or can not be
+   * decoded, ends the file: the state before this record is returned.
+   *
+   * @param file the path of the file
+   * @return the latest snapshot, empty if the file contains no complete record
+   * @throws IOException if the file can not be read or is not a quest save file
+   */
+  public static Optional<QuestSnapshot> load(final Path file) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IOException(file + " is not a quest save file");
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported quest save version " + version + " in " + file);
+      }
+
+      // the header is read, so the remaining bytes of the file
+      long remaining = Files.size(file) - 2 * Integer.BYTES;
+      QuestSnapshot snapshot = null;
+      while (true) {
+        byte[] record;
+        try {
+          int length = in.readInt();
+          remaining -= Integer.BYTES;
+          if (length <= 0 || length > remaining) {
+            return Optional.ofNullable(snapshot);
+          }
+          record = new byte[length];
+          in.readFully(record);
+          remaining -= length;
+        } catch (EOFException e) {
+          return Optional.ofNullable(snapshot);
+        }
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record));
+        try {
+          byte kind = payload.readByte();
+          if (kind == FULL) {
+            snapshot = QuestSnapshot.read(payload);
+          } else if (kind == DELTA && snapshot != null) {
+            snapshot = snapshot.apply(QuestSnapshot.Delta.read(payload));
+          }
+        } catch (IOException | IndexOutOfBoundsException | IllegalArgumentException e) {
+          LOGGER.warning("Invalid record in " + file + ", the following records are ignored.");
+          return Optional.ofNullable(snapshot);
+        }
+      }
+    }
+  }
+}
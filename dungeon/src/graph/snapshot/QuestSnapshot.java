@@ -0,0 +1,404 @@
+package graph.snapshot;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+
+/**
+ * The state of a {@link graph.Quest} at one point in time.
+ *
+ * <p>A snapshot stores the state and the achieved points of each task, the order in which the tasks
+ * were solved (as task indices) and the marking of the Petri net. The tasks and places are
+ * identified by their index in the quest. Optionally, it stores the state of the hero (see {@link
+ * HeroSnapshot}).
+ *
+ * <p>{@link #delta(QuestSnapshot)} computes the changes between two snapshots, which are usually
+ * much smaller than a snapshot: during a game, only a few tasks and places change between two
+ * autosaves (see {@link QuestAutosave}).
+ *
+ * <p>A snapshot is immutable, the accessors return copies of the arrays.
+ */
+public final class QuestSnapshot {
+
+  // kinds of the change of the hero in a delta
+  private static final byte HERO_UNCHANGED = 0;
+  private static final byte HERO_CHANGED = 1;
+  private static final byte HERO_REMOVED = 2;
+
+  private final byte[] states;
+  private final float[] points;
+  private final int[] solvedOrder;
+  private final int[] marking;
+  private final HeroSnapshot hero;
+
+  /**
+   * Create a new snapshot without the state of the hero.
+   *
+   * @param states the ordinal of the {@link task.Task.TaskState} of each task
+   * @param points the achieved points of each task
+   * @param solvedOrder the indices of the solved tasks, in order of solving
+   * @param marking the token count of each place of the Petri net
+   */
+  public QuestSnapshot(
+      final byte[] states, final float[] points, final int[] solvedOrder, final int[] marking) {
+    this(states, points, solvedOrder, marking, null);
+  }
+
+  /**
+   * Create a new snapshot.
+   *
+   * @param states the ordinal of the {@link task.Task.TaskState} of each task
+   * @param points the achieved points of each task
+   * @param solvedOrder the indices of the solved tasks, in order of solving
+   * @param marking the token count of each place of the Petri net
+   * @param hero the state of the hero, can be null
+   */
+  public QuestSnapshot(
+      final byte[] states,
+      final float[] points,
+      final int[] solvedOrder,
+      final int[] marking,
+      final HeroSnapshot hero) {
+    if (states.length != points.length) {
+      throw new IllegalArgumentException("Each task needs a state and points.");
+    }
+    this.states = states.clone();
+    this.points = points.clone();
+    this.solvedOrder = solvedOrder.clone();
+    this.marking = marking.clone();
+    this.hero = hero;
+  }
+
+  /**
+   * Get the number of tasks.
+   *
+   * @return the number of tasks in the snapshot
+   */
+  public int taskCount() {
+    return states.length;
+  }
+
+  /**
+   * Get the number of places.
+   *
+   * @return the number of places of the Petri net in the snapshot
+   */
+  public int placeCount() {
+    return marking.length;
+  }
+
+  /**
+   * Get the state of a task.
+   *
+   * @param task index of the task
+   * @return the ordinal of the state of the task
+   */
+  public byte state(int task) {
+    return states[task];
+  }
+
+  /**
+   * Get the achieved points of a task.
+   *
+   * @param task index of the task
+   * @return the achieved points of the task
+   */
+  public float points(int task) {
+    return points[task];
+  }
+
+  /**
+   * Get the order in which the tasks were solved.
+   *
+   * @return the indices of the solved tasks, in order of solving
+   */
+  public int[] solvedOrder() {
+    return solvedOrder.clone();
+  }
+
+  /**
+   * Get the marking of the Petri net.
+   *
+   * @return the token count of each place
+   */
+  public int[] marking() {
+    return marking.clone();
+  }
+
+  /**
+   * Get the state of the hero.
+   *
+   * @return the state of the hero, empty if the snapshot does not store it
+   */
+  public Optional<HeroSnapshot> hero() {
+    return Optional.ofNullable(hero);
+  }
+
+  /**
+   * Compute the changes from the given previous snapshot to this snapshot.
+   *
+   * @param previous an earlier snapshot of the same quest
+   * @return the delta, which turns the previous snapshot into this one (see {@link
+   *     #apply(Delta)})
+   */
+  public Delta delta(final QuestSnapshot previous) {
+    checkFits(previous.taskCount(), previous.placeCount());
+    int[] changedTasks = changed(taskCount(), i -> differs(previous, i));
+    int[] changedPlaces = changed(placeCount(), i -> previous.marking[i] != marking[i]);
+
+    byte[] changedStates = new byte[changedTasks.length];
+    float[] changedPoints = new float[changedTasks.length];
+    for (int i = 0; i < changedTasks.length; i++) {
+      changedStates[i] = states[changedTasks[i]];
+      changedPoints[i] = points[changedTasks[i]];
+    }
+    int[] tokens = new int[changedPlaces.length];
+    for (int i = 0; i < changedPlaces.length; i++) {
+      tokens[i] = marking[changedPlaces[i]];
+    }
+    byte heroChange = HERO_UNCHANGED;
+    if (!Objects.equals(previous.hero, hero)) {
+      heroChange = hero == null ? HERO_REMOVED : HERO_CHANGED;
+    }
+    return new Delta(
+        changedTasks,
+        changedStates,
+        changedPoints,
+        solvedOrder,
+        changedPlaces,
+        tokens,
+        heroChange,
+        hero);
+  }
+
+  /**
+   * Apply the changes of a delta to this snapshot.
+   *
+   * @param delta a delta computed from this snapshot (or an equal one)
+   * @return the changed snapshot
+   */
+  public QuestSnapshot apply(final Delta delta) {
+    byte[] newStates = states.clone();
+    float[] newPoints = points.clone();
+    int[] newMarking = marking.clone();
+    for (int i = 0; i < delta.tasks.length; i++) {
+      newStates[delta.tasks[i]] = delta.states[i];
+      newPoints[delta.tasks[i]] = delta.points[i];
+    }
+    for (int i = 0; i < delta.places.length; i++) {
+      newMarking[delta.places[i]] = delta.tokens[i];
+    }
+    HeroSnapshot newHero =
+        switch (delta.heroChange) {
+          case HERO_CHANGED -> delta.hero;
+          case HERO_REMOVED -> null;
+          default -> hero;
+        };
+    return new QuestSnapshot(newStates, newPoints, delta.solvedOrder, newMarking, newHero);
+  }
+
+  /**
+   * Write this snapshot.
+   *
+   * @param out the stream to write to
+   * @throws IOException if writing fails
+   */
+  public void write(final DataOutputStream out) throws IOException {
+    out.writeInt(states.length);
+    out.write(states);
+    for (float point : points) {
+      out.writeFloat(point);
+    }
+    writeInts(solvedOrder, out);
+    writeInts(marking, out);
+    out.writeBoolean(hero != null);
+    if (hero != null) hero.write(out);
+  }
+
+  /**
+   * Read a snapshot written by {@link #write(DataOutputStream)}.
+   *
+   * @param in the stream to read from
+   * @return the read snapshot
+   * @throws IOException if reading fails or the data is invalid
+   */
+  public static QuestSnapshot read(final DataInputStream in) throws IOException {
+    byte[] states = new byte[readLength(in, Byte.BYTES + Float.BYTES)];
+    in.readFully(states);
+    float[] points = new float[states.length];
+    for (int i = 0; i < points.length; i++) {
+      points[i] = in.readFloat();
+    }
+    int[] solvedOrder = readInts(in);
+    int[] marking = readInts(in);
+    HeroSnapshot hero = in.readBoolean() ? HeroSnapshot.read(in) : null;
+    return new QuestSnapshot(states, points, solvedOrder, marking, hero);
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (o == this) return true;
+    if (!(o instanceof QuestSnapshot other)) return false;
+    return Arrays.equals(states, other.states)
+        && Arrays.equals(points, other.points)
+        && Arrays.equals(solvedOrder, other.solvedOrder)
+        && Arrays.equals(marking, other.marking)
+        && Objects.equals(hero, other.hero);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(states) + Arrays.hashCode(marking);
+  }
+
+  private boolean differs(final QuestSnapshot previous, int task) {
+    return previous.states[task] != states[task]
+        || Float.compare(previous.points[task], points[task]) != 0;
+  }
+
+  private void checkFits(int taskCount, int placeCount) {
+    if (taskCount != taskCount() || placeCount != placeCount()) {
+      throw new IllegalArgumentException("The snapshots belong to different quests.");
+    }
+  }
+
+  private static int[] changed(int count, final IntPredicate changed) {
+    int[] indices = new int[count];
+    int size = 0;
+    for (int i = 0; i < count; i++) {
+      if (changed.test(i)) indices[size++] = i;
+    }
+    return Arrays.copyOf(indices, size);
+  }
+
+  private static void writeInts(final int[] values, final DataOutputStream out)
+      throws IOException {
+    out.writeInt(values.length);
+    for (int value : values) {
+      out.writeInt(value);
+    }
+  }
+
+  /**
+   * Read the length of an array and check it against the remaining data.
+   *
+   * @param in the stream to read from, {@link DataInputStream#available()} must return the number
+   *     of remaining bytes (e.g. a stream of a byte array)
+   * @param elementSize the minimal number of bytes of an element
+   * @return the read length
+   * @throws IOException if reading fails or the remaining data is too short for the length
+   */
+  static int readLength(final DataInputStream in, int elementSize) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || (long) length * elementSize > in.available()) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+
+  private static int[] readInts(final DataInputStream in) throws IOException {
+    int[] values = new int[readLength(in, Integer.BYTES)];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = in.readInt();
+    }
+    return values;
+  }
+
+  /**
+   * The changes between two snapshots.
+   *
+   * <p>Stores the indices and new values of the changed tasks and places, and the complete order of
+   * the solved tasks (it contains at most one entry per task). If the state of the hero changed,
+   * the delta stores its complete new state.
+   */
+  public static final class Delta {
+
+    private final int[] tasks;
+    private final byte[] states;
+    private final float[] points;
+    private final int[] solvedOrder;
+    private final int[] places;
+    private final int[] tokens;
+    private final byte heroChange;
+    private final HeroSnapshot hero;
+
+    private Delta(
+        final int[] tasks,
+        final byte[] states,
+        final float[] points,
+        final int[] solvedOrder,
+        final int[] places,
+        final int[] tokens,
+        final byte heroChange,
+        final HeroSnapshot hero) {
+      this.tasks = tasks;
+      this.states = states;
+      this.points = points;
+      this.solvedOrder = solvedOrder;
+      this.places = places;
+      this.tokens = tokens;
+      this.heroChange = heroChange;
+      this.hero = hero;
+    }
+
+    /**
+     * Check if the delta changes anything besides the solving order.
+     *
+     * @return true, if no task, no place and not the hero changed
+     */
+    public boolean isEmpty() {
+      return tasks.length == 0 && places.length == 0 && heroChange == HERO_UNCHANGED;
+    }
+
+    /**
+     * Write this delta.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void write(final DataOutputStream out) throws IOException {
+      writeInts(tasks, out);
+      out.write(states);
+      for (float point : points) {
+        out.writeFloat(point);
+      }
+      writeInts(solvedOrder, out);
+      writeInts(places, out);
+      for (int token : tokens) {
+        out.writeInt(token);
+      }
+      out.writeByte(heroChange);
+      if (heroChange == HERO_CHANGED) hero.write(out);
+    }
+
+    /**
+     * Read a delta written by {@link #write(DataOutputStream)}.
+     *
+     * @param in the stream to read from
+     * @return the read delta
+     * @throws IOException if reading fails or the data is invalid
+     */
+    public static Delta read(final DataInputStream in) throws IOException {
+      int[] tasks = readInts(in);
+      byte[] states = new byte[tasks.length];
+      in.readFully(states);
+      float[] points = new float[tasks.length];
+      for (int i = 0; i < points.length; i++) {
+        points[i] = in.readFloat();
+      }
+      int[] solvedOrder = readInts(in);
+      int[] places = readInts(in);
+      int[] tokens = new int[places.length];
+      for (int i = 0; i < tokens.length; i++) {
+        tokens[i] = in.readInt();
+      }
+      byte heroChange = in.readByte();
+      HeroSnapshot hero = heroChange == HERO_CHANGED ? HeroSnapshot.read(in) : null;
+      return new Delta(tasks, states, points, solvedOrder, places, tokens, heroChange, hero);
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package graph.taskdependencygraph;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Represents an edge in a {@link TaskDependencyGraph} that connects two {@link TaskNode}s.
  *
@@ -9,7 +11,7 @@ package graph.taskdependencygraph;
  * (from 'a' to 'b' and from 'b' to 'a').
  */
 public class TaskEdge implements Comparable<TaskEdge> {
-  private static int _idx;
+  private static final AtomicInteger _idx = new AtomicInteger();
   private final int idx;
   private final Type edgeType;
   private final TaskNode startNode;
@@ -24,7 +26,7 @@ public class TaskEdge implements Comparable<TaskEdge> {
    * @param endNode The node at the end of the edge.
    */
   public TaskEdge(Type edgeType, TaskNode startNode, TaskNode endNode) {
-    this.idx = _idx++;
+    this.idx = _idx.getAndIncrement();
     this.edgeType = edgeType;
     this.startNode = startNode;
     this.endNode = endNode;
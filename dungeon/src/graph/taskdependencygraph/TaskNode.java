@@ -1,5 +1,6 @@
 package graph.taskdependencygraph;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import task.Task;
 
 /**
@@ -8,10 +9,11 @@ import task.Task;
  * <p>Each node is associated with a unique index and a task.
  */
 public class TaskNode implements Comparable<TaskNode> {
+  private static final AtomicInteger _idx = new AtomicInteger();
+
   /** A special TaskNode representing none or no task. */
   public static TaskNode NONE = new TaskNode(null);
 
-  private static int _idx;
   private final int idx;
   private final Task task;
 
@@ -21,7 +23,7 @@ public class TaskNode implements Comparable<TaskNode> {
    * @param task The task to store in the node.
    */
   public TaskNode(Task task) {
-    this.idx = _idx++;
+    this.idx = _idx.getAndIncrement();
     this.task = task;
   }
 
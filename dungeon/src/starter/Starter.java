@@ -6,32 +6,50 @@ import contrib.components.HealthComponent;
 import contrib.crafting.Crafting;
 import contrib.entities.EntityFactory;
 import contrib.hud.dialogs.OkDialog;
+import contrib.hud.dialogs.ProgressDialog;
 import contrib.systems.*;
 import core.Entity;
 import core.Game;
 import core.components.PlayerComponent;
-import core.level.elements.ILevel;
 import core.utils.components.MissingComponentException;
 import core.utils.components.path.SimpleIPath;
 import dsl.interpreter.DSLEntryPointFinder;
 import dsl.interpreter.DSLInterpreter;
+import dsl.parser.ParseCache;
+import dsl.parser.ast.Node;
 import entrypoint.DSLEntryPoint;
 import entrypoint.DSLFileLoader;
-import entrypoint.DungeonConfig;
-import graph.TaskGraphConverter;
+import entrypoint.DSLFileWatcher;
+import entrypoint.ParsedFile;
+import graph.LevelBuild;
+import graph.Quest;
+import graph.snapshot.QuestAutosave;
+import graph.snapshot.QuestSnapshot;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 import javax.swing.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import task.Task;
+import task.reporting.SolutionLog;
+import task.reporting.TaskTelemetry;
 
 /**
  * Generic Game starter.Starter for a game that uses DSL inputs.
@@ -48,11 +66,17 @@ import task.Task;
  */
 public class Starter {
 
+  private static final Logger LOGGER = Logger.getLogger(Starter.class.getSimpleName());
   private static int loadCounter = 0;
   private static final String BACKGROUND_MUSIC = "sounds/background.wav";
   private static final DSLInterpreter dslInterpreter = new DSLInterpreter();
+  private static final Duration TELEMETRY_EXPORT_INTERVAL = Duration.ofSeconds(10);
 
   private static boolean realGameStarted = false;
+  private static Entity levelBuildDialog = null;
+  private static LevelBuild levelBuild = null;
+  private static DSLFileWatcher dslFileWatcher = null;
+  private static QuestAutosave questAutosave = null;
   private static long startTime = 0;
   private static final Consumer<Entity> showQuestLog =
       entity -> {
@@ -83,21 +107,19 @@ public class Starter {
             .append(System.lineSeparator());
 
         // the task with the id=0 is the quest selector task we will not show that
-        String scenarioID =
-            Task.allSolvedTaskInOrder()
-                .filter(task -> task.id() != 0) // Exclude task with ID 0
-                .map(task -> task.taskName().substring(0, 1)) // Extract the first character
-                .collect(Collectors.joining());
-
+        StringBuilder scenarioID = new StringBuilder();
+        DecimalFormat pointsFormat = new DecimalFormat("#.#");
         Task.allSolvedTaskInOrder()
             .forEach(
                 task -> {
                   if (task.id() != 0) { // Exclude task with ID 0
+                    scenarioID.append(task.taskName().charAt(0));
                     infos
                         .append(task.taskName())
                         .append(" ")
-                        .append(new DecimalFormat("#.#").format(task.achievedPoints()))
+                        .append(pointsFormat.format(task.achievedPoints()))
                         .append(" P")
+                        .append(solveTime(task))
                         .append(System.lineSeparator());
                   }
                 });
@@ -124,6 +146,7 @@ public class Starter {
 
       // some game Setup
       configGame();
+      SolutionLog.shared(Paths.get(System.getProperty("BASELOGDIR", "logs/"), "solutions"));
       // will load the level to select the task/DSL-Entrypoint on Game start
       taskSelectorOnSetup(entryPoints);
 
@@ -179,14 +202,142 @@ public class Starter {
           // the player selected a Task/DSL-Entrypoint but it´s not loaded yet:
           if (!realGameStarted && TaskSelector.selectedDSLEntryPoint != null) {
             realGameStarted = true;
-
-            DungeonConfig config =
-                dslInterpreter.interpretEntryPoint(TaskSelector.selectedDSLEntryPoint);
-            ILevel level = TaskGraphConverter.convert(config.dependencyGraph(), dslInterpreter);
-
-            Game.currentLevel(level);
+            levelBuildDialog =
+                ProgressDialog.showProgressDialog("Level wird erstellt", Starter::levelBuildText);
+            levelBuild = LevelBuild.start(TaskSelector.selectedDSLEntryPoint, dslInterpreter);
+          } else if (levelBuild != null && !levelBuild.isDone()) {
+            // applies the entity changes of the worker on the game thread
+            levelBuild.update();
+          } else if (levelBuild != null) {
+            Game.remove(levelBuildDialog);
+            levelBuildDialog = null;
+            LevelBuild finishedBuild = levelBuild;
+            levelBuild = null;
+            Game.currentLevel(finishedBuild.level());
+            Path saves = savesDirectory(TaskSelector.selectedDSLEntryPoint);
+            if (Boolean.parseBoolean(System.getProperty("RESUME", "true"))) {
+              resume(finishedBuild.quest(), saves);
+            }
+            questAutosave = startAutosave(finishedBuild.quest(), saves);
+            TaskTelemetry.shared()
+                .exportPeriodically(
+                    Paths.get(System.getProperty("BASELOGDIR", "logs/"), "task-telemetry.json"),
+                    TELEMETRY_EXPORT_INTERVAL);
+            // changes of the DSL file are applied to the running game
+            dslFileWatcher =
+                DSLFileWatcher.watch(TaskSelector.selectedDSLEntryPoint.file().filePath())
+                    .orElse(null);
+          } else if (dslFileWatcher != null && dslFileWatcher.pollChanged()) {
+            reloadDSLFile(dslFileWatcher.file());
+          }
+          if (questAutosave != null) {
+            questAutosave.update();
           }
         });
+    // the last autosave is made on the game thread
+    Game.userOnExit(
+        () -> {
+          if (questAutosave != null) {
+            questAutosave.close();
+          }
+        });
+  }
+
+  /*
+   * Get the directory of the quest saves of the given entry point.
+   *
+   * Each entry point gets its own directory, so only saves of the same quest are resumed.
+   */
+  private static Path savesDirectory(final DSLEntryPoint entryPoint) {
+    String fileName = entryPoint.file().filePath().getFileName().toString();
+    String name = (fileName + "-" + entryPoint.displayName()).replaceAll("[^A-Za-z0-9._-]", "_");
+    return Paths.get(System.getProperty("BASELOGDIR", "logs/"), "saves", name);
+  }
+
+  /*
+   * Restore the quest from the latest save in the given directory, if there is one.
+   *
+   * A save, that can not be read or does not fit the quest (e.g. because the DSL file changed), is
+   * ignored and the quest starts from the beginning.
+   */
+  private static void resume(final Quest quest, final Path directory) {
+    if (!Files.isDirectory(directory)) return;
+    try (Stream<Path> files = Files.list(directory)) {
+      Optional<Path> latest =
+          files
+              .filter(file -> file.getFileName().toString().endsWith(".dqs"))
+              .max(Comparator.comparingLong(file -> file.toFile().lastModified()));
+      if (latest.isEmpty()) return;
+      Optional<QuestSnapshot> snapshot = QuestAutosave.load(latest.get());
+      if (snapshot.isPresent()) {
+        quest.restore(snapshot.get());
+        LOGGER.info("Resumed the quest from " + latest.get());
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      LOGGER.warning("Could not resume the quest: " + e.getMessage());
+    }
+  }
+
+  private static QuestAutosave startAutosave(final Quest quest, final Path directory) {
+    String timestamp = new SimpleDateFormat("dd-MM-yyyy'T'HH-mm-ss").format(new Date());
+    try {
+      Files.createDirectories(directory);
+      QuestAutosave autosave =
+          new QuestAutosave(
+              quest, directory.resolve(timestamp + ".dqs"), QuestAutosave.DEFAULT_INTERVAL);
+      // the last save is made on exit, the hook only writes the queued saves (e.g. on a crash)
+      Runtime.getRuntime().addShutdownHook(new Thread(autosave::finish, "quest-autosave-shutdown"));
+      return autosave;
+    } catch (IOException e) {
+      LOGGER.warning("Could not create the quest autosave: " + e.getMessage());
+      return null;
+    }
+  }
+
+  private static String solveTime(final Task task) {
+    OptionalLong millis =
+        TaskTelemetry.shared()
+            .stats(task.id())
+            .map(TaskTelemetry.TaskStats::solveTimeMillis)
+            .orElse(OptionalLong.empty());
+    return millis.isPresent() ? " (" + millis.getAsLong() / 1000 + " s)" : "";
+  }
+
+  private static void reloadDSLFile(final Path path) {
+    long start = System.nanoTime();
+    Optional<Node> programAST =
+        ParseCache.shared().getValidProgramAST(DSLFileLoader.fileToString(path));
+    if (programAST.isEmpty()) {
+      LOGGER.warning("Not reloaded, " + path + " contains syntax errors.");
+      return;
+    }
+    Optional<String> error;
+    try {
+      error = dslInterpreter.reloadDefinitions(new ParsedFile(path, programAST.get()));
+    } catch (RuntimeException e) {
+      error = Optional.of(String.valueOf(e.getMessage()));
+    }
+    if (error.isPresent()) {
+      LOGGER.warning("Not reloaded, " + path + " contains errors: " + error.get());
+    } else {
+      LOGGER.info(
+          "Reloaded " + path + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+    }
+  }
+
+  private static String levelBuildText() {
+    if (levelBuild == null) {
+      return "Bitte warten ...";
+    }
+    LevelBuild.Progress progress = levelBuild.progress();
+    String stage =
+        switch (progress.stage()) {
+          case INTERPRET -> "DSL-Datei wird interpretiert";
+          case BUILD_TASKS -> "Aufgaben werden erstellt";
+          case GENERATE_LEVEL -> "Räume werden generiert";
+          case CREATE_PETRI_NETS -> "Aufgaben werden verknüpft";
+        };
+    return stage + " (" + progress.done() + "/" + progress.total() + ")";
   }
 
   private static void taskSelectorOnSetup(Set<DSLEntryPoint> entryPoints) {
@@ -8,20 +8,16 @@ import core.utils.MissingHeroException;
 import core.utils.components.MissingComponentException;
 import dsl.annotation.DSLType;
 import graph.petrinet.Place;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.logging.FileHandler;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 import java.util.stream.Stream;
 import task.game.components.TaskComponent;
 import task.game.components.TaskContentComponent;
 import task.game.content.QuestItem;
+import task.reporting.SolutionLog;
+import task.reporting.TaskTelemetry;
 
 /**
  * A task that needs to be solved in the game.
@@ -45,9 +41,6 @@ import task.game.content.QuestItem;
 public abstract class Task {
 
   private static final Logger LOGGER = Logger.getLogger(Task.class.getName());
-  private static final Logger SOL_LOGGER = Logger.getLogger("TaskSolutionLogger");
-  private static final Set<Task> ALL_TASKS = new HashSet<>();
-  private static final List<Task> SOLVED_TASK_IN_ORDER = new ArrayList<>();
   private static final String DEFAULT_TASK_TEXT = "No task description provided";
   private static final String DEFAULT_TASK_NAME = "No task name provided";
 
@@ -57,7 +50,7 @@ public abstract class Task {
   private static final TaskState DEFAULT_TASK_STATE = TaskState.INACTIVE;
   private static final float DEFAULT_POINTS = 1f;
   private static final float DEFAULT_POINTS_TO_SOLVE = DEFAULT_POINTS;
-  private static int _id = 0;
+  private final TaskSession session;
   private final int id;
   private final Set<Place> observer = new HashSet<>();
   protected List<TaskContent> content;
@@ -78,29 +71,13 @@ public abstract class Task {
 
   private float achievedPoints;
 
-  static {
-    try {
-      SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy'T'HH-mm-ss");
-      String timestamp = dateFormat.format(new Date());
-      String directoryPath = System.getProperty("BASELOGDIR", "logs/") + "solutions/";
-      String filepath = directoryPath + timestamp + ".log";
-      Files.createDirectories(Paths.get(directoryPath));
-      FileHandler fileHandler = new FileHandler(filepath);
-      fileHandler.setFormatter(new SimpleFormatter());
-
-      SOL_LOGGER.addHandler(fileHandler);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-  }
-
   /**
    * Create a new Task with the {@link #DEFAULT_TASK_TEXT} in the {@link #DEFAULT_TASK_STATE}, with
    * an empty content-collection and without an {@link TaskComponent}.
    */
   public Task() {
-    this.id = _id++;
-    ALL_TASKS.add(this);
+    this.session = TaskSession.current();
+    this.id = session.register(this);
     state = DEFAULT_TASK_STATE;
     taskText = DEFAULT_TASK_TEXT;
     content = new LinkedList<>();
@@ -111,26 +88,37 @@ public abstract class Task {
   }
 
   /**
-   * Get a stream of all Task-Objects that exist.
+   * Get a stream of all Task-Objects that exist in the {@link TaskSession#current() current
+   * session}.
    *
-   * @return Stream of all Task-Objects that ever exist.
+   * @return Stream of all Task-Objects that ever exist in the current session.
    */
   public static Stream<Task> allTasks() {
-    return new HashSet<>(ALL_TASKS).stream();
+    return TaskSession.current().tasks();
   }
 
   /**
-   * Get a stream of all solved tasks, in order of solving.
+   * Get a stream of all solved tasks of the {@link TaskSession#current() current session}, in order
+   * of solving.
    *
    * @return Stream of all solved tasks.
    */
   public static Stream<Task> allSolvedTaskInOrder() {
-    return new ArrayList<>(SOLVED_TASK_IN_ORDER).stream();
+    return TaskSession.current().solvedTasksInOrder();
   }
 
-  /** Clear the {@link #ALL_TASKS} Set. */
+  /** Remove all tasks from the {@link TaskSession#current() current session}. */
   public static void cleanupAllTask() {
-    ALL_TASKS.clear();
+    TaskSession.current().clear();
+  }
+
+  /**
+   * Get the session this task was created in.
+   *
+   * @return the {@link TaskSession} of this task.
+   */
+  public TaskSession session() {
+    return session;
   }
 
   /**
@@ -177,17 +165,20 @@ public abstract class Task {
   /**
    * Set the state of the task.
    *
-   * <p>Each registered {@link Place} will be notified.
+   * <p>Each registered {@link Place} will be notified. The change is logged in the {@link
+   * SolutionLog} and recorded in the {@link TaskTelemetry}.
    *
    * @param state The new state of the task.
    * @return true if the state was changed successfully, false if not.
    */
   public boolean state(final TaskState state) {
     if (this.state == state) return false;
+    SolutionLog.shared().stateChanged(this, this.state, state);
+    TaskTelemetry.shared().stateChanged(this, this.state, state);
     this.state = state;
     observer.forEach(place -> place.notify(this, state));
     if (state == TaskState.FINISHED_CORRECT || state == TaskState.FINISHED_WRONG)
-      SOLVED_TASK_IN_ORDER.add(this);
+      session.solved(this);
     else if (state == TaskState.ACTIVE && managementEntity != null) {
       managementEntity.fetch(TaskComponent.class).ifPresent(tc -> tc.activate(managementEntity));
     }
@@ -195,6 +186,29 @@ public abstract class Task {
     return true;
   }
 
+  /**
+   * Restore the state and the achieved points of this task, e.g. from a snapshot.
+   *
+   * <p>In contrast to {@link #state(TaskState)}, the registered {@link Place}s are not notified,
+   * the marking of the Petri net has to be restored separately. If the task was activated before,
+   * the doors of its manager entity are opened again (see {@link TaskComponent#DOOR_OPENER}). The
+   * activation callback of the {@link TaskComponent} is not called, it already ran when the task
+   * was activated.
+   *
+   * @param state The restored state of the task.
+   * @param achievedPoints The restored points for the solution of the task.
+   */
+  public void restore(final TaskState state, float achievedPoints) {
+    this.state = state;
+    this.achievedPoints = achievedPoints;
+    session.unsolved(this);
+    if (state == TaskState.FINISHED_CORRECT || state == TaskState.FINISHED_WRONG)
+      session.solved(this);
+    if (state != TaskState.INACTIVE && managementEntity != null) {
+      TaskComponent.DOOR_OPENER.accept(managementEntity);
+    }
+  }
+
   /**
    * Get the task text.
    *
@@ -405,7 +419,7 @@ public abstract class Task {
    *
    * <p>This will inform the petri net about the task state changes.
    *
-   * <p>This will log the result.
+   * <p>This will log the result in the {@link SolutionLog}.
    *
    * <p>This will give the player a reward, if the task was solved correctly.
    *
@@ -424,7 +438,7 @@ public abstract class Task {
    *
    * <p>This will inform the petri net about the task state changes.
    *
-   * <p>This will log the result.
+   * <p>This will log the result in the {@link SolutionLog}.
    *
    * <p>This will give the player a reward, if the task was solved correctly.
    *
@@ -433,32 +447,7 @@ public abstract class Task {
    */
   public float gradeTask(Set<TaskContent> givenAnswers) {
     float score = scoringFunction.apply(this, givenAnswers);
-    StringBuilder msgBuilder = new StringBuilder();
-    msgBuilder
-        .append("Task: ")
-        .append(id)
-        .append(System.lineSeparator())
-        .append(taskName)
-        .append(System.lineSeparator())
-        .append(taskText)
-        .append(System.lineSeparator())
-        .append(" was solved with ")
-        .append(score)
-        .append("/")
-        .append(points)
-        .append(" Points.")
-        .append(System.lineSeparator());
-    msgBuilder.append("The task was solved");
-    if (score >= pointsToSolve) msgBuilder.append(" successfully.");
-    else msgBuilder.append(" unsuccessfully.");
-    msgBuilder.append(System.lineSeparator());
-    msgBuilder.append("Given answers: ");
-
-    for (TaskContent answer : givenAnswers) {
-      msgBuilder.append(answer.toString()).append(System.lineSeparator());
-    }
-    String msg = msgBuilder.toString();
-    SOL_LOGGER.info(msg);
+    SolutionLog.shared().graded(this, score, givenAnswers);
 
     if (score >= pointsToSolve) state(TaskState.FINISHED_CORRECT);
     else state(TaskState.FINISHED_WRONG);
@@ -496,14 +485,8 @@ public abstract class Task {
     InventoryComponent ic =
         hero.fetch(InventoryComponent.class)
             .orElseThrow(() -> MissingComponentException.build(hero, InventoryComponent.class));
-    Task t = this;
-    ic.items(QuestItem.class)
-        .forEach(
-            item -> {
-              if (((QuestItem) item).taskContentComponent().content().task().equals(t)) {
-                ic.remove(item);
-              }
-            });
+    ic.removeIf(
+        QuestItem.class, item -> item.taskContentComponent().content().task().equals(this));
   }
 
   /**
@@ -515,6 +498,15 @@ public abstract class Task {
     return points;
   }
 
+  /**
+   * Get the amount of points that is needed to solve this task successfully.
+   *
+   * @return points needed to solve this task.
+   */
+  public float pointsToSolve() {
+    return pointsToSolve;
+  }
+
   /**
    * Set the amount of points that this task is worth.
    *
@@ -533,17 +525,7 @@ public abstract class Task {
    * @return the entity that stores the given content, empty if no entity stores the content.
    */
   public Optional<Entity> find(TaskContent taskContent) {
-    return Game.allEntities()
-        .filter(e -> e.isPresent(TaskContentComponent.class))
-        .filter(
-            e -> {
-              TaskContentComponent taskContentComponent =
-                  e.fetch(TaskContentComponent.class)
-                      .orElseThrow(
-                          () -> MissingComponentException.build(e, TaskContentComponent.class));
-              return taskContentComponent.content().equals(taskContent);
-            })
-        .findFirst();
+    return TaskContentComponent.entity(taskContent);
   }
 
   /**
@@ -0,0 +1,106 @@
+package task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The {@link Task}s created in one run of the DSL interpreter.
+ *
+ * <p>A task is registered in the session, which is current for the creating thread, and assigns
+ * itself an id from this session. Each thread uses the {@link #global()} session, until it runs
+ * code in another session with {@link #callIn(TaskSession, Supplier)}. This way, the game uses one
+ * session for all of its tasks, while a batch run (see {@link
+ * dsl.interpreter.DSLBatchInterpreter}) interprets each DSL file in an isolated session.
+ */
+public final class TaskSession {
+
+  private static final TaskSession GLOBAL = new TaskSession();
+  private static final ThreadLocal<TaskSession> CURRENT = ThreadLocal.withInitial(() -> GLOBAL);
+
+  private final Set<Task> tasks = ConcurrentHashMap.newKeySet();
+  private final List<Task> solvedTasksInOrder = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger nextId = new AtomicInteger();
+
+  /**
+   * Get the session shared by all threads, which do not run in their own session.
+   *
+   * @return the global session
+   */
+  public static TaskSession global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Get the session of the current thread.
+   *
+   * @return the session, new tasks are registered in
+   */
+  public static TaskSession current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Run an action in the given session.
+   *
+   * <p>All tasks created by the action on the current thread are registered in the given session.
+   * After the action, the previous session of the thread is restored.
+   *
+   * @param session the session to run the action in
+   * @param action the action to run
+   * @param <T> the result type of the action
+   * @return the result of the action
+   */
+  public static <T> T callIn(final TaskSession session, final Supplier<T> action) {
+    TaskSession previous = CURRENT.get();
+    CURRENT.set(session);
+    try {
+      return action.get();
+    } finally {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Get a stream of all tasks of this session.
+   *
+   * @return Stream of all tasks, which were created in this session.
+   */
+  public Stream<Task> tasks() {
+    return Set.copyOf(tasks).stream();
+  }
+
+  /**
+   * Get a stream of all solved tasks of this session, in order of solving.
+   *
+   * @return Stream of all solved tasks.
+   */
+  public Stream<Task> solvedTasksInOrder() {
+    synchronized (solvedTasksInOrder) {
+      return new ArrayList<>(solvedTasksInOrder).stream();
+    }
+  }
+
+  /** Remove all tasks from this session. The ids of new tasks are not reset. */
+  public void clear() {
+    tasks.clear();
+  }
+
+  int register(final Task task) {
+    tasks.add(task);
+    return nextId.getAndIncrement();
+  }
+
+  void solved(final Task task) {
+    solvedTasksInOrder.add(task);
+  }
+
+  void unsolved(final Task task) {
+    solvedTasksInOrder.remove(task);
+  }
+}
@@ -16,10 +16,14 @@ import java.util.Set;
  * <p>To achieve this, store the resulting door from connecting the level graphs of individual tasks
  * in this component and attach it to the managing entity. Then, use the callback in conjunction
  * with the TaskComponent's DOOR_OPENER Consumer to open the door when the task is activated.
+ *
+ * <p>The rooms of a level are generated on demand, so doors can be added later with {@link
+ * #add(DoorTile)}. A door added after {@link #open()} is opened, otherwise it is closed.
  */
 public final class DoorComponent implements Component {
 
   private final Set<DoorTile> doors;
+  private boolean open = false;
 
   /**
    * Creates a new DoorOpenerComponent.
@@ -27,7 +31,26 @@ public final class DoorComponent implements Component {
    * @param doors The DoorTiles to store in this component.
    */
   public DoorComponent(final Set<DoorTile> doors) {
-    this.doors = doors;
+    this.doors = new HashSet<>(doors);
+  }
+
+  /**
+   * Add a door to this component.
+   *
+   * <p>The door is opened, if this component was opened before, otherwise it is closed.
+   *
+   * @param door The DoorTile to store in this component.
+   */
+  public void add(final DoorTile door) {
+    doors.add(door);
+    if (open) door.open();
+    else door.close();
+  }
+
+  /** Open the stored doors, and each door that will be added. */
+  public void open() {
+    open = true;
+    doors.forEach(DoorTile::open);
   }
 
   /**
@@ -2,7 +2,6 @@ package task.game.components;
 
 import core.Component;
 import core.Entity;
-import core.level.elements.tile.DoorTile;
 import dsl.annotation.DSLCallback;
 import dsl.annotation.DSLContextMember;
 import dsl.annotation.DSLType;
@@ -29,10 +28,7 @@ public final class TaskComponent implements Component {
 
   /** Fetches the {@link DoorComponent} from the given entity and opens the door. */
   public static final Consumer<Entity> DOOR_OPENER =
-      entity ->
-          entity
-              .fetch(DoorComponent.class)
-              .ifPresent(component -> component.doors().forEach(DoorTile::open));
+      entity -> entity.fetch(DoorComponent.class).ifPresent(DoorComponent::open);
 
   @DSLCallback private Consumer<Entity> onActivate;
   private Task task;
@@ -1,9 +1,13 @@
 package task.game.components;
 
 import core.Component;
+import core.Entity;
 import dsl.annotation.DSLType;
 import dsl.annotation.DSLTypeProperty;
 import dsl.semanticanalysis.typesystem.extension.IDSLExtensionProperty;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import task.TaskContent;
 
 /**
@@ -15,11 +19,21 @@ import task.TaskContent;
  * from the task description.
  *
  * <p>The collection can be queried as a stream using {@link #content()}
+ *
+ * <p>The component keeps an index from its content to the entity it is attached to, so the entity
+ * that stores a given content can be found with {@link #entity(TaskContent)} without searching all
+ * entities of all levels. The index is updated when the component is added to or removed from an
+ * entity, when the entity is added to or removed from the game and when its content changes. So an
+ * entity, that was removed from the game, is not found anymore and is not kept alive by the index.
  */
 @DSLType
 public final class TaskContentComponent implements Component {
 
+  // entry points may be interpreted on worker threads, see dsl.interpreter.DSLBatchInterpreter
+  private static final Map<TaskContent, Entity> ENTITIES = new ConcurrentHashMap<>();
+
   private TaskContent content;
+  private Entity entity;
 
   /**
    * Create a new TaskContentComponent and add it to the associated entity.
@@ -48,9 +62,61 @@ public final class TaskContentComponent implements Component {
    * @param content foo
    */
   public void content(TaskContent content) {
+    if (entity != null) {
+      unindex(this.content, entity);
+      index(content, entity);
+    }
     this.content = content;
   }
 
+  /**
+   * Find the entity that stores the given content in its {@link TaskContentComponent}.
+   *
+   * @param content Content we are looking for.
+   * @return the entity the component with the given content was added to last, empty if no entity
+   *     stores the content.
+   */
+  public static Optional<Entity> entity(final TaskContent content) {
+    return content == null ? Optional.empty() : Optional.ofNullable(ENTITIES.get(content));
+  }
+
+  @Override
+  public void onAttach(final Entity entity) {
+    this.entity = entity;
+    index(content, entity);
+  }
+
+  @Override
+  public void onDetach(final Entity entity) {
+    unindex(content, entity);
+    if (this.entity == entity) {
+      this.entity = null;
+    }
+  }
+
+  @Override
+  public void onAddedToGame(final Entity entity) {
+    index(content, entity);
+  }
+
+  @Override
+  public void onRemovedFromGame(final Entity entity) {
+    unindex(content, entity);
+  }
+
+  private static void index(final TaskContent content, final Entity entity) {
+    if (content != null) {
+      ENTITIES.put(content, entity);
+    }
+  }
+
+  private static void unindex(final TaskContent content, final Entity entity) {
+    if (content != null) {
+      // another entity may store the content by now
+      ENTITIES.remove(content, entity);
+    }
+  }
+
   /** WTF? . */
   @DSLTypeProperty(name = "content", extendedType = TaskContentComponent.class)
   public static class ContentProperty
@@ -1,7 +1,6 @@
 package task.reporting;
 
 import contrib.components.InventoryComponent;
-import contrib.item.Item;
 import core.Entity;
 import core.Game;
 import core.utils.MissingHeroException;
@@ -59,12 +58,8 @@ public class AnswerPickingFunctions {
               .fetch(InventoryComponent.class)
               .orElseThrow(
                   () -> MissingComponentException.build(container, InventoryComponent.class));
-      Set<Item> answerItems = ic.items(QuestItem.class);
       Set<TaskContent> res = new HashSet<>();
-      for (Item i : answerItems) {
-        TaskContent content = ((QuestItem) i).taskContentComponent().content();
-        if (content.task() == task) res.add(content);
-      }
+      ic.forEach(QuestItem.class, item -> addContentOf(item, task, res));
       return res;
     };
   }
@@ -108,12 +103,8 @@ public class AnswerPickingFunctions {
                             () ->
                                 MissingComponentException.build(
                                     container, InventoryComponent.class));
-                Set<Item> answerItems = ic.items(QuestItem.class);
                 Set<TaskContent> res = new HashSet<>();
-                for (Item i : answerItems) {
-                  TaskContent content = ((QuestItem) i).taskContentComponent().content();
-                  if (content.task() == task) res.add(content);
-                }
+                ic.forEach(QuestItem.class, item -> addContentOf(item, task, res));
                 answerMap.put((TaskContent) containerContent, res);
               });
       return Set.of(wrapperElement);
@@ -139,13 +130,15 @@ public class AnswerPickingFunctions {
       InventoryComponent ic =
           hero.fetch(InventoryComponent.class)
               .orElseThrow(() -> MissingComponentException.build(hero, InventoryComponent.class));
-      Set<Item> answerItems = ic.items(QuestItem.class);
       Set<TaskContent> res = new HashSet<>();
-      for (Item i : answerItems) {
-        TaskContent content = ((QuestItem) i).taskContentComponent().content();
-        if (content.task() == task) res.add(content);
-      }
+      ic.forEach(QuestItem.class, item -> addContentOf(item, task, res));
       return res;
     };
   }
+
+  private static void addContentOf(
+      final QuestItem item, final Task task, final Set<TaskContent> contents) {
+    TaskContent content = item.taskContentComponent().content();
+    if (content.task() == task) contents.add(content);
+  }
 }
@@ -0,0 +1,310 @@
+package task.reporting;
+
+import dsl.interpreter.DSLBatchInterpreter;
+import dsl.semanticanalysis.typesystem.callbackadapter.CallbackAdapter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import task.Task;
+import task.TaskContent;
+import task.TaskSession;
+
+/**
+ * Replays recorded answers against the tasks of a DSL file, without starting the game.
+ *
+ * <p>The tasks are loaded with {@link #load(Path)}: the file is interpreted like in a {@link
+ * DSLBatchInterpreter} run, in its own {@link TaskSession}. Scenario builders are not called, so no
+ * entity is created.
+ *
+ * <p>The recorded answers are read line by line by {@link #grade(TaskDefinitions, Path)}. Each line
+ * holds one answer set in the form {@code <task name>:<index>,<index>,...}, the indices refer to
+ * {@link Task#contentByIndex(int)}. Blank lines and lines starting with {@code #} are skipped. The
+ * lines are graded in chunks on a pool of worker threads, by calling the {@link
+ * Task#scoringFunction()} of the task. In contrast to {@link Task#gradeTask(Set)}, the state of the
+ * task is not changed.
+ *
+ * <p>Scoring functions defined in the DSL share the interpreter of their file, they are called by
+ * one worker at a time.
+ */
+public final class BatchGrader implements AutoCloseable {
+
+  private static final int CHUNK_SIZE = 1024;
+  private static final String COMMENT = "#";
+
+  private final ExecutorService executor;
+  private final int maxPendingChunks;
+  // DSL callbacks are not thread-safe, see DSLInterpreter
+  private final Object callbackLock = new Object();
+
+  /** Create a new grader with one worker thread per available processor. */
+  public BatchGrader() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Create a new grader.
+   *
+   * @param threads the number of worker threads
+   */
+  public BatchGrader(int threads) {
+    this.executor =
+        Executors.newFixedThreadPool(
+            threads,
+            runnable -> {
+              Thread thread = new Thread(runnable, "batch-grading-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+    // limits the number of read, but not yet graded lines
+    this.maxPendingChunks = 2 * threads;
+  }
+
+  /**
+   * Load the tasks defined in a DSL file.
+   *
+   * <p>The tasks of all entry points (dungeon configs) of the file are collected by their name. If
+   * two entry points contain a task with the same name, the task of the first entry point is used.
+   *
+   * @param file the path of the DSL file
+   * @return the loaded tasks
+   * @throws IllegalArgumentException if the file could not be parsed or interpreted
+   */
+  public static TaskDefinitions load(Path file) {
+    DSLBatchInterpreter.FileResult result = DSLBatchInterpreter.interpretFile(file);
+    if (result.hasErrors()) {
+      List<String> diagnostics = new ArrayList<>(result.diagnostics());
+      result.entryPoints().forEach(entryPoint -> diagnostics.addAll(entryPoint.diagnostics()));
+      throw new IllegalArgumentException(
+          "Could not load tasks from " + file + ": " + String.join(", ", diagnostics));
+    }
+
+    Map<String, Task> tasks = new LinkedHashMap<>();
+    for (DSLBatchInterpreter.EntryPointResult entryPoint : result.entryPoints()) {
+      entryPoint
+          .config()
+          .dependencyGraph()
+          .nodeIterator()
+          .forEachRemaining(node -> tasks.putIfAbsent(node.task().taskName(), node.task()));
+    }
+    return new TaskDefinitions(result.session(), Collections.unmodifiableMap(tasks));
+  }
+
+  /**
+   * Grade all answer sets of the given file.
+   *
+   * <p>Blocks until all lines are graded. Lines, which can not be graded (e.g. an unknown task
+   * name or an invalid index), are reported as diagnostics and skipped.
+   *
+   * @param definitions the tasks to grade the answers for, see {@link #load(Path)}
+   * @param answers the path of the file with the recorded answers
+   * @return the score distribution of each task, which has at least one answer set
+   * @throws IOException if the file can not be read
+   */
+  public Report grade(TaskDefinitions definitions, Path answers) throws IOException {
+    Map<String, Distribution> distributions = new TreeMap<>();
+    List<String> diagnostics = new ArrayList<>();
+    ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+
+    try (BufferedReader reader = Files.newBufferedReader(answers)) {
+      List<String> lines = new ArrayList<>(CHUNK_SIZE);
+      int firstLine = 1;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines.add(line);
+        if (lines.size() == CHUNK_SIZE) {
+          pending.add(submit(definitions, lines, firstLine));
+          firstLine += lines.size();
+          lines = new ArrayList<>(CHUNK_SIZE);
+          // merge in order of submission, so the diagnostics are sorted by line
+          if (pending.size() >= maxPendingChunks) {
+            merge(pending.poll(), distributions, diagnostics);
+          }
+        }
+      }
+      if (!lines.isEmpty()) {
+        pending.add(submit(definitions, lines, firstLine));
+      }
+    } finally {
+      // also wait for the submitted chunks, if reading failed
+      while (!pending.isEmpty()) {
+        merge(pending.poll(), distributions, diagnostics);
+      }
+    }
+
+    Map<String, ScoreDistribution> result = new LinkedHashMap<>();
+    distributions.forEach(
+        (name, distribution) -> result.put(name, distribution.toScoreDistribution(name)));
+    return new Report(Collections.unmodifiableMap(result), List.copyOf(diagnostics));
+  }
+
+  private Future<Chunk> submit(TaskDefinitions definitions, List<String> lines, int firstLine) {
+    // callbacks, which create objects, register them in the session of the definitions
+    TaskSession session = definitions.session();
+    return executor.submit(
+        () -> TaskSession.callIn(session, () -> grade(definitions, lines, firstLine)));
+  }
+
+  private Chunk grade(TaskDefinitions definitions, List<String> lines, int firstLine) {
+    Chunk chunk = new Chunk();
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).strip();
+      if (line.isEmpty() || line.startsWith(COMMENT)) {
+        continue;
+      }
+      try {
+        gradeLine(definitions, line, chunk);
+      } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+        chunk.diagnostics.add("line " + (firstLine + i) + ": " + e.getMessage());
+      }
+    }
+    return chunk;
+  }
+
+  private void gradeLine(TaskDefinitions definitions, String line, Chunk chunk) {
+    int separator = line.indexOf(':');
+    if (separator < 0) {
+      throw new IllegalArgumentException("missing ':' after the task name");
+    }
+    String name = line.substring(0, separator).strip();
+    Task task = definitions.tasks().get(name);
+    if (task == null) {
+      throw new IllegalArgumentException("unknown task '" + name + "'");
+    }
+
+    Set<TaskContent> answers = new HashSet<>();
+    for (String index : line.substring(separator + 1).split(",")) {
+      if (!index.isBlank()) {
+        answers.add(task.contentByIndex(Integer.parseInt(index.strip())));
+      }
+    }
+
+    float score = score(task, answers);
+    chunk.distributions.computeIfAbsent(name, n -> new Distribution()).add(score, task);
+  }
+
+  private float score(Task task, Set<TaskContent> answers) {
+    BiFunction<Task, Set<TaskContent>, Float> scoringFunction = task.scoringFunction();
+    if (scoringFunction instanceof CallbackAdapter) {
+      synchronized (callbackLock) {
+        return scoringFunction.apply(task, answers);
+      }
+    }
+    return scoringFunction.apply(task, answers);
+  }
+
+  private static void merge(
+      Future<Chunk> future, Map<String, Distribution> distributions, List<String> diagnostics) {
+    Chunk chunk;
+    try {
+      chunk = future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      // grade catches the errors of single lines, everything else is a bug of a scoring function
+      throw new RuntimeException(e.getCause());
+    }
+    chunk.distributions.forEach(
+        (name, distribution) ->
+            distributions.computeIfAbsent(name, n -> new Distribution()).merge(distribution));
+    diagnostics.addAll(chunk.diagnostics);
+  }
+
+  /** Stop the worker threads. Chunks, which are already submitted, are still graded. */
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  /**
+   * The tasks of a DSL file.
+   *
+   * @param session the session, which holds all tasks created while interpreting the file
+   * @param tasks the tasks of the dependency graphs of the file, by task name
+   */
+  public record TaskDefinitions(TaskSession session, Map<String, Task> tasks) {}
+
+  /**
+   * The result of grading an answer file.
+   *
+   * @param tasks the score distribution of each graded task, sorted by task name
+   * @param diagnostics the lines, which could not be graded
+   */
+  public record Report(Map<String, ScoreDistribution> tasks, List<String> diagnostics) {}
+
+  /**
+   * The scores reached by the answer sets of a single task.
+   *
+   * @param taskName the name of the task
+   * @param count the number of graded answer sets
+   * @param solved the number of answer sets, which reached the points to solve the task
+   * @param min the lowest score
+   * @param max the highest score
+   * @param mean the mean score
+   * @param histogram the number of answer sets by score, sorted by score
+   */
+  public record ScoreDistribution(
+      String taskName,
+      int count,
+      int solved,
+      float min,
+      float max,
+      double mean,
+      SortedMap<Float, Integer> histogram) {}
+
+  private static final class Chunk {
+    private final Map<String, Distribution> distributions = new HashMap<>();
+    private final List<String> diagnostics = new ArrayList<>();
+  }
+
+  private static final class Distribution {
+    private final TreeMap<Float, Integer> histogram = new TreeMap<>();
+    private int count = 0;
+    private int solved = 0;
+    private double sum = 0;
+
+    private void add(float score, Task task) {
+      histogram.merge(score, 1, Integer::sum);
+      count++;
+      sum += score;
+      if (score >= task.pointsToSolve()) {
+        solved++;
+      }
+    }
+
+    private void merge(Distribution other) {
+      other.histogram.forEach((score, n) -> histogram.merge(score, n, Integer::sum));
+      count += other.count;
+      solved += other.solved;
+      sum += other.sum;
+    }
+
+    private ScoreDistribution toScoreDistribution(String taskName) {
+      return new ScoreDistribution(
+          taskName,
+          count,
+          solved,
+          histogram.firstKey(),
+          histogram.lastKey(),
+          sum / count,
+          Collections.unmodifiableSortedMap(new TreeMap<>(histogram)));
+    }
+  }
+}
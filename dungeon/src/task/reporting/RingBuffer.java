@@ -0,0 +1,74 @@
+package task.reporting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A ring buffer, that keeps the latest added elements.
+ *
+ * <p>The buffer is lock-free: {@link #add(Object)} claims a slot with an atomic counter and
+ * overwrites the oldest element, if the buffer is full. So the game thread never waits for a reader
+ * (e.g. a thread, that exports the elements). Each slot remembers the sequence number of its
+ * element, so {@link #elements()} skips slots, which are overwritten or not written yet while it
+ * reads them.
+ *
+ * @param <E> the type of the elements
+ */
+public final class RingBuffer<E> {
+
+  private final AtomicReferenceArray<Slot<E>> slots;
+  private final AtomicLong next = new AtomicLong();
+
+  /**
+   * Create a new, empty ring buffer.
+   *
+   * @param capacity the number of elements to keep
+   */
+  public RingBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("The capacity must be positive.");
+    }
+    slots = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Add an element, replaces the oldest element if the buffer is full.
+   *
+   * @param element the element to add
+   */
+  public void add(final E element) {
+    long sequence = next.getAndIncrement();
+    slots.set((int) (sequence % slots.length()), new Slot<>(sequence, element));
+  }
+
+  /**
+   * Get the number of elements ever added.
+   *
+   * @return the number of added elements, including the overwritten ones
+   */
+  public long added() {
+    return next.get();
+  }
+
+  /**
+   * Get the elements, which are currently in the buffer.
+   *
+   * @return the elements, the oldest first
+   */
+  public List<E> elements() {
+    long end = next.get();
+    long start = Math.max(0, end - slots.length());
+    List<E> elements = new ArrayList<>((int) (end - start));
+    for (long sequence = start; sequence < end; sequence++) {
+      Slot<E> slot = slots.get((int) (sequence % slots.length()));
+      if (slot != null && slot.sequence == sequence) {
+        elements.add(slot.element);
+      }
+    }
+    return elements;
+  }
+
+  private record Slot<E>(long sequence, E element) {}
+}
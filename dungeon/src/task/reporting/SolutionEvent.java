@@ -0,0 +1,78 @@
+package task.reporting;
+
+import java.util.List;
+import task.Task;
+
+/**
+ * An entry of the {@link SolutionLog}.
+ *
+ * <p>Each event belongs to a task, which is identified by its id and name (the id is only unique
+ * within a {@link task.TaskSession}).
+ */
+public sealed interface SolutionEvent {
+
+  /**
+   * Get the time of the event.
+   *
+   * @return the time in milliseconds since the epoch
+   */
+  long timestamp();
+
+  /**
+   * Get the id of the task.
+   *
+   * @return the id of the task, see {@link Task#id()}
+   */
+  int taskId();
+
+  /**
+   * Get the name of the task.
+   *
+   * @return the name of the task, see {@link Task#taskName()}
+   */
+  String taskName();
+
+  /**
+   * A task changed its state.
+   *
+   * @param timestamp the time in milliseconds since the epoch
+   * @param taskId the id of the task
+   * @param taskName the name of the task
+   * @param from the previous state
+   * @param to the new state
+   */
+  record StateChanged(
+      long timestamp, int taskId, String taskName, Task.TaskState from, Task.TaskState to)
+      implements SolutionEvent {}
+
+  /**
+   * A task was graded.
+   *
+   * @param timestamp the time in milliseconds since the epoch
+   * @param taskId the id of the task
+   * @param taskName the name of the task
+   * @param score the reached points
+   * @param points the points the task is worth
+   * @param pointsToSolve the points needed to solve the task
+   * @param answers the given answers, as strings
+   */
+  record Graded(
+      long timestamp,
+      int taskId,
+      String taskName,
+      float score,
+      float points,
+      float pointsToSolve,
+      List<String> answers)
+      implements SolutionEvent {
+
+    /**
+     * Check if the task was solved.
+     *
+     * @return true, if the score reached the points to solve the task
+     */
+    public boolean solved() {
+      return score >= pointsToSolve;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package task.reporting;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.logging.Logger;
+import task.Task;
+import task.TaskContent;
+
+/**
+ * Writes the {@link SolutionEvent}s of the tasks into a binary file.
+ *
+ * <p>The events are created on the calling (game) thread and handed over to a background thread,
+ * which encodes and writes them. So grading a task does not wait for the disk.
+ *
+ * <p>The file starts with the header {@link #MAGIC} and {@link #VERSION}, followed by one record
+ * per event. A record is the length of its payload (int) and the payload: the kind of the event
+ * (byte), the timestamp (long), the task id (int), the task name and the data of the event kind.
+ * Strings are stored as their length in bytes (int) followed by the UTF-8 bytes. Because of the
+ * length prefix, a reader can skip records of unknown kinds. Use the {@link SolutionLogReader} to
+ * read the file.
+ *
+ * <p>The tasks log into the {@link #shared()} log. It drops all events, until the game opens a
+ * file with {@link #shared(Path)}. So tasks, which are used in tests or tools, do not create files.
+ */
+public final class SolutionLog implements AutoCloseable {
+
+  /** The first four bytes of a solution log file ("DSOL"). */
+  public static final int MAGIC = 0x44534F4C;
+
+  /** The version of the file format. */
+  public static final int VERSION = 1;
+
+  /** The maximum number of events, which wait for the background thread. */
+  public static final int QUEUE_CAPACITY = 4096;
+
+  static final byte STATE_CHANGED = 1;
+  static final byte GRADED = 2;
+
+  private static final Logger LOGGER = Logger.getLogger(SolutionLog.class.getSimpleName());
+  private static SolutionLog shared = new SolutionLog();
+
+  // marks the end of the queue, see close()
+  private final SolutionEvent end = new SolutionEvent.StateChanged(0, -1, "", null, null);
+  private final BlockingQueue<SolutionEvent> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+  private final DataOutputStream out;
+  private final Thread writer;
+  private volatile boolean closed = false;
+
+  /**
+   * Create a new log, that writes into the given file.
+   *
+   * <p>An existing file is overwritten.
+   *
+   * @param file the path of the file
+   * @throws IOException if the file can not be created
+   */
+  public SolutionLog(final Path file) throws IOException {
+    out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    writer = new Thread(this::write, "solution-log-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  // a closed log without a file
+  private SolutionLog() {
+    out = null;
+    writer = null;
+    closed = true;
+  }
+
+  /**
+   * Get the log of the game.
+   *
+   * <p>If no file was opened with {@link #shared(Path)}, the returned log is closed and drops all
+   * events.
+   *
+   * @return the shared log
+   */
+  public static synchronized SolutionLog shared() {
+    return shared;
+  }
+
+  /**
+   * Open a new file in the given directory as the log of the game.
+   *
+   * <p>The file is named after the current time and closed when the JVM shuts down. A previously
+   * opened log is closed. If the file can not be created, the shared log drops all events.
+   *
+   * @param directory the directory of the file, it is created if it does not exist
+   * @return the shared log
+   */
+  public static synchronized SolutionLog shared(final Path directory) {
+    shared.close();
+    String timestamp = new SimpleDateFormat("dd-MM-yyyy'T'HH-mm-ss").format(new Date());
+    try {
+      Files.createDirectories(directory);
+      shared = new SolutionLog(directory.resolve(timestamp + ".dsol"));
+      Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "solution-log-shutdown"));
+    } catch (IOException e) {
+      LOGGER.warning("Could not create the solution log: " + e.getMessage());
+      shared = new SolutionLog();
+    }
+    return shared;
+  }
+
+  /**
+   * Log a state change of a task.
+   *
+   * @param task the task
+   * @param from the previous state
+   * @param to the new state
+   */
+  public void stateChanged(final Task task, final Task.TaskState from, final Task.TaskState to) {
+    append(
+        new SolutionEvent.StateChanged(
+            System.currentTimeMillis(), task.id(), String.valueOf(task.taskName()), from, to));
+  }
+
+  /**
+   * Log the grading of a task.
+   *
+   * @param task the task
+   * @param score the reached points
+   * @param answers the given answers
+   */
+  public void graded(final Task task, float score, final Set<TaskContent> answers) {
+    // the answers are converted here, the contents may change after grading
+    List<String> given = answers.stream().map(String::valueOf).toList();
+    append(
+        new SolutionEvent.Graded(
+            System.currentTimeMillis(),
+            task.id(),
+            String.valueOf(task.taskName()),
+            score,
+            task.points(),
+            task.pointsToSolve(),
+            given));
+  }
+
+  /**
+   * Add an event to the log.
+   *
+   * <p>The event is written by the background thread. Events added after {@link #close()} or
+   * after the background thread stopped because of an error are dropped, as well as events, which
+   * do not fit into the queue (see {@link #QUEUE_CAPACITY}).
+   *
+   * @param event the event to write
+   */
+  public void append(final SolutionEvent event) {
+    if (!closed && !queue.offer(event)) {
+      LOGGER.warning("The solution log is full, an event of task " + event.taskId() + " is lost.");
+    }
+  }
+
+  /**
+   * Write all added events and close the file.
+   *
+   * <p>Blocks until the background thread has written the events.
+   */
+  @Override
+  public void close() {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    try {
+      queue.put(end);
+      writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write() {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    DataOutputStream payload = new DataOutputStream(buffer);
+    try (out) {
+      SolutionEvent event;
+      while ((event = queue.take()) != end) {
+        buffer.reset();
+        try {
+          encode(event, payload);
+        } catch (RuntimeException e) {
+          LOGGER.warning("Skipped an invalid event of task " + event.taskId() + ": " + e);
+          continue;
+        }
+        out.writeInt(buffer.size());
+        buffer.writeTo(out);
+        if (queue.isEmpty()) {
+          out.flush();
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.warning("Could not write the solution log: " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      // nobody takes events anymore, so drop them instead of filling the queue
+      closed = true;
+      queue.clear();
+    }
+  }
+
+  private static void encode(final SolutionEvent event, final DataOutputStream payload)
+      throws IOException {
+    switch (event) {
+      case SolutionEvent.StateChanged state -> {
+        writeHeader(STATE_CHANGED, event, payload);
+        payload.writeByte(state.from().ordinal());
+        payload.writeByte(state.to().ordinal());
+      }
+      case SolutionEvent.Graded graded -> {
+        writeHeader(GRADED, event, payload);
+        payload.writeFloat(graded.score());
+        payload.writeFloat(graded.points());
+        payload.writeFloat(graded.pointsToSolve());
+        payload.writeInt(graded.answers().size());
+        for (String answer : graded.answers()) {
+          writeString(answer, payload);
+        }
+      }
+    }
+  }
+
+  private static void writeHeader(
+      byte kind, final SolutionEvent event, final DataOutputStream payload) throws IOException {
+    payload.writeByte(kind);
+    payload.writeLong(event.timestamp());
+    payload.writeInt(event.taskId());
+    writeString(event.taskName(), payload);
+  }
+
+  private static void writeString(final String string, final DataOutputStream payload)
+      throws IOException {
+    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+    payload.writeInt(bytes.length);
+    payload.write(bytes);
+  }
+}
@@ -0,0 +1,124 @@
+package task.reporting;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import task.Task;
+
+/**
+ * Reads the {@link SolutionEvent}s of a file written by a {@link SolutionLog}.
+ *
+ * <p>Records of unknown kinds (written by a newer version of the game) are skipped. A record, that
+ * was cut off (e.g. because the game crashed while writing), ends the file.
+ */
+public final class SolutionLogReader implements AutoCloseable {
+
+  private static final Task.TaskState[] STATES = Task.TaskState.values();
+
+  private final DataInputStream in;
+
+  /**
+   * Open a solution log file.
+   *
+   * @param file the path of the file
+   * @throws IOException if the file can not be read or is not a solution log
+   */
+  public SolutionLogReader(final Path file) throws IOException {
+    in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    try {
+      if (in.readInt() != SolutionLog.MAGIC) {
+        throw new IOException(file + " is not a solution log");
+      }
+      int version = in.readInt();
+      if (version > SolutionLog.VERSION) {
+        throw new IOException("Unsupported solution log version " + version + " in " + file);
+      }
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Read all events of a solution log file.
+   *
+   * @param file the path of the file
+   * @return the events, in the order they were logged
+   * @throws IOException if the file can not be read or is not a solution log
+   */
+  public static List<SolutionEvent> readAll(final Path file) throws IOException {
+    List<SolutionEvent> events = new ArrayList<>();
+    try (SolutionLogReader reader = new SolutionLogReader(file)) {
+      Optional<SolutionEvent> event;
+      while ((event = reader.next()).isPresent()) {
+        events.add(event.get());
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Read the next event.
+   *
+   * @return the next event, empty at the end of the file
+   * @throws IOException if the file can not be read
+   */
+  public Optional<SolutionEvent> next() throws IOException {
+    while (true) {
+      byte[] record;
+      try {
+        record = new byte[in.readInt()];
+        in.readFully(record);
+      } catch (EOFException e) {
+        return Optional.empty();
+      }
+      DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record));
+      byte kind = payload.readByte();
+      if (kind != SolutionLog.STATE_CHANGED && kind != SolutionLog.GRADED) {
+        continue;
+      }
+      long timestamp = payload.readLong();
+      int taskId = payload.readInt();
+      String taskName = readString(payload);
+      if (kind == SolutionLog.STATE_CHANGED) {
+        return Optional.of(
+            new SolutionEvent.StateChanged(
+                timestamp,
+                taskId,
+                taskName,
+                STATES[payload.readUnsignedByte()],
+                STATES[payload.readUnsignedByte()]));
+      }
+      float score = payload.readFloat();
+      float points = payload.readFloat();
+      float pointsToSolve = payload.readFloat();
+      int count = payload.readInt();
+      List<String> answers = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        answers.add(readString(payload));
+      }
+      return Optional.of(
+          new SolutionEvent.Graded(
+              timestamp, taskId, taskName, score, points, pointsToSolve, List.copyOf(answers)));
+    }
+  }
+
+  private static String readString(final DataInputStream payload) throws IOException {
+    byte[] bytes = new byte[payload.readInt()];
+    payload.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
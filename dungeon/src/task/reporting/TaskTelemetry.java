@@ -0,0 +1,407 @@
+package task.reporting;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import task.Task;
+
+/**
+ * Records how long the tasks take to build and to solve.
+ *
+ * <p>For each task, the telemetry keeps the latest state changes (see {@link
+ * Task#state(Task.TaskState)}) and the latest executions of its scenario builder (see {@link
+ * dsl.interpreter.DSLInterpreter#buildTask(Task)}) in {@link RingBuffer}s, so the recording does
+ * not block the game thread and the memory per task is bounded. The solve time of a task is the
+ * time from its first activation to its first finished state.
+ *
+ * <p>The recorded data can be queried with {@link #stats()}, {@link #slowestToSolve(int)} and
+ * {@link #slowestToBuild(int)}, or exported as JSON with {@link #toJson()}. {@link
+ * #exportPeriodically(Path, Duration)} writes the JSON into a file on a background thread, e.g. for
+ * a dashboard.
+ *
+ * <p>The game records into the {@link #shared()} telemetry.
+ */
+public final class TaskTelemetry {
+
+  /** The number of state changes and builds, which are kept per task. */
+  public static final int DEFAULT_CAPACITY = 64;
+
+  private static final Logger LOGGER = Logger.getLogger(TaskTelemetry.class.getSimpleName());
+  private static final TaskTelemetry SHARED = new TaskTelemetry(DEFAULT_CAPACITY);
+
+  private final int capacity;
+  private final Map<Integer, Trace> traces = new ConcurrentHashMap<>();
+  private ScheduledExecutorService exporter;
+
+  /**
+   * Create a new, empty telemetry.
+   *
+   * @param capacity the number of state changes and builds to keep per task
+   */
+  public TaskTelemetry(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Get the telemetry the game records into.
+   *
+   * @return the shared telemetry
+   */
+  public static TaskTelemetry shared() {
+    return SHARED;
+  }
+
+  /**
+   * Record a state change of a task.
+   *
+   * @param task the task
+   * @param from the previous state
+   * @param to the new state
+   */
+  public void stateChanged(final Task task, final Task.TaskState from, final Task.TaskState to) {
+    Trace trace = trace(task);
+    long now = System.currentTimeMillis();
+    trace.transitions.add(new Transition(now, from, to));
+    trace.state = to;
+    if (trace.activated < 0
+        && (to == Task.TaskState.ACTIVE || to == Task.TaskState.PROCESSING_ACTIVE)) {
+      trace.activated = now;
+    }
+    if (trace.finished < 0
+        && (to == Task.TaskState.FINISHED_CORRECT || to == Task.TaskState.FINISHED_WRONG)) {
+      trace.finished = now;
+    }
+  }
+
+  /**
+   * Record an execution of the scenario builder of a task.
+   *
+   * @param task the task
+   * @param durationNanos the execution time of the scenario builder in nanoseconds
+   * @param entityCount the number of entities created by the scenario builder
+   */
+  public void built(final Task task, long durationNanos, int entityCount) {
+    trace(task).builds.add(new Build(System.currentTimeMillis(), durationNanos, entityCount));
+  }
+
+  /**
+   * Count the entities in the result of a scenario builder.
+   *
+   * @param result the result, usually a set of sets of entities
+   * @return the number of elements in the nested collections, 0 if the result is no collection
+   */
+  public static int entityCount(final Object result) {
+    if (!(result instanceof Collection<?> collection)) return 0;
+    int count = 0;
+    for (Object element : collection) {
+      count += element instanceof Collection<?> inner ? inner.size() : 1;
+    }
+    return count;
+  }
+
+  /**
+   * Get the recorded data of a task.
+   *
+   * @param taskId the id of the task
+   * @return the recorded data, empty if nothing was recorded for the task
+   */
+  public Optional<TaskStats> stats(int taskId) {
+    return Optional.ofNullable(traces.get(taskId)).map(Trace::stats);
+  }
+
+  /**
+   * Get the recorded data of all tasks.
+   *
+   * @return the recorded data, ordered by task id
+   */
+  public List<TaskStats> stats() {
+    List<TaskStats> stats = new ArrayList<>(traces.size());
+    for (Trace trace : traces.values()) {
+      stats.add(trace.stats());
+    }
+    stats.sort(Comparator.comparingInt(TaskStats::taskId));
+    return stats;
+  }
+
+  /**
+   * Get the solved tasks, which took the longest time to solve.
+   *
+   * @param limit the maximum number of tasks
+   * @return the tasks, the slowest first
+   */
+  public List<TaskStats> slowestToSolve(int limit) {
+    List<TaskStats> stats = new ArrayList<>();
+    for (TaskStats task : stats()) {
+      if (task.solveTimeMillis().isPresent()) stats.add(task);
+    }
+    stats.sort(
+        Comparator.comparingLong((TaskStats task) -> task.solveTimeMillis().getAsLong())
+            .reversed());
+    return stats.subList(0, Math.min(limit, stats.size()));
+  }
+
+  /**
+   * Get the tasks, whose scenario builders took the longest time.
+   *
+   * @param limit the maximum number of tasks
+   * @return the tasks with at least one build, the slowest (by the longest build) first
+   */
+  public List<TaskStats> slowestToBuild(int limit) {
+    List<TaskStats> stats = new ArrayList<>();
+    for (TaskStats task : stats()) {
+      if (!task.builds().isEmpty()) stats.add(task);
+    }
+    stats.sort(Comparator.comparingLong(TaskStats::maxBuildNanos).reversed());
+    return stats.subList(0, Math.min(limit, stats.size()));
+  }
+
+  /** Remove all recorded data. */
+  public void clear() {
+    traces.clear();
+  }
+
+  /**
+   * Export the recorded data as JSON.
+   *
+   * <p>The JSON object contains the export time ({@code exported}, in milliseconds since the epoch)
+   * and an array {@code tasks} with one object per task: its {@code id}, {@code name}, current
+   * {@code state}, {@code solveTimeMillis} ({@code null} if not solved), the latest {@code builds}
+   * and the latest {@code transitions}.
+   *
+   * @return the JSON text
+   */
+  public String toJson() {
+    StringBuilder json = new StringBuilder();
+    json.append("{\"exported\":").append(System.currentTimeMillis()).append(",\"tasks\":[");
+    List<TaskStats> stats = stats();
+    for (int i = 0; i < stats.size(); i++) {
+      if (i > 0) json.append(',');
+      appendJson(stats.get(i), json);
+    }
+    return json.append("]}").toString();
+  }
+
+  /**
+   * Write the JSON export into a file.
+   *
+   * <p>The file is replaced atomically, so a reader never sees a partly written file. Missing
+   * directories are created.
+   *
+   * @param file the path of the file
+   * @throws IOException if the file can not be written
+   */
+  public void exportTo(final Path file) throws IOException {
+    Path absolute = file.toAbsolutePath();
+    Files.createDirectories(absolute.getParent());
+    Path temp = Files.createTempFile(absolute.getParent(), "telemetry", ".tmp");
+    try {
+      Files.writeString(temp, toJson(), StandardCharsets.UTF_8);
+      Files.move(
+          temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Write the JSON export into a file periodically, on a background thread.
+   *
+   * <p>Replaces a previously started export.
+   *
+   * @param file the path of the file
+   * @param interval the time between two exports
+   */
+  public synchronized void exportPeriodically(final Path file, final Duration interval) {
+    stopExport();
+    exporter =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "task-telemetry-export");
+              thread.setDaemon(true);
+              return thread;
+            });
+    exporter.scheduleWithFixedDelay(
+        () -> {
+          try {
+            exportTo(file);
+          } catch (IOException e) {
+            LOGGER.warning("Could not export the task telemetry: " + e.getMessage());
+          }
+        },
+        interval.toMillis(),
+        interval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Stop the periodic export, if started. */
+  public synchronized void stopExport() {
+    if (exporter != null) {
+      exporter.shutdownNow();
+      exporter = null;
+    }
+  }
+
+  private Trace trace(final Task task) {
+    Trace trace = traces.computeIfAbsent(task.id(), id -> new Trace(id, capacity));
+    trace.taskName = task.taskName();
+    return trace;
+  }
+
+  private static void appendJson(final TaskStats task, final StringBuilder json) {
+    json.append("{\"id\":").append(task.taskId()).append(",\"name\":");
+    appendString(task.taskName(), json);
+    json.append(",\"state\":");
+    appendString(task.state() == null ? null : task.state().name(), json);
+    json.append(",\"solveTimeMillis\":");
+    if (task.solveTimeMillis().isPresent()) {
+      json.append(task.solveTimeMillis().getAsLong());
+    } else {
+      json.append("null");
+    }
+    json.append(",\"builds\":[");
+    for (int i = 0; i < task.builds().size(); i++) {
+      Build build = task.builds().get(i);
+      if (i > 0) json.append(',');
+      json.append("{\"timestamp\":")
+          .append(build.timestamp())
+          .append(",\"durationNanos\":")
+          .append(build.durationNanos())
+          .append(",\"entities\":")
+          .append(build.entityCount())
+          .append('}');
+    }
+    json.append("],\"transitions\":[");
+    for (int i = 0; i < task.transitions().size(); i++) {
+      Transition transition = task.transitions().get(i);
+      if (i > 0) json.append(',');
+      json.append("{\"timestamp\":").append(transition.timestamp()).append(",\"from\":");
+      appendString(transition.from() == null ? null : transition.from().name(), json);
+      json.append(",\"to\":");
+      appendString(transition.to().name(), json);
+      json.append('}');
+    }
+    json.append("]}");
+  }
+
+  private static void appendString(final String value, final StringBuilder json) {
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> json.append("\\\"");
+        case '\\' -> json.append("\\\\");
+        case '\n' -> json.append("\\n");
+        case '\r' -> json.append("\\r");
+        case '\t' -> json.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            json.append(String.format("\\u%04x", (int) c));
+          } else {
+            json.append(c);
+          }
+        }
+      }
+    }
+    json.append('"');
+  }
+
+  /**
+   * A state change of a task.
+   *
+   * @param timestamp the time of the change, in milliseconds since the epoch
+   * @param from the previous state
+   * @param to the new state
+   */
+  public record Transition(long timestamp, Task.TaskState from, Task.TaskState to) {}
+
+  /**
+   * An execution of the scenario builder of a task.
+   *
+   * @param timestamp the end of the execution, in milliseconds since the epoch
+   * @param durationNanos the execution time in nanoseconds
+   * @param entityCount the number of created entities
+   */
+  public record Build(long timestamp, long durationNanos, int entityCount) {}
+
+  /**
+   * The recorded data of a task.
+   *
+   * @param taskId the id of the task
+   * @param taskName the name of the task
+   * @param state the latest recorded state, null if no state change was recorded
+   * @param solveTimeMillis the time from the first activation to the first finished state
+   * @param builds the latest builds, the oldest first
+   * @param transitions the latest state changes, the oldest first
+   */
+  public record TaskStats(
+      int taskId,
+      String taskName,
+      Task.TaskState state,
+      OptionalLong solveTimeMillis,
+      List<Build> builds,
+      List<Transition> transitions) {
+
+    /**
+     * Get the longest execution time of the scenario builder.
+     *
+     * @return the longest execution time of the latest builds in nanoseconds, 0 if there are none
+     */
+    public long maxBuildNanos() {
+      long max = 0;
+      for (Build build : builds) {
+        max = Math.max(max, build.durationNanos());
+      }
+      return max;
+    }
+  }
+
+  // the mutable data of one task, written by the game thread and read by the exporter
+  private static final class Trace {
+    private final int taskId;
+    private final RingBuffer<Transition> transitions;
+    private final RingBuffer<Build> builds;
+    private volatile String taskName;
+    private volatile Task.TaskState state;
+    private volatile long activated = -1;
+    private volatile long finished = -1;
+
+    private Trace(int taskId, int capacity) {
+      this.taskId = taskId;
+      this.transitions = new RingBuffer<>(capacity);
+      this.builds = new RingBuffer<>(capacity);
+    }
+
+    private TaskStats stats() {
+      long start = activated;
+      long end = finished;
+      OptionalLong solveTime =
+          start >= 0 && end >= start ? OptionalLong.of(end - start) : OptionalLong.empty();
+      return new TaskStats(
+          taskId,
+          taskName,
+          state,
+          solveTime,
+          List.copyOf(builds.elements()),
+          List.copyOf(transitions.elements()));
+    }
+  }
+}
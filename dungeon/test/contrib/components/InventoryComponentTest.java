@@ -8,6 +8,7 @@ import core.Game;
 import core.utils.components.draw.Animation;
 import core.utils.components.path.SimpleIPath;
 import java.util.Arrays;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -218,4 +219,69 @@ public class InventoryComponentTest {
     assertFalse(ic.transfer(item, ic));
     assertTrue(Arrays.asList(ic.items()).contains(item));
   }
+
+  /** The queries by class see the changes of the inventory. */
+  @Test
+  public void queriesByClass() {
+    InventoryComponent ic = new InventoryComponent(3);
+    Item item =
+        new Item("Test item", "Test description", Animation.fromSingleImage(MISSING_TEXTURE));
+    OtherItem other = new OtherItem();
+    ic.add(item);
+    assertFalse(ic.hasItem(OtherItem.class));
+    assertEquals(1, ic.count(Item.class));
+
+    ic.add(other);
+    assertTrue(ic.hasItem(OtherItem.class));
+    assertTrue(ic.hasItem(other));
+    assertEquals(2, ic.count(Item.class));
+    assertEquals(Set.of(other), ic.items(OtherItem.class));
+
+    ic.set(1, null);
+    assertFalse(ic.hasItem(OtherItem.class));
+    assertFalse(ic.hasItem(other));
+    assertEquals(1, ic.count());
+    assertTrue(ic.add(other));
+    assertEquals(1, ic.count(OtherItem.class));
+  }
+
+  /** All items of a class are transferred, as long as the other inventory has space. */
+  @Test
+  public void transferAll() {
+    InventoryComponent ic = new InventoryComponent(4);
+    InventoryComponent target = new InventoryComponent(2);
+    Item item =
+        new Item("Test item", "Test description", Animation.fromSingleImage(MISSING_TEXTURE));
+    ic.add(new OtherItem());
+    ic.add(item);
+    ic.add(new OtherItem());
+    ic.add(new OtherItem());
+
+    assertEquals(2, ic.transferAll(OtherItem.class, target));
+    assertEquals(2, target.count(OtherItem.class));
+    assertEquals(1, ic.count(OtherItem.class));
+    assertTrue(ic.hasItem(item));
+    assertEquals(0, ic.transferAll(OtherItem.class, ic));
+  }
+
+  /** Only the items of the class, which match the filter, are removed. */
+  @Test
+  public void removeIf() {
+    InventoryComponent ic = new InventoryComponent(3);
+    OtherItem keep = new OtherItem();
+    ic.add(new OtherItem());
+    ic.add(keep);
+    ic.add(new Item("Test item", "Test description", Animation.fromSingleImage(MISSING_TEXTURE)));
+
+    assertEquals(1, ic.removeIf(OtherItem.class, item -> item != keep));
+    assertEquals(2, ic.count());
+    assertTrue(ic.hasItem(keep));
+    assertNull(ic.get(0));
+  }
+
+  private static class OtherItem extends Item {
+    OtherItem() {
+      super("Other item", "Other description", Animation.fromSingleImage(MISSING_TEXTURE));
+    }
+  }
 }
@@ -6,6 +6,7 @@ import contrib.item.HealthPotionType;
 import contrib.item.Item;
 import contrib.item.concreteItem.ItemPotionHealth;
 import contrib.item.concreteItem.ItemPotionWater;
+import contrib.item.concreteItem.ItemResourceBerry;
 import contrib.item.concreteItem.ItemResourceMushroomRed;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -121,4 +122,81 @@ public class CraftingTest {
     // Cleanup
     Crafting.clearRecipes();
   }
+
+  /**
+   * Unordered recipes match like {@link Recipe#canCraft}: each ingredient needs a matching input,
+   * the number of inputs has to fit.
+   */
+  @Test
+  public void testRecipeUnorderedQuantity() {
+    CraftingIngredient[] recipeIngredient = {
+      new ItemPotionWater(), new ItemResourceMushroomRed(), new ItemResourceMushroomRed(),
+    };
+    CraftingResult[] recipeResults = {new ItemPotionHealth(HealthPotionType.NORMAL)};
+    Recipe recipe = new Recipe(false, recipeIngredient, recipeResults);
+    Crafting.addRecipe(recipe);
+
+    CraftingIngredient[] ingredients = {
+      new ItemPotionWater(), new ItemPotionWater(), new ItemResourceMushroomRed(),
+    };
+    assertTrue(recipe.canCraft(ingredients));
+    assertEquals(Optional.of(recipe), Crafting.recipeByIngredients(ingredients));
+
+    CraftingIngredient[] unknown = {
+      new ItemPotionWater(), new ItemResourceMushroomRed(), new ItemResourceBerry(),
+    };
+    assertEquals(Optional.of(recipe), Crafting.recipeByIngredients(unknown));
+
+    CraftingIngredient[] missing = {
+      new ItemPotionWater(), new ItemResourceBerry(), new ItemResourceBerry(),
+    };
+    assertTrue(Crafting.recipeByIngredients(missing).isEmpty());
+    CraftingIngredient[] tooFew = {new ItemPotionWater(), new ItemResourceMushroomRed()};
+    assertTrue(Crafting.recipeByIngredients(tooFew).isEmpty());
+
+    // Cleanup, also removes the recipe from the index
+    Crafting.clearRecipes();
+    CraftingIngredient[] matching = {
+      new ItemResourceMushroomRed(), new ItemPotionWater(), new ItemResourceMushroomRed(),
+    };
+    assertTrue(Crafting.recipeByIngredients(matching).isEmpty());
+  }
+
+  /** An input matches an ingredient of one of its super classes. */
+  @Test
+  public void testRecipeWithSubclassInput() {
+    CraftingIngredient[] recipeIngredient = {new ItemResourceBerry(), new ItemPotionWater()};
+    CraftingResult[] recipeResults = {new ItemPotionHealth(HealthPotionType.NORMAL)};
+    Recipe recipe = new Recipe(false, recipeIngredient, recipeResults);
+    Crafting.addRecipe(recipe);
+
+    CraftingIngredient[] ingredients = {new ItemPotionWater(), new SpecialBerry()};
+    assertEquals(Optional.of(recipe), Crafting.recipeByIngredients(ingredients));
+
+    // Cleanup
+    Crafting.clearRecipes();
+  }
+
+  /** An input of a subclass also matches a base class recipe, if the subclass has own recipes. */
+  @Test
+  public void testRecipeWithSubclassInput_subclassRecipe() {
+    CraftingIngredient[] baseIngredients = {new ItemResourceBerry(), new ItemPotionWater()};
+    CraftingResult[] baseResults = {new ItemPotionHealth(HealthPotionType.NORMAL)};
+    Recipe baseRecipe = new Recipe(true, baseIngredients, baseResults);
+    Crafting.addRecipe(baseRecipe);
+    CraftingIngredient[] subIngredients = {new SpecialBerry(), new SpecialBerry()};
+    CraftingResult[] subResults = {new ItemPotionHealth(HealthPotionType.GREATER)};
+    Recipe subRecipe = new Recipe(true, subIngredients, subResults);
+    Crafting.addRecipe(subRecipe);
+
+    CraftingIngredient[] ingredients = {new SpecialBerry(), new ItemPotionWater()};
+    assertEquals(Optional.of(baseRecipe), Crafting.recipeByIngredients(ingredients));
+    CraftingIngredient[] subInputs = {new SpecialBerry(), new SpecialBerry()};
+    assertEquals(Optional.of(subRecipe), Crafting.recipeByIngredients(subInputs));
+
+    // Cleanup
+    Crafting.clearRecipes();
+  }
+
+  private static class SpecialBerry extends ItemResourceBerry {}
 }
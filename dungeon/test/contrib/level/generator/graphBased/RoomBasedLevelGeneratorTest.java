@@ -0,0 +1,49 @@
+package contrib.level.generator.graphBased;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import contrib.level.generator.graphBased.levelGraph.LevelGraph;
+import contrib.level.generator.graphBased.levelGraph.LevelNode;
+import core.level.elements.ILevel;
+import core.level.elements.tile.DoorTile;
+import core.level.utils.DesignLabel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link RoomBasedLevelGenerator}. */
+public class RoomBasedLevelGeneratorTest {
+
+  /** The rooms are generated, when a neighbouring room is loaded for the first time. */
+  @Test
+  public void level_generatesRoomsOnDemand() {
+    LevelGraph graph = LevelGraphGenerator.generate(6);
+    LevelNode root = graph.root();
+
+    ILevel level = RoomBasedLevelGenerator.level(graph, DesignLabel.DEFAULT);
+
+    assertSame(root.level(), level);
+    assertTrue(graph.nodes().stream().filter(LevelNode::hasLevel).allMatch(n -> n == root));
+    for (DoorTile door : level.doorTiles()) {
+      assertNotNull(door.doorstep());
+    }
+
+    level.onLoad();
+
+    List<LevelNode> neighbours =
+        Arrays.stream(root.neighbours()).filter(Objects::nonNull).toList();
+    assertFalse(neighbours.isEmpty());
+    for (LevelNode neighbour : neighbours) {
+      assertTrue(neighbour.hasLevel());
+    }
+    // each door of the loaded room leads to a door back into it
+    for (DoorTile door : level.doorTiles()) {
+      assertNotNull(door.otherDoor());
+      assertSame(door, door.otherDoor().otherDoor());
+    }
+  }
+}
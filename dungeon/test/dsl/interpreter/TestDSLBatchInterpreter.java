@@ -0,0 +1,107 @@
+package dsl.interpreter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import task.Task;
+
+/** Tests for the {@link DSLBatchInterpreter}. */
+public class TestDSLBatchInterpreter {
+
+  private static String program(String description) {
+    return """
+        single_choice_task t1 {
+            description: "%s",
+            answers: ["1", "2", "3"],
+            correct_answer_index: 2
+        }
+
+        graph tdg {
+            t1
+        }
+
+        dungeon_config c {
+            dependency_graph: tdg
+        }
+        """
+        .formatted(description);
+  }
+
+  private static Path write(String content) throws IOException {
+    Path file = Files.createTempFile("batch", ".dng");
+    Files.writeString(file, content);
+    return file;
+  }
+
+  /** Each file is interpreted in its own task session, the results keep the order of the files. */
+  @Test
+  public void testInterpretFilesInIsolatedSessions() throws IOException {
+    List<Path> files = new ArrayList<>();
+    List<DSLBatchInterpreter.FileResult> results;
+    Set<Task> tasksOfCallingThread = Task.allTasks().collect(Collectors.toSet());
+    try {
+      files.add(write(program("Task1")));
+      files.add(write(program("Task2")));
+      files.add(write(program("Task1")));
+      try (DSLBatchInterpreter batch = new DSLBatchInterpreter(2)) {
+        results = batch.interpret(files);
+      }
+    } finally {
+      for (Path file : files) {
+        Files.delete(file);
+      }
+    }
+
+    assertEquals(3, results.size());
+    for (int i = 0; i < files.size(); i++) {
+      var result = results.get(i);
+      assertEquals(files.get(i), result.file());
+      assertFalse(result.hasErrors(), result.toString());
+      assertEquals(1, result.entryPoints().size());
+      assertNotNull(result.entryPoints().get(0).config());
+    }
+
+    var secondConfig = results.get(1).entryPoints().get(0).config();
+    assertEquals("Task2", secondConfig.dependencyGraph().nodeIterator().next().task().taskText());
+
+    // the same program interpreted twice creates the same tasks in different sessions
+    var first = results.get(0);
+    var third = results.get(2);
+    assertNotSame(first.session(), third.session());
+    Set<Integer> firstIds = first.session().tasks().map(Task::id).collect(Collectors.toSet());
+    Set<Integer> thirdIds = third.session().tasks().map(Task::id).collect(Collectors.toSet());
+    assertTrue(firstIds.contains(0));
+    assertEquals(firstIds, thirdIds);
+
+    // no task was registered in the session of the calling thread
+    assertEquals(tasksOfCallingThread, Task.allTasks().collect(Collectors.toSet()));
+  }
+
+  /** Syntax errors are reported as diagnostics of the file. */
+  @Test
+  public void testSyntaxErrorDiagnostics() throws IOException {
+    Path file = write("dungeon_config c { dependency_graph: }}");
+
+    DSLBatchInterpreter.FileResult result;
+    try {
+      result = DSLBatchInterpreter.interpretFile(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    assertTrue(result.hasErrors());
+    assertFalse(result.diagnostics().isEmpty());
+    assertTrue(result.entryPoints().isEmpty());
+  }
+}
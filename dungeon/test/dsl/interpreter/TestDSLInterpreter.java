@@ -27,6 +27,7 @@ import dsl.semanticanalysis.typesystem.typebuilding.type.IType;
 import dsl.semanticanalysis.typesystem.typebuilding.type.ListType;
 import dslinterop.dslnativefunction.NativeInstantiate;
 import entrypoint.DungeonConfig;
+import entrypoint.ParsedFile;
 import graph.taskdependencygraph.TaskDependencyGraph;
 import graph.taskdependencygraph.TaskEdge;
 import graph.taskdependencygraph.TaskNode;
@@ -35,7 +36,9 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -3089,6 +3092,326 @@ public class TestDSLInterpreter {
     assertTrue(returnValue);
   }
 
+  /** Repeated calls of a compiled callback start with a fresh frame each time. */
+  @Test
+  public void testRepeatedCompiledCallback() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn depth(int n) -> int {
+                    if n <= 0 {
+                        return 0;
+                    }
+                    return 1 + depth(n - 1);
+                }
+
+                fn func(entity ent) -> bool {
+                    var x : int;
+                    x = x + depth(3);
+                    print(x);
+                    return x == 3;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    var outputStream = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outputStream));
+
+    TestEnvironment env = new TestEnvironment();
+    DSLInterpreter interpreter = new DSLInterpreter();
+    env.getTypeBuilder().createDSLTypeForJavaTypeInScope(env.getGlobalScope(), Entity.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(
+            env.getGlobalScope(), TestComponentWithFunctionCallback.class);
+
+    var config =
+        (CustomQuestConfig) Helpers.generateQuestConfigWithCustomTypes(program, env, interpreter);
+
+    var globalScope = interpreter.getRuntimeEnvironment().getGlobalScope();
+    assertNotNull(interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("func")));
+
+    var entity = config.entity();
+    TestComponentWithFunctionCallback component =
+        (TestComponentWithFunctionCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentWithFunctionCallback)
+                .toList()
+                .get(0);
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(component.getOnInteraction().apply(entity));
+    }
+    assertEquals(String.join(System.lineSeparator(), "3", "3", "3", ""), outputStream.toString());
+  }
+
+  /** Callbacks of existing objects execute the new function after a reload. */
+  @Test
+  public void testReloadDefinitions() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn func(entity ent) -> bool {
+                    print("old");
+                    return false;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+    String changedProgram =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn message() -> string {
+                    return "new";
+                }
+
+                fn func(entity ent) -> bool {
+                    print(message());
+                    return true;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    var outputStream = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outputStream));
+
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var config =
+        (CustomQuestConfig)
+            Helpers.generateQuestConfigWithCustomTypes(
+                program,
+                new TestEnvironment(),
+                interpreter,
+                Entity.class,
+                TestComponentWithFunctionCallback.class);
+
+    var entity = config.entity();
+    TestComponentWithFunctionCallback component =
+        (TestComponentWithFunctionCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentWithFunctionCallback)
+                .toList()
+                .get(0);
+    assertFalse(component.getOnInteraction().apply(entity));
+
+    TestEnvironment changedEnvironment = new TestEnvironment();
+    for (Class<?> clazz : List.of(Entity.class, TestComponentWithFunctionCallback.class)) {
+      changedEnvironment.loadTypes(
+          changedEnvironment
+              .getTypeBuilder()
+              .createDSLTypeForJavaTypeInScope(changedEnvironment.getGlobalScope(), clazz));
+    }
+    var result =
+        interpreter.reloadDefinitions(
+            new ParsedFile(Path.of("changed.dng"), Helpers.getASTFromString(changedProgram)),
+            changedEnvironment);
+
+    assertTrue(result.isEmpty());
+    assertTrue(component.getOnInteraction().apply(entity));
+    assertEquals(String.join(System.lineSeparator(), "old", "new", ""), outputStream.toString());
+  }
+
+  /** An endless loop in a compiled callback is aborted by the step limit. */
+  @Test
+  public void testStepLimitAbortsCallback() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn func(entity ent) -> bool {
+                    var i : int;
+                    while true {
+                        i = i + 1;
+                    }
+                    return true;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var config =
+        (CustomQuestConfig)
+            Helpers.generateQuestConfigWithCustomTypes(
+                program,
+                new TestEnvironment(),
+                interpreter,
+                Entity.class,
+                TestComponentWithFunctionCallback.class);
+    interpreter.setStepLimit(1000);
+
+    var globalScope = interpreter.getRuntimeEnvironment().getGlobalScope();
+    assertNotNull(interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("func")));
+
+    var entity = config.entity();
+    TestComponentWithFunctionCallback component =
+        (TestComponentWithFunctionCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentWithFunctionCallback)
+                .toList()
+                .get(0);
+
+    // each call gets a new budget, the abort is reported to the caller
+    var callback = component.getOnInteraction();
+    assertThrows(ExecutionLimitException.class, () -> callback.apply(entity));
+    assertThrows(ExecutionLimitException.class, () -> callback.apply(entity));
+  }
+
+  /** An endless recursion in a callback is aborted by the call depth limit. */
+  @Test
+  public void testCallDepthLimitAbortsCallback() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn recurse(int n) -> int {
+                    return recurse(n + 1);
+                }
+
+                fn func(entity ent) -> bool {
+                    return recurse(0) == 0;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var config =
+        (CustomQuestConfig)
+            Helpers.generateQuestConfigWithCustomTypes(
+                program,
+                new TestEnvironment(),
+                interpreter,
+                Entity.class,
+                TestComponentWithFunctionCallback.class);
+    interpreter.setCallDepthLimit(32);
+
+    var entity = config.entity();
+    TestComponentWithFunctionCallback component =
+        (TestComponentWithFunctionCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentWithFunctionCallback)
+                .toList()
+                .get(0);
+
+    var callback = component.getOnInteraction();
+    assertThrows(ExecutionLimitException.class, () -> callback.apply(entity));
+    // the aborted calls left nothing on the memory stack
+    assertEquals(interpreter.getGlobalMemorySpace(), interpreter.getCurrentMemorySpace());
+  }
+
+  /**
+   * Without a fixed call depth limit, an endless recursion is aborted at the overflow of the stack,
+   * which sets the limit.
+   */
+  @Test
+  public void testStackOverflowSetsCallDepthLimit() {
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var entity = recursionEntity(interpreter, "return recurse(n + 1);");
+    var callback = callback(entity);
+
+    assertEquals(Integer.MAX_VALUE, interpreter.getCallDepthLimit());
+    var overflow = assertThrows(ExecutionLimitException.class, () -> callback.apply(entity));
+    assertInstanceOf(StackOverflowError.class, overflow.getCause());
+    int measuredLimit = interpreter.getCallDepthLimit();
+    assertTrue(measuredLimit < Integer.MAX_VALUE);
+
+    // the next recursion is aborted by the measured limit
+    var limit = assertThrows(ExecutionLimitException.class, () -> callback.apply(entity));
+    assertNull(limit.getCause());
+    assertEquals(measuredLimit, interpreter.getCallDepthLimit());
+    assertEquals(interpreter.getGlobalMemorySpace(), interpreter.getCurrentMemorySpace());
+  }
+
+  /** A deep, but finite recursion is not aborted. */
+  @Test
+  public void testDeepRecursionIsNotAborted() {
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var entity =
+        recursionEntity(
+            interpreter, "if n >= 1000 { return 0; } return recurse(n + 1);");
+
+    // deeper than any fixed limit of a few hundred calls
+    assertTrue(callback(entity).apply(entity));
+    assertEquals(Integer.MAX_VALUE, interpreter.getCallDepthLimit());
+  }
+
+  private static Entity recursionEntity(DSLInterpreter interpreter, String recursion) {
+    String program =
+        """
+                entity_type my_type {
+                    test_component_with_function_callback {
+                        on_interaction: func
+                    }
+                }
+
+                fn recurse(int n) -> int {
+                    %s
+                }
+
+                fn func(entity ent) -> bool {
+                    return recurse(0) == 0;
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """
+            .formatted(recursion);
+
+    var config =
+        (CustomQuestConfig)
+            Helpers.generateQuestConfigWithCustomTypes(
+                program,
+                new TestEnvironment(),
+                interpreter,
+                Entity.class,
+                TestComponentWithFunctionCallback.class);
+    return config.entity();
+  }
+
+  private static Function<Entity, Boolean> callback(Entity entity) {
+    return entity.components.stream()
+        .filter(c -> c instanceof TestComponentWithFunctionCallback)
+        .map(c -> ((TestComponentWithFunctionCallback) c).getOnInteraction())
+        .findFirst()
+        .orElseThrow();
+  }
+
   /** WTF? . */
   @Test
   public void testCollisionCallback() {
@@ -3429,6 +3752,180 @@ public class TestDSLInterpreter {
         output);
   }
 
+  /** Return from inside a loop of a compiled function, which is called by another function. */
+  @Test
+  public void testCompiledFunctionReturnFromLoop() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component1 {},
+                    test_component_with_callback {
+                        consumer: func
+                    }
+                }
+
+                fn first_entry(int[] list) -> int {
+                    for int entry in list count i {
+                        print(i);
+                        return entry;
+                    }
+                    return 42;
+                }
+
+                fn func(entity ent) {
+                    var my_list : int[];
+                    my_list.add(3);
+                    my_list.add(4);
+                    var entry : int;
+                    entry = first_entry(my_list);
+                    print(entry);
+
+                    var empty_list : int[];
+                    print(first_entry(empty_list));
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    // print currently just prints to system.out, so we need to
+    // check the contents for the printed string
+    var outputStream = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outputStream));
+
+    TestEnvironment env = new TestEnvironment();
+    DSLInterpreter interpreter = new DSLInterpreter();
+    env.getTypeBuilder().createDSLTypeForJavaTypeInScope(env.getGlobalScope(), Entity.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(
+            env.getGlobalScope(), TestComponentEntityConsumerCallback.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(env.getGlobalScope(), TestComponent1.class);
+
+    var config =
+        (CustomQuestConfig) Helpers.generateQuestConfigWithCustomTypes(program, env, interpreter);
+
+    var globalScope = interpreter.getRuntimeEnvironment().getGlobalScope();
+    assertNotNull(interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("func")));
+    assertNotNull(
+        interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("first_entry")));
+
+    var entity = config.entity();
+
+    TestComponentEntityConsumerCallback componentWithConsumer =
+        (TestComponentEntityConsumerCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentEntityConsumerCallback)
+                .toList()
+                .get(0);
+
+    componentWithConsumer.consumer.accept(entity);
+
+    String output = outputStream.toString();
+    assertEquals(
+        "0" + System.lineSeparator() + "3" + System.lineSeparator() + "42" + System.lineSeparator(),
+        output);
+  }
+
+  /** Operators in the property values of an object definition are evaluated by the interpreter. */
+  @Test
+  public void testOperatorsInPropertyDefinition() {
+    String program =
+        """
+                quest_config c {
+                    int_list: [1 + 2 * 3, (1 + 2) * 3, 7 / 2, -4 - 1, 10 - 2 - 3],
+                    float_set: <1.5 * 2.0, 1 + 0.5, 1 / 4.0>,
+                    string_list: ["a" + 1, "b" + true],
+                    string_set: <"" + (1 < 2), "" + (2 <= 1 or !false), "" + (3 == 3.0 and 1 != 1)>
+                }
+                """;
+
+    TestEnvironment env = new TestEnvironment();
+    DSLInterpreter interpreter = new DSLInterpreter();
+    var config =
+        (CustomQuestConfig) Helpers.generateQuestConfigWithCustomTypes(program, env, interpreter);
+
+    assertEquals(List.of(7, 9, 3, -5, 5), config.intList());
+    assertEquals(Set.of(3.0f, 1.5f, 0.25f), config.floatSet());
+    assertEquals(List.of("a1", "btrue"), config.stringList());
+    assertEquals(Set.of("true", "false"), config.stringSet());
+  }
+
+  /** Operators in a compiled function compute the same results as the interpreter. */
+  @Test
+  public void testOperatorsInCompiledFunction() {
+    String program =
+        """
+                entity_type my_type {
+                    test_component1 {},
+                    test_component_with_callback {
+                        consumer: func
+                    }
+                }
+
+                fn fib(int n) -> int {
+                    if n < 2 {
+                        return n;
+                    }
+                    return fib(n - 1) + fib(n - 2);
+                }
+
+                fn func(entity ent) {
+                    var i : int;
+                    var sum : float;
+                    while i < 5 and !(i == 3) {
+                        sum = sum + i / 2.0;
+                        i = i + 1;
+                    }
+                    print(i);
+                    print(sum);
+                    print(fib(10));
+                    print(-(7 / 2) * 3);
+                    print("n=" + i);
+                    if sum >= 1.5 or fib(-1) > 0 {
+                        print(true);
+                    }
+                }
+
+                quest_config c {
+                    entity: instantiate(my_type)
+                }
+                """;
+
+    var outputStream = new ByteArrayOutputStream();
+    System.setOut(new PrintStream(outputStream));
+
+    TestEnvironment env = new TestEnvironment();
+    DSLInterpreter interpreter = new DSLInterpreter();
+    env.getTypeBuilder().createDSLTypeForJavaTypeInScope(env.getGlobalScope(), Entity.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(
+            env.getGlobalScope(), TestComponentEntityConsumerCallback.class);
+    env.getTypeBuilder()
+        .createDSLTypeForJavaTypeInScope(env.getGlobalScope(), TestComponent1.class);
+
+    var config =
+        (CustomQuestConfig) Helpers.generateQuestConfigWithCustomTypes(program, env, interpreter);
+
+    var globalScope = interpreter.getRuntimeEnvironment().getGlobalScope();
+    assertNotNull(interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("func")));
+    assertNotNull(interpreter.compiledFunction((FunctionSymbol) globalScope.resolve("fib")));
+
+    var entity = config.entity();
+    TestComponentEntityConsumerCallback componentWithConsumer =
+        (TestComponentEntityConsumerCallback)
+            entity.components.stream()
+                .filter(c -> c instanceof TestComponentEntityConsumerCallback)
+                .toList()
+                .get(0);
+    componentWithConsumer.consumer.accept(entity);
+
+    String output = outputStream.toString();
+    assertEquals(
+        String.join(System.lineSeparator(), "3", "1.5", "55", "-9", "n=3", "true", ""), output);
+  }
+
   /** WTF? . */
   @Test
   public void testItemTypeInstantiationSingleChoice() {
@@ -0,0 +1,173 @@
+package dsl.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dsl.helpers.Helpers;
+import dsl.parser.ast.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// CHECKSTYLE:OFF: AvoidStarImport
+
+// CHECKSTYLE:ON: AvoidStarImport
+
+/** Tests for the {@link ParseCache} and the {@link ASTCodec}. */
+public class TestParseCache {
+
+  private static final String PROGRAM =
+      """
+      item_type my_item { display_name: "Item", value: 1.5 }
+      entity_type my_entity { position_component, health_component { max_health: 10 } }
+
+      fn calc(int x, string[] list, int<> set, [int -> string] map) -> bool {
+          var y = -x * 2 + 3 / 1 - 4;
+          var z : float;
+          if x >= y and !y < 4 or x != 3 {
+              z = 1.0;
+          } else if x == 2 {
+              return false;
+          }
+          for int i in [1, 2] count c { print(i); }
+          for string s in list print(s);
+          while x <= 5 { x = x + 1; }
+          my_entity.position_component.x = list.get(0);
+          return <true> != <false>;
+      }
+
+      graph g {
+          a -> b, c -> d [type=seq];
+          b -> e [type=subtask_optional]
+          c [type=c_f]
+      }
+
+      dungeon_config c {
+          dependency_graph: g,
+          name: 'config'
+      }
+      """;
+
+  private static void assertSameTree(Node expected, Node actual) {
+    if (expected == Node.NONE) {
+      assertSame(Node.NONE, actual);
+      return;
+    }
+    assertEquals(expected.getClass(), actual.getClass());
+    assertEquals(expected.type, actual.type);
+    assertEquals(
+        expected.getSourceFileReference().getLine(), actual.getSourceFileReference().getLine());
+    assertEquals(
+        expected.getSourceFileReference().getColumn(), actual.getSourceFileReference().getColumn());
+
+    switch (expected) {
+      case DotDependencyTypeNode dependencyType ->
+          assertEquals(
+              dependencyType.getTaskEdgeType(),
+              ((DotDependencyTypeNode) actual).getTaskEdgeType());
+      case IdNode id -> assertEquals(id.getName(), ((IdNode) actual).getName());
+      case StringNode string -> assertEquals(string.getValue(), ((StringNode) actual).getValue());
+      case NumNode num -> assertEquals(num.getValue(), ((NumNode) actual).getValue());
+      case DecNumNode num -> assertEquals(num.getValue(), ((DecNumNode) actual).getValue());
+      case BoolNode bool -> assertEquals(bool.getValue(), ((BoolNode) actual).getValue());
+      case EdgeOpNode op ->
+          assertEquals(op.getEdgeOpType(), ((EdgeOpNode) actual).getEdgeOpType());
+      case ComparisonNode comparison ->
+          assertEquals(
+              comparison.getComparisonType(), ((ComparisonNode) actual).getComparisonType());
+      case EqualityNode equality ->
+          assertEquals(equality.getEqualityType(), ((EqualityNode) actual).getEqualityType());
+      case TermNode term -> assertEquals(term.getTermType(), ((TermNode) actual).getTermType());
+      case FactorNode factor ->
+          assertEquals(factor.getFactorType(), ((FactorNode) actual).getFactorType());
+      case UnaryNode unary ->
+          assertEquals(unary.getUnaryType(), ((UnaryNode) actual).getUnaryType());
+      case VarDeclNode varDecl ->
+          assertEquals(varDecl.getDeclType(), ((VarDeclNode) actual).getDeclType());
+      default -> {}
+    }
+
+    List<Node> expectedChildren = expected.getChildren();
+    List<Node> actualChildren = actual.getChildren();
+    assertEquals(expectedChildren.size(), actualChildren.size());
+    for (int i = 0; i < expectedChildren.size(); i++) {
+      assertSameTree(expectedChildren.get(i), actualChildren.get(i));
+      if (actualChildren.get(i) != Node.NONE) {
+        assertSame(actual, actualChildren.get(i).getParent());
+      }
+    }
+  }
+
+  /** An encoded AST is decoded to an equal tree of new nodes. */
+  @Test
+  public void testCodecRoundTrip() {
+    Node ast = Helpers.getASTFromString(PROGRAM);
+
+    Node decoded = ASTCodec.decode(ByteBuffer.wrap(ASTCodec.encode(ast)));
+
+    assertNotSame(ast, decoded);
+    assertSameTree(ast, decoded);
+  }
+
+  /** The AST of a program is loaded from the cache after it was parsed once. */
+  @Test
+  public void testStoreAndLoad(@TempDir final Path directory) throws IOException {
+    ParseCache cache = new ParseCache(directory);
+    assertTrue(cache.load(PROGRAM).isEmpty());
+
+    Node ast = cache.getProgramAST(PROGRAM);
+    var loaded = cache.load(PROGRAM);
+
+    assertTrue(loaded.isPresent());
+    assertSameTree(ast, loaded.get());
+    assertSameTree(ast, cache.getProgramAST(PROGRAM));
+    assertTrue(cache.load(PROGRAM + " ").isEmpty());
+  }
+
+  /** A corrupt entry is discarded and the program is parsed again. */
+  @Test
+  public void testCorruptEntryIsDiscarded(@TempDir final Path directory) throws IOException {
+    ParseCache cache = new ParseCache(directory);
+    Node ast = cache.getProgramAST(PROGRAM);
+    Path entry;
+    try (Stream<Path> files = Files.list(directory)) {
+      entry = files.findFirst().orElseThrow();
+    }
+    byte[] content = Files.readAllBytes(entry);
+    Files.write(entry, Arrays.copyOf(content, content.length / 2));
+
+    assertTrue(cache.load(PROGRAM).isEmpty());
+    assertFalse(Files.exists(entry));
+    assertSameTree(ast, cache.getProgramAST(PROGRAM));
+    assertTrue(Files.exists(entry));
+  }
+
+  /** Programs with syntax errors are rejected by {@link ParseCache#getValidProgramAST(String)}. */
+  @Test
+  public void testValidProgramAST(@TempDir final Path directory) {
+    ParseCache cache = new ParseCache(directory);
+
+    assertTrue(cache.getValidProgramAST("graph g { a -> b } ;").isEmpty());
+    assertSameTree(cache.getProgramAST(PROGRAM), cache.getValidProgramAST(PROGRAM).orElseThrow());
+  }
+
+  /** Programs with syntax errors are not cached. */
+  @Test
+  public void testSyntaxErrorIsNotCached(@TempDir final Path directory) throws IOException {
+    ParseCache cache = new ParseCache(directory);
+    cache.getProgramAST("graph g { a -> b } ;");
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+}
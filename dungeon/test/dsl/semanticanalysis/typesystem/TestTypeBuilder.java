@@ -9,6 +9,7 @@ import dsl.interpreter.mockecs.*;
 import dsl.semanticanalysis.scope.Scope;
 import dsl.semanticanalysis.symbol.Symbol;
 import dsl.semanticanalysis.typesystem.typebuilding.TypeBuilder;
+import dsl.semanticanalysis.typesystem.typebuilding.TypeReflection;
 import dsl.semanticanalysis.typesystem.typebuilding.type.*;
 import graph.taskdependencygraph.TaskDependencyGraph;
 import java.lang.reflect.InvocationTargetException;
@@ -45,6 +46,32 @@ public class TestTypeBuilder {
     assertEquals(BuiltInType.graphType, graphMember.getDataType());
   }
 
+  /** Two TypeBuilders share the reflection data, but create their own types in their scope. */
+  @Test
+  public void testSharedReflectionSeparateTypes() {
+    Scope scope1 = new Scope();
+    Scope scope2 = new Scope();
+    var dslType1 =
+        (AggregateType) new TypeBuilder().createDSLTypeForJavaTypeInScope(scope1, ChainClass.class);
+    var dslType2 =
+        (AggregateType) new TypeBuilder().createDSLTypeForJavaTypeInScope(scope2, ChainClass.class);
+
+    assertSame(
+        TypeReflection.typeClass(ChainClass.class), TypeReflection.typeClass(ChainClass.class));
+    assertNotSame(dslType1, dslType2);
+    assertSame(scope1, dslType1.getScope());
+    assertSame(scope2, dslType2.getScope());
+    assertSame(dslType1, scope1.resolve("chain_class"));
+    assertSame(dslType2, scope2.resolve("chain_class"));
+
+    var memberType1 = dslType1.resolve("test_component_member").getDataType();
+    var memberType2 = dslType2.resolve("test_component_member").getDataType();
+    assertNotSame(memberType1, memberType2);
+    assertSame(memberType2, scope2.resolve("test_component"));
+    assertEquals(2, dslType2.getSymbols().size());
+    assertEquals(2, TypeBuilder.mapTypeMembersToField(dslType2).size());
+  }
+
   /** WTF? . */
   @Test
   public void testChainedClass() {
@@ -1,12 +1,15 @@
 package dsl.semanticanalysis.typesystem;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import dsl.helpers.Helpers;
 import dsl.interpreter.DSLInterpreter;
 import dsl.runtime.memoryspace.MemorySpace;
 import dsl.runtime.value.AggregateValue;
 import dsl.semanticanalysis.scope.Scope;
+import dsl.semanticanalysis.typesystem.instantiation.InstantiationPlan;
 import dsl.semanticanalysis.typesystem.instantiation.TypeInstantiator;
 import dsl.semanticanalysis.typesystem.typebuilding.TypeBuilder;
 import dsl.semanticanalysis.typesystem.typebuilding.type.AggregateType;
@@ -140,4 +143,34 @@ public class TestTypeInstantiator {
       }
     }
   }
+
+  /** The instantiation plan of a type is created once and reused for every instance. */
+  @Test
+  public void testInstantiatorReusesPlan() throws IllegalAccessException {
+    DSLInterpreter interpreter = new DSLInterpreter();
+    TypeBuilder tb = new TypeBuilder();
+    Scope scope = new Scope();
+    var type = (AggregateType) tb.createDSLTypeForJavaTypeInScope(scope, TestClassOuter.class);
+    TypeInstantiator ti = new TypeInstantiator(interpreter);
+    HashMap<String, Field> typeMemberNameToField = TypeBuilder.mapTypeMembersToField(type);
+    Field intField = typeMemberNameToField.get("member2");
+    intField.setAccessible(true);
+
+    for (int i = 0; i < 3; i++) {
+      MemorySpace ms = new MemorySpace();
+      for (var member : type.getSymbols()) {
+        Helpers.bindDefaultValueInMemorySpace(member, ms, interpreter);
+      }
+      ms.resolve("member2").setInternalValue(i);
+      AggregateValue aggregateValue = new AggregateValue(type, null);
+      aggregateValue.setMemorySpace(ms);
+
+      var instance = ti.instantiate(aggregateValue);
+      assertEquals(i, intField.get(instance));
+    }
+
+    var plan = type.getInstantiationPlan();
+    assertNotNull(plan);
+    assertSame(plan, InstantiationPlan.of(type));
+  }
 }
@@ -0,0 +1,134 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.level.elements.ILevel;
+import dsl.interpreter.DSLEntryPointFinder;
+import dsl.interpreter.DSLInterpreter;
+import entrypoint.DSLEntryPoint;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link LevelBuild}. */
+public class LevelBuildTest {
+
+  private static DSLEntryPoint entryPoint(String program) throws IOException {
+    Path file = Files.createTempFile("levelbuild", ".dng");
+    try {
+      Files.writeString(file, program);
+      return new DSLEntryPointFinder().getEntryPoints(file).orElseThrow().get(0);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /** The level is built by the updates and the last stage is reported as finished. */
+  @Test
+  public void buildOnExecutor() throws IOException {
+    DSLEntryPoint entryPoint =
+        entryPoint(
+            """
+            single_choice_task t1 {
+                description: "Task1",
+                answers: ["1", "2", "3"],
+                correct_answer_index: 2
+            }
+
+            single_choice_task t2 {
+                description: "Task2",
+                answers: ["1", "2", "3"],
+                correct_answer_index: 1
+            }
+
+            graph tdg {
+                t1 -> t2 [type=seq]
+            }
+
+            dungeon_config c {
+                dependency_graph: tdg
+            }
+            """);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    ILevel level;
+    LevelBuild build;
+    try {
+      build = LevelBuild.start(entryPoint, new DSLInterpreter(), executor);
+      while (!build.isDone()) {
+        build.update();
+      }
+      level = build.level();
+    } finally {
+      executor.shutdown();
+    }
+
+    assertNotNull(level);
+    assertTrue(build.isDone());
+    LevelBuild.Progress progress = build.progress();
+    assertEquals(LevelBuild.Stage.CREATE_PETRI_NETS, progress.stage());
+    assertEquals(progress.total(), progress.done());
+  }
+
+  /** The entry point is interpreted and the TaskBuilders run on the executor, not in update. */
+  @Test
+  public void interpretOnExecutor() throws IOException {
+    DSLEntryPoint entryPoint =
+        entryPoint(
+            """
+            single_choice_task t1 {
+                description: "Task1",
+                answers: ["1", "2", "3"],
+                correct_answer_index: 2
+            }
+
+            graph tdg {
+                t1
+            }
+
+            dungeon_config c {
+                dependency_graph: tdg
+            }
+            """);
+
+    List<Runnable> worker = new ArrayList<>();
+    LevelBuild build = LevelBuild.start(entryPoint, new DSLInterpreter(), worker::add);
+    build.update();
+    build.update();
+    assertEquals(1, worker.size());
+    assertEquals(new LevelBuild.Progress(LevelBuild.Stage.INTERPRET, 0, 1), build.progress());
+    assertFalse(build.isDone());
+
+    worker.get(0).run();
+    build.update();
+    assertTrue(build.isDone());
+    assertNotNull(build.level());
+  }
+
+  /** An exception of the build is thrown by {@link LevelBuild#level()}. */
+  @Test
+  public void buildFailure() throws IOException {
+    DSLEntryPoint entryPoint =
+        entryPoint(
+            """
+            dungeon_config c {
+                name: "no graph"
+            }
+            """);
+
+    LevelBuild build = LevelBuild.start(entryPoint, new DSLInterpreter(), Runnable::run);
+    build.update();
+
+    assertTrue(build.isDone());
+    assertThrows(RuntimeException.class, build::level);
+  }
+}
@@ -0,0 +1,73 @@
+package graph.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import contrib.components.InventoryComponent;
+import contrib.item.Item;
+import contrib.item.concreteItem.ItemPotionWater;
+import contrib.item.concreteItem.ItemResourceBerry;
+import contrib.item.concreteItem.ItemResourceEgg;
+import core.Entity;
+import core.utils.components.draw.Animation;
+import core.utils.components.path.SimpleIPath;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link HeroSnapshot}. */
+public class HeroSnapshotTest {
+
+  /** Only items of registered classes are stored. */
+  @Test
+  public void capture() {
+    Entity hero = new Entity();
+    InventoryComponent inventory = new InventoryComponent(2);
+    hero.add(inventory);
+    inventory.set(0, questItem());
+    ItemResourceBerry berry = new ItemResourceBerry();
+    berry.stackSize(2);
+    inventory.set(1, berry);
+
+    HeroSnapshot snapshot = HeroSnapshot.capture(hero, true);
+
+    assertTrue(Float.isNaN(snapshot.x()));
+    assertEquals(-1, snapshot.maximalHealth());
+    assertEquals(List.of(new HeroSnapshot.Slot(1, "ItemResourceBerry", 2)), snapshot.inventory());
+  }
+
+  /** Items, which were not stored, stay. Stored items without a free slot are added. */
+  @Test
+  public void restore_keepsOtherItems() {
+    Entity hero = new Entity();
+    InventoryComponent inventory = new InventoryComponent(4);
+    hero.add(inventory);
+    Item questItem = questItem();
+    inventory.set(0, questItem);
+    inventory.set(1, new ItemPotionWater());
+
+    new HeroSnapshot(
+            Float.NaN,
+            Float.NaN,
+            -1,
+            -1,
+            List.of(
+                new HeroSnapshot.Slot(1, "ItemResourceBerry", 2),
+                new HeroSnapshot.Slot(0, "ItemResourceEgg", 1),
+                new HeroSnapshot.Slot(7, "ItemPotionWater", 1)))
+        .restore(hero);
+
+    assertSame(questItem, inventory.get(0));
+    assertTrue(inventory.get(1) instanceof ItemResourceBerry);
+    assertEquals(2, inventory.get(1).stackSize());
+    assertTrue(inventory.get(2) instanceof ItemResourceEgg);
+    assertTrue(inventory.get(3) instanceof ItemPotionWater);
+  }
+
+  private static Item questItem() {
+    return new Item(
+        "Quest item",
+        "Not registered",
+        Animation.fromSingleImage(new SimpleIPath("animation/missing_texture.png")));
+  }
+}
@@ -0,0 +1,212 @@
+package graph.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.Entity;
+import graph.Quest;
+import graph.TaskGraphConverter;
+import graph.taskdependencygraph.TaskDependencyGraph;
+import graph.taskdependencygraph.TaskNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import task.Task;
+import task.game.components.TaskComponent;
+
+/** Tests for the {@link QuestSnapshot} and the {@link QuestAutosave}. */
+public class QuestSnapshotTest {
+
+  private Task first;
+  private Task second;
+  private Quest quest;
+
+  /** Create a quest with two independent tasks. */
+  @BeforeEach
+  public void setup() {
+    first = new DummyTask();
+    second = new DummyTask();
+    TaskDependencyGraph graph =
+        new TaskDependencyGraph(
+            new ArrayList<>(), new ArrayList<>(List.of(new TaskNode(first), new TaskNode(second))));
+    quest = new Quest(null, graph, TaskGraphConverter.compiledPetriNetFor(graph));
+  }
+
+  /** A delta turns the previous snapshot into the new one. */
+  @Test
+  public void deltaAndApply() {
+    QuestSnapshot before = quest.capture();
+    assertTrue(quest.capture().delta(before).isEmpty());
+
+    second.state(Task.TaskState.FINISHED_CORRECT);
+    QuestSnapshot after = quest.capture();
+    QuestSnapshot.Delta delta = after.delta(before);
+
+    assertFalse(delta.isEmpty());
+    assertNotEquals(before, after);
+    assertEquals(after, before.apply(delta));
+    assertArrayEquals(new int[] {1}, after.solvedOrder());
+  }
+
+  /** A restored snapshot sets the tasks and the marking of the Petri net. */
+  @Test
+  public void restore() {
+    QuestSnapshot before = quest.capture();
+    first.state(Task.TaskState.FINISHED_WRONG);
+    QuestSnapshot after = quest.capture();
+
+    quest.restore(before);
+    assertEquals(before, quest.capture());
+    assertEquals(Task.TaskState.values()[before.state(0)], first.state());
+
+    quest.restore(after);
+    assertEquals(after, quest.capture());
+    assertEquals(Task.TaskState.FINISHED_WRONG, first.state());
+  }
+
+  /** Snapshots and deltas can be written and read again. */
+  @Test
+  public void writeAndRead() throws IOException {
+    QuestSnapshot before = quest.capture();
+    first.state(Task.TaskState.FINISHED_CORRECT);
+    QuestSnapshot after = quest.capture();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    before.write(out);
+    after.delta(before).write(out);
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    QuestSnapshot read = QuestSnapshot.read(in);
+    assertEquals(before, read);
+    assertEquals(after, read.apply(QuestSnapshot.Delta.read(in)));
+  }
+
+  /** The state of the hero is written and read with the snapshot and its deltas. */
+  @Test
+  public void writeAndRead_hero() throws IOException {
+    HeroSnapshot hero =
+        new HeroSnapshot(3.5f, 4.5f, 7, 10, List.of(new HeroSnapshot.Slot(2, "Potion", 1)));
+    QuestSnapshot before = new QuestSnapshot(new byte[1], new float[1], new int[0], new int[1]);
+    QuestSnapshot after =
+        new QuestSnapshot(new byte[1], new float[1], new int[0], new int[1], hero);
+    QuestSnapshot.Delta delta = after.delta(before);
+    assertFalse(delta.isEmpty());
+    assertTrue(after.apply(before.delta(after)).hero().isEmpty());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    after.write(out);
+    delta.write(out);
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    QuestSnapshot read = QuestSnapshot.read(in);
+    assertEquals(after, read);
+    assertEquals(hero, read.hero().orElseThrow());
+    assertEquals(after, before.apply(QuestSnapshot.Delta.read(in)));
+  }
+
+  /** Restoring an active task does not call the activation callback of its manager again. */
+  @Test
+  public void restore_noActivationCallback() {
+    AtomicInteger calls = new AtomicInteger();
+    new TaskComponent(first, new Entity()).onActivate(entity -> calls.incrementAndGet());
+    first.state(Task.TaskState.ACTIVE);
+    assertEquals(1, calls.get());
+
+    QuestSnapshot active = quest.capture();
+    quest.restore(active);
+    assertEquals(Task.TaskState.ACTIVE, first.state());
+    assertEquals(1, calls.get());
+  }
+
+  /** The autosave file contains the latest state, a cut off record is ignored. */
+  @Test
+  public void autosave() throws IOException {
+    Path file = Files.createTempFile("quest", ".dqs");
+    try {
+      QuestAutosave autosave = new QuestAutosave(quest, file, Duration.ZERO);
+      first.state(Task.TaskState.FINISHED_CORRECT);
+      autosave.update();
+      QuestSnapshot saved = quest.capture();
+      second.state(Task.TaskState.FINISHED_WRONG);
+      autosave.close();
+
+      assertEquals(quest.capture(), QuestAutosave.load(file).orElseThrow());
+
+      // cut off the last record
+      byte[] content = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(content, content.length - 3));
+      assertEquals(saved, QuestAutosave.load(file).orElseThrow());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /** A record with an invalid length ends the file, the state before it is loaded. */
+  @Test
+  public void load_invalidLength() throws IOException {
+    Path file = Files.createTempFile("quest", ".dqs");
+    try {
+      try (QuestAutosave autosave = new QuestAutosave(quest, file, Duration.ZERO)) {
+        first.state(Task.TaskState.FINISHED_CORRECT);
+      }
+      QuestSnapshot saved = quest.capture();
+
+      for (int length : new int[] {Integer.MAX_VALUE, -1, 0}) {
+        byte[] content = Files.readAllBytes(file);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(content);
+        new DataOutputStream(bytes).writeInt(length);
+        Path damaged = Files.createTempFile("quest", ".dqs");
+        try {
+          Files.write(damaged, bytes.toByteArray());
+          assertEquals(saved, QuestAutosave.load(damaged).orElseThrow());
+        } finally {
+          Files.delete(damaged);
+        }
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /** {@link QuestAutosave#finish()} writes the queued saves, but does not capture the quest. */
+  @Test
+  public void autosave_finish() throws IOException {
+    Path file = Files.createTempFile("quest", ".dqs");
+    try {
+      QuestAutosave autosave = new QuestAutosave(quest, file, Duration.ZERO);
+      QuestSnapshot saved = quest.capture();
+      first.state(Task.TaskState.FINISHED_CORRECT);
+      autosave.finish();
+      autosave.update();
+      autosave.close();
+
+      assertEquals(saved, QuestAutosave.load(file).orElseThrow());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static class DummyTask extends Task {
+    @Override
+    public String correctAnswersAsString() {
+      return null;
+    }
+  }
+}
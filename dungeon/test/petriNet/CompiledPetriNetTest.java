@@ -0,0 +1,56 @@
+package petriNet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import graph.petrinet.CompiledPetriNet;
+import graph.petrinet.PetriNet;
+import graph.petrinet.PetriNetFactory;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import task.Task;
+
+/** Tests for the {@link CompiledPetriNet}. */
+public class CompiledPetriNetTest {
+
+  /** The compiled nets keep working and their marking can be restored. */
+  @Test
+  public void markingAndRestore() {
+    Task mainTask = new DummyTask();
+    PetriNet mainNet = PetriNetFactory.defaultNet(mainTask);
+    Task preTask = new DummyTask();
+    PetriNet preNet = PetriNetFactory.defaultNet(preTask);
+    PetriNetFactory.connectSequenceAnd(mainNet, preNet);
+    CompiledPetriNet net = CompiledPetriNet.compile(List.of(mainNet, preNet));
+
+    // 11 places per net (including the output place of "finished"), one helper place
+    assertEquals(23, net.placeCount());
+    assertEquals(12, net.transitionCount());
+
+    mainNet.taskNotActivated().placeToken();
+    preNet.taskNotActivated().placeToken();
+    assertEquals(Task.TaskState.PROCESSING_ACTIVE, preTask.state());
+    int[] beforeFinish = net.marking();
+
+    preTask.state(Task.TaskState.FINISHED_CORRECT);
+    assertEquals(Task.TaskState.PROCESSING_ACTIVE, mainTask.state());
+    assertEquals(1, mainNet.processingActivated().tokenCount());
+
+    net.restore(beforeFinish);
+    assertArrayEquals(beforeFinish, net.marking());
+    assertEquals(0, mainNet.processingActivated().tokenCount());
+    assertEquals(1, preNet.processingActivated().tokenCount());
+
+    // the restored marking fires like the original one
+    preTask.state(Task.TaskState.FINISHED_WRONG);
+    assertEquals(1, preNet.end_wrong().tokenCount());
+    assertEquals(1, mainNet.processingActivated().tokenCount());
+  }
+
+  private static class DummyTask extends Task {
+    @Override
+    public String correctAnswersAsString() {
+      return null;
+    }
+  }
+}
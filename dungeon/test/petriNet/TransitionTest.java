@@ -61,4 +61,19 @@ public class TransitionTest {
     assertEquals(1, addTokenB.tokenCount());
     assertEquals(0, dependency.tokenCount());
   }
+
+  /** A token is passed through a long chain of transitions without recursion. */
+  @Test
+  public void fire_longChain() {
+    Place first = new Place();
+    Place last = first;
+    for (int i = 0; i < 100_000; i++) {
+      Place next = new Place();
+      new Transition(Set.of(last), Set.of(next));
+      last = next;
+    }
+    first.placeToken();
+    assertEquals(0, first.tokenCount());
+    assertEquals(1, last.tokenCount());
+  }
 }
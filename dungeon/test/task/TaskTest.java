@@ -10,6 +10,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import task.game.components.TaskComponent;
+import task.game.components.TaskContentComponent;
 
 /** WTF? . */
 public class TaskTest {
@@ -128,6 +129,36 @@ public class TaskTest {
     assertTrue(t1.id() != t2.id());
   }
 
+  /** {@link Task#find(TaskContent)} follows the component when it is added, changed or removed. */
+  @Test
+  public void find_content() {
+    TaskContent a = new TaskContent() {};
+    TaskContent b = new TaskContent() {};
+    Entity first = new Entity();
+    Entity second = new Entity();
+    TaskContentComponent component = new TaskContentComponent(a);
+
+    assertTrue(task.find(a).isEmpty());
+    first.add(component);
+    assertEquals(first, task.find(a).orElseThrow());
+
+    component.content(b);
+    assertTrue(task.find(a).isEmpty());
+    assertEquals(first, task.find(b).orElseThrow());
+
+    second.add(new TaskContentComponent(a));
+    assertEquals(second, task.find(a).orElseThrow());
+    second.add(new TaskContentComponent(b));
+    assertTrue(task.find(a).isEmpty());
+    assertEquals(second, task.find(b).orElseThrow());
+
+    // the content is stored by the second entity, removing the first component keeps the index
+    first.remove(TaskContentComponent.class);
+    assertEquals(second, task.find(b).orElseThrow());
+    second.remove(TaskContentComponent.class);
+    assertTrue(task.find(b).isEmpty());
+  }
+
   private static class DummyTask extends Task {
     @Override
     public String correctAnswersAsString() {
@@ -0,0 +1,48 @@
+package task.game.components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.Entity;
+import core.Game;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import task.TaskContent;
+
+/** Tests for the {@link TaskContentComponent}. */
+public class TaskContentComponentTest {
+
+  /** WTF? . */
+  @AfterEach
+  public void cleanup() {
+    Game.removeAllEntities();
+  }
+
+  /** An entity, that was removed from the game, is not found anymore. */
+  @Test
+  public void entity_removedFromGame() {
+    TaskContent content = new TaskContent() {};
+    Entity entity = new Entity();
+    entity.add(new TaskContentComponent(content));
+    Game.add(entity);
+    assertEquals(entity, TaskContentComponent.entity(content).orElseThrow());
+
+    Game.remove(entity);
+    assertTrue(TaskContentComponent.entity(content).isEmpty());
+
+    Game.add(entity);
+    assertEquals(entity, TaskContentComponent.entity(content).orElseThrow());
+  }
+
+  /** Removing all entities from the game clears the index. */
+  @Test
+  public void entity_removeAllEntities() {
+    TaskContent content = new TaskContent() {};
+    Entity entity = new Entity();
+    entity.add(new TaskContentComponent(content));
+    Game.add(entity);
+
+    Game.removeAllEntities();
+    assertTrue(TaskContentComponent.entity(content).isEmpty());
+  }
+}
@@ -0,0 +1,78 @@
+package task.reporting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import task.Task;
+
+/** Tests for the {@link BatchGrader}. */
+public class BatchGraderTest {
+
+  private static final String PROGRAM =
+      """
+      single_choice_task t1 {
+          description: "Task1",
+          answers: ["1", "2", "3"],
+          correct_answer_index: 2
+      }
+
+      graph tdg {
+          t1
+      }
+
+      dungeon_config c {
+          dependency_graph: tdg
+      }
+      """;
+
+  @Test
+  public void grade_distribution() throws IOException {
+    Path program = Files.createTempFile("tasks", ".dng");
+    Path answers = Files.createTempFile("answers", ".txt");
+    List<String> lines = new ArrayList<>();
+    lines.add("# recorded answers");
+    // more lines than fit in one chunk
+    for (int i = 0; i < 3000; i++) {
+      lines.add("t1:" + (i % 3));
+    }
+    lines.add("");
+    lines.add("t2:1");
+    lines.add("t1:7");
+
+    BatchGrader.TaskDefinitions definitions;
+    BatchGrader.Report report;
+    try {
+      Files.writeString(program, PROGRAM);
+      Files.write(answers, lines);
+      definitions = BatchGrader.load(program);
+      try (BatchGrader grader = new BatchGrader(2)) {
+        report = grader.grade(definitions, answers);
+      }
+    } finally {
+      Files.delete(program);
+      Files.delete(answers);
+    }
+
+    BatchGrader.ScoreDistribution distribution = report.tasks().get("t1");
+    assertEquals(3000, distribution.count());
+    assertEquals(1000, distribution.solved());
+    assertEquals(0f, distribution.min());
+    assertEquals(1f, distribution.max());
+    assertEquals(1 / 3.0, distribution.mean(), 1e-6);
+    assertEquals(Map.of(0f, 2000, 1f, 1000), distribution.histogram());
+
+    assertEquals(2, report.diagnostics().size());
+    assertTrue(report.diagnostics().get(0).startsWith("line 3003: unknown task"));
+    assertTrue(report.diagnostics().get(1).startsWith("line 3004: "));
+
+    // grading does not change the task
+    assertEquals(Task.TaskState.INACTIVE, definitions.tasks().get("t1").state());
+  }
+}
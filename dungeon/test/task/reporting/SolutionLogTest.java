@@ -0,0 +1,103 @@
+package task.reporting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import task.Task;
+
+/** Tests for the {@link SolutionLog} and the {@link SolutionLogReader}. */
+public class SolutionLogTest {
+
+  @Test
+  public void writeAndRead() throws IOException {
+    Path file = Files.createTempFile("solutions", ".dsol");
+    List<SolutionEvent> events;
+    try {
+      try (SolutionLog log = new SolutionLog(file)) {
+        log.append(
+            new SolutionEvent.StateChanged(
+                1, 3, "t1", Task.TaskState.INACTIVE, Task.TaskState.ACTIVE));
+        log.append(new SolutionEvent.Graded(2, 3, "t1", 1f, 2f, 1f, List.of("ä", "b")));
+      }
+      events = SolutionLogReader.readAll(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    assertEquals(2, events.size());
+    assertEquals(
+        new SolutionEvent.StateChanged(1, 3, "t1", Task.TaskState.INACTIVE, Task.TaskState.ACTIVE),
+        events.get(0));
+    SolutionEvent.Graded graded = (SolutionEvent.Graded) events.get(1);
+    assertEquals(List.of("ä", "b"), graded.answers());
+    assertTrue(graded.solved());
+  }
+
+  @Test
+  public void read_truncatedRecord() throws IOException {
+    Path file = Files.createTempFile("solutions", ".dsol");
+    List<SolutionEvent> events;
+    try {
+      try (SolutionLog log = new SolutionLog(file)) {
+        log.append(new SolutionEvent.Graded(1, 0, "t1", 0f, 1f, 1f, List.of()));
+        log.append(new SolutionEvent.Graded(2, 0, "t1", 0f, 1f, 1f, List.of("a")));
+      }
+      byte[] bytes = Files.readAllBytes(file);
+      Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+      events = SolutionLogReader.readAll(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    assertEquals(1, events.size());
+    assertFalse(((SolutionEvent.Graded) events.get(0)).solved());
+  }
+
+  @Test
+  public void write_skipsInvalidEvent() throws IOException {
+    Path file = Files.createTempFile("solutions", ".dsol");
+    List<SolutionEvent> events;
+    try {
+      try (SolutionLog log = new SolutionLog(file)) {
+        log.append(new SolutionEvent.StateChanged(1, 0, "t1", null, Task.TaskState.ACTIVE));
+        log.append(new SolutionEvent.Graded(2, 0, "t1", 0f, 1f, 1f, Arrays.asList("a", null)));
+        log.append(new SolutionEvent.Graded(3, 0, "t1", 1f, 1f, 1f, List.of("b")));
+      }
+      events = SolutionLogReader.readAll(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    assertEquals(1, events.size());
+    assertEquals(3, events.get(0).timestamp());
+  }
+
+  @Test
+  public void shared_writesOnlyIntoOpenedDirectory(@TempDir final Path directory)
+      throws IOException {
+    SolutionLog disabled = SolutionLog.shared();
+    disabled.append(
+        new SolutionEvent.StateChanged(1, 3, "t1", Task.TaskState.INACTIVE, Task.TaskState.ACTIVE));
+
+    SolutionLog log = SolutionLog.shared(directory);
+    log.append(
+        new SolutionEvent.StateChanged(2, 3, "t1", Task.TaskState.ACTIVE, Task.TaskState.INACTIVE));
+    log.close();
+
+    List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list.toList();
+    }
+    assertEquals(1, files.size());
+    assertEquals(2, SolutionLogReader.readAll(files.getFirst()).getFirst().timestamp());
+  }
+}
@@ -0,0 +1,89 @@
+package task.reporting;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import task.Task;
+
+/** Tests for the {@link TaskTelemetry} and the {@link RingBuffer}. */
+public class TaskTelemetryTest {
+
+  @Test
+  public void ringBufferKeepsLatest() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(3);
+    assertTrue(buffer.elements().isEmpty());
+    for (int i = 0; i < 5; i++) {
+      buffer.add(i);
+    }
+    assertEquals(List.of(2, 3, 4), buffer.elements());
+    assertEquals(5, buffer.added());
+  }
+
+  @Test
+  public void recordsTransitionsAndBuilds() {
+    TaskTelemetry telemetry = new TaskTelemetry(2);
+    Task task = new DummyTask();
+    task.taskName("t\"1");
+
+    telemetry.built(task, 2_000_000, 4);
+    telemetry.stateChanged(task, Task.TaskState.INACTIVE, Task.TaskState.ACTIVE);
+    assertFalse(telemetry.stats(task.id()).orElseThrow().solveTimeMillis().isPresent());
+    assertTrue(telemetry.slowestToSolve(5).isEmpty());
+
+    telemetry.stateChanged(task, Task.TaskState.ACTIVE, Task.TaskState.PROCESSING_ACTIVE);
+    telemetry.stateChanged(task, Task.TaskState.PROCESSING_ACTIVE, Task.TaskState.FINISHED_CORRECT);
+
+    TaskTelemetry.TaskStats stats = telemetry.stats(task.id()).orElseThrow();
+    assertEquals("t\"1", stats.taskName());
+    assertEquals(Task.TaskState.FINISHED_CORRECT, stats.state());
+    assertTrue(stats.solveTimeMillis().getAsLong() >= 0);
+    // only the latest two transitions are kept
+    assertEquals(2, stats.transitions().size());
+    assertEquals(Task.TaskState.PROCESSING_ACTIVE, stats.transitions().get(0).to());
+    assertEquals(4, stats.builds().get(0).entityCount());
+    assertEquals(2_000_000, stats.maxBuildNanos());
+    assertEquals(List.of(stats), telemetry.slowestToSolve(5));
+    assertEquals(List.of(stats), telemetry.slowestToBuild(5));
+
+    String json = telemetry.toJson();
+    assertTrue(json.contains("\"name\":\"t\\\"1\""));
+    assertTrue(json.contains("\"entities\":4"));
+    assertTrue(json.contains("\"to\":\"FINISHED_CORRECT\""));
+  }
+
+  @Test
+  public void entityCount() {
+    assertEquals(3, TaskTelemetry.entityCount(Set.of(Set.of(1, 2), Set.of(3))));
+    assertEquals(0, TaskTelemetry.entityCount(null));
+  }
+
+  @Test
+  public void exportTo() throws IOException {
+    TaskTelemetry telemetry = new TaskTelemetry(4);
+    telemetry.built(new DummyTask(), 1, 0);
+    Path directory = Files.createTempDirectory("telemetry");
+    Path file = directory.resolve("export").resolve("tasks.json");
+    try {
+      telemetry.exportTo(file);
+      assertTrue(Files.readString(file).startsWith("{\"exported\":"));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(file.getParent());
+      Files.delete(directory);
+    }
+  }
+
+  private static class DummyTask extends Task {
+    @Override
+    public String correctAnswersAsString() {
+      return null;
+    }
+  }
+}
@@ -13,5 +13,43 @@ package core;
  * the data stored in the components.
  *
  * <p>Remember that an entity can only store one component of each component class.
+ *
+ * <p>A component can react to being added to or removed from an entity by overriding {@link
+ * #onAttach(Entity)} and {@link #onDetach(Entity)}, e.g. to keep an index from its data to the
+ * entity up to date. {@link #onAddedToGame(Entity)} and {@link #onRemovedFromGame(Entity)} are
+ * called, when the entity is added to or removed from the game.
  */
-public interface Component {}
+public interface Component {
+
+  /**
+   * Called by {@link Entity#add(Component)} after this component was added to the entity.
+   *
+   * @param entity The entity, which now stores this component.
+   */
+  default void onAttach(final Entity entity) {}
+
+  /**
+   * Called by {@link Entity#remove(Class)} and {@link Entity#add(Component)} after this component
+   * was removed from the entity or replaced by another component of the same class.
+   *
+   * @param entity The entity, which stored this component.
+   */
+  default void onDetach(final Entity entity) {}
+
+  /**
+   * Called by {@link core.game.ECSManagment#add(Entity)} after the entity, which stores this
+   * component, was added to the game.
+   *
+   * @param entity The entity, which stores this component.
+   */
+  default void onAddedToGame(final Entity entity) {}
+
+  /**
+   * Called by {@link core.game.ECSManagment#remove(Entity)} and {@link
+   * core.game.ECSManagment#removeAllEntities()} after the entity, which stores this component, was
+   * removed from the game.
+   *
+   * @param entity The entity, which stores this component.
+   */
+  default void onRemovedFromGame(final Entity entity) {}
+}
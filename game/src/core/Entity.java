@@ -5,6 +5,7 @@ import dsl.annotation.DSLContextPush;
 import dsl.annotation.DSLType;
 import java.util.HashMap;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -35,7 +36,7 @@ import java.util.stream.Stream;
 @DSLContextPush(name = "entity")
 public final class Entity implements Comparable<Entity> {
   private static final Logger LOGGER = Logger.getLogger(Entity.class.getSimpleName());
-  private static int nextId = 0;
+  private static final AtomicInteger nextId = new AtomicInteger();
   private final int id;
   private final HashMap<Class<? extends Component>, Component> components;
   private String name;
@@ -48,10 +49,7 @@ public final class Entity implements Comparable<Entity> {
    * @param name the name of the entity, used for better logging and debugging
    */
   public Entity(final String name) {
-    id = nextId++;
-    components = new HashMap<>();
-    this.name = name;
-    LOGGER.info("The entity '" + name + "' was created.");
+    this(nextId.getAndIncrement(), name);
   }
 
   /**
@@ -62,7 +60,19 @@ public final class Entity implements Comparable<Entity> {
    * <p>The name of the entity will be its id
    */
   public Entity() {
-    this("_" + nextId);
+    this(nextId.getAndIncrement());
+  }
+
+  // the id is taken once, so the default name matches the id even if other threads create entities
+  private Entity(int id) {
+    this(id, "_" + id);
+  }
+
+  private Entity(int id, final String name) {
+    this.id = id;
+    components = new HashMap<>();
+    this.name = name;
+    LOGGER.info("The entity '" + name + "' was created.");
   }
 
   /**
@@ -71,12 +81,18 @@ public final class Entity implements Comparable<Entity> {
    * <p>Changes in the component map of the entity will trigger a call to {@link
    * ECSManagment#informAboutChanges}.
    *
-   * <p>Remember that an entity can only store one component of each component class.
+   * <p>Remember that an entity can only store one component of each component class. A replaced
+   * component is informed via {@link Component#onDetach(Entity)}, the added component via {@link
+   * Component#onAttach(Entity)}.
    *
    * @param component The component to add
    */
   public void add(final Component component) {
-    components.put(component.getClass(), component);
+    Component previous = components.put(component.getClass(), component);
+    if (previous != null && previous != component) {
+      previous.onDetach(this);
+    }
+    component.onAttach(this);
     ECSManagment.informAboutChanges(this);
     LOGGER.info(component.getClass().getName() + " Components from " + this + " was added.");
   }
@@ -85,12 +101,15 @@ public final class Entity implements Comparable<Entity> {
    * Remove a component from this entity.
    *
    * <p>Changes in the component map of the entity will trigger a call to {@link
-   * ECSManagment#informAboutChanges}.
+   * ECSManagment#informAboutChanges}. The removed component is informed via {@link
+   * Component#onDetach(Entity)}.
    *
    * @param klass the Class of the component
    */
   public void remove(final Class<? extends Component> klass) {
-    if (components.remove(klass) != null) {
+    Component removed = components.remove(klass);
+    if (removed != null) {
+      removed.onDetach(this);
       ECSManagment.informAboutChanges(this);
       LOGGER.info(klass.getName() + " from " + name + " was removed.");
     }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -176,6 +177,17 @@ public final class Game {
     PreRunConfiguration.userOnLevelLoad(userOnLevelLoad);
   }
 
+  /**
+   * Sets the user-defined function for exit in the pre-run configuration.
+   *
+   * <p>The function is called on the game thread, when the game is closed.
+   *
+   * @param userOnExit The new user-defined function for exit.
+   */
+  public static void userOnExit(final IVoidFunction userOnExit) {
+    PreRunConfiguration.userOnExit(userOnExit);
+  }
+
   /**
    * Initialize the base logger.
    *
@@ -233,6 +245,30 @@ public final class Game {
     ECSManagment.add(entity);
   }
 
+  /**
+   * Execute the given work and record its changes of the entities, instead of applying them.
+   *
+   * <p>See {@link ECSManagment#deferChanges(Queue, Supplier)}.
+   *
+   * @param changes The thread-safe queue for the recorded changes.
+   * @param work The work to execute on the current thread.
+   * @param <T> The type of the result of the work.
+   * @return The result of the work.
+   */
+  public static <T> T deferChanges(final Queue<Runnable> changes, final Supplier<T> work) {
+    return ECSManagment.deferChanges(changes, work);
+  }
+
+  /**
+   * Apply the changes of the entities, which were recorded by {@link #deferChanges(Queue,
+   * Supplier)}, on the game thread.
+   *
+   * @param changes The recorded changes.
+   */
+  public static void applyChanges(final Queue<Runnable> changes) {
+    ECSManagment.applyChanges(changes);
+  }
+
   /**
    * The given entity will be removed from the game.
    *
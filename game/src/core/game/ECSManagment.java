@@ -7,6 +7,7 @@ import core.components.PlayerComponent;
 import core.level.elements.ILevel;
 import core.utils.EntitySystemMapper;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
@@ -23,13 +24,29 @@ import java.util.stream.Stream;
  *
  * <p>Get access via: {@link #entityStream()}, {@link #systems()}
  *
+ * <p>The entities of each level are stored in their own set of {@link EntitySystemMapper}s, the
+ * current level is activated with {@link #activateLevel(ILevel)}. Only the most recently used
+ * levels (see {@link #residentLevels(int)}) keep a mapper for each filter; the storage of the other
+ * levels is compacted to the single mapper that holds all of their entities, and the levels are
+ * evicted (see {@link ILevel#evict()}). The filtered mappers are rebuilt, when the systems are
+ * added again after the level was activated; the level restores its state on the first access.
+ *
  * <p>All API methods can also be accessed via the {@link core.Game} class.
  */
 public final class ECSManagment {
   private static final Logger LOGGER = Logger.getLogger(ECSManagment.class.getSimpleName());
   private static final Map<Class<? extends System>, System> SYSTEMS = new LinkedHashMap<>();
-  private static final Map<ILevel, Set<EntitySystemMapper>> LEVEL_STORAGE_MAP = new HashMap<>();
+
+  /** The default number of levels, which are not compacted and evicted. */
+  public static final int DEFAULT_RESIDENT_LEVELS = 8;
+
+  // in access order, the least recently used level first
+  private static final Map<ILevel, Set<EntitySystemMapper>> LEVEL_STORAGE_MAP =
+      new LinkedHashMap<>(16, 0.75f, true);
   private static Set<EntitySystemMapper> activeEntityStorage = new HashSet<>();
+  private static int residentLevels = DEFAULT_RESIDENT_LEVELS;
+  // changes of the entities, which the current thread records instead of applying them
+  private static final ThreadLocal<Queue<Runnable>> DEFERRED_CHANGES = new ThreadLocal<>();
 
   static {
     LEVEL_STORAGE_MAP.put(null, activeEntityStorage);
@@ -45,6 +62,7 @@ public final class ECSManagment {
    * @param entity the entity that has changes in its Component Collection.
    */
   public static void informAboutChanges(Entity entity) {
+    if (defer(() -> informAboutChanges(entity))) return;
     if (entityStream().anyMatch(entity1 -> entity1.equals(entity))) {
       activeEntityStorage.forEach(f -> f.update(entity));
       LOGGER.info("Entity: " + entity + " informed the Game about component changes.");
@@ -58,10 +76,14 @@ public final class ECSManagment {
    *
    * <p>If necessary, the {@link System} will trigger {@link System#triggerOnAdd(Entity)} .
    *
+   * <p>The components of the entity are informed via {@link Component#onAddedToGame(Entity)}.
+   *
    * @param entity the entity to add.
    */
   public static void add(Entity entity) {
+    if (defer(() -> add(entity))) return;
     activeEntityStorage.forEach(f -> f.add(entity));
+    entity.componentStream().forEach(component -> component.onAddedToGame(entity));
     LOGGER.info("Entity: " + entity + " will be added to the Game.");
   }
 
@@ -70,10 +92,14 @@ public final class ECSManagment {
    *
    * <p>If necessary, the {@link System}s will trigger {@link System#triggerOnAdd(Entity)} .
    *
+   * <p>The components of the entity are informed via {@link Component#onRemovedFromGame(Entity)}.
+   *
    * @param entity the entity to remove
    */
   public static void remove(Entity entity) {
+    if (defer(() -> remove(entity))) return;
     activeEntityStorage.forEach(f -> f.remove(entity));
+    entity.componentStream().forEach(component -> component.onRemovedFromGame(entity));
     LOGGER.info("Entity: " + entity + " will be removed from the Game.");
   }
 
@@ -146,6 +172,126 @@ public final class ECSManagment {
     activeEntityStorage = entityStorage;
   }
 
+  /**
+   * Execute the given work and record its changes of the entities, instead of applying them.
+   *
+   * <p>While the work runs, the calls of {@link #add(Entity)}, {@link #remove(Entity)} and {@link
+   * #informAboutChanges(Entity)} on the current thread do not touch the entity storage, they are
+   * appended to the given queue. The game thread applies them later with {@link
+   * #applyChanges(Queue)}, in the same order. So a worker thread can create and set up entities
+   * (e.g. while a level is built) without racing with the game loop.
+   *
+   * @param changes The queue for the recorded changes, it is read by the game thread while the work
+   *     runs, so it must be thread-safe.
+   * @param work The work to execute on the current thread.
+   * @param <T> The type of the result of the work.
+   * @return The result of the work.
+   */
+  public static <T> T deferChanges(final Queue<Runnable> changes, final Supplier<T> work) {
+    Queue<Runnable> previous = DEFERRED_CHANGES.get();
+    DEFERRED_CHANGES.set(changes);
+    try {
+      return work.get();
+    } finally {
+      if (previous == null) DEFERRED_CHANGES.remove();
+      else DEFERRED_CHANGES.set(previous);
+    }
+  }
+
+  /**
+   * Apply the changes of the entities, which were recorded by {@link #deferChanges(Queue,
+   * Supplier)}.
+   *
+   * <p>Must be called on the game thread. The applied changes are removed from the queue.
+   *
+   * @param changes The recorded changes.
+   */
+  public static void applyChanges(final Queue<Runnable> changes) {
+    Runnable change;
+    while ((change = changes.poll()) != null) {
+      change.run();
+    }
+  }
+
+  private static boolean defer(final Runnable change) {
+    Queue<Runnable> changes = DEFERRED_CHANGES.get();
+    if (changes == null) return false;
+    changes.add(change);
+    return true;
+  }
+
+  /**
+   * Activate the entity storage of the given level.
+   *
+   * <p>The storage is created, if the level is activated for the first time. The storage of the
+   * levels, which were not used recently, is compacted and these levels are evicted.
+   *
+   * <p>The systems should be removed before and added again afterward, so each system is informed
+   * about the entities of the level.
+   *
+   * @param level The level, that becomes the current level.
+   */
+  public static void activateLevel(final ILevel level) {
+    activeEntityStorage = LEVEL_STORAGE_MAP.computeIfAbsent(level, k -> new HashSet<>());
+    compactColdLevels();
+  }
+
+  /**
+   * Set the number of levels, which are not compacted and evicted.
+   *
+   * @param count The number of most recently activated levels to keep complete, at least 1.
+   */
+  public static void residentLevels(int count) {
+    if (count < 1) throw new IllegalArgumentException("At least one level must stay resident.");
+    residentLevels = count;
+    compactColdLevels();
+  }
+
+  /**
+   * Get the number of levels, which are not compacted and evicted.
+   *
+   * @return The number of most recently activated levels, that are kept complete.
+   */
+  public static int residentLevels() {
+    return residentLevels;
+  }
+
+  private static void compactColdLevels() {
+    int cold = LEVEL_STORAGE_MAP.size() - residentLevels;
+    Iterator<Map.Entry<ILevel, Set<EntitySystemMapper>>> storages =
+        LEVEL_STORAGE_MAP.entrySet().iterator();
+    for (int i = 0; i < cold; i++) {
+      Map.Entry<ILevel, Set<EntitySystemMapper>> storage = storages.next();
+      if (storage.getValue() == activeEntityStorage) continue;
+      compact(storage.getValue());
+      if (storage.getKey() != null) storage.getKey().evict();
+    }
+  }
+
+  /**
+   * Reduce the given storage to the mapper without filter rules, which holds all entities.
+   *
+   * <p>The systems were removed from the storage, when its level was deactivated.
+   *
+   * @param storage The storage of an inactive level.
+   */
+  private static void compact(final Set<EntitySystemMapper> storage) {
+    if (storage.size() <= 1) return;
+    Set<Class<? extends Component>> noFilter = new HashSet<>();
+    EntitySystemMapper all =
+        storage.stream()
+            .filter(f -> f.equals(noFilter))
+            .findFirst()
+            .orElseGet(
+                () -> {
+                  EntitySystemMapper mapper = new EntitySystemMapper();
+                  storage.forEach(f -> f.stream().forEach(mapper::add));
+                  return mapper;
+                });
+    storage.clear();
+    storage.add(all);
+  }
+
   /**
    * Get all Systems.
    *
@@ -14,12 +14,10 @@ import core.Entity;
 import core.Game;
 import core.System;
 import core.components.PositionComponent;
-import core.level.generator.postGeneration.WallGenerator;
-import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.generator.LevelPipeline;
 import core.systems.*;
 import core.utils.IVoidFunction;
 import core.utils.components.MissingComponentException;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -62,9 +60,7 @@ public final class GameLoop extends ScreenAdapter {
         // cleanup).
         Map<Class<? extends System>, System> s = ECSManagment.systems();
         ECSManagment.removeAllSystems();
-        ECSManagment.activeEntityStorage(
-            ECSManagment.levelStorageMap()
-                .computeIfAbsent(Game.currentLevel(), k -> new HashSet<>()));
+        ECSManagment.activateLevel(Game.currentLevel());
         // readd the systems so that each triggerOnAdd(entity) will be called (basically
         // setup). This will also create new EntitySystemMapper if needed.
         s.values().forEach(ECSManagment::add);
@@ -104,6 +100,12 @@ public final class GameLoop extends ScreenAdapter {
           public void create() {
             setScreen(new GameLoop());
           }
+
+          @Override
+          public void dispose() {
+            PreRunConfiguration.userOnExit().execute();
+            super.dispose();
+          }
         },
         config);
   }
@@ -249,7 +251,7 @@ public final class GameLoop extends ScreenAdapter {
     ECSManagment.add(new CameraSystem());
     ECSManagment.add(
         new LevelSystem(
-            DrawSystem.painter(), new WallGenerator(new RandomWalkGenerator()), onLevelLoad));
+            DrawSystem.painter(), new LevelPipeline().prefetchNext(true), onLevelLoad));
     ECSManagment.add(new DrawSystem());
     ECSManagment.add(new VelocitySystem());
     ECSManagment.add(new PlayerSystem());
@@ -15,9 +15,9 @@ import java.util.logging.Level;
  * <p>Includes various settings such as window dimensions, frame rate, full-screen mode, and more.
  * This class contains all the necessary configurations that need to be set before the game starts.
  *
- * <p>Use {@link #userOnFrame(IVoidFunction)}, {@link #userOnSetup(IVoidFunction)}, and {@link
- * #userOnLevelLoad(Consumer)} to configure event callbacks. This is the best way to include your
- * own program logic outside a {@link System}.
+ * <p>Use {@link #userOnFrame(IVoidFunction)}, {@link #userOnSetup(IVoidFunction)}, {@link
+ * #userOnLevelLoad(Consumer)} and {@link #userOnExit(IVoidFunction)} to configure event callbacks.
+ * This is the best way to include your own program logic outside a {@link System}.
  *
  * <p>All API methods can also be accessed via the {@link core.Game} class.
  */
@@ -33,6 +33,7 @@ public final class PreRunConfiguration {
   private static IVoidFunction userOnFrame = () -> {};
   private static IVoidFunction userOnSetup = () -> {};
   private static Consumer<Boolean> userOnLevelLoad = (b) -> {};
+  private static IVoidFunction userOnExit = () -> {};
 
   /**
    * Gets the width of the game window.
@@ -214,6 +215,26 @@ public final class PreRunConfiguration {
     PreRunConfiguration.userOnLevelLoad = userOnLevelLoad;
   }
 
+  /**
+   * Gets the user-defined function for exit logic.
+   *
+   * @return The user-defined function for exit logic.
+   */
+  public static IVoidFunction userOnExit() {
+    return userOnExit;
+  }
+
+  /**
+   * Sets the user-defined function for exit logic.
+   *
+   * <p>The function is called on the game thread, when the game is closed.
+   *
+   * @param userOnExit The user-defined function for exit logic.
+   */
+  public static void userOnExit(final IVoidFunction userOnExit) {
+    PreRunConfiguration.userOnExit = userOnExit;
+  }
+
   /**
    * Initialize the base logger.
    *
@@ -0,0 +1,110 @@
+package core.level;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.RandomAccess;
+
+/**
+ * List of tiles of one {@link core.level.utils.LevelElement} type inside a {@link TileLevel}.
+ *
+ * <p>Every tile remembers its position in the list through a slot array that is indexed by the
+ * cell of the tile in the {@link LevelGrid}. This makes {@link #indexOf(Object)}, {@link
+ * #contains(Object)} and {@link #remove(Object)} constant time operations.
+ *
+ * <p>Removing a tile moves the last tile of the list into the free position, so the order of the
+ * list is not stable under removal.
+ *
+ * <p>All lists of one level share the same slot array. This works because a cell holds exactly one
+ * tile, and therefore belongs to at most one of the lists at a time.
+ *
+ * @param <T> Type of the tiles in this list.
+ */
+public final class IndexedTileList<T extends Tile> extends AbstractList<T> implements RandomAccess {
+
+  private final ArrayList<T> tiles = new ArrayList<>();
+  private final LevelGrid grid;
+  private final int[] slots;
+
+  /**
+   * Create a new empty list.
+   *
+   * @param grid The grid of the level, used to find the cell of a tile.
+   * @param slots The slot array shared by all lists of the level, one entry per cell.
+   */
+  IndexedTileList(final LevelGrid grid, final int[] slots) {
+    this.grid = grid;
+    this.slots = slots;
+  }
+
+  @Override
+  public T get(int index) {
+    return tiles.get(index);
+  }
+
+  @Override
+  public int size() {
+    return tiles.size();
+  }
+
+  @Override
+  public boolean add(final T tile) {
+    int cell = cellOf(tile);
+    if (cell >= 0) slots[cell] = tiles.size();
+    tiles.add(tile);
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public T remove(int index) {
+    T removed = tiles.get(index);
+    T last = tiles.remove(tiles.size() - 1);
+    if (index < tiles.size()) {
+      tiles.set(index, last);
+      int cell = cellOf(last);
+      if (cell >= 0) slots[cell] = index;
+    }
+    modCount++;
+    return removed;
+  }
+
+  @Override
+  public boolean remove(final Object o) {
+    int index = indexOf(o);
+    if (index < 0) return false;
+    remove(index);
+    return true;
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    if (!(o instanceof Tile tile)) return -1;
+    int cell = cellOf(tile);
+    if (cell < 0) {
+      for (int i = 0; i < tiles.size(); i++) if (tiles.get(i) == tile) return i;
+      return -1;
+    }
+    int slot = slots[cell];
+    return slot < tiles.size() && tiles.get(slot) == tile ? slot : -1;
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    return indexOf(o);
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public void clear() {
+    tiles.clear();
+    modCount++;
+  }
+
+  private int cellOf(final Tile tile) {
+    return grid.cell(tile.globalPosition.x, tile.globalPosition.y);
+  }
+}
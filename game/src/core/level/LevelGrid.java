@@ -0,0 +1,420 @@
+package core.level;
+
+import core.level.utils.LevelElement;
+import core.utils.components.path.IPath;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Struct-of-arrays storage for the per-tile state of a {@link TileLevel}.
+ *
+ * <p>Every tile of the level is identified by its cell index {@code y * width + x}. The element
+ * type, texture, visibility, tint and pathfinding index of a cell are stored in flat primitive
+ * arrays instead of in the {@link Tile} objects, so scans over the level touch contiguous memory.
+ * {@link Tile} instances that were added to a level are thin views that read and write their state
+ * through this grid.
+ *
+ * <p>Neighbourhood is implicit: the neighbours of a cell are computed from its index, and a cell
+ * takes part in pathfinding if it is marked as linked. No connection objects are stored.
+ *
+ * <p>Textures are stored as ids into a palette that is shared between all levels. The palette is
+ * keyed by {@link IPath#pathString()} and only ever grows, so reading a texture needs no lock.
+ *
+ * <p>The cells of a level that is not used can be evicted with {@link #evict()}: they are
+ * compressed into a buffer outside the heap, and restored on the next access of a cell.
+ */
+public final class LevelGrid {
+
+  private static final LevelElement[] ELEMENTS = LevelElement.values();
+  private static final Map<String, Integer> TEXTURE_IDS = new ConcurrentHashMap<>();
+  private static final Object PALETTE_LOCK = new Object();
+  private static volatile IPath[] palette = new IPath[0];
+  private static final int NO_TEXTURE = -1;
+
+  private final int width;
+  private final int height;
+  // null while the cells are evicted
+  private volatile Cells cells;
+  private ByteBuffer evicted;
+
+  /**
+   * Create a new grid.
+   *
+   * <p>All cells start as {@link LevelElement#SKIP}, visible, untinted and not linked.
+   *
+   * @param width Number of columns.
+   * @param height Number of rows.
+   */
+  public LevelGrid(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.cells = new Cells(width * height);
+  }
+
+  /**
+   * Get the number of columns of the grid.
+   *
+   * @return The width of the grid.
+   */
+  public int width() {
+    return width;
+  }
+
+  /**
+   * Get the number of rows of the grid.
+   *
+   * @return The height of the grid.
+   */
+  public int height() {
+    return height;
+  }
+
+  /**
+   * Get the number of cells of the grid.
+   *
+   * @return width * height.
+   */
+  public int size() {
+    return width * height;
+  }
+
+  /**
+   * Get the cell index for the given position.
+   *
+   * @param x The x-coordinate.
+   * @param y The y-coordinate.
+   * @return The cell index, or -1 if the position is outside the grid.
+   */
+  public int cell(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) return -1;
+    return y * width + x;
+  }
+
+  /**
+   * Get the x-coordinate of a cell.
+   *
+   * @param cell The cell index.
+   * @return The x-coordinate.
+   */
+  public int x(int cell) {
+    return cell % width;
+  }
+
+  /**
+   * Get the y-coordinate of a cell.
+   *
+   * @param cell The cell index.
+   * @return The y-coordinate.
+   */
+  public int y(int cell) {
+    return cell / width;
+  }
+
+  /**
+   * Get the element type of a cell.
+   *
+   * @param cell The cell index.
+   * @return The LevelElement stored in the cell.
+   */
+  public LevelElement element(int cell) {
+    return ELEMENTS[cells().elements[cell]];
+  }
+
+  /**
+   * Set the element type of a cell.
+   *
+   * @param cell The cell index.
+   * @param element The new LevelElement.
+   */
+  public void element(int cell, final LevelElement element) {
+    cells().elements[cell] = (byte) element.ordinal();
+  }
+
+  /**
+   * Check if the element stored in a cell is accessible.
+   *
+   * <p>This only looks at the {@link LevelElement}; state of the tile itself, like a closed door,
+   * is not taken into account.
+   *
+   * @param cell The cell index.
+   * @return true if the element in the cell is accessible.
+   */
+  public boolean accessible(int cell) {
+    return ELEMENTS[cells().elements[cell]].value();
+  }
+
+  /**
+   * Get the texture of a cell.
+   *
+   * @param cell The cell index.
+   * @return The texture path, or null if no texture is set.
+   */
+  public IPath texture(int cell) {
+    int id = cells().textures[cell];
+    return id == NO_TEXTURE ? null : palette[id];
+  }
+
+  /**
+   * Set the texture of a cell.
+   *
+   * @param cell The cell index.
+   * @param texture The new texture path, may be null.
+   */
+  public void texture(int cell, final IPath texture) {
+    cells().textures[cell] = textureId(texture);
+  }
+
+  /**
+   * Check if a cell is visible.
+   *
+   * @param cell The cell index.
+   * @return true if the cell is visible.
+   */
+  public boolean visible(int cell) {
+    return !cells().hidden.get(cell);
+  }
+
+  /**
+   * Set the visibility of a cell.
+   *
+   * @param cell The cell index.
+   * @param visible The new visibility.
+   */
+  public void visible(int cell, boolean visible) {
+    cells().hidden.set(cell, !visible);
+  }
+
+  /**
+   * Get the tint color of a cell.
+   *
+   * @param cell The cell index.
+   * @return The tint color, -1 for no tint.
+   */
+  public int tint(int cell) {
+    Cells current = cells();
+    return current.tinted.get(cell) ? current.tints[cell] : -1;
+  }
+
+  /**
+   * Set the tint color of a cell.
+   *
+   * <p>The tint array is only allocated once the first cell gets tinted.
+   *
+   * @param cell The cell index.
+   * @param color The tint color, -1 for no tint.
+   */
+  public void tint(int cell, int color) {
+    Cells current = cells();
+    if (color == -1) {
+      current.tinted.clear(cell);
+      return;
+    }
+    if (current.tints == null) current.tints = new int[size()];
+    current.tints[cell] = color;
+    current.tinted.set(cell);
+  }
+
+  /**
+   * Get the pathfinding index of a cell.
+   *
+   * @param cell The cell index.
+   * @return The index used by the libGDX pathfinding.
+   */
+  public int nodeIndex(int cell) {
+    return cells().nodeIndices[cell];
+  }
+
+  /**
+   * Set the pathfinding index of a cell.
+   *
+   * @param cell The cell index.
+   * @param index The index used by the libGDX pathfinding.
+   */
+  public void nodeIndex(int cell, int index) {
+    cells().nodeIndices[cell] = index;
+  }
+
+  /**
+   * Check if a cell takes part in pathfinding.
+   *
+   * @param cell The cell index.
+   * @return true if the cell is connected to its linked neighbours.
+   */
+  public boolean linked(int cell) {
+    return cells().linked.get(cell);
+  }
+
+  /**
+   * Set if a cell takes part in pathfinding.
+   *
+   * @param cell The cell index.
+   * @param value true to connect the cell to its linked neighbours.
+   */
+  public void linked(int cell, boolean value) {
+    cells().linked.set(cell, value);
+  }
+
+  /**
+   * Write the linked neighbours of a cell into the given array.
+   *
+   * <p>The neighbours are reported in the order south, west, north, east (in level coordinates:
+   * y-1, x-1, y+1, x+1), which is the order in which a row-by-row build connects the tiles.
+   *
+   * @param cell The cell index.
+   * @param out Array with at least four entries.
+   * @return Number of neighbours written into {@code out}, 0 if the cell itself is not linked.
+   */
+  public int linkedNeighbours(int cell, final int[] out) {
+    BitSet linked = cells().linked;
+    if (!linked.get(cell)) return 0;
+    int x = cell % width;
+    int count = 0;
+    if (cell >= width && linked.get(cell - width)) out[count++] = cell - width;
+    if (x > 0 && linked.get(cell - 1)) out[count++] = cell - 1;
+    if (cell + width < size() && linked.get(cell + width)) out[count++] = cell + width;
+    if (x < width - 1 && linked.get(cell + 1)) out[count++] = cell + 1;
+    return count;
+  }
+
+  /**
+   * Move the cells out of the heap.
+   *
+   * <p>The cells are compressed into a direct buffer, which is not part of the heap. The next
+   * access of a cell restores them, so the grid can be used as before. Evicting an evicted grid
+   * does nothing.
+   */
+  public synchronized void evict() {
+    Cells current = cells;
+    if (current == null) return;
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+      current.write(out);
+    } catch (IOException e) {
+      // writing to memory does not fail
+      throw new UncheckedIOException(e);
+    }
+    byte[] data = bytes.toByteArray();
+    evicted = ByteBuffer.allocateDirect(data.length).put(data).flip();
+    cells = null;
+  }
+
+  /**
+   * Check if the cells are evicted.
+   *
+   * @return true if the cells are stored outside the heap, see {@link #evict()}.
+   */
+  public boolean isEvicted() {
+    return cells == null;
+  }
+
+  private Cells cells() {
+    Cells current = cells;
+    return current != null ? current : restore();
+  }
+
+  private synchronized Cells restore() {
+    if (cells != null) return cells;
+    byte[] data = new byte[evicted.remaining()];
+    evicted.get(data);
+    Cells restored = new Cells(size());
+    try (DataInputStream in =
+        new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+      restored.read(in);
+    } catch (IOException e) {
+      // the buffer was written by evict()
+      throw new UncheckedIOException(e);
+    }
+    evicted = null;
+    cells = restored;
+    return restored;
+  }
+
+  private static int textureId(final IPath texture) {
+    if (texture == null) return NO_TEXTURE;
+    Integer id = TEXTURE_IDS.get(texture.pathString());
+    if (id != null) return id;
+    synchronized (PALETTE_LOCK) {
+      id = TEXTURE_IDS.get(texture.pathString());
+      if (id != null) return id;
+      IPath[] grown = Arrays.copyOf(palette, palette.length + 1);
+      grown[palette.length] = texture;
+      palette = grown;
+      TEXTURE_IDS.put(texture.pathString(), grown.length - 1);
+      return grown.length - 1;
+    }
+  }
+
+  // the state of all cells, replaced by a compressed copy while the grid is evicted
+  private static final class Cells {
+    private final byte[] elements;
+    private final int[] textures;
+    private final int[] nodeIndices;
+    private BitSet hidden;
+    private BitSet tinted;
+    private BitSet linked;
+    private int[] tints;
+
+    private Cells(int size) {
+      this.elements = new byte[size];
+      this.textures = new int[size];
+      this.nodeIndices = new int[size];
+      this.hidden = new BitSet(size);
+      this.tinted = new BitSet(size);
+      this.linked = new BitSet(size);
+    }
+
+    private void write(final DataOutputStream out) throws IOException {
+      out.write(elements);
+      for (int i = 0; i < elements.length; i++) {
+        out.writeInt(textures[i]);
+        out.writeInt(nodeIndices[i]);
+      }
+      writeBits(hidden, out);
+      writeBits(tinted, out);
+      writeBits(linked, out);
+      out.writeBoolean(tints != null);
+      if (tints != null) {
+        for (int tint : tints) out.writeInt(tint);
+      }
+    }
+
+    private void read(final DataInputStream in) throws IOException {
+      in.readFully(elements);
+      for (int i = 0; i < elements.length; i++) {
+        textures[i] = in.readInt();
+        nodeIndices[i] = in.readInt();
+      }
+      hidden = readBits(in);
+      tinted = readBits(in);
+      linked = readBits(in);
+      if (in.readBoolean()) {
+        tints = new int[elements.length];
+        for (int i = 0; i < tints.length; i++) tints[i] = in.readInt();
+      }
+    }
+
+    private static void writeBits(final BitSet bits, final DataOutputStream out)
+        throws IOException {
+      long[] words = bits.toLongArray();
+      out.writeInt(words.length);
+      for (long word : words) out.writeLong(word);
+    }
+
+    private static BitSet readBits(final DataInputStream in) throws IOException {
+      long[] words = new long[in.readInt()];
+      for (int i = 0; i < words.length; i++) words[i] = in.readLong();
+      return BitSet.valueOf(words);
+    }
+  }
+}
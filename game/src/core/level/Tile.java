@@ -3,7 +3,6 @@ package core.level;
 import com.badlogic.gdx.ai.pfa.Connection;
 import com.badlogic.gdx.utils.Array;
 import core.level.elements.ILevel;
-import core.level.elements.astar.TileConnection;
 import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
@@ -23,6 +22,11 @@ import java.util.List;
  *
  * <p>After you add a Tile to a Level, you must call {@link #level(TileLevel)}.
  *
+ * <p>While a Tile is part of a {@link TileLevel}, it is a thin view on the level's {@link
+ * LevelGrid}: the element type, texture, visibility, tint and pathfinding index are read from and
+ * written to the grid, and the connections to the neighbour tiles are provided by the level. A
+ * Tile that is not part of a level keeps this state in its own fields.
+ *
  * <p>The concrete type of the Tile is defined by the inheriting class.
  */
 public abstract class Tile {
@@ -33,10 +37,12 @@ public abstract class Tile {
   protected IPath texturePath;
   protected ILevel level;
   protected LevelElement levelElement;
-  protected transient Array<Connection<Tile>> connections = new Array<>();
+  // the state fields are only used while the tile is not part of a level, the grid is used instead
   protected int index;
   protected boolean visible = true;
   protected int tintColor = -1; // -1 means no tint color
+  private LevelGrid grid;
+  private int cell = -1;
 
   /**
    * Create a new Tile.
@@ -75,7 +81,7 @@ public abstract class Tile {
    * @return Path to the texture of this tile.
    */
   public IPath texturePath() {
-    return texturePath;
+    return grid != null ? grid.texture(cell) : texturePath;
   }
 
   /**
@@ -84,7 +90,8 @@ public abstract class Tile {
    * @param texture New texture of the tile.
    */
   public void texturePath(final IPath texture) {
-    this.texturePath = texture;
+    if (grid != null) grid.texture(cell, texture);
+    else this.texturePath = texture;
   }
 
   /**
@@ -120,7 +127,7 @@ public abstract class Tile {
    * @return The LevelElement of this tile.
    */
   public LevelElement levelElement() {
-    return levelElement;
+    return grid != null ? grid.element(cell) : levelElement;
   }
 
   /**
@@ -129,7 +136,8 @@ public abstract class Tile {
    * @param newLevelElement New type of the tile.
    */
   public void levelElement(final LevelElement newLevelElement) {
-    this.levelElement = newLevelElement;
+    if (grid != null) grid.element(cell, newLevelElement);
+    else this.levelElement = newLevelElement;
   }
 
   /**
@@ -156,7 +164,7 @@ public abstract class Tile {
    * @return The index of this tile.
    */
   public int index() {
-    return index;
+    return grid != null ? grid.nodeIndex(cell) : index;
   }
 
   /**
@@ -165,7 +173,8 @@ public abstract class Tile {
    * @param index Value of the index.
    */
   public void index(int index) {
-    this.index = index;
+    if (grid != null) grid.nodeIndex(cell, index);
+    else this.index = index;
   }
 
   /**
@@ -177,26 +186,18 @@ public abstract class Tile {
     return this.friction;
   }
 
-  /**
-   * Connects two tiles together. This means you can go from one tile to another. Connections are
-   * needed to calculate a path through the dungeon.
-   *
-   * @param to Tile to connect with.
-   */
-  public void addConnection(final Tile to) {
-    if (connections == null) {
-      connections = new Array<>();
-    }
-    connections.add(new TileConnection(this, to));
-  }
-
   /**
    * Used by LibGDX pathfinding.
    *
+   * <p>The connections are computed by the level from the neighbour tiles that take part in its
+   * pathfinding (see {@link TileLevel#connections(Tile)}). A tile that is not part of a level has
+   * no connections.
+   *
    * @return All connections to other tiles.
    */
   public Array<Connection<Tile>> connections() {
-    return connections;
+    if (grid == null || !(level instanceof TileLevel tileLevel)) return new Array<>(0);
+    return tileLevel.connections(this);
   }
 
   /**
@@ -226,7 +227,7 @@ public abstract class Tile {
    * @return true if this tile is accessible, false if not.
    */
   public boolean isAccessible() {
-    return levelElement.value();
+    return levelElement().value();
   }
 
   /**
@@ -236,7 +237,7 @@ public abstract class Tile {
    * @return True if the player can see through this tile, false otherwise.
    */
   public boolean canSeeThrough() {
-    return levelElement.canSeeThrough();
+    return levelElement().canSeeThrough();
   }
 
   /**
@@ -246,7 +247,8 @@ public abstract class Tile {
    * @param b The visibility status to set. True for visible, false for hidden.
    */
   public void visible(boolean b) {
-    this.visible = b;
+    if (grid != null) grid.visible(cell, b);
+    else this.visible = b;
   }
 
   /**
@@ -256,7 +258,7 @@ public abstract class Tile {
    * @return The visibility of the tile. True if the tile is visible, false if it is hidden.
    */
   public boolean visible() {
-    return this.visible;
+    return grid != null ? grid.visible(cell) : this.visible;
   }
 
   /**
@@ -265,7 +267,8 @@ public abstract class Tile {
    * @param color The color to set. -1 for no tint.
    */
   public void tintColor(int color) {
-    this.tintColor = color;
+    if (grid != null) grid.tint(cell, color);
+    else this.tintColor = color;
   }
 
   /**
@@ -274,7 +277,43 @@ public abstract class Tile {
    * @return The tint color of the tile.
    */
   public int tintColor() {
-    return this.tintColor;
+    return grid != null ? grid.tint(cell) : this.tintColor;
+  }
+
+  /**
+   * Moves the state of this tile into the given cell of a level grid.
+   *
+   * <p>From now on, this tile reads and writes its state through the grid.
+   *
+   * @param grid The grid of the level this tile is added to.
+   * @param cell The cell of this tile in the grid.
+   */
+  void attach(final LevelGrid grid, int cell) {
+    if (this.grid == grid && this.cell == cell) return;
+    detach();
+    grid.element(cell, levelElement);
+    grid.texture(cell, texturePath);
+    grid.visible(cell, visible);
+    grid.tint(cell, tintColor);
+    grid.nodeIndex(cell, index);
+    this.grid = grid;
+    this.cell = cell;
+  }
+
+  /**
+   * Copies the state of this tile out of the level grid and stops using the grid.
+   *
+   * <p>The tile keeps the values it had at the moment it was removed from the level.
+   */
+  void detach() {
+    if (grid == null) return;
+    levelElement = grid.element(cell);
+    texturePath = grid.texture(cell);
+    visible = grid.visible(cell);
+    tintColor = grid.tint(cell);
+    index = grid.nodeIndex(cell);
+    grid = null;
+    cell = -1;
   }
 
   @Override
@@ -1,18 +1,18 @@
 package core.level;
 
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.utils.Array;
 import core.level.elements.ILevel;
 import core.level.elements.astar.TileConnection;
 import core.level.elements.astar.TileHeuristic;
 import core.level.elements.tile.*;
-import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.TileTextureFactory;
 import core.utils.IVoidFunction;
-import core.utils.components.path.IPath;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Basic 2D-Matrix Tile-based level.
@@ -23,24 +23,31 @@ import java.util.List;
  * 2D-Array. Note that the layout is stored [y][x], so the first index defines the y-coordinate, and
  * the second index the x-coordinate.
  *
+ * <p>The state of the tiles (element type, texture, visibility, tint and pathfinding index) is
+ * stored in a {@link LevelGrid}. The tiles in the layout are views on that grid, and the
+ * connections between them are derived from the grid instead of being stored per tile (see {@link
+ * #connections(Tile)}).
+ *
  * @see core.level.elements.ILevel
  */
 public class TileLevel implements ILevel {
 
-  private static final Coordinate[] CONNECTION_OFFSETS = {
-    new Coordinate(0, 1), new Coordinate(0, -1), new Coordinate(1, 0), new Coordinate(-1, 0),
-  };
   protected final TileHeuristic tileHeuristic = new TileHeuristic();
   protected Tile startTile;
   protected int nodeCount = 0;
   protected Tile[][] layout;
-  protected ArrayList<FloorTile> floorTiles = new ArrayList<>();
-  protected ArrayList<WallTile> wallTiles = new ArrayList<>();
-  protected ArrayList<HoleTile> holeTiles = new ArrayList<>();
-  protected ArrayList<DoorTile> doorTiles = new ArrayList<>();
-  protected ArrayList<ExitTile> exitTiles = new ArrayList<>();
-  protected ArrayList<SkipTile> skipTiles = new ArrayList<>();
-  protected ArrayList<PitTile> pitTiles = new ArrayList<>();
+  protected final LevelGrid grid;
+  protected final IndexedTileList<FloorTile> floorTiles;
+  protected final IndexedTileList<WallTile> wallTiles;
+  protected final IndexedTileList<HoleTile> holeTiles;
+  protected final IndexedTileList<DoorTile> doorTiles;
+  protected final IndexedTileList<ExitTile> exitTiles;
+  protected final IndexedTileList<SkipTile> skipTiles;
+  protected final IndexedTileList<PitTile> pitTiles;
+  // connections of each cell, built on demand by connections(Tile), null until the first search
+  private Array<Connection<Tile>>[] connections;
+  private int[] freeNodeIndices = new int[16];
+  private int freeNodeCount = 0;
   private IVoidFunction onFirstLoad = () -> {};
 
   private boolean wasLoaded = false;
@@ -51,10 +58,32 @@ public class TileLevel implements ILevel {
    * @param layout The layout of the level.
    */
   public TileLevel(Tile[][] layout) {
+    this(layout, RANDOM);
+  }
+
+  /**
+   * Create a new level.
+   *
+   * <p>If the layout has no start or exit, they are placed by the given generator, so the same
+   * seed gives the same level.
+   *
+   * @param layout The layout of the level.
+   * @param random The source of the random start and exit.
+   */
+  public TileLevel(Tile[][] layout, Random random) {
     this.layout = layout;
+    this.grid = new LevelGrid(layout[0].length, layout.length);
+    int[] slots = new int[grid.size()];
+    this.floorTiles = new IndexedTileList<>(grid, slots);
+    this.wallTiles = new IndexedTileList<>(grid, slots);
+    this.holeTiles = new IndexedTileList<>(grid, slots);
+    this.doorTiles = new IndexedTileList<>(grid, slots);
+    this.exitTiles = new IndexedTileList<>(grid, slots);
+    this.skipTiles = new IndexedTileList<>(grid, slots);
+    this.pitTiles = new IndexedTileList<>(grid, slots);
     putTilesInLists();
-    if (startTile == null) randomStart();
-    if (exitTiles.size() == 0) randomEnd();
+    if (startTile == null) randomStart(random);
+    if (exitTiles.size() == 0) randomEnd(random);
   }
 
   /**
@@ -70,24 +99,16 @@ public class TileLevel implements ILevel {
   /**
    * Converts the given LevelElement[][] in a corresponding Tile[][].
    *
+   * <p>Texture resolution and tile creation run row-parallel.
+   *
    * @param layout The LevelElement[][]
    * @param designLabel The selected Design for the Tiles
    * @return The converted Tile[][]
    */
   private static Tile[][] convertLevelElementToTile(
       LevelElement[][] layout, DesignLabel designLabel) {
-    Tile[][] tileLayout = new Tile[layout.length][layout[0].length];
-    for (int y = 0; y < layout.length; y++) {
-      for (int x = 0; x < layout[0].length; x++) {
-        Coordinate coordinate = new Coordinate(x, y);
-        IPath texturePath =
-            TileTextureFactory.findTexturePath(
-                new TileTextureFactory.LevelPart(layout[y][x], designLabel, layout, coordinate));
-        tileLayout[y][x] =
-            TileFactory.createTile(texturePath, coordinate, layout[y][x], designLabel);
-      }
-    }
-    return tileLayout;
+    return TileFactory.createTiles(
+        layout, TileTextureFactory.findTexturePaths(layout, designLabel), designLabel);
   }
 
   private void putTilesInLists() {
@@ -98,32 +119,100 @@ public class TileLevel implements ILevel {
     }
   }
 
+  /**
+   * Get the number of index slots used by the pathfinding.
+   *
+   * <p>Node indices are stable: removing a tile from the pathfinding frees its index for reuse
+   * instead of renumbering the other tiles. Therefore, this is the highest index ever handed out
+   * plus one, which may be larger than {@link #activeNodeCount()}.
+   *
+   * @return The number of nodes in the level.
+   */
   @Override
   public int getNodeCount() {
     return nodeCount;
   }
 
+  /**
+   * Get the number of tiles that currently take part in the pathfinding.
+   *
+   * @return The number of nodes that are in use.
+   */
+  public int activeNodeCount() {
+    return nodeCount - freeNodeCount;
+  }
+
   @Override
   public TileHeuristic tileHeuristic() {
     return tileHeuristic;
   }
 
   /**
-   * Check each tile around the tile, if it is accessible add it to the connectionList.
+   * Get the grid that stores the state of the tiles of this level.
+   *
+   * @return The LevelGrid of this level.
+   */
+  public LevelGrid grid() {
+    return grid;
+  }
+
+  /**
+   * Connect the tile with its neighbours that take part in the pathfinding.
+   *
+   * <p>The connections are implicit: the tile is marked as linked in the {@link LevelGrid}, and
+   * {@link Tile#connections()} reports every linked neighbour.
    *
    * @param checkTile Tile to check for.
    */
   @Override
   public void addConnectionsToNeighbours(Tile checkTile) {
-    for (Coordinate v : CONNECTION_OFFSETS) {
-      Coordinate c = new Coordinate(checkTile.coordinate().x + v.x, checkTile.coordinate().y + v.y);
-      Tile t = tileAt(c);
-      if (t != null
-          && t.isAccessible()
-          && !checkTile.connections().contains(new TileConnection(checkTile, t), false)) {
-        checkTile.addConnection(t);
+    int cell = cellOf(checkTile);
+    if (cell < 0) return;
+    grid.linked(cell, true);
+    invalidateConnections(cell);
+  }
+
+  /**
+   * Get the connections of a tile of this level to its neighbours that take part in the
+   * pathfinding.
+   *
+   * <p>The connections of a cell are built from the {@link LevelGrid} on the first request and kept
+   * until the links of the cell or of one of its neighbours change, or a new tile is added to one
+   * of these cells. Only cells visited by a search hold connections. The returned array is shared,
+   * do not modify it.
+   *
+   * @param tile Tile of this level.
+   * @return The connections of the tile, empty if the tile is not part of the layout.
+   */
+  @SuppressWarnings("unchecked")
+  public Array<Connection<Tile>> connections(final Tile tile) {
+    int cell = cellOf(tile);
+    if (cell < 0 || layout[grid.y(cell)][grid.x(cell)] != tile) return new Array<>(0);
+    if (connections == null) connections = new Array[grid.size()];
+    Array<Connection<Tile>> cellConnections = connections[cell];
+    if (cellConnections == null) {
+      int[] neighbours = new int[4];
+      int count = grid.linkedNeighbours(cell, neighbours);
+      cellConnections = new Array<>(count);
+      for (int i = 0; i < count; i++) {
+        Tile to = layout[grid.y(neighbours[i])][grid.x(neighbours[i])];
+        cellConnections.add(new TileConnection(tile, to));
       }
+      connections[cell] = cellConnections;
     }
+    return cellConnections;
+  }
+
+  // the connections of the neighbours of a cell point to the tile of the cell
+  private void invalidateConnections(int cell) {
+    if (connections == null) return;
+    int width = grid.width();
+    int x = grid.x(cell);
+    connections[cell] = null;
+    if (cell >= width) connections[cell - width] = null;
+    if (x > 0) connections[cell - 1] = null;
+    if (cell + width < connections.length) connections[cell + width] = null;
+    if (x < width - 1) connections[cell + 1] = null;
   }
 
   @Override
@@ -139,6 +228,17 @@ public class TileLevel implements ILevel {
     }
   }
 
+  /**
+   * Evicts the {@link LevelGrid} of this level and drops the cached connections.
+   *
+   * <p>The tiles stay in the layout, the first access of their state restores the grid.
+   */
+  @Override
+  public void evict() {
+    connections = null;
+    grid.evict();
+  }
+
   @Override
   public void addFloorTile(FloorTile tile) {
     floorTiles.add(tile);
@@ -224,22 +324,24 @@ public class TileLevel implements ILevel {
       case PIT -> pitTiles.remove((PitTile) tile);
     }
     this.removeFromPathfinding(tile);
+    tile.detach();
   }
 
   /**
    * Removes the given tile from the pathfinding. By removing all neighbours connections to this
    * tile and its index.
    *
+   * <p>The index of the tile is put on a free list and handed out again by the next call to {@link
+   * #addToPathfinding(Tile)}; the indices of all other tiles stay the same.
+   *
    * @param tile Tile to remove from pathfinding.
    */
   public void removeFromPathfinding(Tile tile) {
-    tile.connections()
-        .forEach(
-            x ->
-                x.getToNode()
-                    .connections()
-                    .removeValue(new TileConnection(x.getToNode(), tile), false));
-    if (tile.isAccessible()) removeIndex(tile.index());
+    int cell = cellOf(tile);
+    if (cell < 0 || !grid.linked(cell)) return;
+    grid.linked(cell, false);
+    invalidateConnections(cell);
+    freeIndex(grid.nodeIndex(cell));
   }
 
   /**
@@ -250,27 +352,31 @@ public class TileLevel implements ILevel {
    */
   public void addToPathfinding(Tile tile) {
     if (!tile.isAccessible()) return;
+    int cell = cellOf(tile);
+    if (cell >= 0 && grid.linked(cell)) return;
     this.addConnectionsToNeighbours(tile);
-    tile.connections()
-        .forEach(
-            x -> {
-              if (!x.getToNode()
-                  .connections()
-                  .contains(new TileConnection(x.getToNode(), tile), false))
-                x.getToNode().addConnection(tile);
-            });
-    tile.index(nodeCount++);
+    tile.index(freeNodeCount > 0 ? freeNodeIndices[--freeNodeCount] : nodeCount++);
   }
 
-  private void removeIndex(int index) {
-    Arrays.stream(layout)
-        .flatMap(x -> Arrays.stream(x).filter(y -> y.index() > index))
-        .forEach(x -> x.index(x.index() - 1));
-    nodeCount--;
+  private void freeIndex(int index) {
+    if (freeNodeCount == freeNodeIndices.length) {
+      freeNodeIndices = Arrays.copyOf(freeNodeIndices, freeNodeCount * 2);
+    }
+    freeNodeIndices[freeNodeCount++] = index;
+  }
+
+  private int cellOf(Tile tile) {
+    return grid.cell(tile.globalPosition.x, tile.globalPosition.y);
   }
 
   @Override
   public void addTile(Tile tile) {
+    int cell = cellOf(tile);
+    if (cell >= 0) {
+      tile.attach(grid, cell);
+      invalidateConnections(cell);
+    }
+    tile.level(this);
     switch (tile.levelElement()) {
       case SKIP -> addSkipTile((SkipTile) tile);
       case FLOOR -> addFloorTile((FloorTile) tile);
@@ -281,7 +387,6 @@ public class TileLevel implements ILevel {
       case PIT -> addPitTile((PitTile) tile);
     }
     this.addToPathfinding(tile);
-    tile.level(this);
   }
 
   @Override
@@ -46,8 +46,19 @@ public interface ILevel extends IndexedGraph<Tile> {
    * it as the start tile for the level.
    */
   default void randomStart() {
+    randomStart(RANDOM);
+  }
+
+  /**
+   * Marks a random tile as the start of the level.
+   *
+   * <p>Like {@link #randomStart()}, but takes the random decision from the given generator.
+   *
+   * @param random The source of the random decision.
+   */
+  default void randomStart(final Random random) {
     startTile(
-        randomTile(LevelElement.FLOOR)
+        randomTile(LevelElement.FLOOR, random)
             .orElseThrow(
                 () -> new NoSuchElementException("There is no Floor-Tile to place the Start on.")));
   }
@@ -67,13 +78,24 @@ public interface ILevel extends IndexedGraph<Tile> {
    * <p>If there are not enough floor tiles for both the start and exit tiles, no action is taken.
    */
   default void randomEnd() {
+    randomEnd(RANDOM);
+  }
+
+  /**
+   * Marks a random tile as the end of the level.
+   *
+   * <p>Like {@link #randomEnd()}, but takes the random decision from the given generator.
+   *
+   * @param random The source of the random decision.
+   */
+  default void randomEnd(final Random random) {
     List<FloorTile> floorTiles = floorTiles();
     if (floorTiles.size() <= 1) {
       // not enough Tiles for startTile and ExitTile
       return;
     }
     int startTileIndex = floorTiles.indexOf((FloorTile) startTile());
-    int index = RANDOM.nextInt(floorTiles.size() - 1);
+    int index = random.nextInt(floorTiles.size() - 1);
     changeTileElementType(
         floorTiles.get(index < startTileIndex ? index : index + 1), LevelElement.EXIT);
   }
@@ -243,7 +265,8 @@ public interface ILevel extends IndexedGraph<Tile> {
    * without making any changes. If the tile is associated with a level, it is removed from the
    * level, and a new tile is created with the specified level element, texture path, coordinates,
    * and design label. The new tile is then added back to the level at the same coordinates as the
-   * original tile.
+   * original tile. Finally, the textures of the surrounding walls, doors and holes are updated to
+   * match the new element.
    *
    * @param tile The tile to be changed.
    * @param changeInto The LevelElement to change the tile into.
@@ -265,6 +288,7 @@ public interface ILevel extends IndexedGraph<Tile> {
     newTile.tintColor(tile.tintColor());
     newTile.visible(tile.visible());
     level.addTile(newTile);
+    TileTextureFactory.updateNeighbourTextures(newTile, level.layout());
   }
 
   /**
@@ -278,9 +302,23 @@ public interface ILevel extends IndexedGraph<Tile> {
    * @return A random tile of the specified type, or empty if the list for that type is empty.
    */
   default Optional<Tile> randomTile(final LevelElement elementType) {
+    return randomTile(elementType, RANDOM);
+  }
+
+  /**
+   * Retrieves a random tile of the specified type from the level.
+   *
+   * <p>Like {@link #randomTile(LevelElement)}, but takes the random decision from the given
+   * generator.
+   *
+   * @param elementType Type of the tile to retrieve.
+   * @param random The source of the random decision.
+   * @return A random tile of the specified type, or empty if the list for that type is empty.
+   */
+  default Optional<Tile> randomTile(final LevelElement elementType, final Random random) {
     Function<List<? extends Tile>, Optional<Tile>> returnVal =
         (list) ->
-            Optional.ofNullable(list.isEmpty() ? null : list.get(RANDOM.nextInt(list.size())));
+            Optional.ofNullable(list.isEmpty() ? null : list.get(random.nextInt(list.size())));
 
     return returnVal.apply(
         switch (elementType) {
@@ -315,6 +353,14 @@ public interface ILevel extends IndexedGraph<Tile> {
    */
   void onLoad();
 
+  /**
+   * Notifies the level that it was not used as the current level for a while.
+   *
+   * <p>The level may move state that it can restore out of the heap. The state is restored on the
+   * next access, so the level can be used as before.
+   */
+  default void evict() {}
+
   /**
    * Retrieves the count of nodes in the level for use in libGDX pathfinding algorithms.
    *
@@ -16,7 +16,7 @@ import core.utils.components.path.SimpleIPath;
  */
 public class DoorTile extends Tile {
 
-  private final IPath closedTexturePath;
+  private IPath closedTexturePath;
   private DoorTile otherDoor;
   private Tile doorstep;
   private boolean open;
@@ -33,8 +33,7 @@ public class DoorTile extends Tile {
   public DoorTile(
       final IPath texturePath, final Coordinate globalPosition, final DesignLabel designLabel) {
     super(texturePath, globalPosition, designLabel);
-    String[] splitPath = texturePath.pathString().split("\\.");
-    closedTexturePath = new SimpleIPath(splitPath[0] + "_closed." + splitPath[1]);
+    closedTexturePath = closedTexturePath(texturePath);
     levelElement = LevelElement.DOOR;
     open = true;
   }
@@ -42,7 +41,7 @@ public class DoorTile extends Tile {
   @Override
   public boolean isAccessible() {
     if (!open || (otherDoor != null && !otherDoor.isOpen())) return false;
-    else return levelElement.value();
+    else return levelElement().value();
   }
 
   @Override
@@ -113,10 +112,21 @@ public class DoorTile extends Tile {
 
   @Override
   public IPath texturePath() {
-    if (open && (otherDoor == null || otherDoor.isOpen())) return texturePath;
+    if (open && (otherDoor == null || otherDoor.isOpen())) return super.texturePath();
     else return closedTexturePath;
   }
 
+  @Override
+  public void texturePath(final IPath texture) {
+    super.texturePath(texture);
+    closedTexturePath = closedTexturePath(texture);
+  }
+
+  private static IPath closedTexturePath(final IPath texturePath) {
+    String[] splitPath = texturePath.pathString().split("\\.");
+    return new SimpleIPath(splitPath[0] + "_closed." + splitPath[1]);
+  }
+
   @Override
   public String toString() {
     String tileStr = super.toString();
@@ -5,6 +5,7 @@ import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.utils.components.path.IPath;
+import java.util.stream.IntStream;
 
 /** Factory to create a specific {@link Tile} based on the given element type. */
 public class TileFactory {
@@ -33,4 +34,29 @@ public class TileFactory {
       case PIT -> new PitTile(texturePath, coordinate, designLabel);
     };
   }
+
+  /**
+   * Creates the Tiles for a whole layout.
+   *
+   * <p>Every Tile only depends on its own cell, so the rows are created in parallel.
+   *
+   * @param layout the element type of every cell, stored [y][x]
+   * @param texturePaths the texture of every cell, stored [y][x]
+   * @param designLabel the label for reasons
+   * @return the newly created Tiles, stored [y][x]
+   */
+  public static Tile[][] createTiles(
+      final LevelElement[][] layout, final IPath[][] texturePaths, final DesignLabel designLabel) {
+    Tile[][] tiles = new Tile[layout.length][layout[0].length];
+    IntStream.range(0, layout.length)
+        .parallel()
+        .forEach(
+            y -> {
+              for (int x = 0; x < layout[0].length; x++) {
+                tiles[y][x] =
+                    createTile(texturePaths[y][x], new Coordinate(x, y), layout[y][x], designLabel);
+              }
+            });
+    return tiles;
+  }
 }
@@ -0,0 +1,250 @@
+package core.level.generator;
+
+import core.level.Tile;
+import core.level.TileLevel;
+import core.level.elements.ILevel;
+import core.level.elements.tile.TileFactory;
+import core.level.generator.postGeneration.WallGenerator;
+import core.level.generator.randomwalk.RandomWalkGenerator;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.level.utils.LevelSize;
+import core.level.utils.TileTextureFactory;
+import core.utils.components.path.IPath;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Generates levels in separate stages.
+ *
+ * <ol>
+ *   <li>layout: the {@link LayoutStage} creates the floor layout, {@link
+ *       WallGenerator#addWalls(LevelElement[][])} adds walls and holes and an exit is placed.
+ *   <li>texture resolution: {@link TileTextureFactory#findTexturePaths(LevelElement[][],
+ *       DesignLabel)}.
+ *   <li>tile materialisation: {@link TileFactory#createTiles(LevelElement[][], IPath[][],
+ *       DesignLabel)}.
+ *   <li>pathfinding graph: a new {@link TileLevel} and its start tile.
+ * </ol>
+ *
+ * <p>Every level is generated from a single seed. The random stages (layout and start tile) get
+ * their own seed derived from it, so the same seed always results in the same level. The other
+ * stages do not need randomness and run row-parallel on the common fork-join pool.
+ *
+ * <p>The pipeline can generate the next level in the background while the current one is played,
+ * see {@link #prefetch(DesignLabel, LevelSize)}. If the next requested level has the size of the
+ * prefetched one, the prefetched level is used. If only the design differs, the prefetched layout
+ * is reused and only the texture, tile and graph stages are run again. A request for a random
+ * design ({@link #level(LevelSize)}) uses the prefetched level with its design.
+ */
+public class LevelPipeline implements IGenerator {
+
+  private static final Logger LOGGER = Logger.getLogger(LevelPipeline.class.getSimpleName());
+  private static final Random SEEDS = new Random();
+  private static final ExecutorService BACKGROUND =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "level-prefetch");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final LayoutStage layoutStage;
+  private boolean prefetchNext = false;
+  private Prefetch pending;
+
+  /**
+   * Create a new pipeline.
+   *
+   * @param layoutStage creates the floor layout (only SKIP and FLOOR) of a level
+   */
+  public LevelPipeline(final LayoutStage layoutStage) {
+    this.layoutStage = layoutStage;
+  }
+
+  /** Create a new pipeline that uses the {@link RandomWalkGenerator} for the layout. */
+  public LevelPipeline() {
+    this(new RandomWalkGenerator()::layout);
+  }
+
+  /**
+   * Enables or disables the automatic prefetch.
+   *
+   * <p>If enabled, every served level starts the background generation of a level with the same
+   * size. The next level gets the design of the served level, if that was requested explicitly,
+   * and a random design otherwise.
+   *
+   * @param prefetchNext true to prefetch the next level automatically
+   * @return this pipeline
+   */
+  public LevelPipeline prefetchNext(boolean prefetchNext) {
+    this.prefetchNext = prefetchNext;
+    return this;
+  }
+
+  @Override
+  public synchronized ILevel level(final DesignLabel designLabel, final LevelSize size) {
+    ILevel level = serve(designLabel, size);
+    if (prefetchNext) prefetch(designLabel, size);
+    return level;
+  }
+
+  /**
+   * Get a level with the given size and a random design.
+   *
+   * <p>Uses the prefetched level of this size, whatever its design is.
+   *
+   * @param size Size of the level
+   * @return The level
+   */
+  @Override
+  public synchronized ILevel level(final LevelSize size) {
+    Prefetch prefetch = pending;
+    DesignLabel designLabel =
+        prefetch != null && prefetch.size() == size
+            ? prefetch.designLabel()
+            : DesignLabel.randomDesign();
+    ILevel level = serve(designLabel, size);
+    if (prefetchNext) prefetch(DesignLabel.randomDesign(), size);
+    return level;
+  }
+
+  private ILevel serve(final DesignLabel designLabel, final LevelSize size) {
+    Prefetch prefetch = pending;
+    pending = null;
+    ILevel level;
+    if (prefetch != null && prefetch.size() == size) {
+      try {
+        if (prefetch.designLabel() == designLabel) {
+          level = prefetch.level().join();
+        } else {
+          prefetch.level().cancel(false);
+          level = materialise(prefetch.layout().join(), designLabel, prefetch.seed());
+        }
+      } catch (CompletionException e) {
+        LOGGER.warning("Prefetching a level failed: " + e.getCause());
+        level = level(designLabel, size, prefetch.seed());
+      }
+    } else {
+      if (prefetch != null) prefetch.level().cancel(false);
+      level = level(designLabel, size, SEEDS.nextLong());
+    }
+    return level;
+  }
+
+  /**
+   * Generate a level from the given seed.
+   *
+   * <p>Calls with equal arguments result in equal levels.
+   *
+   * @param designLabel Design of the level
+   * @param size Size of the level
+   * @param seed Seed of the level
+   * @return The level
+   */
+  public ILevel level(final DesignLabel designLabel, final LevelSize size, long seed) {
+    return materialise(layout(size, seed), designLabel, seed);
+  }
+
+  @Override
+  public LevelElement[][] layout(final LevelSize size) {
+    return layout(size, SEEDS.nextLong());
+  }
+
+  /**
+   * Run the layout stage for the given seed.
+   *
+   * @param size Size of the level
+   * @param seed Seed of the level
+   * @return The layout with walls, holes and one exit (if there are at least two floor tiles)
+   */
+  public LevelElement[][] layout(final LevelSize size, long seed) {
+    Random random = new Random(stageSeed(seed, Stage.LAYOUT));
+    LevelElement[][] layout = WallGenerator.addWalls(layoutStage.layout(size, random));
+    placeExit(layout, random);
+    return layout;
+  }
+
+  /**
+   * Start generating a level in the background.
+   *
+   * <p>A previously prefetched level that was not used yet is dropped.
+   *
+   * @param designLabel Design of the level
+   * @param size Size of the level
+   */
+  public synchronized void prefetch(final DesignLabel designLabel, final LevelSize size) {
+    if (pending != null) pending.level().cancel(false);
+    long seed = SEEDS.nextLong();
+    CompletableFuture<LevelElement[][]> layout =
+        CompletableFuture.supplyAsync(() -> layout(size, seed), BACKGROUND);
+    CompletableFuture<ILevel> level =
+        layout.thenApplyAsync(l -> materialise(l, designLabel, seed), BACKGROUND);
+    pending = new Prefetch(designLabel, size, seed, layout, level);
+  }
+
+  private static ILevel materialise(
+      final LevelElement[][] layout, final DesignLabel designLabel, long seed) {
+    IPath[][] texturePaths = TileTextureFactory.findTexturePaths(layout, designLabel);
+    Tile[][] tiles = TileFactory.createTiles(layout, texturePaths, designLabel);
+    return new TileLevel(tiles, new Random(stageSeed(seed, Stage.GRAPH)));
+  }
+
+  private static void placeExit(final LevelElement[][] layout, final Random random) {
+    int floors = 0;
+    for (LevelElement[] row : layout) {
+      for (LevelElement element : row) {
+        if (element == LevelElement.FLOOR) floors++;
+      }
+    }
+    // keep one floor tile for the start
+    if (floors <= 1) return;
+    int exit = random.nextInt(floors);
+    for (LevelElement[] row : layout) {
+      for (int x = 0; x < row.length; x++) {
+        if (row[x] == LevelElement.FLOOR && exit-- == 0) {
+          row[x] = LevelElement.EXIT;
+          return;
+        }
+      }
+    }
+  }
+
+  private static long stageSeed(long seed, final Stage stage) {
+    SplittableRandom seeds = new SplittableRandom(seed);
+    long stageSeed = seeds.nextLong();
+    for (int i = 0; i < stage.ordinal(); i++) stageSeed = seeds.nextLong();
+    return stageSeed;
+  }
+
+  /** The stages of the pipeline that need their own seed. */
+  private enum Stage {
+    LAYOUT,
+    GRAPH
+  }
+
+  /** Creates the floor layout (only SKIP and FLOOR) of a level. */
+  @FunctionalInterface
+  public interface LayoutStage {
+    /**
+     * Create the floor layout.
+     *
+     * @param size Size of the level
+     * @param random Source of all random decisions of this stage
+     * @return The layout
+     */
+    LevelElement[][] layout(LevelSize size, Random random);
+  }
+
+  private record Prefetch(
+      DesignLabel designLabel,
+      LevelSize size,
+      long seed,
+      CompletableFuture<LevelElement[][]> layout,
+      CompletableFuture<ILevel> level) {}
+}
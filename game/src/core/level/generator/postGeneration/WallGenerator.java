@@ -6,6 +6,7 @@ import core.level.generator.IGenerator;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.LevelSize;
+import java.util.stream.IntStream;
 
 /**
  * Generator to generate Walls and Holes on a pre-generated level layout Works on every layout with
@@ -16,10 +17,13 @@ import core.level.utils.LevelSize;
  *
  * <p>Replaces SKIP tiles with holes when they are next to a FLOOR tile and there is no space for a
  * wall.
+ *
+ * <p>The generator keeps no state between calls. Whether a cell becomes a wall or a hole only
+ * depends on the accessibility of its neighbours, which placing walls and holes does not change, so
+ * the rows are processed in parallel.
  */
 public class WallGenerator implements IGenerator {
   private final IGenerator preGenerator;
-  private LevelElement[][] layout;
 
   /**
    * Constructs a new WallGenerator using the layout from the passed IGenerator.
@@ -32,77 +36,95 @@ public class WallGenerator implements IGenerator {
 
   @Override
   public ILevel level(DesignLabel designLabel, LevelSize size) {
-    runPreGeneration(size);
-    placeWalls();
-    return new TileLevel(layout, designLabel);
+    return new TileLevel(layout(size), designLabel);
   }
 
   @Override
   public LevelElement[][] layout(LevelSize size) {
-    runPreGeneration(size);
-    placeWalls();
+    return addWalls(preGenerator.layout(size));
+  }
+
+  /**
+   * Surrounds the given layout with two layers of SKIP and places walls and holes around the
+   * accessible tiles.
+   *
+   * <p>The given layout is not modified.
+   *
+   * @param preLayout layout with only SKIP and FLOOR LevelElements
+   * @return new layout with walls and holes
+   */
+  public static LevelElement[][] addWalls(final LevelElement[][] preLayout) {
+    LevelElement[][] padded = pad(preLayout);
+    LevelElement[][] layout = new LevelElement[padded.length][];
+    IntStream.range(0, padded.length)
+        .parallel()
+        .forEach(
+            y -> {
+              LevelElement[] row = padded[y].clone();
+              if (y > 0 && y < padded.length - 1) placeWalls(padded, row, y);
+              layout[y] = row;
+            });
     return layout;
   }
 
-  private void runPreGeneration(LevelSize size) {
-    LevelElement[][] preLayout = preGenerator.layout(size);
+  private static LevelElement[][] pad(final LevelElement[][] preLayout) {
     // Surround layout with 2 layers of LevelElement.SKIP
-    this.layout = new LevelElement[preLayout.length + 4][preLayout[0].length + 4];
-    for (int i = 0; i < this.layout.length; i++) {
-      for (int j = 0; j < this.layout[0].length; j++) {
-        this.layout[i][j] = LevelElement.SKIP;
+    LevelElement[][] layout = new LevelElement[preLayout.length + 4][preLayout[0].length + 4];
+    for (int i = 0; i < layout.length; i++) {
+      for (int j = 0; j < layout[0].length; j++) {
+        layout[i][j] = LevelElement.SKIP;
       }
     }
-    for (int i = 2; i < this.layout.length - 2; i++) {
-      if (this.layout[0].length - 4 >= 0)
-        System.arraycopy(preLayout[i - 2], 0, this.layout[i], 2, this.layout[0].length - 4);
+    for (int i = 2; i < layout.length - 2; i++) {
+      if (layout[0].length - 4 >= 0)
+        System.arraycopy(preLayout[i - 2], 0, layout[i], 2, layout[0].length - 4);
     }
+    return layout;
   }
 
-  private void placeWalls() {
-    for (int y = 1; y < layout.length - 1; y++) {
-      for (int x = 1; x < layout[0].length - 1; x++) {
-        if (layout[y][x] == LevelElement.SKIP && accessibleTileIsAdjacent(y, x)) {
-          if (bottomLeftCornerIsEmpty(y, x)) {
-            layout[y][x] = LevelElement.WALL;
-          } else if (upperLeftCornerIsEmpty(y, x)) {
-            layout[y][x] = LevelElement.WALL;
-          } else if (bottomRightCornerIsEmpty(y, x)) {
-            layout[y][x] = LevelElement.WALL;
-          } else if (upperRightCornerIsEmpty(y, x)) {
-            layout[y][x] = LevelElement.WALL;
-          } else {
-            layout[y][x] = LevelElement.HOLE;
-          }
+  private static void placeWalls(final LevelElement[][] layout, final LevelElement[] row, int y) {
+    for (int x = 1; x < layout[0].length - 1; x++) {
+      if (layout[y][x] == LevelElement.SKIP && accessibleTileIsAdjacent(layout, y, x)) {
+        if (bottomLeftCornerIsEmpty(layout, y, x)) {
+          row[x] = LevelElement.WALL;
+        } else if (upperLeftCornerIsEmpty(layout, y, x)) {
+          row[x] = LevelElement.WALL;
+        } else if (bottomRightCornerIsEmpty(layout, y, x)) {
+          row[x] = LevelElement.WALL;
+        } else if (upperRightCornerIsEmpty(layout, y, x)) {
+          row[x] = LevelElement.WALL;
+        } else {
+          row[x] = LevelElement.HOLE;
         }
       }
     }
   }
 
-  private boolean upperRightCornerIsEmpty(int y, int x) {
+  private static boolean upperRightCornerIsEmpty(final LevelElement[][] layout, int y, int x) {
     return !layout[y + 1][x].value() && !layout[y][x + 1].value() && !layout[y + 1][x + 1].value();
   }
 
-  private boolean bottomRightCornerIsEmpty(int y, int x) {
+  private static boolean bottomRightCornerIsEmpty(final LevelElement[][] layout, int y, int x) {
     return !layout[y - 1][x].value() && !layout[y - 1][x + 1].value() && !layout[y][x + 1].value();
   }
 
-  private boolean upperLeftCornerIsEmpty(int y, int x) {
+  private static boolean upperLeftCornerIsEmpty(final LevelElement[][] layout, int y, int x) {
     return !layout[y][x - 1].value() && !layout[y + 1][x - 1].value() && !layout[y + 1][x].value();
   }
 
-  private boolean bottomLeftCornerIsEmpty(int y, int x) {
+  private static boolean bottomLeftCornerIsEmpty(final LevelElement[][] layout, int y, int x) {
     return !layout[y - 1][x - 1].value() && !layout[y][x - 1].value() && !layout[y - 1][x].value();
   }
 
   /**
    * Checks if at least one accessible tile is nearby.
    *
+   * @param layout the padded layout
    * @param y y coordinate of the tile
    * @param x x coordinate of the tile
    * @return true if at least one tile (including corner tiles) surrounding this tile is accessible
    */
-  private boolean accessibleTileIsAdjacent(int y, int x) {
+  private static boolean accessibleTileIsAdjacent(final LevelElement[][] layout, int y, int x) {
     if (layout[y - 1][x - 1].value()) return true;
     if (layout[y - 1][x].value()) return true;
     if (layout[y - 1][x + 1].value()) return true;
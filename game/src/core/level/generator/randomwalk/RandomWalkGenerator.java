@@ -39,25 +39,44 @@ public class RandomWalkGenerator implements IGenerator {
    * @return layout of the level
    */
   public LevelElement[][] layout(LevelSize size) {
+    return layout(size, RANDOM);
+  }
+
+  /**
+   * Generates the floor layout to a specified level size, drawing all random decisions from the
+   * given source.
+   *
+   * <p>The generator keeps no state between calls, so the same seeded {@link Random} always
+   * produces the same layout, and the method can be called from several threads at once.
+   *
+   * @param size size of the level to be generated
+   * @param random source of randomness for this layout
+   * @return layout of the level
+   */
+  public LevelElement[][] layout(LevelSize size, Random random) {
     return switch (size) {
       case SMALL ->
           drunkWalk(
               new MinMaxValue(SMALL_MIN_X_SIZE, SMALL_MAX_X_SIZE),
-              new MinMaxValue(SMALL_MIN_Y_SIZE, SMALL_MAX_Y_SIZE));
+              new MinMaxValue(SMALL_MIN_Y_SIZE, SMALL_MAX_Y_SIZE),
+              random);
       case LARGE ->
           drunkWalk(
               new MinMaxValue(BIG_MIN_X_SIZE, BIG_MAX_X_SIZE),
-              new MinMaxValue(BIG_MIN_Y_SIZE, BIG_MAX_Y_SIZE));
+              new MinMaxValue(BIG_MIN_Y_SIZE, BIG_MAX_Y_SIZE),
+              random);
       default ->
           drunkWalk(
               new MinMaxValue(MEDIUM_MIN_X_SIZE, MEDIUM_MAX_X_SIZE),
-              new MinMaxValue(MEDIUM_MIN_Y_SIZE, MEDIUM_MAX_Y_SIZE));
+              new MinMaxValue(MEDIUM_MIN_Y_SIZE, MEDIUM_MAX_Y_SIZE),
+              random);
     };
   }
 
-  private LevelElement[][] drunkWalk(MinMaxValue minMaxValueX, MinMaxValue minMaxValueY) {
-    int xSize = RANDOM.nextInt(minMaxValueX.min(), minMaxValueX.max());
-    int ySize = RANDOM.nextInt(minMaxValueY.min(), minMaxValueY.max());
+  private LevelElement[][] drunkWalk(
+      MinMaxValue minMaxValueX, MinMaxValue minMaxValueY, Random random) {
+    int xSize = random.nextInt(minMaxValueX.min(), minMaxValueX.max());
+    int ySize = random.nextInt(minMaxValueY.min(), minMaxValueY.max());
     LevelElement[][] layout = new LevelElement[ySize][xSize];
     for (int y = 0; y < ySize; y++) {
       for (int x = 0; x < xSize; x++) {
@@ -65,20 +84,20 @@ public class RandomWalkGenerator implements IGenerator {
       }
     }
 
-    Coordinate position = new Coordinate(RANDOM.nextInt(0, xSize), RANDOM.nextInt(0, ySize));
+    Coordinate position = new Coordinate(random.nextInt(0, xSize), random.nextInt(0, ySize));
     int steps =
-        RANDOM.nextInt((xSize * ySize) / MIN_STEPS_FACTOR, (xSize * ySize) / MAX_STEPS_FACTOR);
+        random.nextInt((xSize * ySize) / MIN_STEPS_FACTOR, (xSize * ySize) / MAX_STEPS_FACTOR);
     for (; steps > 0; steps--) {
       layout[position.y][position.x] = LevelElement.FLOOR;
 
-      if (RANDOM.nextBoolean()) {
-        if (RANDOM.nextBoolean()) {
+      if (random.nextBoolean()) {
+        if (random.nextBoolean()) {
           position.x = Math.min(position.x + 1, xSize - 1);
         } else {
           position.x = Math.max(position.x - 1, 0);
         }
       } else {
-        if (RANDOM.nextBoolean()) {
+        if (random.nextBoolean()) {
           position.y = Math.min(position.y + 1, ySize - 1);
         } else {
           position.y = Math.max(position.y - 1, 0);
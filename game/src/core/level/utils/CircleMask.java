@@ -0,0 +1,99 @@
+package core.level.utils;
+
+/**
+ * Precomputed disc of tile offsets for an integer radius.
+ *
+ * <p>A cell with the offset (dx, dy) to the center cell is part of the mask if {@code dx * dx + dy
+ * * dy <= radius * radius}. The mask is stored as one half width per row, so iterating it is a
+ * simple double loop without any distance calculation.
+ *
+ * <p>Masks up to {@link #MAX_PRECOMPUTED_RADIUS} are created once and shared; larger masks are
+ * created on demand. Masks are immutable and can be used from any thread.
+ *
+ * @see LevelUtils#forEachTileInRange(core.utils.Point, float, java.util.function.Consumer)
+ */
+public final class CircleMask {
+
+  /** Largest radius for which the mask is precomputed. */
+  public static final int MAX_PRECOMPUTED_RADIUS = 64;
+
+  private static final CircleMask[] PRECOMPUTED = new CircleMask[MAX_PRECOMPUTED_RADIUS + 1];
+
+  static {
+    for (int r = 0; r <= MAX_PRECOMPUTED_RADIUS; r++) PRECOMPUTED[r] = new CircleMask(r);
+  }
+
+  private final int radius;
+  private final int[] halfWidths;
+  private final int cellCount;
+
+  private CircleMask(int radius) {
+    this.radius = radius;
+    this.halfWidths = new int[2 * radius + 1];
+    int radiusSquared = radius * radius;
+    int cells = 0;
+    int halfWidth = radius;
+    for (int dy = 0; dy <= radius; dy++) {
+      while (halfWidth * halfWidth + dy * dy > radiusSquared) halfWidth--;
+      halfWidths[radius + dy] = halfWidth;
+      halfWidths[radius - dy] = halfWidth;
+      cells += (dy == 0 ? 1 : 2) * (2 * halfWidth + 1);
+    }
+    this.cellCount = cells;
+  }
+
+  /**
+   * Get the mask for the given radius.
+   *
+   * @param radius Radius of the disc in tiles.
+   * @return The mask for the radius.
+   * @throws IllegalArgumentException if the radius is negative.
+   */
+  public static CircleMask of(int radius) {
+    if (radius < 0) throw new IllegalArgumentException("Radius must not be negative: " + radius);
+    return radius <= MAX_PRECOMPUTED_RADIUS ? PRECOMPUTED[radius] : new CircleMask(radius);
+  }
+
+  /**
+   * Get the radius of this mask.
+   *
+   * @return The radius in tiles.
+   */
+  public int radius() {
+    return radius;
+  }
+
+  /**
+   * Get the half width of the given row.
+   *
+   * <p>The row contains the offsets {@code -halfWidth(dy) .. halfWidth(dy)}.
+   *
+   * @param dy Row offset to the center, between -radius and radius.
+   * @return The largest dx that is part of the mask in this row.
+   */
+  public int halfWidth(int dy) {
+    return halfWidths[dy + radius];
+  }
+
+  /**
+   * Check if the given offset is part of the mask.
+   *
+   * @param dx Column offset to the center.
+   * @param dy Row offset to the center.
+   * @return true if the offset is inside the disc.
+   */
+  public boolean contains(int dx, int dy) {
+    if (dy < -radius || dy > radius) return false;
+    int halfWidth = halfWidths[dy + radius];
+    return dx >= -halfWidth && dx <= halfWidth;
+  }
+
+  /**
+   * Get the number of cells in this mask.
+   *
+   * @return The number of offsets inside the disc.
+   */
+  public int size() {
+    return cellCount;
+  }
+}
@@ -11,6 +11,7 @@ import core.utils.Point;
 import core.utils.Tuple;
 import core.utils.components.MissingComponentException;
 import java.util.*;
+import java.util.function.Consumer;
 
 /** Offers some utility functions to work on and with {@link core.level.elements.ILevel}. */
 public final class LevelUtils {
@@ -155,82 +156,130 @@ public final class LevelUtils {
    * @return List of tiles in the given radius around the center point.
    */
   public static List<Tile> tilesInRange(final Point center, float radius) {
-    // offset of neighbour Tiles which may not be accessible
-    Coordinate[] offsets =
-        new Coordinate[] {
-          new Coordinate(-1, -1),
-          new Coordinate(0, -1),
-          new Coordinate(1, -1),
-          new Coordinate(-1, 0),
-          new Coordinate(1, 0),
-          new Coordinate(-1, 1),
-          new Coordinate(0, 1),
-          new Coordinate(1, 1),
-        };
-    // all found tiles
-    Set<Tile> tiles = new HashSet<>();
-    // BFS queue
-    Queue<Tile> tileQueue = new ArrayDeque<>();
-    Tile start = Game.tileAT(center);
-    if (start != null) tileQueue.add(start);
-    while (tileQueue.size() > 0) {
-      Tile current = tileQueue.remove();
-      boolean added = tiles.add(current);
-      if (added) {
-        // Tile is a new Tile so add the neighbours to be checked
-        for (Coordinate offset : offsets) {
-          Tile tile = current.level().tileAt(current.coordinate().add(offset));
-          if (tile != null && isInRange(center, radius, tile)) tileQueue.add(tile);
-        }
+    return tilesInRange(center, radius, new ArrayList<>());
+  }
+
+  /**
+   * Add all tiles within a specified range around a given center point to the given collection.
+   *
+   * <p>This finds the same tiles as {@link #tilesInRange(Point, float)}, but lets callers that
+   * query every frame reuse their buffer. The collection is not cleared.
+   *
+   * @param center The center point around which the tiles are considered.
+   * @param radius The radius within which the tiles should be located.
+   * @param out Collection the found tiles are added to.
+   * @param <T> Type of the collection.
+   * @return The given collection.
+   */
+  public static <T extends Collection<Tile>> T tilesInRange(
+      final Point center, float radius, final T out) {
+    forEachTileInRange(center, radius, out::add);
+    return out;
+  }
+
+  /**
+   * Visit all tiles within a specified range around a given center point.
+   *
+   * <p>A tile is in range if one of its corners is within the radius or if the circle reaches into
+   * the tile from one of its sides. The tile at the given point is always visited. If the center is
+   * outside the level, no tile is visited.
+   *
+   * <p>Only the bounding box of the circle is scanned, row by row, using squared distances. For
+   * radii up to {@link CircleMask#MAX_PRECOMPUTED_RADIUS}, the columns of each row are further
+   * limited by the precomputed {@link CircleMask}, so the corners of the box are skipped. No
+   * temporary objects are created per tile.
+   *
+   * @param center The center point around which the tiles are considered.
+   * @param radius The radius within which the tiles should be located.
+   * @param visitor Called once for every tile in range.
+   */
+  public static void forEachTileInRange(
+      final Point center, float radius, final Consumer<Tile> visitor) {
+    Tile[][] layout = Game.currentLevel().layout();
+    int centerX = (int) center.x;
+    int centerY = (int) center.y;
+    if (!inBounds(layout, centerX, centerY)) return;
+    // the center tile is found by truncation, so it may lie outside the box for negative values
+    int minX = Math.max(0, Math.min(centerX, (int) Math.floor(center.x - radius) - 1));
+    int maxX =
+        Math.min(layout[0].length - 1, Math.max(centerX, (int) Math.floor(center.x + radius)));
+    int minY = Math.max(0, Math.min(centerY, (int) Math.floor(center.y - radius) - 1));
+    int maxY = Math.min(layout.length - 1, Math.max(centerY, (int) Math.floor(center.y + radius)));
+    int maskRadius = (int) Math.ceil(Math.abs(radius));
+    CircleMask mask =
+        maskRadius <= CircleMask.MAX_PRECOMPUTED_RADIUS ? CircleMask.of(maskRadius) : null;
+    for (int y = minY; y <= maxY; y++) {
+      Tile[] row = layout[y];
+      int rowMinX = minX;
+      int rowMaxX = maxX;
+      if (mask != null) {
+        // the center lies in its tile, so a tile dx columns and dy rows away is at least
+        // (|dx| - 1, |dy| - 1) away from it, and this offset has to be inside the mask
+        int gapY = Math.max(0, Math.abs(y - centerY) - 1);
+        if (gapY > maskRadius) continue;
+        int halfWidth = mask.halfWidth(gapY) + 1;
+        rowMinX = Math.max(minX, centerX - halfWidth);
+        rowMaxX = Math.min(maxX, centerX + halfWidth);
+      }
+      for (int x = rowMinX; x <= rowMaxX; x++) {
+        if (row[x] != null
+            && ((x == centerX && y == centerY) || isInRange(center.x, center.y, radius, x, y)))
+          visitor.accept(row[x]);
       }
     }
-    tiles.removeIf(Objects::isNull);
-    return new ArrayList<>(tiles);
   }
 
-  private static boolean isInRange(final Point center, float radius, final Tile tile) {
-    return isAnyCornerOfTileInRadius(center, radius, tile)
-        || isPointBarelyInTile(center, radius, tile);
+  /**
+   * Check if a tile would be part of {@link #tilesInRange(Point, float)}.
+   *
+   * <p>Use this instead of searching the result list of {@link #tilesInRange(Point, float)} if only
+   * a few tiles need to be checked.
+   *
+   * @param center The center point.
+   * @param radius The radius.
+   * @param tile The tile to check, may be null.
+   * @return true if the tile is in range, false if not, if the tile is null or if the center is
+   *     outside the level.
+   */
+  public static boolean isTileInRange(final Point center, float radius, final Tile tile) {
+    if (tile == null || !inBounds(Game.currentLevel().layout(), (int) center.x, (int) center.y))
+      return false;
+    Coordinate coordinate = tile.coordinate();
+    return (coordinate.x == (int) center.x && coordinate.y == (int) center.y)
+        || isInRange(center.x, center.y, radius, coordinate.x, coordinate.y);
+  }
+
+  private static boolean isInRange(float centerX, float centerY, float radius, int x, int y) {
+    return isAnyCornerOfTileInRadius(centerX, centerY, radius * radius, x, y)
+        || isPointBarelyInTile(centerX, centerY, radius, x, y);
   }
 
-  private static boolean isPointBarelyInTile(final Point center, float radius, final Tile tile) {
-    // left max distance
-    Point xMin = new Point(-radius, 0).add(center);
-    // right max distance
-    Point xMax = new Point(radius, 0).add(center);
-    // up max distance
-    Point yMin = new Point(0, -radius).add(center);
-    // down max distance
-    Point yMax = new Point(0, radius).add(center);
-    return isPointInTile(xMin, tile)
-        || isPointInTile(xMax, tile)
-        || isPointInTile(yMin, tile)
-        || isPointInTile(yMax, tile);
+  private static boolean isPointBarelyInTile(
+      float centerX, float centerY, float radius, int x, int y) {
+    return isPointInTile(centerX - radius, centerY, x, y)
+        || isPointInTile(centerX + radius, centerY, x, y)
+        || isPointInTile(centerX, centerY - radius, x, y)
+        || isPointInTile(centerX, centerY + radius, x, y);
   }
 
-  private static boolean isPointInTile(final Point point, final Tile tile) {
-    return tile.coordinate().toPoint().x < point.x
-        && point.x < (tile.coordinate().toPoint().x + 1)
-        && tile.coordinate().toPoint().y < point.y
-        && point.y < (tile.coordinate().toPoint().y + 1);
+  private static boolean isPointInTile(float pointX, float pointY, int x, int y) {
+    return x < pointX && pointX < x + 1 && y < pointY && pointY < y + 1;
   }
 
   private static boolean isAnyCornerOfTileInRadius(
-      final Point center, float radius, final Tile tile) {
-    return Point.inRange(
-            center, new Point(tile.coordinate().toPoint().x, tile.coordinate().toPoint().y), radius)
-        || Point.inRange(
-            center,
-            new Point(tile.coordinate().toPoint().x + 1, tile.coordinate().toPoint().y),
-            radius)
-        || Point.inRange(
-            center,
-            new Point(tile.coordinate().toPoint().x, tile.coordinate().toPoint().y + 1),
-            radius)
-        || Point.inRange(
-            center,
-            new Point(tile.coordinate().toPoint().x + 1, tile.coordinate().toPoint().y + 1),
-            radius);
+      float centerX, float centerY, float radiusSquared, int x, int y) {
+    float left = x - centerX;
+    float right = left + 1;
+    float bottom = y - centerY;
+    float top = bottom + 1;
+    return left * left + bottom * bottom <= radiusSquared
+        || right * right + bottom * bottom <= radiusSquared
+        || left * left + top * top <= radiusSquared
+        || right * right + top * top <= radiusSquared;
+  }
+
+  private static boolean inBounds(final Tile[][] layout, int x, int y) {
+    return y >= 0 && y < layout.length && x >= 0 && x < layout[y].length;
   }
 
   /**
@@ -330,14 +379,16 @@ public final class LevelUtils {
       if (isFreeTile(cell)) return Optional.of(cell);
 
       // Explore all 4 possible directions
-      for (Tile tile : neighbours(cell)) {
-        Coordinate coordinate = tile.coordinate();
-        // Check if the new cell is within bounds and not yet visited
-        if (!queued[coordinate.y][coordinate.x]) {
-          queue.add(tile);
-          queued[coordinate.y][coordinate.x] = true;
-        }
-      }
+      forEachNeighbour(
+          cell,
+          tile -> {
+            Coordinate coordinate = tile.coordinate();
+            // Check if the new cell is not yet visited
+            if (!queued[coordinate.y][coordinate.x]) {
+              queue.add(tile);
+              queued[coordinate.y][coordinate.x] = true;
+            }
+          });
     }
     return Optional.empty();
   }
@@ -351,21 +402,28 @@ public final class LevelUtils {
    * @return Set with the neighbor tiles.
    */
   public static Set<Tile> neighbours(final Tile tile) {
-    // Direction vectors for moving up, down, left, and right+
     Set<Tile> returnSet = new HashSet<>();
-    Tuple<Integer, Integer> levelSize = Game.currentLevel().size();
+    forEachNeighbour(tile, returnSet::add);
+    return returnSet;
+  }
+
+  /**
+   * Visit the neighbors of the given Tile.
+   *
+   * <p>Neighbors are the tiles directly above, below, left, and right of the given Tile. Tiles
+   * outside the level are skipped.
+   *
+   * @param tile Tile to get the neighbors for
+   * @param visitor Called once for every neighbor tile.
+   */
+  public static void forEachNeighbour(final Tile tile, final Consumer<Tile> visitor) {
     Tile[][] layout = Game.currentLevel().layout();
     Coordinate coordinate = tile.coordinate();
     for (Coordinate deltaVector : DELTA_VECTORS) {
-      Coordinate newCoordinate = coordinate.add(deltaVector);
-      // Check if the new cell is within bounds and not yet visited
-      if (newCoordinate.x >= 0
-          && newCoordinate.x < levelSize.a()
-          && newCoordinate.y >= 0
-          && newCoordinate.y < levelSize.b())
-        returnSet.add(layout[newCoordinate.y][newCoordinate.x]);
+      int x = coordinate.x + deltaVector.x;
+      int y = coordinate.y + deltaVector.y;
+      if (inBounds(layout, x, y)) visitor.accept(layout[y][x]);
     }
-    return returnSet;
   }
 
   /**
@@ -3,9 +3,142 @@ package core.level.utils;
 import core.level.Tile;
 import core.utils.components.path.IPath;
 import core.utils.components.path.SimpleIPath;
-
-/** WTF? . */
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Resolves the texture of a tile from its {@link LevelElement} and the elements of its eight
+ * neighbours.
+ *
+ * <p>The rules below ({@link #isRightWall(Coordinate, LevelElement[][])}, the corner checks, ...)
+ * only look at a few properties of each neighbour: if it is a wall, a door, accessible, a hole or
+ * "inside" (accessible or hole). These properties are packed into a small key per cell, and the
+ * rules are evaluated once for every possible key when this class is loaded. Resolving a texture is
+ * then a lookup in one of the following tables:
+ *
+ * <ul>
+ *   <li>SKIP, FLOOR, EXIT and PIT always get the same texture.
+ *   <li>HOLE: indexed by "the tile above is a hole" (2 entries).
+ *   <li>DOOR: indexed by the accessible edge neighbours (16 entries); a door without accessible
+ *       neighbour is textured like a wall.
+ *   <li>WALL: indexed by the class (other, wall, door, inside) of the four edge neighbours and
+ *       "inside" of the four corner neighbours (4096 entries).
+ * </ul>
+ *
+ * <p>The resulting {@link IPath}s are created once per {@link DesignLabel} and shared.
+ */
 public class TileTextureFactory {
+
+  private static final LevelElement[] ELEMENTS = LevelElement.values();
+
+  /** Texture paths relative to the design folder, indexed by variant. */
+  private static final String[] VARIANTS = {
+    "floor/empty",
+    "floor/floor_1",
+    "floor/floor_ladder",
+    "floor/floor_hole",
+    "floor/floor_hole1",
+    "floor/floor_damaged",
+    "door/top",
+    "door/right",
+    "door/left",
+    "door/bottom",
+    "wall/wall_cross_upper_left_bottom_right",
+    "wall/wall_cross_upper_right_bottom_left",
+    "wall/wall_inner_corner_bottom_left",
+    "wall/wall_inner_corner_bottom_right",
+    "wall/wall_inner_corner_upper_right",
+    "wall/wall_inner_corner_upper_left",
+    "wall/wall_outer_corner_bottom_left",
+    "wall/wall_outer_corner_bottom_right",
+    "wall/wall_outer_corner_upper_right",
+    "wall/wall_outer_corner_upper_left",
+    "wall/wall_right",
+    "wall/wall_left",
+    "wall/wall_top",
+    "wall/wall_bottom"
+  };
+
+  /** Marks elements whose texture depends on the neighbours, and doors without a door texture. */
+  private static final byte BY_NEIGHBOURS = -1;
+
+  private static final IPath[][] PATHS = new IPath[DesignLabel.values().length][VARIANTS.length];
+  private static final byte[] FIXED_VARIANTS = new byte[ELEMENTS.length];
+  private static final byte[] HOLE_VARIANTS = new byte[2];
+  private static final byte[] DOOR_VARIANTS = new byte[1 << 4];
+  private static final byte[] WALL_VARIANTS = new byte[1 << 12];
+
+  // neighbour properties, indexed by LevelElement ordinal
+  private static final int[] EDGE_CLASS = new int[ELEMENTS.length];
+  private static final int[] INSIDE = new int[ELEMENTS.length];
+  private static final int[] ACCESSIBLE = new int[ELEMENTS.length];
+  private static final int[] HOLE = new int[ELEMENTS.length];
+
+  // edge classes, and the element used to represent them when evaluating the rules
+  private static final int EDGE_WALL = 1;
+  private static final int EDGE_DOOR = 2;
+  private static final int EDGE_INSIDE = 3;
+  private static final LevelElement[] EDGE_REPRESENTATIVES = {
+    LevelElement.SKIP, LevelElement.WALL, LevelElement.DOOR, LevelElement.FLOOR
+  };
+
+  static {
+    for (DesignLabel design : DesignLabel.values()) {
+      String prefixPath = "dungeon/" + design.name().toLowerCase() + "/";
+      for (int variant = 0; variant < VARIANTS.length; variant++) {
+        PATHS[design.ordinal()][variant] =
+            new SimpleIPath(prefixPath + VARIANTS[variant] + ".png");
+      }
+    }
+    for (LevelElement element : ELEMENTS) {
+      Coordinate p = new Coordinate(0, 0);
+      LevelElement[][] single = {{element}};
+      int e = element.ordinal();
+      ACCESSIBLE[e] = element.value() || element == LevelElement.PIT ? 1 : 0;
+      HOLE[e] = element == LevelElement.HOLE || element == LevelElement.PIT ? 1 : 0;
+      INSIDE[e] = ACCESSIBLE[e] | HOLE[e];
+      if (element == LevelElement.WALL) EDGE_CLASS[e] = EDGE_WALL;
+      else if (element == LevelElement.DOOR) EDGE_CLASS[e] = EDGE_DOOR;
+      else if (INSIDE[e] == 1) EDGE_CLASS[e] = EDGE_INSIDE;
+      FIXED_VARIANTS[e] =
+          switch (element) {
+            case WALL, HOLE, DOOR -> BY_NEIGHBOURS;
+            default -> variantOf(findRulePath(new LevelPart(element, null, single, p)));
+          };
+    }
+    Coordinate center = new Coordinate(1, 1);
+    for (int above = 0; above < HOLE_VARIANTS.length; above++) {
+      LevelElement[][] window = window(LevelElement.HOLE);
+      window[2][1] = above == 1 ? LevelElement.HOLE : LevelElement.SKIP;
+      HOLE_VARIANTS[above] =
+          variantOf(findRulePath(new LevelPart(LevelElement.HOLE, null, window, center)));
+    }
+    for (int key = 0; key < DOOR_VARIANTS.length; key++) {
+      LevelElement[][] window = window(LevelElement.DOOR);
+      // key bits: below, left, right, above
+      window[0][1] = floorIfSet(key, 0);
+      window[1][0] = floorIfSet(key, 1);
+      window[1][2] = floorIfSet(key, 2);
+      window[2][1] = floorIfSet(key, 3);
+      IPath path = findTexturePathDoor(new LevelPart(LevelElement.DOOR, null, window, center));
+      DOOR_VARIANTS[key] = path == null ? BY_NEIGHBOURS : variantOf(path);
+    }
+    for (int key = 0; key < WALL_VARIANTS.length; key++) {
+      LevelElement[][] window = window(LevelElement.WALL);
+      // key bits: 2 bits class of above, below, left, right; 1 bit inside of the corners
+      window[2][1] = EDGE_REPRESENTATIVES[key & 3];
+      window[0][1] = EDGE_REPRESENTATIVES[key >> 2 & 3];
+      window[1][0] = EDGE_REPRESENTATIVES[key >> 4 & 3];
+      window[1][2] = EDGE_REPRESENTATIVES[key >> 6 & 3];
+      window[2][0] = floorIfSet(key, 8);
+      window[2][2] = floorIfSet(key, 9);
+      window[0][0] = floorIfSet(key, 10);
+      window[0][2] = floorIfSet(key, 11);
+      WALL_VARIANTS[key] =
+          variantOf(findRulePath(new LevelPart(LevelElement.WALL, null, window, center)));
+    }
+  }
+
   /**
    * Checks which texture must be used for the passed field based on the surrounding fields.
    *
@@ -13,35 +146,56 @@ public class TileTextureFactory {
    * @return Path to texture
    */
   public static IPath findTexturePath(LevelPart levelPart) {
-    String prefixPath = "dungeon/" + levelPart.design().name().toLowerCase() + "/";
-
-    IPath path = findTexturePathFloor(levelPart);
-    if (path != null) {
-      return new SimpleIPath(prefixPath + path.pathString() + ".png");
-    }
-
-    path = findTexturePathDoor(levelPart);
-    if (path != null) {
-      return new SimpleIPath(prefixPath + path.pathString() + ".png");
-    }
-
-    path = findTexturePathInnerCorner(levelPart);
-    if (path != null) {
-      return new SimpleIPath(prefixPath + path.pathString() + ".png");
-    }
-
-    path = findTexturePathOuterCorner(levelPart);
-    if (path != null) {
-      return new SimpleIPath(prefixPath + path.pathString() + ".png");
+    byte[] window = new byte[9];
+    Coordinate p = levelPart.position();
+    LevelElement[][] layout = levelPart.layout();
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        int x = p.x + dx;
+        int y = p.y + dy;
+        if (y >= 0 && y < layout.length && x >= 0 && x < layout[y].length) {
+          window[(dy + 1) * 3 + dx + 1] = (byte) layout[y][x].ordinal();
+        }
+      }
     }
+    window[4] = (byte) levelPart.element().ordinal();
+    return PATHS[levelPart.design().ordinal()][variant(window, 4, 3)];
+  }
 
-    path = findTexturePathWall(levelPart);
-    if (path != null) {
-      return new SimpleIPath(prefixPath + path.pathString() + ".png");
+  /**
+   * Resolves the textures of all cells of a layout.
+   *
+   * <p>The layout is copied once into a flat array with a border of SKIP cells, so every cell is
+   * resolved by reading its eight neighbours and one table lookup, without any bounds checks. The
+   * rows are resolved in parallel.
+   *
+   * @param layout The level layout
+   * @param designLabel The design of the level
+   * @return Path to the texture for every cell, stored [y][x] like the layout
+   */
+  public static IPath[][] findTexturePaths(LevelElement[][] layout, DesignLabel designLabel) {
+    int height = layout.length;
+    int width = layout[0].length;
+    int stride = width + 2;
+    byte[] elements = new byte[(height + 2) * stride];
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        elements[(y + 1) * stride + x + 1] = (byte) layout[y][x].ordinal();
+      }
     }
-
-    // Error state
-    return new SimpleIPath(prefixPath + "floor/empty.png");
+    IPath[] paths = PATHS[designLabel.ordinal()];
+    IPath[][] texturePaths = new IPath[height][width];
+    IntStream.range(0, height)
+        .parallel()
+        .forEach(
+            y -> {
+              IPath[] row = texturePaths[y];
+              int cell = (y + 1) * stride + 1;
+              for (int x = 0; x < width; x++, cell++) {
+                row[x] = paths[variant(elements, cell, stride)];
+              }
+            });
+    return texturePaths;
   }
 
   /**
@@ -64,15 +218,41 @@ public class TileTextureFactory {
    * @return Path to texture
    */
   public static IPath findTexturePath(Tile element, Tile[][] layout, LevelElement elementType) {
-    LevelElement[][] elementLayout = new LevelElement[layout.length][layout[0].length];
-    for (int x = 0; x < layout[0].length; x++) {
-      for (int y = 0; y < layout.length; y++) {
-        elementLayout[y][x] = layout[y][x].levelElement();
+    byte[] window = new byte[9];
+    Coordinate p = element.coordinate();
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        int x = p.x + dx;
+        int y = p.y + dy;
+        if (y >= 0 && y < layout.length && x >= 0 && x < layout[y].length) {
+          window[(dy + 1) * 3 + dx + 1] = (byte) layout[y][x].levelElement().ordinal();
+        }
+      }
+    }
+    window[4] = (byte) elementType.ordinal();
+    return PATHS[element.designLabel().ordinal()][variant(window, 4, 3)];
+  }
+
+  /**
+   * Updates the textures of the eight tiles around the given tile.
+   *
+   * <p>The texture of a tile only depends on its direct neighbours, so after a tile changed its
+   * {@link LevelElement}, only the neighbours that are textured by their surrounding (walls, doors
+   * and holes) need a new texture.
+   *
+   * @param tile The tile that was changed
+   * @param layout The level
+   */
+  public static void updateNeighbourTextures(Tile tile, Tile[][] layout) {
+    Coordinate p = tile.coordinate();
+    for (int y = Math.max(0, p.y - 1); y <= Math.min(layout.length - 1, p.y + 1); y++) {
+      for (int x = Math.max(0, p.x - 1); x <= Math.min(layout[y].length - 1, p.x + 1); x++) {
+        Tile neighbour = layout[y][x];
+        if (neighbour == tile
+            || FIXED_VARIANTS[neighbour.levelElement().ordinal()] != BY_NEIGHBOURS) continue;
+        neighbour.texturePath(findTexturePath(neighbour, layout));
       }
     }
-    elementLayout[element.coordinate().y][element.coordinate().x] = elementType;
-    return findTexturePath(
-        new LevelPart(elementType, element.designLabel(), elementLayout, element.coordinate()));
   }
 
   /**
@@ -107,6 +287,81 @@ public class TileTextureFactory {
     return new SimpleIPath(prefixPath + elementPath + ".png");
   }
 
+  /**
+   * Looks up the texture variant of a cell in a flat element array.
+   *
+   * @param elements LevelElement ordinals, row by row; the cell must not be on the border
+   * @param cell Index of the cell
+   * @param stride Length of a row
+   * @return Index into {@link #VARIANTS}
+   */
+  private static int variant(final byte[] elements, int cell, int stride) {
+    int element = elements[cell];
+    int variant = FIXED_VARIANTS[element];
+    if (variant != BY_NEIGHBOURS) return variant;
+    int above = elements[cell + stride];
+    if (element == LevelElement.HOLE.ordinal()) return HOLE_VARIANTS[HOLE[above]];
+    int below = elements[cell - stride];
+    int left = elements[cell - 1];
+    int right = elements[cell + 1];
+    if (element == LevelElement.DOOR.ordinal()) {
+      variant =
+          DOOR_VARIANTS[
+              ACCESSIBLE[below]
+                  | ACCESSIBLE[left] << 1
+                  | ACCESSIBLE[right] << 2
+                  | ACCESSIBLE[above] << 3];
+      if (variant != BY_NEIGHBOURS) return variant;
+    }
+    return WALL_VARIANTS[
+        EDGE_CLASS[above]
+            | EDGE_CLASS[below] << 2
+            | EDGE_CLASS[left] << 4
+            | EDGE_CLASS[right] << 6
+            | INSIDE[elements[cell + stride - 1]] << 8
+            | INSIDE[elements[cell + stride + 1]] << 9
+            | INSIDE[elements[cell - stride - 1]] << 10
+            | INSIDE[elements[cell - stride + 1]] << 11];
+  }
+
+  private static LevelElement[][] window(final LevelElement center) {
+    LevelElement[][] window = new LevelElement[3][3];
+    for (LevelElement[] row : window) Arrays.fill(row, LevelElement.SKIP);
+    window[1][1] = center;
+    return window;
+  }
+
+  private static LevelElement floorIfSet(int key, int bit) {
+    return (key >> bit & 1) == 1 ? LevelElement.FLOOR : LevelElement.SKIP;
+  }
+
+  private static byte variantOf(final IPath relativePath) {
+    return (byte) Arrays.asList(VARIANTS).indexOf(relativePath.pathString());
+  }
+
+  /**
+   * Evaluates the texture rules for the passed field.
+   *
+   * <p>Only used to fill the lookup tables.
+   *
+   * @param levelPart a part of a level
+   * @return Path to the texture, relative to the design folder and without file extension
+   */
+  private static IPath findRulePath(LevelPart levelPart) {
+    IPath path = findTexturePathFloor(levelPart);
+    if (path != null) return path;
+    path = findTexturePathDoor(levelPart);
+    if (path != null) return path;
+    path = findTexturePathInnerCorner(levelPart);
+    if (path != null) return path;
+    path = findTexturePathOuterCorner(levelPart);
+    if (path != null) return path;
+    path = findTexturePathWall(levelPart);
+    if (path != null) return path;
+    // Error state
+    return new SimpleIPath("floor/empty");
+  }
+
   private static IPath findTexturePathFloor(LevelPart levelPart) {
     if (levelPart.element() == LevelElement.SKIP) {
       return new SimpleIPath("floor/empty");
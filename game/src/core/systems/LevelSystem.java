@@ -160,7 +160,9 @@ public final class LevelSystem extends System {
    * @param size Wanted size of the level.
    */
   public void loadLevel(final LevelSize size) {
-    loadLevel(size, DesignLabel.randomDesign());
+    currentLevel = generator.level(size);
+    onLevelLoad.execute();
+    levelAPI_logger.info("A new level was loaded.");
   }
 
   /**
@@ -169,7 +171,7 @@ public final class LevelSystem extends System {
    * <p>Will trigger the onLevelLoad callback.
    */
   public void loadLevel() {
-    loadLevel(levelSize(), DesignLabel.randomDesign());
+    loadLevel(levelSize());
   }
 
   private void drawLevel() {
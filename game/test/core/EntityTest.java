@@ -67,6 +67,23 @@ public class EntityTest {
     assertTrue(entity2.compareTo(entity1) > 0);
   }
 
+  /** The default name matches the id, also if entities are created on several threads. */
+  @Test
+  public void defaultNameMatchesId() throws InterruptedException {
+    Entity[] entities = new Entity[2000];
+    Thread other =
+        new Thread(
+            () -> {
+              for (int i = 0; i < entities.length / 2; i++) entities[i] = new Entity();
+            });
+    other.start();
+    for (int i = entities.length / 2; i < entities.length; i++) entities[i] = new Entity();
+    other.join();
+    for (Entity entity : entities) {
+      assertEquals("_" + entity.id(), entity.name());
+    }
+  }
+
   /** Gets called after each @Test and cleans up any Entity left in game. */
   @AfterEach
   public void tearDown() {
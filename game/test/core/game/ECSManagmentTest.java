@@ -0,0 +1,107 @@
+package core.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.Component;
+import core.Entity;
+import core.Game;
+import core.System;
+import core.level.TileLevel;
+import core.level.elements.ILevel;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link ECSManagment} class. */
+public class ECSManagmentTest {
+
+  /** Remove the entities, systems and level storages of the test. */
+  @AfterEach
+  public void cleanup() {
+    Game.removeAllEntities();
+    Game.removeAllSystems();
+    ECSManagment.levelStorageMap().keySet().removeIf(Objects::nonNull);
+    ECSManagment.activateLevel(null);
+    ECSManagment.residentLevels(ECSManagment.DEFAULT_RESIDENT_LEVELS);
+  }
+
+  private static ILevel level() {
+    return new TileLevel(
+        new LevelElement[][] {{LevelElement.FLOOR, LevelElement.FLOOR}}, DesignLabel.DEFAULT);
+  }
+
+  /**
+   * The storage of cold levels is compacted and the levels are evicted, the storage is rebuilt, when
+   * the level is activated again.
+   */
+  @Test
+  public void activateLevel_compactsColdLevels() {
+    System system =
+        new System(DummyComponent.class) {
+          @Override
+          public void execute() {}
+        };
+    ECSManagment.residentLevels(1);
+    ILevel first = level();
+    ILevel second = level();
+
+    ECSManagment.activateLevel(first);
+    ECSManagment.add(system);
+    Entity withComponent = new Entity();
+    withComponent.add(new DummyComponent());
+    ECSManagment.add(withComponent);
+    ECSManagment.add(new Entity());
+    assertTrue(ECSManagment.levelStorageMap().get(first).size() > 1);
+
+    ECSManagment.removeAllSystems();
+    ECSManagment.activateLevel(second);
+    ECSManagment.add(system);
+
+    assertEquals(1, ECSManagment.levelStorageMap().get(first).size());
+    assertEquals(2, ECSManagment.allEntities().count());
+    assertTrue(((TileLevel) first).grid().isEvicted());
+    assertFalse(((TileLevel) second).grid().isEvicted());
+
+    ECSManagment.removeAllSystems();
+    ECSManagment.activateLevel(first);
+    ECSManagment.add(system);
+
+    assertEquals(1, ECSManagment.levelStorageMap().get(second).size());
+    assertEquals(1, ECSManagment.entityStream(system).count());
+    assertEquals(withComponent, ECSManagment.entityStream(system).findFirst().orElseThrow());
+    // the mapper of the system was rebuilt
+    assertEquals(2, ECSManagment.levelStorageMap().get(first).size());
+  }
+
+  /** The recorded changes of another thread are applied by the calling thread. */
+  @Test
+  public void deferChanges_appliedLater() throws InterruptedException {
+    Queue<Runnable> changes = new ConcurrentLinkedQueue<>();
+    Entity entity = new Entity();
+    Thread worker =
+        new Thread(
+            () ->
+                ECSManagment.deferChanges(
+                    changes,
+                    () -> {
+                      ECSManagment.add(entity);
+                      return null;
+                    }));
+    worker.start();
+    worker.join();
+
+    assertEquals(0, ECSManagment.entityStream().count());
+    assertEquals(1, changes.size());
+    ECSManagment.applyChanges(changes);
+    assertEquals(entity, ECSManagment.entityStream().findFirst().orElseThrow());
+    assertTrue(changes.isEmpty());
+  }
+
+  private static class DummyComponent implements Component {}
+}
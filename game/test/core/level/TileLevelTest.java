@@ -2,6 +2,7 @@ package core.level;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.badlogic.gdx.ai.pfa.Connection;
 import com.badlogic.gdx.ai.pfa.GraphPath;
 import core.level.elements.astar.TileConnection;
 import core.level.elements.tile.ExitTile;
@@ -137,6 +138,76 @@ public class TileLevelTest {
     assertSame(layout[0][1], layout[0][2].connections().first().getToNode());
   }
 
+  /** The connections are cached until the links of the level change. */
+  @Test
+  public void connectionsCachedUntilLinksChange() {
+    TileLevel tileLevel =
+        new TileLevel(
+            new LevelElement[][] {{LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.EXIT}},
+            DesignLabel.DEFAULT);
+    Tile[][] layout = tileLevel.layout();
+    Connection<Tile> first = layout[0][1].connections().get(0);
+    assertSame(first, layout[0][1].connections().get(0));
+
+    tileLevel.removeFromPathfinding(layout[0][2]);
+    assertEquals(1, layout[0][1].connections().size);
+    tileLevel.addToPathfinding(layout[0][2]);
+    assertEquals(2, layout[0][1].connections().size);
+    assertSame(layout[0][2], layout[0][1].connections().get(1).getToNode());
+  }
+
+  /** An evicted level restores the state of its tiles on the first access. */
+  @Test
+  public void evictRestoresTileState() {
+    TileLevel tileLevel =
+        new TileLevel(
+            new LevelElement[][] {{LevelElement.FLOOR, LevelElement.WALL, LevelElement.EXIT}},
+            DesignLabel.DEFAULT);
+    Tile[][] layout = tileLevel.layout();
+    layout[0][0].tintColor(0xFF0000FF);
+    layout[0][1].visible(false);
+    var texture = layout[0][2].texturePath();
+    int index = layout[0][2].index();
+
+    tileLevel.evict();
+    assertTrue(tileLevel.grid().isEvicted());
+
+    assertEquals(0xFF0000FF, layout[0][0].tintColor());
+    assertFalse(tileLevel.grid().isEvicted());
+    assertFalse(layout[0][1].visible());
+    assertEquals(LevelElement.WALL, layout[0][1].levelElement());
+    assertEquals(texture, layout[0][2].texturePath());
+    assertEquals(index, layout[0][2].index());
+    assertEquals(0, layout[0][0].connections().size);
+    assertSame(layout[0][2], tileLevel.endTile());
+  }
+
+  /** Changing the links of a cell keeps the connections of cells which are not next to it. */
+  @Test
+  public void connectionsInvalidatedPerCell() {
+    TileLevel tileLevel =
+        new TileLevel(
+            new LevelElement[][] {
+              {
+                LevelElement.FLOOR,
+                LevelElement.FLOOR,
+                LevelElement.FLOOR,
+                LevelElement.FLOOR,
+                LevelElement.EXIT
+              }
+            },
+            DesignLabel.DEFAULT);
+    Tile[][] layout = tileLevel.layout();
+    var far = layout[0][0].connections();
+    var near = layout[0][3].connections();
+
+    tileLevel.removeFromPathfinding(layout[0][4]);
+    assertSame(far, layout[0][0].connections());
+    assertNotSame(near, layout[0][3].connections());
+    assertEquals(1, layout[0][3].connections().size);
+    assertEquals(0, layout[0][4].connections().size);
+  }
+
   /** WTF? . */
   @Test
   public void test_levelCTOR_LevelElements_tileTypeLists() {
@@ -163,7 +234,8 @@ public class TileLevelTest {
         };
     TileLevel tileLevel = new TileLevel(elementsLayout, DesignLabel.DEFAULT);
     tileLevel.changeTileElementType(tileLevel.startTile(), LevelElement.WALL);
-    assertEquals(0, tileLevel.getNodeCount());
+    assertEquals(0, tileLevel.activeNodeCount());
+    assertEquals(1, tileLevel.getNodeCount());
   }
 
   /** WTF? . */
@@ -495,11 +567,13 @@ public class TileLevelTest {
     Tile tile =
         TileFactory.createTile(
             new SimpleIPath(""), new Coordinate(1, 0), LevelElement.FLOOR, DesignLabel.DEFAULT);
+    int freedIndex = level.layout()[0][1].index();
     level.removeTile(level.layout()[0][1]);
     level.layout()[0][1] = tile;
     level.addTile(tile);
     assertTrue(level.floorTiles().contains(tile));
-    assertEquals(level.getNodeCount() - 1, tile.index());
+    assertEquals(freedIndex, tile.index());
+    assertEquals(3, level.getNodeCount());
     assertTrue(
         level.floorTiles().stream()
             .filter(x -> !(x == tile))
@@ -526,11 +600,13 @@ public class TileLevelTest {
     Tile tile =
         TileFactory.createTile(
             new SimpleIPath(""), new Coordinate(1, 0), LevelElement.EXIT, DesignLabel.DEFAULT);
+    int freedIndex = level.layout()[0][1].index();
     level.removeTile(level.layout()[0][1]);
     level.layout()[0][1] = tile;
     level.addTile(tile);
     assertTrue(level.exitTiles().contains(tile));
-    assertEquals(level.getNodeCount() - 1, tile.index());
+    assertEquals(freedIndex, tile.index());
+    assertEquals(3, level.getNodeCount());
     assertTrue(
         level.floorTiles().stream()
             .filter(x -> !(x == tile))
@@ -557,11 +633,13 @@ public class TileLevelTest {
     Tile tile =
         TileFactory.createTile(
             new SimpleIPath(".png"), new Coordinate(1, 0), LevelElement.DOOR, DesignLabel.DEFAULT);
+    int freedIndex = level.layout()[0][1].index();
     level.removeTile(level.layout()[0][1]);
     level.layout()[0][1] = tile;
     level.addTile(tile);
     assertTrue(level.doorTiles().contains(tile));
-    assertEquals(level.getNodeCount() - 1, tile.index());
+    assertEquals(freedIndex, tile.index());
+    assertEquals(3, level.getNodeCount());
     assertTrue(
         level.floorTiles().stream()
             .filter(x -> !(x == tile))
@@ -708,15 +786,20 @@ public class TileLevelTest {
           new LevelElement[] {LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR}
         };
     TileLevel level = new TileLevel(layout, DesignLabel.DEFAULT);
-    level.changeTileElementType(level.tileAt(new Coordinate(0, 0)), LevelElement.WALL);
-    assertEquals(2, level.getNodeCount());
-    AtomicInteger counter = new AtomicInteger();
-    Arrays.stream(level.layout())
-        .flatMap(Arrays::stream)
-        .sorted(Comparator.comparingInt(Tile::index))
-        .filter(Tile::isAccessible)
-        .forEachOrdered(x -> assertEquals(counter.getAndIncrement(), x.index()));
-    assertEquals(2, counter.get());
+    Tile changed = level.tileAt(new Coordinate(0, 0));
+    int freedIndex = changed.index();
+    level.changeTileElementType(changed, LevelElement.WALL);
+    assertEquals(3, level.getNodeCount());
+    assertEquals(2, level.activeNodeCount());
+    assertEquals(
+        2,
+        Arrays.stream(level.layout())
+            .flatMap(Arrays::stream)
+            .filter(Tile::isAccessible)
+            .mapToInt(Tile::index)
+            .filter(x -> x != freedIndex)
+            .distinct()
+            .count());
   }
 
   /** WTF? . */
@@ -741,4 +824,80 @@ public class TileLevelTest {
     assertNotEquals(LevelElement.WALL, level.tileAt(new Coordinate(1, 0)).levelElement());
     assertEquals(3, counter.get());
   }
+
+  /** WTF? . */
+  @Test
+  public void test_tileStateStoredInGrid() {
+    TileLevel level =
+        new TileLevel(
+            new LevelElement[][] {{LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.EXIT}},
+            DesignLabel.DEFAULT);
+    Tile tile = level.layout()[0][1];
+    int cell = level.grid().cell(1, 0);
+    tile.tintColor(0xFF0000FF);
+    tile.visible(false);
+    assertEquals(0xFF0000FF, level.grid().tint(cell));
+    assertFalse(level.grid().visible(cell));
+    assertEquals(LevelElement.FLOOR, level.grid().element(cell));
+    assertEquals(tile.index(), level.grid().nodeIndex(cell));
+    assertTrue(level.grid().linked(cell));
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_changeTileElementType_keepsTintAndVisibility() {
+    TileLevel level =
+        new TileLevel(
+            new LevelElement[][] {{LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.EXIT}},
+            DesignLabel.DEFAULT);
+    Tile tile = level.layout()[0][1];
+    tile.tintColor(0xFF0000FF);
+    tile.visible(false);
+    level.changeTileElementType(tile, LevelElement.WALL);
+    Tile newTile = level.layout()[0][1];
+    assertNotSame(tile, newTile);
+    assertEquals(0xFF0000FF, newTile.tintColor());
+    assertFalse(newTile.visible());
+    assertEquals(0xFF0000FF, tile.tintColor());
+    assertEquals(0, level.layout()[0][0].connections().size);
+    assertEquals(0, newTile.connections().size);
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_removeFromPathfinding_keepsOtherIndices() {
+    TileLevel level =
+        new TileLevel(
+            new LevelElement[][] {
+              {LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.EXIT}
+            },
+            DesignLabel.DEFAULT);
+    int[] before = Arrays.stream(level.layout()[0]).mapToInt(Tile::index).toArray();
+    level.changeTileElementType(level.layout()[0][1], LevelElement.WALL);
+    assertEquals(before[0], level.layout()[0][0].index());
+    assertEquals(before[2], level.layout()[0][2].index());
+    assertEquals(before[3], level.layout()[0][3].index());
+    level.changeTileElementType(level.layout()[0][1], LevelElement.FLOOR);
+    assertEquals(before[1], level.layout()[0][1].index());
+    assertEquals(4, level.getNodeCount());
+    assertEquals(4, level.activeNodeCount());
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_removeTile_keepsTileListsIndexed() {
+    TileLevel level =
+        new TileLevel(
+            new LevelElement[][] {
+              {LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.FLOOR, LevelElement.EXIT}
+            },
+            DesignLabel.DEFAULT);
+    Tile first = level.layout()[0][0];
+    Tile last = level.layout()[0][2];
+    level.removeTile(first);
+    assertFalse(level.floorTiles().contains(first));
+    assertTrue(level.floorTiles().contains(last));
+    assertEquals(2, level.floorTiles().size());
+    assertSame(last, level.floorTiles().get(level.floorTiles().indexOf(last)));
+  }
 }
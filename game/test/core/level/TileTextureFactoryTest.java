@@ -6,6 +6,7 @@ import core.level.utils.Coordinate;
 import core.level.utils.DesignLabel;
 import core.level.utils.LevelElement;
 import core.level.utils.TileTextureFactory;
+import core.utils.components.path.IPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -503,4 +504,41 @@ public class TileTextureFactoryTest {
                     layout[coordinate.y][coordinate.x], design, layout, coordinate))
             .pathString());
   }
+
+  /** Resolving the whole layout at once should give the same textures as resolving every cell. */
+  @Test
+  public void test_findTexturePaths_matchesSingleCells() {
+    IPath[][] texturePaths = TileTextureFactory.findTexturePaths(layout, design);
+    for (int y = 0; y < layout.length; y++) {
+      for (int x = 0; x < layout[0].length; x++) {
+        Coordinate coordinate = new Coordinate(x, y);
+        assertEquals(
+            TileTextureFactory.findTexturePath(
+                    new TileTextureFactory.LevelPart(layout[y][x], design, layout, coordinate))
+                .pathString(),
+            texturePaths[y][x].pathString());
+      }
+    }
+  }
+
+  /** Changing a tile should update the textures of its neighbours. */
+  @Test
+  public void test_changeTileElementType_updatesNeighbourTextures() {
+    TileLevel level = new TileLevel(layout, design);
+    // opens the corner between the two rooms
+    level.changeTileElementType(level.tileAt(new Coordinate(3, 4)), LevelElement.FLOOR);
+    LevelElement[][] changed = new LevelElement[layout.length][layout[0].length];
+    for (int y = 0; y < layout.length; y++) {
+      for (int x = 0; x < layout[0].length; x++) {
+        changed[y][x] = level.layout()[y][x].levelElement();
+      }
+    }
+    IPath[][] expected = TileTextureFactory.findTexturePaths(changed, design);
+    for (int y = 0; y < layout.length; y++) {
+      for (int x = 0; x < layout[0].length; x++) {
+        assertEquals(
+            expected[y][x].pathString(), level.layout()[y][x].texturePath().pathString());
+      }
+    }
+  }
 }
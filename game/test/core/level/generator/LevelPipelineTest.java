@@ -0,0 +1,75 @@
+package core.level.generator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import core.level.Tile;
+import core.level.elements.ILevel;
+import core.level.utils.DesignLabel;
+import core.level.utils.LevelElement;
+import core.level.utils.LevelSize;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link LevelPipeline} class. */
+public class LevelPipelineTest {
+
+  private static LevelElement[][] elements(final ILevel level) {
+    return Arrays.stream(level.layout())
+        .map(row -> Arrays.stream(row).map(Tile::levelElement).toArray(LevelElement[]::new))
+        .toArray(LevelElement[][]::new);
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_sameSeedSameLevel() {
+    LevelPipeline pipeline = new LevelPipeline();
+    ILevel first = pipeline.level(DesignLabel.DEFAULT, LevelSize.SMALL, 42);
+    ILevel second = pipeline.level(DesignLabel.DEFAULT, LevelSize.SMALL, 42);
+    assertArrayEquals(elements(first), elements(second));
+    assertEquals(first.startTile().coordinate(), second.startTile().coordinate());
+    assertEquals(first.endTile().coordinate(), second.endTile().coordinate());
+  }
+
+  /** The start of a seeded level does not take numbers from the shared generator. */
+  @Test
+  public void test_seededLevelKeepsSharedRandom() {
+    ILevel.RANDOM.setSeed(5);
+    new LevelPipeline().level(DesignLabel.DEFAULT, LevelSize.SMALL, 42);
+    assertEquals(new Random(5).nextLong(), ILevel.RANDOM.nextLong());
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_levelIsPlayable() {
+    ILevel level = new LevelPipeline().level(DesignLabel.DEFAULT, LevelSize.SMALL, 7);
+    assertNotNull(level.startTile());
+    assertNotNull(level.endTile());
+    assertTrue(level.findPath(level.startTile(), level.endTile()).getCount() > 0);
+  }
+
+  /** WTF? . */
+  @Test
+  public void test_prefetchedLevelIsUsed() {
+    LevelPipeline pipeline = new LevelPipeline();
+    pipeline.prefetch(DesignLabel.DEFAULT, LevelSize.SMALL);
+    ILevel level = pipeline.level(DesignLabel.DEFAULT, LevelSize.SMALL);
+    assertNotNull(level.startTile());
+    // a different design reuses the prefetched layout
+    pipeline.prefetch(DesignLabel.DEFAULT, LevelSize.SMALL);
+    ILevel otherDesign = pipeline.level(DesignLabel.FOREST, LevelSize.SMALL);
+    assertEquals(DesignLabel.FOREST, otherDesign.startTile().designLabel());
+  }
+
+  /** A request for a random design takes the prefetched level with its design. */
+  @Test
+  public void test_randomDesignUsesPrefetchedDesign() {
+    LevelPipeline pipeline = new LevelPipeline();
+    pipeline.prefetch(DesignLabel.FOREST, LevelSize.SMALL);
+    ILevel level = pipeline.level(LevelSize.SMALL);
+    assertEquals(DesignLabel.FOREST, level.startTile().designLabel());
+  }
+}
@@ -0,0 +1,47 @@
+package core.level.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/** Tests for the {@link CircleMask} class. */
+public class CircleMaskTest {
+
+  /** WTF? . */
+  @Test
+  public void radiusZeroIsCenterOnly() {
+    CircleMask mask = CircleMask.of(0);
+    assertEquals(1, mask.size());
+    assertTrue(mask.contains(0, 0));
+    assertFalse(mask.contains(1, 0));
+  }
+
+  /** WTF? . */
+  @Test
+  public void maskMatchesDistanceCheck() {
+    for (int r = 0; r <= 30; r++) {
+      CircleMask mask = CircleMask.of(r);
+      int count = 0;
+      for (int dy = -r - 1; dy <= r + 1; dy++) {
+        for (int dx = -r - 1; dx <= r + 1; dx++) {
+          boolean inside = dx * dx + dy * dy <= r * r;
+          assertEquals(inside, mask.contains(dx, dy));
+          if (inside) count++;
+        }
+      }
+      assertEquals(count, mask.size());
+    }
+  }
+
+  /** WTF? . */
+  @Test
+  public void precomputedMasksAreShared() {
+    assertSame(CircleMask.of(7), CircleMask.of(7));
+    assertEquals(100, CircleMask.of(100).radius());
+    assertThrows(IllegalArgumentException.class, () -> CircleMask.of(-1));
+  }
+}
@@ -1,15 +1,22 @@
 package core.level.utils;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import core.Game;
+import core.level.Tile;
 import core.level.TileLevel;
 import core.level.generator.IGenerator;
 import core.systems.LevelSystem;
 import core.utils.IVoidFunction;
 import core.utils.Point;
 import core.utils.components.draw.Painter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -115,4 +122,43 @@ public class LevelUtilsTest {
     assertTrue(
         tiles.stream().anyMatch(tile -> tile.coordinate().x == 0 && tile.coordinate().y == 1));
   }
+
+  /** WTF? . */
+  @Test
+  public void tilesInRangeIntoBuffer() {
+    List<Tile> buffer = new ArrayList<>();
+    List<Tile> result = LevelUtils.tilesInRange(new Point(2.5f, 2.5f), 1.1f, buffer);
+    assertSame(buffer, result);
+    assertEquals(
+        new HashSet<>(LevelUtils.tilesInRange(new Point(2.5f, 2.5f), 1.1f)), new HashSet<>(buffer));
+    assertEquals(buffer.size(), new HashSet<>(buffer).size());
+  }
+
+  /** WTF? . */
+  @Test
+  public void isTileInRangeMatchesTilesInRange() {
+    Point center = new Point(1.3f, 2.7f);
+    Set<Tile> inRange = new HashSet<>(LevelUtils.tilesInRange(center, 1.6f));
+    for (Tile[] row : Game.currentLevel().layout()) {
+      for (Tile tile : row) {
+        assertEquals(inRange.contains(tile), LevelUtils.isTileInRange(center, 1.6f, tile));
+      }
+    }
+    assertFalse(LevelUtils.isTileInRange(center, 1.6f, null));
+  }
+
+  /** The rows limited by the circle mask contain all tiles in range. */
+  @Test
+  public void tilesInRangeMatchesRangeCheck() {
+    for (float radius : new float[] {0f, 0.4f, 1f, 1.5f, 2.2f, 3f, -1.5f}) {
+      for (Point center : new Point[] {new Point(0.2f, 0.9f), new Point(2.5f, 2.5f)}) {
+        Set<Tile> inRange = new HashSet<>(LevelUtils.tilesInRange(center, radius));
+        for (Tile[] row : Game.currentLevel().layout()) {
+          for (Tile tile : row) {
+            assertEquals(inRange.contains(tile), LevelUtils.isTileInRange(center, radius, tile));
+          }
+        }
+      }
+    }
+  }
 }